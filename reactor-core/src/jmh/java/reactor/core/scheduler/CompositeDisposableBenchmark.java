@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+
+/**
+ * Compares the {@link StripedCompositeDisposable} tracking the tasks of the
+ * {@link ExecutorServiceWorker} and {@link ElasticScheduler} workers with a single
+ * {@link Disposables#composite() composite}, as tasks are added and removed from
+ * several threads sharing the same worker.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CompositeDisposableBenchmark {
+
+	@Param({"striped", "single"})
+	String implementation;
+
+	Disposable.Composite tasks;
+
+	@Setup(Level.Iteration)
+	public void setup() {
+		tasks = "striped".equals(implementation) ?
+				new StripedCompositeDisposable() :
+				Disposables.composite();
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		tasks.dispose();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public boolean addAndRemove() {
+		Disposable task = Disposables.single();
+		tasks.add(task);
+		return tasks.remove(task);
+	}
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Exceptions;
+
+/**
+ * Compares the lock-free bookkeeping of the {@link ExecutorScheduler} workers with the
+ * previous implementation, which tracked tasks in a {@link Disposable.Composite} or
+ * under a lock. Tasks run on the calling thread so that only the bookkeeping is
+ * measured, from several threads sharing the same worker.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ExecutorSchedulerWorkerBenchmark {
+
+	static final Runnable NOOP = () -> {};
+
+	@Param({"lockFree", "locking"})
+	String implementation;
+
+	@Param({"false", "true"})
+	boolean trampoline;
+
+	Scheduler.Worker worker;
+
+	@Setup(Level.Iteration)
+	public void setup() {
+		Executor executor = Runnable::run;
+		if ("lockFree".equals(implementation)) {
+			worker = trampoline ?
+					new ExecutorScheduler.ExecutorSchedulerTrampolineWorker(executor) :
+					new ExecutorScheduler.ExecutorSchedulerWorker(executor);
+		}
+		else {
+			worker = trampoline ?
+					new LockingTrampolineWorker(executor) :
+					new CompositeWorker(executor);
+		}
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		worker.dispose();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Disposable schedule() {
+		return worker.schedule(NOOP);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Disposable scheduleAndDispose() {
+		Disposable d = worker.schedule(NOOP);
+		d.dispose();
+		return d;
+	}
+
+	/**
+	 * The previous non-trampolining worker, tracking tasks in a composite.
+	 */
+	static final class CompositeWorker
+			implements Scheduler.Worker, ExecutorScheduler.WorkerDelete {
+
+		final Executor executor;
+
+		final Disposable.Composite tasks;
+
+		CompositeWorker(Executor executor) {
+			this.executor = executor;
+			this.tasks = Disposables.composite();
+		}
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			ExecutorScheduler.ExecutorTrackedRunnable r =
+					new ExecutorScheduler.ExecutorTrackedRunnable(task, this, true);
+			if (!tasks.add(r)) {
+				throw Exceptions.failWithRejected();
+			}
+			executor.execute(r);
+			return r;
+		}
+
+		@Override
+		public void dispose() {
+			tasks.dispose();
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return tasks.isDisposed();
+		}
+
+		@Override
+		public void delete(ExecutorScheduler.ExecutorTrackedRunnable r) {
+			tasks.remove(r);
+		}
+	}
+
+	/**
+	 * The previous trampolining worker, enqueueing and removing tasks under a lock. Its
+	 * drain loop accounts for the tasks removed from the queue, as the original would
+	 * otherwise spin once disposed tasks are removed.
+	 */
+	static final class LockingTrampolineWorker
+			implements Scheduler.Worker, ExecutorScheduler.WorkerDelete, Runnable {
+
+		final Executor executor;
+
+		final Queue<ExecutorScheduler.ExecutorTrackedRunnable> queue;
+
+		volatile boolean terminated;
+
+		volatile int wip;
+		static final AtomicIntegerFieldUpdater<LockingTrampolineWorker> WIP =
+				AtomicIntegerFieldUpdater.newUpdater(LockingTrampolineWorker.class, "wip");
+
+		LockingTrampolineWorker(Executor executor) {
+			this.executor = executor;
+			this.queue = new ConcurrentLinkedQueue<>();
+		}
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			ExecutorScheduler.ExecutorTrackedRunnable r =
+					new ExecutorScheduler.ExecutorTrackedRunnable(task, this, false);
+			synchronized (this) {
+				if (terminated) {
+					throw Exceptions.failWithRejected();
+				}
+				queue.offer(r);
+			}
+			if (WIP.getAndIncrement(this) == 0) {
+				executor.execute(this);
+			}
+			return r;
+		}
+
+		@Override
+		public void dispose() {
+			terminated = true;
+			ExecutorScheduler.ExecutorTrackedRunnable r;
+			while ((r = queue.poll()) != null) {
+				r.dispose();
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return terminated;
+		}
+
+		@Override
+		public void delete(ExecutorScheduler.ExecutorTrackedRunnable r) {
+			synchronized (this) {
+				if (!terminated) {
+					queue.remove(r);
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			for (; ; ) {
+				int e = 0;
+				int r = wip;
+
+				while (e != r) {
+					if (terminated) {
+						return;
+					}
+					ExecutorScheduler.ExecutorTrackedRunnable task = queue.poll();
+					if (task == null) {
+						e = r;
+						break;
+					}
+					task.run();
+					e++;
+				}
+
+				if (WIP.addAndGet(this, -e) == 0) {
+					break;
+				}
+			}
+		}
+	}
+}
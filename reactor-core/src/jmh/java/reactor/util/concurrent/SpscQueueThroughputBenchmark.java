@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.util.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares {@link SpscArrayQueue} and {@link SpscPaddedArrayQueue} under a sustained
+ * hand-off between one producer thread and one consumer thread. The {@code offer}
+ * and {@code poll} operations report how many of them succeeded, failed attempts
+ * (queue full or empty) being counted separately.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Group)
+public class SpscQueueThroughputBenchmark {
+
+	static final Integer VALUE = 1;
+
+	@Param({"plain", "padded"})
+	String implementation;
+
+	@Param({"256", "1024", "8192"})
+	int capacity;
+
+	Queue<Integer> queue;
+
+	@Setup(Level.Iteration)
+	public void setup() {
+		queue = "padded".equals(implementation) ?
+				new SpscPaddedArrayQueue<>(capacity) :
+				new SpscArrayQueue<>(capacity);
+	}
+
+	@AuxCounters
+	@State(Scope.Thread)
+	public static class OfferCounters {
+
+		public long offersFailed;
+		public long offersMade;
+	}
+
+	@AuxCounters
+	@State(Scope.Thread)
+	public static class PollCounters {
+
+		public long pollsFailed;
+		public long pollsMade;
+	}
+
+	@Benchmark
+	@Group("handOff")
+	@GroupThreads(1)
+	public void offer(OfferCounters counters) {
+		if (queue.offer(VALUE)) {
+			counters.offersMade++;
+		}
+		else {
+			counters.offersFailed++;
+		}
+	}
+
+	@Benchmark
+	@Group("handOff")
+	@GroupThreads(1)
+	public void poll(PollCounters counters) {
+		if (queue.poll() != null) {
+			counters.pollsMade++;
+		}
+		else {
+			counters.pollsFailed++;
+		}
+	}
+}
@@ -104,6 +104,30 @@ public interface Fuseable {
 		 */
 		int requestFusion(int requestedMode);
 
+		/**
+		 * Poll up to {@code limit} elements at once into the given buffer, starting at
+		 * index 0. This can be used in place of {@link #poll()} once SYNC or ASYNC fusion
+		 * has been established, so that a fused chain hands chunks of elements downstream
+		 * and each intermediate operator transforms a whole chunk in a tight loop.
+		 * <p>
+		 * Returning 0 has the same meaning as {@link #poll()} returning null. If an
+		 * element fails after others have already been written to the buffer, these are
+		 * returned and the failure is thrown by the next poll instead. The default
+		 * implementation polls a single element.
+		 *
+		 * @param buffer the caller-supplied buffer, at least {@code limit} long
+		 * @param limit the maximum number of elements to poll, strictly positive
+		 * @return the number of elements written to the buffer
+		 */
+		default int pollBatch(Object[] buffer, int limit) {
+			T t = poll();
+			if (t == null) {
+				return 0;
+			}
+			buffer[0] = t;
+			return 1;
+		}
+
 		@Override
 		@Nullable
 		default T peek() {
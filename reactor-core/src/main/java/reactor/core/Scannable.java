@@ -23,6 +23,7 @@ import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import reactor.core.scheduler.LatencyHistogram;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Scheduler.Worker;
 import reactor.util.annotation.Nullable;
@@ -187,6 +188,38 @@ public interface Scannable {
 		 */
 		public static final Attr<Stream<Tuple2<String, String>>> TAGS = new Attr<>(null);
 
+		/**
+		 * A {@link Long} attribute exposing the number of tasks submitted to an
+		 * instrumented executor of a {@link reactor.core.scheduler.Scheduler}, see
+		 * {@link reactor.core.scheduler.Schedulers#enableMetrics()}. Defaults to
+		 * {@literal null}.
+		 */
+		public static final Attr<Long> TASKS_SUBMITTED = new Attr<>(null);
+
+		/**
+		 * A {@link Long} attribute exposing the number of tasks completed by an
+		 * instrumented executor of a {@link reactor.core.scheduler.Scheduler}, see
+		 * {@link reactor.core.scheduler.Schedulers#enableMetrics()}. Defaults to
+		 * {@literal null}.
+		 */
+		public static final Attr<Long> TASKS_COMPLETED = new Attr<>(null);
+
+		/**
+		 * A {@link LatencyHistogram} attribute exposing the time the tasks of an
+		 * instrumented executor waited for a thread once due, see
+		 * {@link reactor.core.scheduler.Schedulers#enableMetrics()}. Defaults to
+		 * {@literal null}.
+		 */
+		public static final Attr<LatencyHistogram> TASK_WAIT_TIME = new Attr<>(null);
+
+		/**
+		 * A {@link LatencyHistogram} attribute exposing the execution time of the tasks
+		 * of an instrumented executor, see
+		 * {@link reactor.core.scheduler.Schedulers#enableMetrics()}. Defaults to
+		 * {@literal null}.
+		 */
+		public static final Attr<LatencyHistogram> TASK_RUN_TIME = new Attr<>(null);
+
 		/**
 		 * Meaningful and always applicable default value for the attribute, returned
 		 * instead of {@literal null} when a specific value hasn't been defined for a
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+/**
+ * Rewrites a freshly assembled operator into a cheaper equivalent when it is redundant
+ * with the operator it is applied to:
+ * <ul>
+ *     <li>{@code hide()} applied to a {@code hide()} is dropped</li>
+ *     <li>{@code subscribeOn} applied to a {@code subscribeOn} on the same
+ *     {@link reactor.core.scheduler.Scheduler} and with the same request mode is
+ *     dropped, as the inner one already decides where the source is subscribed</li>
+ *     <li>{@code publishOn} applied to a {@code publishOn} with the same scheduler and
+ *     settings is dropped, saving a queue and a thread hop</li>
+ *     <li>{@code take(m)} applied to a {@code take(n)} becomes a single
+ *     {@code take(min(n, m))}</li>
+ *     <li>per-item operators (map, filter, handle, take, skip) applied to an empty
+ *     source are replaced by that empty source</li>
+ * </ul>
+ * The rewrite happens in {@link Flux#onAssembly(Flux)} and {@link Mono#onAssembly(Mono)},
+ * and only when no {@link Hooks#onEachOperator} hook is installed, so that assembly
+ * tracing still sees every operator.
+ */
+final class AssemblyOptimizer {
+
+	/**
+	 * Rewrite the given {@link Flux} operator if it is redundant with its source.
+	 *
+	 * @param flux the freshly assembled operator
+	 * @param <T> the value type
+	 *
+	 * @return the cheaper equivalent, or the original {@link Flux}
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> Flux<T> optimize(Flux<T> flux) {
+		if (!(flux instanceof FluxOperator)) {
+			return flux;
+		}
+		Flux<?> source = ((FluxOperator<?, T>) flux).source;
+
+		if (source == FluxEmpty.instance() && isPerItem(flux)) {
+			return (Flux<T>) source;
+		}
+		if (flux instanceof FluxHide) {
+			if (source instanceof FluxHide) {
+				return (Flux<T>) source;
+			}
+		}
+		else if (flux instanceof FluxSubscribeOn) {
+			if (source instanceof FluxSubscribeOn
+					&& isSameSubscribeOn((FluxSubscribeOn<?>) source, (FluxSubscribeOn<T>) flux)) {
+				return (Flux<T>) source;
+			}
+		}
+		else if (flux instanceof FluxPublishOn) {
+			if (source instanceof FluxPublishOn
+					&& isSamePublishOn((FluxPublishOn<?>) source, (FluxPublishOn<T>) flux)) {
+				return (Flux<T>) source;
+			}
+		}
+		else if (flux instanceof FluxTake || flux instanceof FluxTakeFuseable) {
+			long n = takeLimit(flux);
+			if (source instanceof FluxTake || source instanceof FluxTakeFuseable) {
+				long limit = Math.min(n, takeLimit(source));
+				Flux<T> upstream = (Flux<T>) ((FluxOperator<?, T>) source).source;
+				if (source instanceof FluxTakeFuseable) {
+					return new FluxTakeFuseable<>(upstream, limit);
+				}
+				return new FluxTake<>(upstream, limit);
+			}
+		}
+		return flux;
+	}
+
+	/**
+	 * Rewrite the given {@link Mono} operator if it is redundant with its source.
+	 *
+	 * @param mono the freshly assembled operator
+	 * @param <T> the value type
+	 *
+	 * @return the cheaper equivalent, or the original {@link Mono}
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> Mono<T> optimize(Mono<T> mono) {
+		if (!(mono instanceof MonoOperator)) {
+			return mono;
+		}
+		Mono<?> source = ((MonoOperator<?, T>) mono).source;
+
+		if (source == MonoEmpty.instance() && isPerItem(mono)) {
+			return (Mono<T>) source;
+		}
+		if (mono instanceof MonoHide) {
+			if (source instanceof MonoHide) {
+				return (Mono<T>) source;
+			}
+		}
+		else if (mono instanceof MonoSubscribeOn) {
+			if (source instanceof MonoSubscribeOn
+					&& ((MonoSubscribeOn<?>) source).scheduler == ((MonoSubscribeOn<T>) mono).scheduler) {
+				return (Mono<T>) source;
+			}
+		}
+		else if (mono instanceof MonoPublishOn) {
+			if (source instanceof MonoPublishOn
+					&& ((MonoPublishOn<?>) source).scheduler == ((MonoPublishOn<T>) mono).scheduler) {
+				return (Mono<T>) source;
+			}
+		}
+		return mono;
+	}
+
+	static boolean isPerItem(Flux<?> flux) {
+		return flux instanceof FluxMap || flux instanceof FluxMapFuseable
+				|| flux instanceof FluxFilter || flux instanceof FluxFilterFuseable
+				|| flux instanceof FluxHandle || flux instanceof FluxHandleFuseable
+				|| flux instanceof FluxPipeline || flux instanceof FluxPipelineFuseable
+				|| flux instanceof FluxTake || flux instanceof FluxTakeFuseable
+				|| flux instanceof FluxSkip;
+	}
+
+	static boolean isPerItem(Mono<?> mono) {
+		return mono instanceof MonoMap || mono instanceof MonoMapFuseable
+				|| mono instanceof MonoFilter || mono instanceof MonoFilterFuseable
+				|| mono instanceof MonoHandle || mono instanceof MonoHandleFuseable
+				|| mono instanceof MonoPipeline || mono instanceof MonoPipelineFuseable;
+	}
+
+	static boolean isSameSubscribeOn(FluxSubscribeOn<?> inner, FluxSubscribeOn<?> outer) {
+		return inner.scheduler == outer.scheduler
+				&& inner.requestOnSeparateThread == outer.requestOnSeparateThread;
+	}
+
+	static boolean isSamePublishOn(FluxPublishOn<?> inner, FluxPublishOn<?> outer) {
+		return inner.scheduler == outer.scheduler
+				&& inner.delayError == outer.delayError
+				&& inner.prefetch == outer.prefetch
+				&& inner.lowTide == outer.lowTide;
+	}
+
+	static long takeLimit(Flux<?> take) {
+		if (take instanceof FluxTakeFuseable) {
+			return ((FluxTakeFuseable<?>) take).n;
+		}
+		return ((FluxTake<?>) take).n;
+	}
+
+	AssemblyOptimizer() {
+	}
+}
@@ -110,6 +110,7 @@ final class BlockingOptionalMonoSubscriber<T> extends CountDownLatch
 	 */
 	final Optional<T> blockingGet() {
 		if (getCount() != 0) {
+			BlockingSingleSubscriber.checkBlockingAllowed(this);
 			try {
 				await();
 			}
@@ -143,6 +144,7 @@ final class BlockingOptionalMonoSubscriber<T> extends CountDownLatch
 	 */
 	final Optional<T> blockingGet(long timeout, TimeUnit unit) {
 		if (getCount() != 0) {
+			BlockingSingleSubscriber.checkBlockingAllowed(this);
 			try {
 				if (!await(timeout, unit)) {
 					dispose();
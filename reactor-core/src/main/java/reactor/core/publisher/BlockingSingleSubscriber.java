@@ -22,6 +22,7 @@ import java.util.concurrent.TimeUnit;
 import org.reactivestreams.Subscription;
 import reactor.core.Disposable;
 import reactor.core.Exceptions;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.annotation.Nullable;
 
 /**
@@ -73,6 +74,7 @@ abstract class BlockingSingleSubscriber<T> extends CountDownLatch
 	@Nullable
 	final T blockingGet() {
 		if (getCount() != 0) {
+			checkBlockingAllowed(this);
 			try {
 				await();
 			}
@@ -104,6 +106,7 @@ abstract class BlockingSingleSubscriber<T> extends CountDownLatch
 	@Nullable
 	final T blockingGet(long timeout, TimeUnit unit) {
 		if (getCount() != 0) {
+			checkBlockingAllowed(this);
 			try {
 				if (!await(timeout, unit)) {
 					dispose();
@@ -130,6 +133,19 @@ abstract class BlockingSingleSubscriber<T> extends CountDownLatch
 	}
 
 
+	/**
+	 * Fail instead of blocking a {@link reactor.core.scheduler.NonBlocking} thread, if
+	 * {@link Hooks#onBlockingCallFail()} has been enabled.
+	 *
+	 * @param blocking the blocking subscriber, disposed before failing
+	 */
+	static void checkBlockingAllowed(Disposable blocking) {
+		if (Hooks.failOnBlockingCall && Schedulers.isInNonBlockingThread()) {
+			blocking.dispose();
+			throw new IllegalStateException("block()/blockFirst()/blockLast() are blocking, " +
+					"which is not supported in thread " + Thread.currentThread().getName());
+		}
+	}
 
 	@Override
 	@Nullable
@@ -1516,6 +1516,51 @@ public abstract class Flux<T> implements Publisher<T> {
 		return onAssembly(new FluxRange(start, count));
 	}
 
+	/**
+	 * Create a {@link Flux} that emits long values starting with 0 and incrementing at
+	 * specified time intervals on the global timer, like {@link #interval(Duration)}, but
+	 * sharing a single periodic task with all the other subscriptions to a shared interval
+	 * of the same period. If demand is not produced in time, an onError will be signalled
+	 * with an {@link Exceptions#isOverflow(Throwable) overflow} {@code IllegalStateException}
+	 * detailing the tick that couldn't be emitted. In normal conditions, the {@link Flux}
+	 * will never complete.
+	 * <p>
+	 * Ticks are aligned on the shared task: each subscription still counts from 0, but
+	 * its first tick happens within one period of subscribing rather than exactly one
+	 * period later.
+	 * <p>
+	 * Runs on the {@link Schedulers#parallel()} Scheduler.
+	 *
+	 * @param period the period {@link Duration} between each increment
+	 * @return a new {@link Flux} emitting increasing numbers at regular intervals
+	 */
+	public static Flux<Long> sharedInterval(Duration period) {
+		return sharedInterval(period, Schedulers.parallel());
+	}
+
+	/**
+	 * Create a {@link Flux} that emits long values starting with 0 and incrementing at
+	 * specified time intervals, on the specified {@link Scheduler}, like
+	 * {@link #interval(Duration, Scheduler)}, but sharing a single periodic task with all
+	 * the other subscriptions to a shared interval of the same period on the same
+	 * {@link Scheduler}. If demand is not produced in time, an onError will be signalled
+	 * with an {@link Exceptions#isOverflow(Throwable) overflow} {@code IllegalStateException}
+	 * detailing the tick that couldn't be emitted. In normal conditions, the {@link Flux}
+	 * will never complete.
+	 * <p>
+	 * Ticks are aligned on the shared task: each subscription still counts from 0, but
+	 * its first tick happens within one period of subscribing rather than exactly one
+	 * period later.
+	 *
+	 * @param period the period {@link Duration} between each increment
+	 * @param timer a time-capable {@link Scheduler} instance to run on
+	 *
+	 * @return a new {@link Flux} emitting increasing numbers at regular intervals
+	 */
+	public static Flux<Long> sharedInterval(Duration period, Scheduler timer) {
+		return onAssembly(new FluxIntervalShared(period.toMillis(), TimeUnit.MILLISECONDS, timer));
+	}
+
 	/**
 	 * Creates a {@link Flux} that mirrors the most recently emitted {@link Publisher},
 	 * forwarding its data until a new {@link Publisher} comes in in the source.
@@ -3732,6 +3777,10 @@ public abstract class Flux<T> implements Publisher<T> {
 	 */
 	public final Flux<T> doOnNext(Consumer<? super T> onNext) {
 		Objects.requireNonNull(onNext, "onNext");
+		Flux<T> fused = FluxPipeline.fuse(this, new FluxPipeline.PeekStage(onNext));
+		if (fused != null) {
+			return onAssembly(fused);
+		}
 		return doOnSignal(this, null, onNext, null, null, null, null, null);
 	}
 
@@ -4187,6 +4236,10 @@ public abstract class Flux<T> implements Publisher<T> {
 	 * @return a new {@link Flux} containing only values that pass the predicate test
 	 */
 	public final Flux<T> filter(Predicate<? super T> p) {
+		Flux<T> fused = FluxPipeline.fuse(this, new FluxPipeline.FilterStage(p));
+		if (fused != null) {
+			return onAssembly(fused);
+		}
 		if (this instanceof Fuseable) {
 			return onAssembly(new FluxFilterFuseable<>(this, p));
 		}
@@ -4876,7 +4929,7 @@ public abstract class Flux<T> implements Publisher<T> {
 	 * @return a new {@link Flux} preventing {@link Publisher} / {@link Subscription} based Reactor optimizations
 	 */
 	public final Flux<T> hide() {
-		return new FluxHide<>(this);
+		return onAssembly(new FluxHide<>(this));
 	}
 
 	/**
@@ -5251,6 +5304,10 @@ public abstract class Flux<T> implements Publisher<T> {
 	 * @return a transformed {@link Flux}
 	 */
 	public final <V> Flux<V> map(Function<? super T, ? extends V> mapper) {
+		Flux<V> fused = FluxPipeline.fuse(this, new FluxPipeline.MapStage(mapper));
+		if (fused != null) {
+			return onAssembly(fused);
+		}
 		if (this instanceof Fuseable) {
 			return onAssembly(new FluxMapFuseable<>(this, mapper));
 		}
@@ -7572,13 +7629,7 @@ public abstract class Flux<T> implements Publisher<T> {
 	public final Flux<T> timeout(Duration timeout,
 			@Nullable Publisher<? extends T> fallback,
 			Scheduler timer) {
-		final Mono<Long> _timer = Mono.delay(timeout, timer).onErrorReturn(0L);
-		final Function<T, Publisher<Long>> rest = o -> _timer;
-
-		if(fallback == null) {
-			return timeout(_timer, rest, timeout.toMillis() + "ms");
-		}
-		return timeout(_timer, rest, fallback);
+		return onAssembly(new FluxTimeoutDeadline<>(this, timeout, timer, fallback));
 	}
 
 	/**
@@ -8315,18 +8366,21 @@ public abstract class Flux<T> implements Publisher<T> {
 	 * To be used by custom operators: invokes assembly {@link Hooks} pointcut given a
 	 * {@link Flux}, potentially returning a new {@link Flux}. This is for example useful
 	 * to activate cross-cutting concerns at assembly time, eg. a generalized
-	 * {@link #checkpoint()}.
+	 * {@link #checkpoint()}. When no such hook is set, an operator that is redundant
+	 * with its source (eg. a second {@code hide()}) is rewritten into a cheaper
+	 * equivalent.
 	 *
 	 * @param <T> the value type
 	 * @param source the source to apply assembly hooks onto
 	 *
 	 * @return the source, potentially wrapped with assembly time cross-cutting behavior
+	 * or optimized away
 	 */
 	@SuppressWarnings("unchecked")
 	protected static <T> Flux<T> onAssembly(Flux<T> source) {
 		Function<Publisher, Publisher> hook = Hooks.onEachOperatorHook;
 		if(hook == null) {
-			return source;
+			return AssemblyOptimizer.optimize(source);
 		}
 		return (Flux<T>)hook.apply(source);
 	}
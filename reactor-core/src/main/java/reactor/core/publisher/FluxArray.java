@@ -187,6 +187,27 @@ final class FluxArray<T> extends Flux<T> implements Fuseable {
 			return null;
 		}
 
+		@Override
+		public int pollBatch(Object[] buffer, int limit) {
+			int i = index;
+			T[] a = array;
+			int n = Math.min(limit, a.length - i);
+			for (int j = 0; j < n; j++) {
+				T t = a[i + j];
+				if (t == null) {
+					index = i + j;
+					if (j == 0) {
+						//let poll signal the null value
+						poll();
+					}
+					return j;
+				}
+				buffer[j] = t;
+			}
+			index = i + n;
+			return n;
+		}
+
 		@Override
 		public boolean isEmpty() {
 			return index == array.length;
@@ -365,6 +386,27 @@ final class FluxArray<T> extends Flux<T> implements Fuseable {
 			return null;
 		}
 
+		@Override
+		public int pollBatch(Object[] buffer, int limit) {
+			int i = index;
+			T[] a = array;
+			int n = Math.min(limit, a.length - i);
+			for (int j = 0; j < n; j++) {
+				T t = a[i + j];
+				if (t == null) {
+					index = i + j;
+					if (j == 0) {
+						//let poll signal the null value
+						poll();
+					}
+					return j;
+				}
+				buffer[j] = t;
+			}
+			index = i + n;
+			return n;
+		}
+
 		@Override
 		public boolean isEmpty() {
 			return index == array.length;
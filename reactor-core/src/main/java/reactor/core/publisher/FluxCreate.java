@@ -126,7 +126,7 @@ final class FluxCreate<T> extends Flux<T> {
 
 		SerializedSink(BaseSink<T> sink) {
 			this.sink = sink;
-			this.mpscQueue = Queues.<T>unboundedMultiproducer().get();
+			this.mpscQueue = Queues.<T>unboundedMultiproducer(Queues.XS_BUFFER_SIZE).get();
 		}
 
 		@Override
@@ -16,6 +16,7 @@
 
 package reactor.core.publisher;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.Predicate;
 
@@ -65,6 +66,13 @@ final class FluxFilterFuseable<T> extends FluxOperator<T, T> implements Fuseable
 
 		int sourceMode;
 
+		/**
+		 * A failure met by {@link #pollBatch} after some elements were already tested,
+		 * to be thrown by the next poll.
+		 */
+		@Nullable
+		RuntimeException batchError;
+
 		FilterFuseableSubscriber(CoreSubscriber<? super T> actual,
 				Predicate<? super T> predicate) {
 			this.actual = actual;
@@ -186,6 +194,11 @@ final class FluxFilterFuseable<T> extends FluxOperator<T, T> implements Fuseable
 		@Override
 		@Nullable
 		public T poll() {
+			RuntimeException error = batchError;
+			if (error != null) {
+				batchError = null;
+				throw error;
+			}
 			if (sourceMode == ASYNC) {
 				long dropped = 0;
 				for (; ; ) {
@@ -229,13 +242,60 @@ final class FluxFilterFuseable<T> extends FluxOperator<T, T> implements Fuseable
 			}
 		}
 
+		@Override
+		@SuppressWarnings("unchecked")
+		public int pollBatch(Object[] buffer, int limit) {
+			RuntimeException error = batchError;
+			if (error != null) {
+				batchError = null;
+				throw error;
+			}
+			long dropped = 0;
+			for (;;) {
+				int n = s.pollBatch(buffer, limit);
+				int k = 0;
+				for (int i = 0; i < n; i++) {
+					T v = (T) buffer[i];
+					buffer[i] = null;
+					try {
+						if (predicate.test(v)) {
+							buffer[k++] = v;
+						}
+						else {
+							dropped++;
+						}
+					}
+					catch (Throwable e) {
+						RuntimeException e_ = Operators.onNextPollError(v, e, currentContext());
+						if (e_ != null) {
+							Arrays.fill(buffer, i + 1, n, null);
+							if (k == 0) {
+								throw e_;
+							}
+							batchError = e_;
+							return k;
+						}
+						//else continue
+					}
+				}
+				if (k != 0 || n == 0) {
+					//in ASYNC mode items dropped by the predicate are replenished
+					if (dropped != 0 && sourceMode == ASYNC) {
+						request(dropped);
+					}
+					return k;
+				}
+			}
+		}
+
 		@Override
 		public boolean isEmpty() {
-			return s.isEmpty();
+			return batchError == null && s.isEmpty();
 		}
 
 		@Override
 		public void clear() {
+			batchError = null;
 			s.clear();
 		}
 
@@ -272,6 +332,13 @@ final class FluxFilterFuseable<T> extends FluxOperator<T, T> implements Fuseable
 
 		int sourceMode;
 
+		/**
+		 * A failure met by {@link #pollBatch} after some elements were already tested,
+		 * to be thrown by the next poll.
+		 */
+		@Nullable
+		RuntimeException batchError;
+
 		FilterFuseableConditionalSubscriber(ConditionalSubscriber<? super T> actual,
 				Predicate<? super T> predicate) {
 			this.actual = actual;
@@ -390,6 +457,11 @@ final class FluxFilterFuseable<T> extends FluxOperator<T, T> implements Fuseable
 		@Override
 		@Nullable
 		public T poll() {
+			RuntimeException error = batchError;
+			if (error != null) {
+				batchError = null;
+				throw error;
+			}
 			if (sourceMode == ASYNC) {
 				long dropped = 0;
 				for (; ; ) {
@@ -432,13 +504,60 @@ final class FluxFilterFuseable<T> extends FluxOperator<T, T> implements Fuseable
 			}
 		}
 
+		@Override
+		@SuppressWarnings("unchecked")
+		public int pollBatch(Object[] buffer, int limit) {
+			RuntimeException error = batchError;
+			if (error != null) {
+				batchError = null;
+				throw error;
+			}
+			long dropped = 0;
+			for (;;) {
+				int n = s.pollBatch(buffer, limit);
+				int k = 0;
+				for (int i = 0; i < n; i++) {
+					T v = (T) buffer[i];
+					buffer[i] = null;
+					try {
+						if (predicate.test(v)) {
+							buffer[k++] = v;
+						}
+						else {
+							dropped++;
+						}
+					}
+					catch (Throwable e) {
+						RuntimeException e_ = Operators.onNextPollError(v, e, currentContext());
+						if (e_ != null) {
+							Arrays.fill(buffer, i + 1, n, null);
+							if (k == 0) {
+								throw e_;
+							}
+							batchError = e_;
+							return k;
+						}
+						//else continue
+					}
+				}
+				if (k != 0 || n == 0) {
+					//in ASYNC mode items dropped by the predicate are replenished
+					if (dropped != 0 && sourceMode == ASYNC) {
+						request(dropped);
+					}
+					return k;
+				}
+			}
+		}
+
 		@Override
 		public boolean isEmpty() {
-			return s.isEmpty();
+			return batchError == null && s.isEmpty();
 		}
 
 		@Override
 		public void clear() {
+			batchError = null;
 			s.clear();
 		}
 
@@ -22,6 +22,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -34,6 +35,7 @@ import reactor.core.Exceptions;
 import reactor.core.Fuseable;
 import reactor.core.Scannable;
 import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
 import reactor.util.context.Context;
 
 /**
@@ -190,6 +192,7 @@ final class FluxFlatMap<T, R> extends FluxOperator<T, R> {
 		final Supplier<? extends Queue<R>>                          mainQueueSupplier;
 		final Supplier<? extends Queue<R>>                          innerQueueSupplier;
 		final CoreSubscriber<? super R>                             actual;
+		final Consumer<R>                                           emitter;
 
 		volatile Queue<R> scalarQueue;
 
@@ -242,6 +245,7 @@ final class FluxFlatMap<T, R> extends FluxOperator<T, R> {
 			this.prefetch = prefetch;
 			this.innerQueueSupplier = innerQueueSupplier;
 			this.limit = Operators.unboundedOrLimit(maxConcurrency);
+			this.emitter = this::emit;
 		}
 
 		@Override
@@ -536,6 +540,12 @@ final class FluxFlatMap<T, R> extends FluxOperator<T, R> {
 			drainLoop();
 		}
 
+		void emit(R v) {
+			if (!cancelled) {
+				actual.onNext(v);
+			}
+		}
+
 		void drainLoop() {
 			int missed = 1;
 
@@ -565,25 +575,7 @@ final class FluxFlatMap<T, R> extends FluxOperator<T, R> {
 
 				if (r != 0L && sq != null) {
 
-					while (e != r) {
-						d = done;
-
-						R v = sq.poll();
-
-						boolean empty = v == null;
-
-						if (checkTerminated(d, false, a)) {
-							return;
-						}
-
-						if (empty) {
-							break;
-						}
-
-						a.onNext(v);
-
-						e++;
-					}
+					e = Queues.drain(sq, emitter, (int) Math.min(r, Integer.MAX_VALUE));
 
 					if (e != 0L) {
 						replenishMain += e;
@@ -620,45 +612,71 @@ final class FluxFlatMap<T, R> extends FluxOperator<T, R> {
 								replenishMain++;
 							}
 							else if (q != null) {
-								while (e != r) {
-									d = inner.done;
+								if (inner.sourceMode == Fuseable.NONE) {
+									//the queue belongs to the inner and can be drained in batches
+									while (e != r) {
+										d = inner.done;
+
+										if (checkTerminated(d, false, a)) {
+											return;
+										}
 
-									R v;
+										int k = Queues.drain(q, emitter,
+												(int) Math.min(r - e, Integer.MAX_VALUE));
 
-									try {
-										v = q.poll();
+										if (k == 0) {
+											if (d) {
+												remove(inner.index);
+												again = true;
+												replenishMain++;
+											}
+											break;
+										}
+
+										e += k;
 									}
-									catch (Throwable ex) {
-										ex = Operators.onOperatorError(inner, ex,
-												actual.currentContext());
-										if (!Exceptions.addThrowable(ERROR, this, ex)) {
-											Operators.onErrorDropped(ex,
+								}
+								else {
+									while (e != r) {
+										d = inner.done;
+
+										R v;
+
+										try {
+											v = q.poll();
+										}
+										catch (Throwable ex) {
+											ex = Operators.onOperatorError(inner, ex,
 													actual.currentContext());
+											if (!Exceptions.addThrowable(ERROR, this, ex)) {
+												Operators.onErrorDropped(ex,
+														actual.currentContext());
+											}
+											v = null;
+											d = true;
 										}
-										v = null;
-										d = true;
-									}
 
-									boolean empty = v == null;
+										boolean empty = v == null;
 
-									if (checkTerminated(d, false, a)) {
-										return;
-									}
+										if (checkTerminated(d, false, a)) {
+											return;
+										}
 
-									if (d && empty) {
-										remove(inner.index);
-										again = true;
-										replenishMain++;
-										break;
-									}
+										if (d && empty) {
+											remove(inner.index);
+											again = true;
+											replenishMain++;
+											break;
+										}
 
-									if (empty) {
-										break;
-									}
+										if (empty) {
+											break;
+										}
 
-									a.onNext(v);
+										a.onNext(v);
 
-									e++;
+										e++;
+									}
 								}
 
 								if (e == r) {
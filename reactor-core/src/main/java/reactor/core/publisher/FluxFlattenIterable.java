@@ -153,6 +153,13 @@ final class FluxFlattenIterable<T, R> extends FluxOperator<T, R> implements Fuse
 
 		Iterator<? extends R> current;
 
+		/**
+		 * A failure met by {@link #pollBatch} after some elements were already polled,
+		 * to be thrown by the next poll.
+		 */
+		@Nullable
+		RuntimeException batchError;
+
 		int consumed;
 
 		int fusionMode;
@@ -636,12 +643,16 @@ final class FluxFlattenIterable<T, R> extends FluxOperator<T, R> implements Fuse
 
 		@Override
 		public void clear() {
+			batchError = null;
 			current = null;
 			queue.clear();
 		}
 
 		@Override
 		public boolean isEmpty() {
+			if (batchError != null) {
+				return false;
+			}
 			Iterator<? extends R> it = current;
 			if (it != null) {
 				return !it.hasNext();
@@ -652,6 +663,11 @@ final class FluxFlattenIterable<T, R> extends FluxOperator<T, R> implements Fuse
 		@Override
 		@Nullable
 		public R poll() {
+			RuntimeException e = batchError;
+			if (e != null) {
+				batchError = null;
+				throw e;
+			}
 			Iterator<? extends R> it = current;
 			for (; ; ) {
 				if (it == null) {
@@ -683,6 +699,27 @@ final class FluxFlattenIterable<T, R> extends FluxOperator<T, R> implements Fuse
 			}
 		}
 
+		@Override
+		public int pollBatch(Object[] buffer, int limit) {
+			int n = 0;
+			try {
+				while (n < limit) {
+					R r = poll();
+					if (r == null) {
+						break;
+					}
+					buffer[n++] = r;
+				}
+			}
+			catch (RuntimeException e) {
+				if (n == 0) {
+					throw e;
+				}
+				batchError = e;
+			}
+			return n;
+		}
+
 		@Override
 		public int requestFusion(int requestedMode) {
 			if ((requestedMode & SYNC) != 0 && fusionMode == SYNC) {
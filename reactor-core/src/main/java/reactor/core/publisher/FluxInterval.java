@@ -83,10 +83,16 @@ final class FluxInterval extends Flux<Long> implements Scannable {
 		return null;
 	}
 
-	static final class IntervalRunnable implements Runnable, Subscription,
-	                                               InnerProducer<Long> {
+	/**
+	 * Emits a tick per run, as long as there is demand. Cancelling disposes the
+	 * {@link Worker} running it, unless it is {@link FluxIntervalShared shared} in which
+	 * case the subclass detaches it from its tick driver instead.
+	 */
+	static class IntervalRunnable implements Runnable, Subscription,
+	                                         InnerProducer<Long> {
 		final CoreSubscriber<? super Long> actual;
 
+		@Nullable
 		final Worker worker;
 
 		volatile long requested;
@@ -97,7 +103,7 @@ final class FluxInterval extends Flux<Long> implements Scannable {
 
 		volatile boolean cancelled;
 
-		IntervalRunnable(CoreSubscriber<? super Long> actual, Worker worker) {
+		IntervalRunnable(CoreSubscriber<? super Long> actual, @Nullable Worker worker) {
 			this.actual = actual;
 			this.worker = worker;
 		}
@@ -144,7 +150,9 @@ final class FluxInterval extends Flux<Long> implements Scannable {
 		public void cancel() {
 			if (!cancelled) {
 				cancelled = true;
-				worker.dispose();
+				if (worker != null) {
+					worker.dispose();
+				}
 			}
 		}
 	}
@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Periodically emits an ever increasing long value, like {@link FluxInterval}, but all
+ * the subscriptions with the same period and {@link Scheduler} attach to a single
+ * periodic task which fans ticks out to them. Ticks are therefore aligned on that
+ * shared driver: the first tick of a subscription happens within one period, rather
+ * than exactly one period after subscribing.
+ * <p>
+ * The driver is started by the first subscription and stopped once the last one is
+ * cancelled.
+ */
+final class FluxIntervalShared extends Flux<Long> implements Scannable {
+
+	static final ConcurrentMap<TickKey, TickDriver> DRIVERS = new ConcurrentHashMap<>();
+
+	final Scheduler timedScheduler;
+
+	final long periodNanos;
+
+	FluxIntervalShared(long period, TimeUnit unit, Scheduler timedScheduler) {
+		if (period <= 0L) {
+			throw new IllegalArgumentException("period > 0 required but it was " + period);
+		}
+		this.periodNanos = Objects.requireNonNull(unit, "unit").toNanos(period);
+		this.timedScheduler = Objects.requireNonNull(timedScheduler, "timedScheduler");
+	}
+
+	@Override
+	public void subscribe(CoreSubscriber<? super Long> actual) {
+		TickKey key = new TickKey(timedScheduler, periodNanos);
+		for (;;) {
+			TickDriver driver = DRIVERS.get(key);
+			if (driver == null) {
+				driver = new TickDriver(key);
+				TickDriver current = DRIVERS.putIfAbsent(key, driver);
+				if (current != null) {
+					driver = current;
+				}
+			}
+
+			SharedIntervalRunnable r = new SharedIntervalRunnable(actual, driver);
+			if (!driver.add(r)) {
+				//the driver has just been stopped, a new one will be registered
+				continue;
+			}
+
+			actual.onSubscribe(r);
+
+			try {
+				driver.start();
+			}
+			catch (RejectedExecutionException ree) {
+				if (!r.cancelled) {
+					r.cancel();
+					actual.onError(Operators.onRejectedExecution(ree, r, null, null,
+							actual.currentContext()));
+				}
+			}
+			return;
+		}
+	}
+
+	@Override
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.RUN_ON) return timedScheduler;
+
+		return null;
+	}
+
+	/**
+	 * The identity of a {@link TickDriver}: the scheduler it runs on and its period.
+	 */
+	static final class TickKey {
+
+		final Scheduler scheduler;
+		final long      periodNanos;
+
+		TickKey(Scheduler scheduler, long periodNanos) {
+			this.scheduler = scheduler;
+			this.periodNanos = periodNanos;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof TickKey)) {
+				return false;
+			}
+			TickKey other = (TickKey) o;
+			return scheduler == other.scheduler && periodNanos == other.periodNanos;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(scheduler) + Long.hashCode(periodNanos);
+		}
+	}
+
+	/**
+	 * A periodic task fanning each tick out to the subscriptions attached to it.
+	 */
+	static final class TickDriver implements Runnable {
+
+		static final SharedIntervalRunnable[] EMPTY      = new SharedIntervalRunnable[0];
+		static final SharedIntervalRunnable[] TERMINATED = new SharedIntervalRunnable[0];
+
+		final TickKey key;
+
+		volatile SharedIntervalRunnable[] subscribers = EMPTY;
+		static final AtomicReferenceFieldUpdater<TickDriver, SharedIntervalRunnable[]> SUBSCRIBERS =
+				AtomicReferenceFieldUpdater.newUpdater(TickDriver.class,
+						SharedIntervalRunnable[].class, "subscribers");
+
+		volatile int started;
+		static final AtomicIntegerFieldUpdater<TickDriver> STARTED =
+				AtomicIntegerFieldUpdater.newUpdater(TickDriver.class, "started");
+
+		@Nullable
+		volatile Disposable task;
+
+		TickDriver(TickKey key) {
+			this.key = key;
+		}
+
+		/**
+		 * Schedule the periodic task if it isn't already.
+		 *
+		 * @throws RejectedExecutionException if the scheduler rejects it, in which case
+		 * the driver is stopped
+		 */
+		void start() {
+			if (started != 0 || !STARTED.compareAndSet(this, 0, 1)) {
+				return;
+			}
+			Disposable t;
+			try {
+				t = key.scheduler.schedulePeriodically(this, key.periodNanos,
+						key.periodNanos, TimeUnit.NANOSECONDS);
+			}
+			catch (RejectedExecutionException ree) {
+				terminate();
+				throw ree;
+			}
+			task = t;
+			if (subscribers == TERMINATED) {
+				t.dispose();
+			}
+		}
+
+		boolean add(SharedIntervalRunnable inner) {
+			for (;;) {
+				SharedIntervalRunnable[] a = subscribers;
+				if (a == TERMINATED) {
+					return false;
+				}
+				int n = a.length;
+				SharedIntervalRunnable[] b = new SharedIntervalRunnable[n + 1];
+				System.arraycopy(a, 0, b, 0, n);
+				b[n] = inner;
+				if (SUBSCRIBERS.compareAndSet(this, a, b)) {
+					return true;
+				}
+			}
+		}
+
+		void remove(SharedIntervalRunnable inner) {
+			for (;;) {
+				SharedIntervalRunnable[] a = subscribers;
+				if (a == TERMINATED || a == EMPTY) {
+					return;
+				}
+				int n = a.length;
+				int j = -1;
+				for (int i = 0; i < n; i++) {
+					if (a[i] == inner) {
+						j = i;
+						break;
+					}
+				}
+
+				if (j < 0) {
+					return;
+				}
+
+				SharedIntervalRunnable[] b;
+				if (n == 1) {
+					//the last subscription stops the driver
+					if (SUBSCRIBERS.compareAndSet(this, a, TERMINATED)) {
+						stop();
+						return;
+					}
+					continue;
+				}
+				b = new SharedIntervalRunnable[n - 1];
+				System.arraycopy(a, 0, b, 0, j);
+				System.arraycopy(a, j + 1, b, j, n - j - 1);
+				if (SUBSCRIBERS.compareAndSet(this, a, b)) {
+					return;
+				}
+			}
+		}
+
+		void terminate() {
+			if (SUBSCRIBERS.getAndSet(this, TERMINATED) != TERMINATED) {
+				stop();
+			}
+		}
+
+		void stop() {
+			DRIVERS.remove(key, this);
+			Disposable t = task;
+			if (t != null) {
+				t.dispose();
+			}
+		}
+
+		@Override
+		public void run() {
+			for (SharedIntervalRunnable r : subscribers) {
+				try {
+					r.run();
+				}
+				catch (Throwable ex) {
+					//a failing subscriber must not stop the ticks of the others, so its
+					//error is surfaced through a separate task rather than thrown here
+					Exceptions.throwIfJvmFatal(ex);
+					r.cancel();
+					try {
+						key.scheduler.schedule(() -> {
+							throw Exceptions.propagate(ex);
+						});
+					}
+					catch (RejectedExecutionException ree) {
+						ree.addSuppressed(ex);
+						Operators.onErrorDropped(ree, r.actual.currentContext());
+					}
+				}
+			}
+		}
+	}
+
+	static final class SharedIntervalRunnable extends FluxInterval.IntervalRunnable {
+
+		final TickDriver driver;
+
+		SharedIntervalRunnable(CoreSubscriber<? super Long> actual, TickDriver driver) {
+			super(actual, null);
+			this.driver = driver;
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.RUN_ON) return driver.key.scheduler;
+
+			return super.scanUnsafe(key);
+		}
+
+		@Override
+		public void cancel() {
+			if (!cancelled) {
+				super.cancel();
+				driver.remove(this);
+			}
+		}
+	}
+}
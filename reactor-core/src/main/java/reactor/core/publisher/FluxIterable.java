@@ -167,6 +167,13 @@ final class FluxIterable<T> extends Flux<T> implements Fuseable {
 
 		T current;
 
+		/**
+		 * A failure met by {@link #pollBatch} after some elements were already polled,
+		 * to be thrown by the next poll.
+		 */
+		@Nullable
+		RuntimeException batchError;
+
 		IterableSubscription(CoreSubscriber<? super T> actual,
 				Iterator<? extends T> iterator, @Nullable Runnable onClose) {
 			this.actual = actual;
@@ -349,11 +356,15 @@ final class FluxIterable<T> extends Flux<T> implements Fuseable {
 
 		@Override
 		public void clear() {
+			batchError = null;
 			state = STATE_NO_NEXT;
 		}
 
 		@Override
 		public boolean isEmpty() {
+			if (batchError != null) {
+				return false;
+			}
 			int s = state;
 			if (s == STATE_NO_NEXT) {
 				return true;
@@ -372,6 +383,11 @@ final class FluxIterable<T> extends Flux<T> implements Fuseable {
 		@Override
 		@Nullable
 		public T poll() {
+			RuntimeException e = batchError;
+			if (e != null) {
+				batchError = null;
+				throw e;
+			}
 			if (!isEmpty()) {
 				T c;
 				if (state == STATE_HAS_NEXT_NO_VALUE) {
@@ -392,6 +408,27 @@ final class FluxIterable<T> extends Flux<T> implements Fuseable {
 			return null;
 		}
 
+		@Override
+		public int pollBatch(Object[] buffer, int limit) {
+			int n = 0;
+			try {
+				while (n < limit) {
+					T t = poll();
+					if (t == null) {
+						break;
+					}
+					buffer[n++] = t;
+				}
+			}
+			catch (RuntimeException e) {
+				if (n == 0) {
+					throw e;
+				}
+				batchError = e;
+			}
+			return n;
+		}
+
 		@Override
 		public int size() {
 			if (state == STATE_NO_NEXT) {
@@ -439,6 +476,13 @@ final class FluxIterable<T> extends Flux<T> implements Fuseable {
 
 		T current;
 
+		/**
+		 * A failure met by {@link #pollBatch} after some elements were already polled,
+		 * to be thrown by the next poll.
+		 */
+		@Nullable
+		RuntimeException batchError;
+
 		IterableSubscriptionConditional(ConditionalSubscriber<? super T> actual,
 				Iterator<? extends T> iterator, @Nullable Runnable onClose) {
 			this.actual = actual;
@@ -623,11 +667,15 @@ final class FluxIterable<T> extends Flux<T> implements Fuseable {
 
 		@Override
 		public void clear() {
+			batchError = null;
 			state = STATE_NO_NEXT;
 		}
 
 		@Override
 		public boolean isEmpty() {
+			if (batchError != null) {
+				return false;
+			}
 			int s = state;
 			if (s == STATE_NO_NEXT) {
 				return true;
@@ -646,6 +694,11 @@ final class FluxIterable<T> extends Flux<T> implements Fuseable {
 		@Override
 		@Nullable
 		public T poll() {
+			RuntimeException e = batchError;
+			if (e != null) {
+				batchError = null;
+				throw e;
+			}
 			if (!isEmpty()) {
 				T c;
 				if (state == STATE_HAS_NEXT_NO_VALUE) {
@@ -662,6 +715,27 @@ final class FluxIterable<T> extends Flux<T> implements Fuseable {
 			return null;
 		}
 
+		@Override
+		public int pollBatch(Object[] buffer, int limit) {
+			int n = 0;
+			try {
+				while (n < limit) {
+					T t = poll();
+					if (t == null) {
+						break;
+					}
+					buffer[n++] = t;
+				}
+			}
+			catch (RuntimeException e) {
+				if (n == 0) {
+					throw e;
+				}
+				batchError = e;
+			}
+			return n;
+		}
+
 		@Override
 		public int size() {
 			if (state == STATE_NO_NEXT) {
@@ -16,6 +16,7 @@
 
 package reactor.core.publisher;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.Function;
 
@@ -76,6 +77,13 @@ final class FluxMapFuseable<T, R> extends FluxOperator<T, R> implements Fuseable
 
 		int sourceMode;
 
+		/**
+		 * A failure met by {@link #pollBatch} after some elements were already mapped,
+		 * to be thrown by the next poll.
+		 */
+		@Nullable
+		RuntimeException batchError;
+
 		MapFuseableSubscriber(CoreSubscriber<? super R> actual,
 				Function<? super T, ? extends R> mapper) {
 			this.actual = actual;
@@ -170,6 +178,11 @@ final class FluxMapFuseable<T, R> extends FluxOperator<T, R> implements Fuseable
 		@Override
 		@Nullable
 		public R poll() {
+			RuntimeException e = batchError;
+			if (e != null) {
+				batchError = null;
+				throw e;
+			}
 			for(;;) {
 				T v = s.poll();
 				if (v != null) {
@@ -190,13 +203,51 @@ final class FluxMapFuseable<T, R> extends FluxOperator<T, R> implements Fuseable
 			}
 		}
 
+		@Override
+		@SuppressWarnings("unchecked")
+		public int pollBatch(Object[] buffer, int limit) {
+			RuntimeException e = batchError;
+			if (e != null) {
+				batchError = null;
+				throw e;
+			}
+			for (;;) {
+				int n = s.pollBatch(buffer, limit);
+				int k = 0;
+				for (int i = 0; i < n; i++) {
+					T v = (T) buffer[i];
+					buffer[i] = null;
+					try {
+						buffer[k] = Objects.requireNonNull(mapper.apply(v));
+						k++;
+					}
+					catch (Throwable t) {
+						RuntimeException e_ = Operators.onNextPollError(v, t, currentContext());
+						if (e_ != null) {
+							Arrays.fill(buffer, i + 1, n, null);
+							if (k == 0) {
+								throw e_;
+							}
+							batchError = e_;
+							return k;
+						}
+					}
+				}
+				//a batch entirely skipped by the error strategy is not the end
+				if (k != 0 || n == 0) {
+					return k;
+				}
+			}
+		}
+
 		@Override
 		public boolean isEmpty() {
-			return s.isEmpty();
+			return batchError == null && s.isEmpty();
 		}
 
 		@Override
 		public void clear() {
+			batchError = null;
 			s.clear();
 		}
 
@@ -232,6 +283,13 @@ final class FluxMapFuseable<T, R> extends FluxOperator<T, R> implements Fuseable
 
 		int sourceMode;
 
+		/**
+		 * A failure met by {@link #pollBatch} after some elements were already mapped,
+		 * to be thrown by the next poll.
+		 */
+		@Nullable
+		RuntimeException batchError;
+
 		MapFuseableConditionalSubscriber(ConditionalSubscriber<? super R> actual,
 				Function<? super T, ? extends R> mapper) {
 			this.actual = actual;
@@ -354,6 +412,11 @@ final class FluxMapFuseable<T, R> extends FluxOperator<T, R> implements Fuseable
 		@Override
 		@Nullable
 		public R poll() {
+			RuntimeException e = batchError;
+			if (e != null) {
+				batchError = null;
+				throw e;
+			}
 			for(;;) {
 				T v = s.poll();
 				if (v != null) {
@@ -374,13 +437,51 @@ final class FluxMapFuseable<T, R> extends FluxOperator<T, R> implements Fuseable
 			}
 		}
 
+		@Override
+		@SuppressWarnings("unchecked")
+		public int pollBatch(Object[] buffer, int limit) {
+			RuntimeException e = batchError;
+			if (e != null) {
+				batchError = null;
+				throw e;
+			}
+			for (;;) {
+				int n = s.pollBatch(buffer, limit);
+				int k = 0;
+				for (int i = 0; i < n; i++) {
+					T v = (T) buffer[i];
+					buffer[i] = null;
+					try {
+						buffer[k] = Objects.requireNonNull(mapper.apply(v));
+						k++;
+					}
+					catch (Throwable t) {
+						RuntimeException e_ = Operators.onNextPollError(v, t, currentContext());
+						if (e_ != null) {
+							Arrays.fill(buffer, i + 1, n, null);
+							if (k == 0) {
+								throw e_;
+							}
+							batchError = e_;
+							return k;
+						}
+					}
+				}
+				//a batch entirely skipped by the error strategy is not the end
+				if (k != 0 || n == 0) {
+					return k;
+				}
+			}
+		}
+
 		@Override
 		public boolean isEmpty() {
-			return s.isEmpty();
+			return batchError == null && s.isEmpty();
 		}
 
 		@Override
 		public void clear() {
+			batchError = null;
 			s.clear();
 		}
 
@@ -0,0 +1,486 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Fuseable;
+import reactor.core.Fuseable.ConditionalSubscriber;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.Context;
+
+/**
+ * Applies a sequence of stateless per-item stages (map, filter and doOnNext) in a
+ * single operator, in place of a chain of adjacent {@link FluxMap}, {@link FluxFilter}
+ * and {@link FluxPeek} operators.
+ * <p>
+ * Such chains are fused at assembly time by {@link #fuse(Flux, Stage)}: each item then
+ * goes through all the stages in one loop, instead of going down one subscriber per
+ * operator.
+ *
+ * @param <T> the source value type
+ * @param <R> the result value type
+ */
+final class FluxPipeline<T, R> extends FluxOperator<T, R> {
+
+	final Stage[] stages;
+
+	FluxPipeline(Flux<? extends T> source, Stage[] stages) {
+		super(source);
+		this.stages = stages;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void subscribe(CoreSubscriber<? super R> actual) {
+		if (actual instanceof ConditionalSubscriber) {
+			source.subscribe(new PipelineConditionalSubscriber<>((ConditionalSubscriber<? super R>) actual,
+					stages));
+			return;
+		}
+		source.subscribe(new PipelineSubscriber<>(actual, stages));
+	}
+
+	/**
+	 * Fuse a new stage with the given operator if it only applies per-item stages
+	 * itself. Operators are never fused while {@link Hooks#onEachOperator} hooks are
+	 * set, so that such hooks (including {@link Hooks#onOperatorDebug()}) still see
+	 * every operator.
+	 *
+	 * @param upstream the operator the new stage would otherwise be applied to
+	 * @param stage the new stage
+	 * @param <R> the result value type
+	 *
+	 * @return a single operator applying the stages of {@code upstream} then the new
+	 * stage, or null if {@code upstream} cannot be fused
+	 */
+	@Nullable
+	static <R> Flux<R> fuse(Flux<?> upstream, Stage stage) {
+		if (Hooks.onEachOperatorHook != null) {
+			return null;
+		}
+		Stage[] stages = stagesOf(upstream);
+		if (stages == null) {
+			return null;
+		}
+		Flux<?> source = ((FluxOperator<?, ?>) upstream).source;
+		if (source instanceof Fuseable) {
+			return new FluxPipelineFuseable<>(source, append(stages, stage));
+		}
+		return new FluxPipeline<>(source, append(stages, stage));
+	}
+
+	@Nullable
+	static Stage[] stagesOf(Flux<?> upstream) {
+		if (upstream instanceof FluxPipeline) {
+			return ((FluxPipeline<?, ?>) upstream).stages;
+		}
+		if (upstream instanceof FluxPipelineFuseable) {
+			return ((FluxPipelineFuseable<?, ?>) upstream).stages;
+		}
+		if (upstream instanceof FluxMap) {
+			return new Stage[]{new MapStage(((FluxMap<?, ?>) upstream).mapper)};
+		}
+		if (upstream instanceof FluxMapFuseable) {
+			return new Stage[]{new MapStage(((FluxMapFuseable<?, ?>) upstream).mapper)};
+		}
+		if (upstream instanceof FluxFilter) {
+			return new Stage[]{new FilterStage(((FluxFilter<?>) upstream).predicate)};
+		}
+		if (upstream instanceof FluxFilterFuseable) {
+			return new Stage[]{new FilterStage(((FluxFilterFuseable<?>) upstream).predicate)};
+		}
+		if (upstream instanceof FluxPeek || upstream instanceof FluxPeekFuseable) {
+			SignalPeek<?> peek = (SignalPeek<?>) upstream;
+			if (isOnNextOnly(peek)) {
+				return new Stage[]{new PeekStage(peek.onNextCall())};
+			}
+		}
+		return null;
+	}
+
+	static boolean isOnNextOnly(SignalPeek<?> peek) {
+		return peek.onNextCall() != null &&
+				peek.onSubscribeCall() == null &&
+				peek.onErrorCall() == null &&
+				peek.onCompleteCall() == null &&
+				peek.onAfterTerminateCall() == null &&
+				peek.onRequestCall() == null &&
+				peek.onCancelCall() == null &&
+				peek.onAfterNextCall() == null &&
+				peek.onCurrentContextCall() == null;
+	}
+
+	static Stage[] append(Stage[] stages, Stage stage) {
+		Stage[] a = Arrays.copyOf(stages, stages.length + 1);
+		a[stages.length] = stage;
+		return a;
+	}
+
+	/**
+	 * Run an item through the stages, reporting failures to the error mode of the
+	 * {@link Context} like each of the fused operators would.
+	 *
+	 * @return the value to emit, null if a stage dropped the item or failed with an
+	 * error the error mode chose to skip, or a {@link Failure} holding the error to
+	 * propagate
+	 */
+	@Nullable
+	static Object applyOnNext(Stage[] stages, Object t, Context ctx, Subscription s) {
+		Object v = t;
+		for (Stage stage : stages) {
+			try {
+				v = stage.apply(v);
+			}
+			catch (Throwable e) {
+				//v is still the input of the failed stage
+				Throwable e_ = Operators.onNextError(v, e, ctx, s);
+				return e_ == null ? null : new Failure(e_);
+			}
+			if (v == null) {
+				return null;
+			}
+		}
+		return v;
+	}
+
+	/**
+	 * Run a polled item through the stages.
+	 *
+	 * @return the value to emit, or null if a stage dropped the item or failed with an
+	 * error the error mode chose to skip
+	 */
+	@Nullable
+	static Object applyPoll(Stage[] stages, Object t, Context ctx) {
+		Object v = t;
+		for (Stage stage : stages) {
+			try {
+				v = stage.apply(v);
+			}
+			catch (Throwable e) {
+				RuntimeException e_ = Operators.onNextPollError(v, e, ctx);
+				if (e_ != null) {
+					throw e_;
+				}
+				return null;
+			}
+			if (v == null) {
+				return null;
+			}
+		}
+		return v;
+	}
+
+	/**
+	 * A stateless step applied to each item.
+	 */
+	abstract static class Stage {
+
+		/**
+		 * @param t the item
+		 *
+		 * @return the value to pass to the next stage, or null to drop the item
+		 */
+		@Nullable
+		abstract Object apply(Object t);
+	}
+
+	static final class MapStage extends Stage {
+
+		final Function<Object, ?> mapper;
+
+		@SuppressWarnings("unchecked")
+		MapStage(Function<?, ?> mapper) {
+			this.mapper = (Function<Object, ?>) Objects.requireNonNull(mapper, "mapper");
+		}
+
+		@Override
+		Object apply(Object t) {
+			return Objects.requireNonNull(mapper.apply(t),
+					"The mapper returned a null value.");
+		}
+	}
+
+	static final class FilterStage extends Stage {
+
+		final Predicate<Object> predicate;
+
+		@SuppressWarnings("unchecked")
+		FilterStage(Predicate<?> predicate) {
+			this.predicate = (Predicate<Object>) Objects.requireNonNull(predicate, "predicate");
+		}
+
+		@Override
+		@Nullable
+		Object apply(Object t) {
+			return predicate.test(t) ? t : null;
+		}
+	}
+
+	static final class PeekStage extends Stage {
+
+		final Consumer<Object> onNext;
+
+		@SuppressWarnings("unchecked")
+		PeekStage(Consumer<?> onNext) {
+			this.onNext = (Consumer<Object>) Objects.requireNonNull(onNext, "onNext");
+		}
+
+		@Override
+		Object apply(Object t) {
+			onNext.accept(t);
+			return t;
+		}
+	}
+
+	/**
+	 * The error to propagate after a stage failed.
+	 */
+	static final class Failure {
+
+		final Throwable error;
+
+		Failure(Throwable error) {
+			this.error = error;
+		}
+	}
+
+	static final class PipelineSubscriber<T, R>
+			implements InnerOperator<T, R>, ConditionalSubscriber<T> {
+
+		final CoreSubscriber<? super R> actual;
+
+		final Stage[] stages;
+
+		Subscription s;
+
+		boolean done;
+
+		PipelineSubscriber(CoreSubscriber<? super R> actual, Stage[] stages) {
+			this.actual = actual;
+			this.stages = stages;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.validate(this.s, s)) {
+				this.s = s;
+				actual.onSubscribe(this);
+			}
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void onNext(T t) {
+			if (done) {
+				Operators.onNextDropped(t, actual.currentContext());
+				return;
+			}
+
+			Object v = applyOnNext(stages, t, actual.currentContext(), s);
+
+			if (v == null) {
+				s.request(1);
+			}
+			else if (v instanceof Failure) {
+				onError(((Failure) v).error);
+			}
+			else {
+				actual.onNext((R) v);
+			}
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean tryOnNext(T t) {
+			if (done) {
+				Operators.onNextDropped(t, actual.currentContext());
+				return false;
+			}
+
+			Object v = applyOnNext(stages, t, actual.currentContext(), s);
+
+			if (v == null) {
+				return false;
+			}
+			if (v instanceof Failure) {
+				onError(((Failure) v).error);
+				return false;
+			}
+			actual.onNext((R) v);
+			return true;
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Operators.onErrorDropped(t, actual.currentContext());
+				return;
+			}
+			done = true;
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			actual.onComplete();
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.PARENT) return s;
+			if (key == Attr.TERMINATED) return done;
+
+			return InnerOperator.super.scanUnsafe(key);
+		}
+
+		@Override
+		public CoreSubscriber<? super R> actual() {
+			return actual;
+		}
+
+		@Override
+		public void request(long n) {
+			s.request(n);
+		}
+
+		@Override
+		public void cancel() {
+			s.cancel();
+		}
+	}
+
+	static final class PipelineConditionalSubscriber<T, R>
+			implements InnerOperator<T, R>, ConditionalSubscriber<T> {
+
+		final ConditionalSubscriber<? super R> actual;
+
+		final Stage[] stages;
+
+		Subscription s;
+
+		boolean done;
+
+		PipelineConditionalSubscriber(ConditionalSubscriber<? super R> actual,
+				Stage[] stages) {
+			this.actual = actual;
+			this.stages = stages;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.validate(this.s, s)) {
+				this.s = s;
+				actual.onSubscribe(this);
+			}
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void onNext(T t) {
+			if (done) {
+				Operators.onNextDropped(t, actual.currentContext());
+				return;
+			}
+
+			Object v = applyOnNext(stages, t, actual.currentContext(), s);
+
+			if (v == null) {
+				s.request(1);
+			}
+			else if (v instanceof Failure) {
+				onError(((Failure) v).error);
+			}
+			else {
+				actual.onNext((R) v);
+			}
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean tryOnNext(T t) {
+			if (done) {
+				Operators.onNextDropped(t, actual.currentContext());
+				return false;
+			}
+
+			Object v = applyOnNext(stages, t, actual.currentContext(), s);
+
+			if (v == null) {
+				return false;
+			}
+			if (v instanceof Failure) {
+				onError(((Failure) v).error);
+				return false;
+			}
+			return actual.tryOnNext((R) v);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Operators.onErrorDropped(t, actual.currentContext());
+				return;
+			}
+			done = true;
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			actual.onComplete();
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.PARENT) return s;
+			if (key == Attr.TERMINATED) return done;
+
+			return InnerOperator.super.scanUnsafe(key);
+		}
+
+		@Override
+		public CoreSubscriber<? super R> actual() {
+			return actual;
+		}
+
+		@Override
+		public void request(long n) {
+			s.request(n);
+		}
+
+		@Override
+		public void cancel() {
+			s.cancel();
+		}
+	}
+}
@@ -0,0 +1,503 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.util.Arrays;
+
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Fuseable;
+import reactor.core.publisher.FluxPipeline.Failure;
+import reactor.core.publisher.FluxPipeline.Stage;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Applies a sequence of stateless per-item stages (map, filter and doOnNext) in a
+ * single operator, in place of a chain of adjacent {@link FluxMapFuseable},
+ * {@link FluxFilterFuseable} and {@link FluxPeekFuseable} operators. When fused, each
+ * polled item goes through all the stages in one loop.
+ *
+ * @param <T> the source value type
+ * @param <R> the result value type
+ *
+ * @see FluxPipeline
+ */
+final class FluxPipelineFuseable<T, R> extends FluxOperator<T, R> implements Fuseable {
+
+	final Stage[] stages;
+
+	FluxPipelineFuseable(Flux<? extends T> source, Stage[] stages) {
+		super(source);
+		this.stages = stages;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void subscribe(CoreSubscriber<? super R> actual) {
+		if (actual instanceof ConditionalSubscriber) {
+			source.subscribe(new PipelineFuseableConditionalSubscriber<>((ConditionalSubscriber<? super R>) actual,
+					stages));
+			return;
+		}
+		source.subscribe(new PipelineFuseableSubscriber<>(actual, stages));
+	}
+
+	static final class PipelineFuseableSubscriber<T, R>
+			implements InnerOperator<T, R>, QueueSubscription<R>,
+			           ConditionalSubscriber<T> {
+
+		final CoreSubscriber<? super R> actual;
+
+		final Stage[] stages;
+
+		QueueSubscription<T> s;
+
+		boolean done;
+
+		int sourceMode;
+
+		/**
+		 * A failure met by {@link #pollBatch} after some elements went through the
+		 * stages, to be thrown by the next poll.
+		 */
+		@Nullable
+		RuntimeException batchError;
+
+		PipelineFuseableSubscriber(CoreSubscriber<? super R> actual, Stage[] stages) {
+			this.actual = actual;
+			this.stages = stages;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.validate(this.s, s)) {
+				this.s = (QueueSubscription<T>) s;
+				actual.onSubscribe(this);
+			}
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void onNext(T t) {
+			if (sourceMode == ASYNC) {
+				actual.onNext(null);
+			}
+			else {
+				if (done) {
+					Operators.onNextDropped(t, actual.currentContext());
+					return;
+				}
+
+				Object v = FluxPipeline.applyOnNext(stages, t, actual.currentContext(), s);
+
+				if (v == null) {
+					s.request(1);
+				}
+				else if (v instanceof Failure) {
+					onError(((Failure) v).error);
+				}
+				else {
+					actual.onNext((R) v);
+				}
+			}
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean tryOnNext(T t) {
+			if (done) {
+				Operators.onNextDropped(t, actual.currentContext());
+				return false;
+			}
+
+			Object v = FluxPipeline.applyOnNext(stages, t, actual.currentContext(), s);
+
+			if (v == null) {
+				return false;
+			}
+			if (v instanceof Failure) {
+				onError(((Failure) v).error);
+				return false;
+			}
+			actual.onNext((R) v);
+			return true;
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Operators.onErrorDropped(t, actual.currentContext());
+				return;
+			}
+			done = true;
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			actual.onComplete();
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.PARENT) return s;
+			if (key == Attr.TERMINATED) return done;
+
+			return InnerOperator.super.scanUnsafe(key);
+		}
+
+		@Override
+		public CoreSubscriber<? super R> actual() {
+			return actual;
+		}
+
+		@Override
+		public void request(long n) {
+			s.request(n);
+		}
+
+		@Override
+		public void cancel() {
+			s.cancel();
+		}
+
+		@Override
+		@Nullable
+		@SuppressWarnings("unchecked")
+		public R poll() {
+			RuntimeException e = batchError;
+			if (e != null) {
+				batchError = null;
+				throw e;
+			}
+			long dropped = 0;
+			for (; ; ) {
+				T t = s.poll();
+				Object v = t == null ? null :
+						FluxPipeline.applyPoll(stages, t, currentContext());
+
+				if (t == null || v != null) {
+					//in ASYNC mode items dropped by the stages are replenished
+					if (dropped != 0 && sourceMode == ASYNC) {
+						request(dropped);
+					}
+					return (R) v;
+				}
+				dropped++;
+			}
+		}
+
+		@Override
+		public int pollBatch(Object[] buffer, int limit) {
+			RuntimeException e = batchError;
+			if (e != null) {
+				batchError = null;
+				throw e;
+			}
+			long dropped = 0;
+			for (;;) {
+				int n = s.pollBatch(buffer, limit);
+				int k = 0;
+				for (int i = 0; i < n; i++) {
+					Object v = buffer[i];
+					buffer[i] = null;
+					try {
+						v = FluxPipeline.applyPoll(stages, v, currentContext());
+					}
+					catch (RuntimeException e_) {
+						Arrays.fill(buffer, i + 1, n, null);
+						if (k == 0) {
+							throw e_;
+						}
+						batchError = e_;
+						return k;
+					}
+					if (v != null) {
+						buffer[k++] = v;
+					}
+					else {
+						dropped++;
+					}
+				}
+				if (k != 0 || n == 0) {
+					//in ASYNC mode items dropped by the stages are replenished
+					if (dropped != 0 && sourceMode == ASYNC) {
+						request(dropped);
+					}
+					return k;
+				}
+			}
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return batchError == null && s.isEmpty();
+		}
+
+		@Override
+		public void clear() {
+			batchError = null;
+			s.clear();
+		}
+
+		@Override
+		public int requestFusion(int requestedMode) {
+			int m;
+			if ((requestedMode & Fuseable.THREAD_BARRIER) != 0) {
+				return Fuseable.NONE;
+			}
+			else {
+				m = s.requestFusion(requestedMode);
+			}
+			sourceMode = m;
+			return m;
+		}
+
+		@Override
+		public int size() {
+			return s.size();
+		}
+	}
+
+	static final class PipelineFuseableConditionalSubscriber<T, R>
+			implements InnerOperator<T, R>, ConditionalSubscriber<T>,
+			           QueueSubscription<R> {
+
+		final ConditionalSubscriber<? super R> actual;
+
+		final Stage[] stages;
+
+		QueueSubscription<T> s;
+
+		boolean done;
+
+		int sourceMode;
+
+		/**
+		 * A failure met by {@link #pollBatch} after some elements went through the
+		 * stages, to be thrown by the next poll.
+		 */
+		@Nullable
+		RuntimeException batchError;
+
+		PipelineFuseableConditionalSubscriber(ConditionalSubscriber<? super R> actual,
+				Stage[] stages) {
+			this.actual = actual;
+			this.stages = stages;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.validate(this.s, s)) {
+				this.s = (QueueSubscription<T>) s;
+				actual.onSubscribe(this);
+			}
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void onNext(T t) {
+			if (sourceMode == ASYNC) {
+				actual.onNext(null);
+			}
+			else {
+				if (done) {
+					Operators.onNextDropped(t, actual.currentContext());
+					return;
+				}
+
+				Object v = FluxPipeline.applyOnNext(stages, t, actual.currentContext(), s);
+
+				if (v == null) {
+					s.request(1);
+				}
+				else if (v instanceof Failure) {
+					onError(((Failure) v).error);
+				}
+				else {
+					actual.onNext((R) v);
+				}
+			}
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean tryOnNext(T t) {
+			if (done) {
+				Operators.onNextDropped(t, actual.currentContext());
+				return false;
+			}
+
+			Object v = FluxPipeline.applyOnNext(stages, t, actual.currentContext(), s);
+
+			if (v == null) {
+				return false;
+			}
+			if (v instanceof Failure) {
+				onError(((Failure) v).error);
+				return false;
+			}
+			return actual.tryOnNext((R) v);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (done) {
+				Operators.onErrorDropped(t, actual.currentContext());
+				return;
+			}
+			done = true;
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (done) {
+				return;
+			}
+			done = true;
+			actual.onComplete();
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.PARENT) return s;
+			if (key == Attr.TERMINATED) return done;
+
+			return InnerOperator.super.scanUnsafe(key);
+		}
+
+		@Override
+		public CoreSubscriber<? super R> actual() {
+			return actual;
+		}
+
+		@Override
+		public void request(long n) {
+			s.request(n);
+		}
+
+		@Override
+		public void cancel() {
+			s.cancel();
+		}
+
+		@Override
+		@Nullable
+		@SuppressWarnings("unchecked")
+		public R poll() {
+			RuntimeException e = batchError;
+			if (e != null) {
+				batchError = null;
+				throw e;
+			}
+			long dropped = 0;
+			for (; ; ) {
+				T t = s.poll();
+				Object v = t == null ? null :
+						FluxPipeline.applyPoll(stages, t, currentContext());
+
+				if (t == null || v != null) {
+					//in ASYNC mode items dropped by the stages are replenished
+					if (dropped != 0 && sourceMode == ASYNC) {
+						request(dropped);
+					}
+					return (R) v;
+				}
+				dropped++;
+			}
+		}
+
+		@Override
+		public int pollBatch(Object[] buffer, int limit) {
+			RuntimeException e = batchError;
+			if (e != null) {
+				batchError = null;
+				throw e;
+			}
+			long dropped = 0;
+			for (;;) {
+				int n = s.pollBatch(buffer, limit);
+				int k = 0;
+				for (int i = 0; i < n; i++) {
+					Object v = buffer[i];
+					buffer[i] = null;
+					try {
+						v = FluxPipeline.applyPoll(stages, v, currentContext());
+					}
+					catch (RuntimeException e_) {
+						Arrays.fill(buffer, i + 1, n, null);
+						if (k == 0) {
+							throw e_;
+						}
+						batchError = e_;
+						return k;
+					}
+					if (v != null) {
+						buffer[k++] = v;
+					}
+					else {
+						dropped++;
+					}
+				}
+				if (k != 0 || n == 0) {
+					//in ASYNC mode items dropped by the stages are replenished
+					if (dropped != 0 && sourceMode == ASYNC) {
+						request(dropped);
+					}
+					return k;
+				}
+			}
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return batchError == null && s.isEmpty();
+		}
+
+		@Override
+		public void clear() {
+			batchError = null;
+			s.clear();
+		}
+
+		@Override
+		public int requestFusion(int requestedMode) {
+			int m;
+			if ((requestedMode & Fuseable.THREAD_BARRIER) != 0) {
+				return Fuseable.NONE;
+			}
+			else {
+				m = s.requestFusion(requestedMode);
+			}
+			sourceMode = m;
+			return m;
+		}
+
+		@Override
+		public int size() {
+			return s.size();
+		}
+	}
+}
@@ -16,11 +16,13 @@
 
 package reactor.core.publisher;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.reactivestreams.Subscriber;
@@ -31,6 +33,7 @@ import reactor.core.Fuseable;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Scheduler.Worker;
 import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
 
 /**
  * Emits events on a different thread specified by a scheduler callback.
@@ -86,7 +89,7 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 		Worker worker;
 
 		try {
-			worker = Objects.requireNonNull(scheduler.createWorker(),
+			worker = Objects.requireNonNull(scheduler.createWorker(actual.currentContext()),
 					"The scheduler returned a null worker");
 		}
 		catch (Throwable e) {
@@ -131,6 +134,8 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 
 		final Supplier<? extends Queue<T>> queueSupplier;
 
+		final Consumer<T> emitter;
+
 		Subscription s;
 
 		Queue<T> queue;
@@ -155,6 +160,11 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 
 		long produced;
 
+		/**
+		 * The buffer elements are polled into in SYNC mode, allocated on first use.
+		 */
+		Object[] batch;
+
 		boolean outputFused;
 
 		PublishOnSubscriber(CoreSubscriber<? super T> actual,
@@ -171,6 +181,7 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 			this.prefetch = prefetch;
 			this.queueSupplier = queueSupplier;
 			this.limit = Operators.unboundedOrLimit(prefetch, lowTide);
+			this.emitter = this::emit;
 		}
 
 		@Override
@@ -285,6 +296,12 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 				return;
 			}
 
+			if (scheduler.ownsCurrentThread()) {
+				//already on a thread of the scheduler: skip the hop, WIP still guards
+				run();
+				return;
+			}
+
 			try {
 				worker.schedule(this);
 			}
@@ -295,11 +312,18 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 			}
 		}
 
+		@SuppressWarnings("unchecked")
 		void runSync() {
 			int missed = 1;
 
 			final Subscriber<? super T> a = actual;
-			final Queue<T> q = queue;
+			final QueueSubscription<T> q = (QueueSubscription<T>) queue;
+
+			Object[] b = batch;
+			if (b == null) {
+				b = new Object[Math.min(prefetch, Queues.XS_BUFFER_SIZE)];
+				batch = b;
+			}
 
 			long e = produced;
 
@@ -308,10 +332,9 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 				long r = requested;
 
 				while (e != r) {
-					T v;
-
+					int n;
 					try {
-						v = q.poll();
+						n = q.pollBatch(b, (int) Math.min(b.length, r - e));
 					}
 					catch (Throwable ex) {
 						doError(a, Operators.onOperatorError(s, ex,
@@ -320,16 +343,27 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 					}
 
 					if (cancelled) {
+						Arrays.fill(b, 0, n, null);
 						return;
 					}
-					if (v == null) {
+					if (n == 0) {
 						doComplete(a);
 						return;
 					}
 
-					a.onNext(v);
+					for (int i = 0; i < n; i++) {
+						T v = (T) b[i];
+						b[i] = null;
+
+						a.onNext(v);
 
-					e++;
+						e++;
+
+						if (cancelled) {
+							Arrays.fill(b, i + 1, n, null);
+							return;
+						}
+					}
 				}
 
 				if (cancelled) {
@@ -355,6 +389,12 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 			}
 		}
 
+		void emit(T v) {
+			if (!cancelled) {
+				actual.onNext(v);
+			}
+		}
+
 		void runAsync() {
 			int missed = 1;
 
@@ -369,33 +409,53 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 
 				while (e != r) {
 					boolean d = done;
-					T v;
+					int n;
 
-					try {
-						v = q.poll();
-					}
-					catch (Throwable ex) {
-						Exceptions.throwIfFatal(ex);
-						s.cancel();
-						q.clear();
+					if (sourceMode == Fuseable.ASYNC) {
+						T v;
 
-						doError(a, Operators.onOperatorError(ex, actual.currentContext()));
-						return;
-					}
+						try {
+							v = q.poll();
+						}
+						catch (Throwable ex) {
+							Exceptions.throwIfFatal(ex);
+							s.cancel();
+							q.clear();
 
-					boolean empty = v == null;
+							doError(a, Operators.onOperatorError(ex, actual.currentContext()));
+							return;
+						}
 
-					if (checkTerminated(d, empty, a)) {
-						return;
-					}
+						boolean empty = v == null;
 
-					if (empty) {
-						break;
+						if (checkTerminated(d, empty, a)) {
+							return;
+						}
+
+						if (empty) {
+							break;
+						}
+
+						a.onNext(v);
+						n = 1;
 					}
+					else {
+						//the queue is owned and its poll can't throw: emit in batches
+						if (checkTerminated(d, false, a)) {
+							return;
+						}
+
+						n = Queues.drain(q, emitter, (int) Math.min(r - e, limit - e));
 
-					a.onNext(v);
+						if (n == 0) {
+							if (checkTerminated(d, true, a)) {
+								return;
+							}
+							break;
+						}
+					}
 
-					e++;
+					e += n;
 					if (e == limit) {
 						if (r != Long.MAX_VALUE) {
 							r = REQUESTED.addAndGet(this, -e);
@@ -624,6 +684,11 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 
 		long consumed;
 
+		/**
+		 * The buffer elements are polled into in SYNC mode, allocated on first use.
+		 */
+		Object[] batch;
+
 		boolean outputFused;
 
 		PublishOnConditionalSubscriber(ConditionalSubscriber<? super T> actual,
@@ -751,6 +816,12 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 				return;
 			}
 
+			if (scheduler.ownsCurrentThread()) {
+				//already on a thread of the scheduler: skip the hop, WIP still guards
+				run();
+				return;
+			}
+
 			try {
 				worker.schedule(this);
 			}
@@ -761,11 +832,18 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 			}
 		}
 
+		@SuppressWarnings("unchecked")
 		void runSync() {
 			int missed = 1;
 
 			final ConditionalSubscriber<? super T> a = actual;
-			final Queue<T> q = queue;
+			final QueueSubscription<T> q = (QueueSubscription<T>) queue;
+
+			Object[] b = batch;
+			if (b == null) {
+				b = new Object[Math.min(prefetch, Queues.XS_BUFFER_SIZE)];
+				batch = b;
+			}
 
 			long e = produced;
 
@@ -774,9 +852,9 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 				long r = requested;
 
 				while (e != r) {
-					T v;
+					int n;
 					try {
-						v = q.poll();
+						n = q.pollBatch(b, (int) Math.min(b.length, r - e));
 					}
 					catch (Throwable ex) {
 						doError(a, Operators.onOperatorError(s, ex,
@@ -785,15 +863,26 @@ final class FluxPublishOn<T> extends FluxOperator<T, T> implements Fuseable {
 					}
 
 					if (cancelled) {
+						Arrays.fill(b, 0, n, null);
 						return;
 					}
-					if (v == null) {
+					if (n == 0) {
 						doComplete(a);
 						return;
 					}
 
-					if (a.tryOnNext(v)) {
-						e++;
+					for (int i = 0; i < n; i++) {
+						T v = (T) b[i];
+						b[i] = null;
+
+						if (a.tryOnNext(v)) {
+							e++;
+						}
+
+						if (cancelled) {
+							Arrays.fill(b, i + 1, n, null);
+							return;
+						}
 					}
 				}
 
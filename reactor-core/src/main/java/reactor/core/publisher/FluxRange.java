@@ -198,6 +198,17 @@ final class FluxRange extends Flux<Integer>
 			return (int)i;
 		}
 
+		@Override
+		public int pollBatch(Object[] buffer, int limit) {
+			long i = index;
+			int n = (int) Math.min(limit, end - i);
+			for (int j = 0; j < n; j++) {
+				buffer[j] = (int) (i + j);
+			}
+			index = i + n;
+			return n;
+		}
+
 		@Override
 		public boolean isEmpty() {
 			return index == end;
@@ -348,6 +359,17 @@ final class FluxRange extends Flux<Integer>
 			return (int)i;
 		}
 
+		@Override
+		public int pollBatch(Object[] buffer, int limit) {
+			long i = index;
+			int n = (int) Math.min(limit, end - i);
+			for (int j = 0; j < n; j++) {
+				buffer[j] = (int) (i + j);
+			}
+			index = i + n;
+			return n;
+		}
+
 		@Override
 		public boolean isEmpty() {
 			return index == end;
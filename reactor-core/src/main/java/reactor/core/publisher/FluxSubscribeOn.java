@@ -54,7 +54,7 @@ final class FluxSubscribeOn<T> extends FluxOperator<T, T> {
 		Worker worker;
 		
 		try {
-			worker = Objects.requireNonNull(scheduler.createWorker(),
+			worker = Objects.requireNonNull(scheduler.createWorker(actual.currentContext()),
 					"The scheduler returned a null Function");
 		} catch (Throwable e) {
 			Operators.error(actual, Operators.onOperatorError(e, actual.currentContext()));
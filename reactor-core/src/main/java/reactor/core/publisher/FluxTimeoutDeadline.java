@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Signals a timeout (or switches to another sequence) in case no item is emitted
+ * within a given {@link Duration} from the previous emission (or the subscription for
+ * the first item).
+ * <p>
+ * Unlike {@link FluxTimeout}, which subscribes to a new timeout {@link Publisher} for
+ * each item, a single timer task is scheduled per subscriber. Each item only records
+ * the time of its emission, and the timer re-arms itself for the remaining time when
+ * it fires before the deadline computed from the latest emission.
+ * <p>
+ * Emission times are read from {@link System#nanoTime()} unless the timer has a clock of
+ * its own (eg. virtual time), as the default {@link Scheduler#now(TimeUnit)} is the wall
+ * clock: its millisecond resolution and its adjustments would skew the deadlines.
+ *
+ * @param <T> the value type
+ */
+final class FluxTimeoutDeadline<T> extends FluxOperator<T, T> {
+
+	/**
+	 * How far from {@link System#currentTimeMillis()} a timer clock may be while still
+	 * being considered the wall clock.
+	 */
+	static final long WALL_CLOCK_TOLERANCE_MILLIS = 1_000L;
+
+	final long timeoutNanos;
+
+	final Scheduler timer;
+
+	@Nullable
+	final Publisher<? extends T> other;
+
+	FluxTimeoutDeadline(Flux<? extends T> source,
+			Duration timeout,
+			Scheduler timer,
+			@Nullable Publisher<? extends T> other) {
+		super(source);
+		this.timeoutNanos = toNanos(timeout);
+		this.timer = Objects.requireNonNull(timer, "timer");
+		this.other = other;
+	}
+
+	@Override
+	public void subscribe(CoreSubscriber<? super T> actual) {
+		DeadlineMainSubscriber<T> main = new DeadlineMainSubscriber<>(actual,
+				timeoutNanos,
+				timer,
+				other);
+
+		actual.onSubscribe(main);
+
+		main.arm(timeoutNanos);
+
+		source.subscribe(main);
+	}
+
+	@Override
+	@Nullable
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.RUN_ON) return timer;
+
+		return super.scanUnsafe(key);
+	}
+
+	/**
+	 * Convert the timeout to nanoseconds, saturating instead of overflowing for very
+	 * long timeouts (which then never fire in practice).
+	 */
+	static long toNanos(Duration timeout) {
+		if (timeout.isNegative()) {
+			return 0L;
+		}
+		try {
+			return timeout.toNanos();
+		}
+		catch (ArithmeticException overflow) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+	/**
+	 * Tell if the timer reports the wall clock, like the default
+	 * {@link Scheduler#now(TimeUnit)} does.
+	 */
+	static boolean isWallClock(Scheduler timer) {
+		return Math.abs(timer.now(TimeUnit.MILLISECONDS) - System.currentTimeMillis())
+				< WALL_CLOCK_TOLERANCE_MILLIS;
+	}
+
+	static final class DeadlineMainSubscriber<T>
+			extends Operators.MultiSubscriptionSubscriber<T, T>
+			implements Runnable {
+
+		/**
+		 * Marks an item being emitted: the timer does not time out while the downstream
+		 * handles it, as the deadline starts after the emission.
+		 */
+		static final long IN_FLIGHT  = Long.MAX_VALUE;
+		/**
+		 * Marks the main sequence as terminated, either by its own terminal signal or
+		 * by the timeout.
+		 */
+		static final long TERMINATED = Long.MIN_VALUE;
+
+		final long timeoutNanos;
+
+		final Scheduler timer;
+
+		final boolean wallClock;
+
+		@Nullable
+		final Publisher<? extends T> other;
+
+		Subscription s;
+
+		volatile long lastEmission;
+		@SuppressWarnings("rawtypes")
+		static final AtomicLongFieldUpdater<DeadlineMainSubscriber> LAST_EMISSION =
+				AtomicLongFieldUpdater.newUpdater(DeadlineMainSubscriber.class,
+						"lastEmission");
+
+		volatile Disposable task;
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<DeadlineMainSubscriber, Disposable>
+				TASK = AtomicReferenceFieldUpdater.newUpdater(DeadlineMainSubscriber.class,
+				Disposable.class,
+				"task");
+
+		DeadlineMainSubscriber(CoreSubscriber<? super T> actual,
+				long timeoutNanos,
+				Scheduler timer,
+				@Nullable Publisher<? extends T> other) {
+			super(actual);
+			this.timeoutNanos = timeoutNanos;
+			this.timer = timer;
+			this.other = other;
+			this.wallClock = isWallClock(timer);
+			this.lastEmission = now();
+		}
+
+		long now() {
+			return wallClock ? System.nanoTime() : timer.now(TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			if (Operators.validate(this.s, s)) {
+				this.s = s;
+
+				set(s);
+			}
+		}
+
+		@Override
+		protected boolean shouldCancelCurrent() {
+			return true;
+		}
+
+		@Override
+		public void onNext(T t) {
+			if (LAST_EMISSION.getAndSet(this, IN_FLIGHT) == TERMINATED) {
+				lastEmission = TERMINATED;
+				s.cancel();
+				Operators.onNextDropped(t, actual.currentContext());
+				return;
+			}
+
+			actual.onNext(t);
+
+			producedOne();
+
+			//only the timer reads it, and it re-arms when it sees IN_FLIGHT
+			LAST_EMISSION.lazySet(this, now());
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			if (LAST_EMISSION.getAndSet(this, TERMINATED) == TERMINATED) {
+				Operators.onErrorDropped(t, actual.currentContext());
+				return;
+			}
+
+			OperatorDisposables.dispose(TASK, this);
+
+			actual.onError(t);
+		}
+
+		@Override
+		public void onComplete() {
+			if (LAST_EMISSION.getAndSet(this, TERMINATED) == TERMINATED) {
+				return;
+			}
+
+			OperatorDisposables.dispose(TASK, this);
+
+			actual.onComplete();
+		}
+
+		@Override
+		public void cancel() {
+			OperatorDisposables.dispose(TASK, this);
+			super.cancel();
+		}
+
+		@Override
+		@Nullable
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.RUN_ON) return timer;
+			if (key == Attr.TERMINATED) return lastEmission == TERMINATED;
+
+			return super.scanUnsafe(key);
+		}
+
+		void arm(long delayNanos) {
+			try {
+				OperatorDisposables.replace(TASK, this,
+						timer.schedule(this, delayNanos, TimeUnit.NANOSECONDS));
+			}
+			catch (RejectedExecutionException ree) {
+				//without a timer the deadline cannot be awaited: time out right away
+				long last = lastEmission;
+				if (last != TERMINATED && last != IN_FLIGHT && LAST_EMISSION.compareAndSet(
+						this, last, TERMINATED)) {
+					handleTimeout();
+				}
+			}
+		}
+
+		/**
+		 * Called by the timer: either the deadline has passed and the timeout wins the
+		 * race with the next signal, or the timer is re-armed for the remaining time.
+		 */
+		@Override
+		public void run() {
+			for (; ; ) {
+				long last = lastEmission;
+				if (last == TERMINATED || isCancelled()) {
+					return;
+				}
+
+				long delay = timeoutNanos;
+				if (last != IN_FLIGHT) {
+					//a difference of nanoTime values can't overflow, unlike last + timeoutNanos
+					long elapsed = now() - last;
+					delay = elapsed < 0 ? timeoutNanos : timeoutNanos - elapsed;
+					if (delay <= 0) {
+						if (LAST_EMISSION.compareAndSet(this, last, TERMINATED)) {
+							handleTimeout();
+							return;
+						}
+						continue;
+					}
+				}
+				arm(delay);
+				return;
+			}
+		}
+
+		void handleTimeout() {
+			if (other == null) {
+				super.cancel();
+				actual.onError(new TimeoutException("Did not observe any item or terminal signal within "
+						+ TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms (and no fallback has been configured)"));
+			}
+			else {
+				set(Operators.emptySubscription());
+
+				other.subscribe(new FluxTimeout.TimeoutOtherSubscriber<>(actual, this));
+			}
+		}
+	}
+}
@@ -42,6 +42,33 @@ public abstract class Hooks {
 
 
 
+	/**
+	 * Enable a failure mode for the blocking operators ({@link Mono#block()},
+	 * {@link Flux#blockFirst()}, {@link Flux#blockLast()} and their variants): when
+	 * they would have to wait in a {@link reactor.core.scheduler.NonBlocking non-blocking}
+	 * thread, like the ones of the parallel and single
+	 * {@link reactor.core.scheduler.Scheduler schedulers}, they throw an
+	 * {@link IllegalStateException} instead, so that the offending call is spotted
+	 * before it stalls the whole thread.
+	 * <p>
+	 * Use {@link #resetOnBlockingCall()} to reset to the default of blocking anyway.
+	 *
+	 * @see reactor.core.scheduler.Schedulers#isInNonBlockingThread()
+	 */
+	public static void onBlockingCallFail() {
+		log.debug("Enabling failure mode for blocking calls in non-blocking threads");
+		failOnBlockingCall = true;
+	}
+
+	/**
+	 * Reset the blocking operators to blocking in any thread, see
+	 * {@link #onBlockingCallFail()}.
+	 */
+	public static void resetOnBlockingCall() {
+		log.debug("Reset to factory defaults : onBlockingCall");
+		failOnBlockingCall = false;
+	}
+
 	/**
 	 * Add a {@link Publisher} operator interceptor for each operator created
 	 * ({@link Flux} or {@link Mono}). The passed function is applied to the original
@@ -490,6 +517,9 @@ public abstract class Hooks {
 	//Special hook that is between the two (strategy can be transformative, but not named)
 	static volatile OnNextFailureStrategy onNextErrorHook;
 
+	//Failure mode of the blocking operators in non-blocking threads
+	static volatile boolean failOnBlockingCall;
+
 
 	//For transformative hooks, allow to name them, keep track in an internal Map that retains insertion order
 	//internal use only as it relies on external synchronization
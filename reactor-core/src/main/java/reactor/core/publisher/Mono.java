@@ -2033,6 +2033,10 @@ public abstract class Mono<T> implements Publisher<T> {
 	 * @return a filtered {@link Mono}
 	 */
 	public final Mono<T> filter(final Predicate<? super T> tester) {
+		Mono<T> fused = MonoPipeline.fuse(this, new FluxPipeline.FilterStage(tester));
+		if (fused != null) {
+			return onAssembly(fused);
+		}
 		if (this instanceof Fuseable) {
 			return onAssembly(new MonoFilterFuseable<>(this, tester));
 		}
@@ -2373,6 +2377,10 @@ public abstract class Mono<T> implements Publisher<T> {
 	 * @return a new {@link Mono}
 	 */
 	public final <R> Mono<R> map(Function<? super T, ? extends R> mapper) {
+		Mono<R> fused = MonoPipeline.fuse(this, new FluxPipeline.MapStage(mapper));
+		if (fused != null) {
+			return onAssembly(fused);
+		}
 		if (this instanceof Fuseable) {
 			return onAssembly(new MonoMapFuseable<>(this, mapper));
 		}
@@ -3644,18 +3652,21 @@ public abstract class Mono<T> implements Publisher<T> {
 	 * To be used by custom operators: invokes assembly {@link Hooks} pointcut given a
 	 * {@link Mono}, potentially returning a new {@link Mono}. This is for example useful
 	 * to activate cross-cutting concerns at assembly time, eg. a generalized
-	 * {@link #checkpoint()}.
+	 * {@link #checkpoint()}. When no such hook is set, an operator that is redundant
+	 * with its source (eg. a second {@code hide()}) is rewritten into a cheaper
+	 * equivalent.
 	 *
 	 * @param <T> the value type
 	 * @param source the source to apply assembly hooks onto
 	 *
 	 * @return the source, potentially wrapped with assembly time cross-cutting behavior
+	 * or optimized away
 	 */
 	@SuppressWarnings("unchecked")
 	protected static <T> Mono<T> onAssembly(Mono<T> source) {
 		Function<Publisher, Publisher> hook = Hooks.onEachOperatorHook;
 		if(hook == null) {
-			return source;
+			return AssemblyOptimizer.optimize(source);
 		}
 		return (Mono<T>)hook.apply(source);
 	}
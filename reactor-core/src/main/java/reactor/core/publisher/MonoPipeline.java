@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Fuseable;
+import reactor.core.Fuseable.ConditionalSubscriber;
+import reactor.core.publisher.FluxPipeline.FilterStage;
+import reactor.core.publisher.FluxPipeline.MapStage;
+import reactor.core.publisher.FluxPipeline.Stage;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Applies a sequence of stateless stages (map and filter) to the value of the source
+ * {@link Mono} in a single operator, in place of a chain of adjacent {@link MonoMap}
+ * and {@link MonoFilter} operators.
+ *
+ * @param <T> the source value type
+ * @param <R> the result value type
+ *
+ * @see FluxPipeline
+ */
+final class MonoPipeline<T, R> extends MonoOperator<T, R> {
+
+	final Stage[] stages;
+
+	MonoPipeline(Mono<? extends T> source, Stage[] stages) {
+		super(source);
+		this.stages = stages;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void subscribe(CoreSubscriber<? super R> actual) {
+		if (actual instanceof ConditionalSubscriber) {
+			source.subscribe(new FluxPipeline.PipelineConditionalSubscriber<>((ConditionalSubscriber<? super R>) actual,
+					stages));
+			return;
+		}
+		source.subscribe(new FluxPipeline.PipelineSubscriber<>(actual, stages));
+	}
+
+	/**
+	 * Fuse a new stage with the given operator if it only applies stateless stages
+	 * itself, unless {@link Hooks#onEachOperator} hooks are set.
+	 *
+	 * @param upstream the operator the new stage would otherwise be applied to
+	 * @param stage the new stage
+	 * @param <R> the result value type
+	 *
+	 * @return a single operator applying the stages of {@code upstream} then the new
+	 * stage, or null if {@code upstream} cannot be fused
+	 */
+	@Nullable
+	static <R> Mono<R> fuse(Mono<?> upstream, Stage stage) {
+		if (Hooks.onEachOperatorHook != null) {
+			return null;
+		}
+		Stage[] stages = stagesOf(upstream);
+		if (stages == null) {
+			return null;
+		}
+		Mono<?> source = ((MonoOperator<?, ?>) upstream).source;
+		if (source instanceof Fuseable) {
+			return new MonoPipelineFuseable<>(source, FluxPipeline.append(stages, stage));
+		}
+		return new MonoPipeline<>(source, FluxPipeline.append(stages, stage));
+	}
+
+	@Nullable
+	static Stage[] stagesOf(Mono<?> upstream) {
+		if (upstream instanceof MonoPipeline) {
+			return ((MonoPipeline<?, ?>) upstream).stages;
+		}
+		if (upstream instanceof MonoPipelineFuseable) {
+			return ((MonoPipelineFuseable<?, ?>) upstream).stages;
+		}
+		if (upstream instanceof MonoMap) {
+			return new Stage[]{new MapStage(((MonoMap<?, ?>) upstream).mapper)};
+		}
+		if (upstream instanceof MonoMapFuseable) {
+			return new Stage[]{new MapStage(((MonoMapFuseable<?, ?>) upstream).mapper)};
+		}
+		if (upstream instanceof MonoFilter) {
+			return new Stage[]{new FilterStage(((MonoFilter<?>) upstream).predicate)};
+		}
+		if (upstream instanceof MonoFilterFuseable) {
+			return new Stage[]{new FilterStage(((MonoFilterFuseable<?>) upstream).predicate)};
+		}
+		return null;
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.publisher;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Fuseable;
+import reactor.core.publisher.FluxPipeline.Stage;
+
+/**
+ * Applies a sequence of stateless stages (map and filter) to the value of the source
+ * {@link Mono} in a single operator, in place of a chain of adjacent
+ * {@link MonoMapFuseable} and {@link MonoFilterFuseable} operators.
+ *
+ * @param <T> the source value type
+ * @param <R> the result value type
+ *
+ * @see FluxPipeline
+ */
+final class MonoPipelineFuseable<T, R> extends MonoOperator<T, R> implements Fuseable {
+
+	final Stage[] stages;
+
+	MonoPipelineFuseable(Mono<? extends T> source, Stage[] stages) {
+		super(source);
+		this.stages = stages;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void subscribe(CoreSubscriber<? super R> actual) {
+		if (actual instanceof ConditionalSubscriber) {
+			source.subscribe(new FluxPipelineFuseable.PipelineFuseableConditionalSubscriber<>((ConditionalSubscriber<? super R>) actual,
+					stages));
+			return;
+		}
+		source.subscribe(new FluxPipelineFuseable.PipelineFuseableSubscriber<>(actual, stages));
+	}
+}
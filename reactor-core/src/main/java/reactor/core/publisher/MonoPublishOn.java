@@ -22,6 +22,7 @@ import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
 import reactor.core.Disposable;
+import reactor.core.Disposables;
 import reactor.core.scheduler.Scheduler;
 import reactor.util.annotation.Nullable;
 
@@ -80,6 +81,11 @@ final class MonoPublishOn<T> extends MonoOperator<T, T> {
 
 		volatile Throwable error;
 
+		/**
+		 * Marks a signal emitted inline rather than scheduled.
+		 */
+		static final Disposable INLINE = Disposables.disposed();
+
 		PublishOnSubscriber(CoreSubscriber<? super T> actual,
 				Scheduler scheduler) {
 			this.actual = actual;
@@ -139,6 +145,14 @@ final class MonoPublishOn<T> extends MonoOperator<T, T> {
 					return;
 				}
 
+				if (scheduler.ownsCurrentThread()) {
+					//already on a thread of the scheduler: skip the hop
+					if (FUTURE.compareAndSet(this, null, INLINE)) {
+						run();
+					}
+					return;
+				}
+
 				try {
 					future = this.scheduler.schedule(this);
 				}
@@ -45,7 +45,7 @@ final class MonoSubscribeOn<T> extends MonoOperator<T, T> {
 
 	@Override
 	public void subscribe(CoreSubscriber<? super T> actual) {
-		Scheduler.Worker worker = scheduler.createWorker();
+		Scheduler.Worker worker = scheduler.createWorker(actual.currentContext());
 
 		SubscribeOnSubscriber<T> parent = new SubscribeOnSubscriber<>(source,
 				actual, worker);
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import reactor.core.Disposable;
+
+/**
+ * A watchdog periodically sampling the live {@link Schedulers.NonBlockingThread
+ * non-blocking threads}, and reporting the tasks that run for longer than a threshold
+ * or are observed in a {@link Thread.State#BLOCKED blocked},
+ * {@link Thread.State#WAITING waiting} or {@link Thread.State#TIMED_WAITING timed
+ * waiting} state on two consecutive samples, see
+ * {@link Schedulers#enableBlockingTaskDetection(java.time.Duration, BiConsumer)}.
+ */
+final class BlockingTaskDetector implements Runnable, Disposable {
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	final long                                  thresholdNanos;
+	final BiConsumer<Thread, ? super Throwable> reporter;
+	final ScheduledExecutorService              watchdog;
+
+	/**
+	 * The start time of the last task reported for each thread, only accessed from the
+	 * watchdog thread.
+	 */
+	final Map<Thread, Long> reported = new WeakHashMap<>();
+
+	/**
+	 * The start time of the task each thread was running when last sampled in a blocking
+	 * state, only accessed from the watchdog thread. A single sample isn't reported, as
+	 * it could be brief monitor contention or parking.
+	 */
+	final Map<Thread, Long> sampledBlocked = new WeakHashMap<>();
+
+	BlockingTaskDetector(long thresholdNanos, BiConsumer<Thread, ? super Throwable> reporter) {
+		if (thresholdNanos <= 0L) {
+			throw new IllegalArgumentException("threshold > 0 required but it was " + thresholdNanos + "ns");
+		}
+		this.thresholdNanos = thresholdNanos;
+		this.reporter = reporter;
+		this.watchdog = Executors.newSingleThreadScheduledExecutor(
+				new Schedulers.SchedulerThreadFactory("blockingTaskDetector", true, COUNTER));
+	}
+
+	void start() {
+		long period = Math.max(thresholdNanos / 2, TimeUnit.MILLISECONDS.toNanos(1));
+		watchdog.scheduleAtFixedRate(this, period, period, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void run() {
+		long now = System.nanoTime();
+		for (Schedulers.NonBlockingThread t : Schedulers.NonBlockingThread.LIVE) {
+			Object task = t.task;
+			if (task == null) {
+				sampledBlocked.remove(t);
+				continue;
+			}
+			long start = t.taskStart;
+			Long last = reported.get(t);
+			if (last != null && last == start) {
+				continue;
+			}
+
+			long elapsed = now - start;
+			Thread.State state = t.getState();
+			boolean blocked = false;
+			if (state == Thread.State.BLOCKED
+					|| state == Thread.State.WAITING
+					|| state == Thread.State.TIMED_WAITING) {
+				Long previous = sampledBlocked.put(t, start);
+				blocked = previous != null && previous == start;
+			}
+			else {
+				sampledBlocked.remove(t);
+			}
+			if (elapsed < thresholdNanos && !blocked) {
+				continue;
+			}
+
+			StackTraceElement[] stack = t.getStackTrace();
+			//the task might have completed while sampling its thread
+			if (t.task != task || t.taskStart != start) {
+				continue;
+			}
+			reported.put(t, start);
+
+			IllegalStateException report = new IllegalStateException("Task " + task +
+					" has been running for " + TimeUnit.NANOSECONDS.toMillis(elapsed) +
+					"ms in non-blocking thread " + t.getName() + " (" + state + ")");
+			report.setStackTrace(stack);
+			try {
+				reporter.accept(t, report);
+			}
+			catch (Throwable ex) {
+				Schedulers.log.error("Blocking task reporter failed", ex);
+			}
+		}
+	}
+
+	@Override
+	public void dispose() {
+		watchdog.shutdownNow();
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return watchdog.isShutdown();
+	}
+}
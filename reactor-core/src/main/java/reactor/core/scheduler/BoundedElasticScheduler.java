@@ -0,0 +1,528 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Scannable;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Dynamically creates ScheduledExecutorService-based Workers and caches the thread pools,
+ * reusing them once the Workers have been shut down, like the elastic scheduler. Unlike
+ * the latter, the number of backing thread pools is capped: once the cap is reached,
+ * new Workers share the least busy thread pool instead. Each thread pool also caps the
+ * number of tasks it can enqueue, rejecting tasks beyond that backlog with a
+ * {@link RejectedExecutionException}. This scheduler is time-capable (can schedule
+ * with delay / periodically).
+ * <p>
+ * The default time-to-live for unused thread pools is 60 seconds, use the
+ * appropriate constructor to push a different value.
+ * <p>
+ * This scheduler is not restartable.
+ */
+final class BoundedElasticScheduler
+		implements Scheduler, Supplier<ScheduledExecutorService>, Scannable {
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	static final ThreadFactory EVICTOR_FACTORY = r -> {
+		Thread t = new Thread(r, "boundedElastic-evictor-" + COUNTER.incrementAndGet());
+		t.setDaemon(true);
+		return t;
+	};
+
+	static final BoundedService SHUTDOWN = new BoundedService(null);
+
+	static final int DEFAULT_TTL_SECONDS = 60;
+
+	final int maxThreads;
+
+	final int maxTaskQueuedPerThread;
+
+	final ThreadFactory factory;
+
+	final int ttlSeconds;
+
+	final Queue<BoundedService> all;
+
+	final ScheduledExecutorService evictor;
+
+	volatile boolean shutdown;
+
+	volatile int liveCount;
+	static final AtomicIntegerFieldUpdater<BoundedElasticScheduler> LIVE_COUNT =
+			AtomicIntegerFieldUpdater.newUpdater(BoundedElasticScheduler.class, "liveCount");
+
+	BoundedElasticScheduler(int maxThreads, int maxTaskQueuedPerThread,
+			ThreadFactory factory, int ttlSeconds) {
+		if (maxThreads <= 0) {
+			throw new IllegalArgumentException("maxThreads must be strictly positive, was: " + maxThreads);
+		}
+		if (maxTaskQueuedPerThread <= 0) {
+			throw new IllegalArgumentException("maxTaskQueuedPerThread must be strictly positive, was: " + maxTaskQueuedPerThread);
+		}
+		if (ttlSeconds <= 0) {
+			throw new IllegalArgumentException("ttlSeconds must be strictly positive, was: " + ttlSeconds);
+		}
+		this.maxThreads = maxThreads;
+		this.maxTaskQueuedPerThread = maxTaskQueuedPerThread;
+		this.factory = factory;
+		this.ttlSeconds = ttlSeconds;
+		this.all = new ConcurrentLinkedQueue<>();
+		this.evictor = Executors.newScheduledThreadPool(1, EVICTOR_FACTORY);
+		this.evictor.scheduleAtFixedRate(this::eviction,
+				ttlSeconds,
+				ttlSeconds,
+				TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Instantiates the default {@link ScheduledExecutorService} for the
+	 * BoundedElasticScheduler (a {@link ScheduledThreadPoolExecutor} with core and max
+	 * pool size of 1 which rejects tasks once {@code maxTaskQueuedPerThread} are
+	 * enqueued).
+	 */
+	@Override
+	public ScheduledExecutorService get() {
+		return new BoundedScheduledExecutorService(maxTaskQueuedPerThread, factory);
+	}
+
+	@Override
+	public void start() {
+		throw new UnsupportedOperationException("Restarting not supported yet");
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return shutdown;
+	}
+
+	@Override
+	public void dispose() {
+		if (shutdown) {
+			return;
+		}
+		shutdown = true;
+
+		evictor.shutdownNow();
+
+		BoundedService cached;
+
+		while ((cached = all.poll()) != null) {
+			cached.exec.shutdownNow();
+		}
+	}
+
+	/**
+	 * Pick an idle {@link BoundedService} if any, create a new one if the cap on the
+	 * number of threads hasn't been reached yet, or share the least busy one.
+	 *
+	 * @return a {@link BoundedService} marked as in use, to be released by calling
+	 * {@link BoundedService#dispose()}
+	 */
+	BoundedService pick() {
+		for (;;) {
+			if (shutdown) {
+				return SHUTDOWN;
+			}
+
+			BoundedService leastBusy = null;
+			int leastMarks = Integer.MAX_VALUE;
+			for (BoundedService s : all) {
+				int marks = s.markCount;
+				if (marks == 0 && s.markPicked()) {
+					return s;
+				}
+				if (marks > 0 && marks < leastMarks) {
+					leastMarks = marks;
+					leastBusy = s;
+				}
+			}
+
+			int live = liveCount;
+			if (live < maxThreads) {
+				if (LIVE_COUNT.compareAndSet(this, live, live + 1)) {
+					BoundedService result = new BoundedService(this);
+					all.offer(result);
+					if (shutdown) {
+						all.remove(result);
+						result.exec.shutdownNow();
+						return SHUTDOWN;
+					}
+					return result;
+				}
+			}
+			else if (leastBusy != null && leastBusy.markPicked()) {
+				return leastBusy;
+			}
+		}
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		return schedule(task, 0L, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+		BoundedService picked = pick();
+		DirectScheduleTask directTask = new DirectScheduleTask(task, picked);
+
+		try {
+			return Disposables.composite(Schedulers.directSchedule(picked.exec,
+					directTask,
+					delay,
+					unit), directTask);
+		}
+		catch (RejectedExecutionException ree) {
+			picked.dispose();
+			throw ree;
+		}
+	}
+
+	@Override
+	public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+		BoundedService picked = pick();
+
+		try {
+			return Disposables.composite(Schedulers.directSchedulePeriodically(picked.exec,
+					task,
+					initialDelay,
+					period,
+					unit), picked);
+		}
+		catch (RejectedExecutionException ree) {
+			picked.dispose();
+			throw ree;
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder ts = new StringBuilder(Schedulers.BOUNDED_ELASTIC)
+				.append('(');
+		if (factory instanceof Schedulers.SchedulerThreadFactory) {
+			ts.append('\"').append(((Schedulers.SchedulerThreadFactory) factory).get()).append("\",");
+		}
+		ts.append("maxThreads=").append(maxThreads)
+		  .append(",maxTaskQueuedPerThread=").append(maxTaskQueuedPerThread)
+		  .append(",ttl=").append(ttlSeconds).append("s)");
+		return ts.toString();
+	}
+
+	@Override
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+		if (key == Attr.CAPACITY) return maxThreads;
+		if (key == Attr.BUFFERED) return liveCount; //BUFFERED: number of workers alive
+		if (key == Attr.NAME) return this.toString();
+
+		return null;
+	}
+
+	@Override
+	public Stream<? extends Scannable> inners() {
+		return all.stream();
+	}
+
+	@Override
+	public Worker createWorker() {
+		return new BoundedWorker(pick());
+	}
+
+	void eviction() {
+		long evictBefore = System.currentTimeMillis() - ttlSeconds * 1000L;
+
+		for (BoundedService s : all) {
+			if (s.tryEvict(evictBefore)) {
+				all.remove(s);
+				LIVE_COUNT.decrementAndGet(this);
+			}
+		}
+	}
+
+	/**
+	 * A {@link ScheduledThreadPoolExecutor} with a single thread, that rejects tasks
+	 * once its queue holds {@code queueCapacity} tasks (including delayed ones).
+	 */
+	static final class BoundedScheduledExecutorService extends ScheduledThreadPoolExecutor {
+
+		final int queueCapacity;
+
+		BoundedScheduledExecutorService(int queueCapacity, ThreadFactory factory) {
+			super(1, factory);
+			setMaximumPoolSize(1);
+			setRemoveOnCancelPolicy(true);
+			this.queueCapacity = queueCapacity;
+		}
+
+		void ensureQueueCapacity() {
+			if (getQueue().size() >= queueCapacity) {
+				throw new RejectedExecutionException("Task capacity of bounded elastic scheduler reached (" + queueCapacity + " queued tasks)");
+			}
+		}
+
+		//submit and execute are implemented in terms of schedule
+
+		@Override
+		public synchronized ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+			ensureQueueCapacity();
+			return super.schedule(command, delay, unit);
+		}
+
+		@Override
+		public synchronized <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+			ensureQueueCapacity();
+			return super.schedule(callable, delay, unit);
+		}
+
+		@Override
+		public synchronized ScheduledFuture<?> scheduleAtFixedRate(Runnable command,
+				long initialDelay,
+				long period,
+				TimeUnit unit) {
+			ensureQueueCapacity();
+			return super.scheduleAtFixedRate(command, initialDelay, period, unit);
+		}
+
+		@Override
+		public synchronized ScheduledFuture<?> scheduleWithFixedDelay(Runnable command,
+				long initialDelay,
+				long delay,
+				TimeUnit unit) {
+			ensureQueueCapacity();
+			return super.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+		}
+	}
+
+	static final class BoundedService implements Disposable, Scannable {
+
+		@Nullable
+		final BoundedElasticScheduler  parent;
+		final ScheduledExecutorService exec;
+
+		/**
+		 * Number of workers and direct tasks currently using this service, or -1 once
+		 * it has been evicted.
+		 */
+		volatile int markCount;
+		static final AtomicIntegerFieldUpdater<BoundedService> MARK_COUNT =
+				AtomicIntegerFieldUpdater.newUpdater(BoundedService.class, "markCount");
+
+		volatile long idleSinceMillis;
+
+		BoundedService(@Nullable BoundedElasticScheduler parent) {
+			this.parent = parent;
+			if (parent != null) {
+				this.exec = Schedulers.decorateExecutorService(Schedulers.BOUNDED_ELASTIC, parent);
+				MARK_COUNT.lazySet(this, 1);
+			}
+			else {
+				this.exec = Executors.newSingleThreadScheduledExecutor();
+				this.exec.shutdownNow();
+			}
+		}
+
+		boolean markPicked() {
+			for (;;) {
+				int marks = markCount;
+				if (marks < 0) {
+					return false;
+				}
+				if (MARK_COUNT.compareAndSet(this, marks, marks + 1)) {
+					return true;
+				}
+			}
+		}
+
+		boolean tryEvict(long evictBefore) {
+			if (markCount == 0 && idleSinceMillis < evictBefore
+					&& MARK_COUNT.compareAndSet(this, 0, -1)) {
+				exec.shutdownNow();
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Release one mark on this service, which becomes idle once no worker nor
+		 * direct task uses it anymore.
+		 */
+		@Override
+		public void dispose() {
+			if (this == SHUTDOWN) {
+				return;
+			}
+			for (;;) {
+				int marks = markCount;
+				if (marks <= 0) {
+					return;
+				}
+				if (marks == 1) {
+					idleSinceMillis = System.currentTimeMillis();
+				}
+				if (MARK_COUNT.compareAndSet(this, marks, marks - 1)) {
+					return;
+				}
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return markCount <= 0;
+		}
+
+		@Override
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.NAME) return parent == null ? Schedulers.BOUNDED_ELASTIC : parent.scanUnsafe(key);
+			if (key == Attr.PARENT) return parent;
+			if (key == Attr.TERMINATED || key == Attr.CANCELLED) return exec.isShutdown();
+			if (key == Attr.CAPACITY) return 1;
+			return Schedulers.scanExecutor(exec, key);
+		}
+	}
+
+	/**
+	 * A direct task that holds a mark on its {@link BoundedService} and releases it
+	 * exactly once: after it has run, or when it is disposed before it could run.
+	 */
+	static final class DirectScheduleTask implements Runnable, Disposable {
+
+		static final int PENDING  = 0;
+		static final int RUNNING  = 1;
+		static final int RELEASED = 2;
+
+		final Runnable       delegate;
+		final BoundedService picked;
+
+		volatile int state;
+		static final AtomicIntegerFieldUpdater<DirectScheduleTask> STATE =
+				AtomicIntegerFieldUpdater.newUpdater(DirectScheduleTask.class, "state");
+
+		DirectScheduleTask(Runnable delegate, BoundedService picked) {
+			this.delegate = delegate;
+			this.picked = picked;
+		}
+
+		@Override
+		public void run() {
+			if (!STATE.compareAndSet(this, PENDING, RUNNING)) {
+				return;
+			}
+			try {
+				delegate.run();
+			}
+			catch (Throwable ex) {
+				Schedulers.handleError(ex);
+			}
+			finally {
+				state = RELEASED;
+				picked.dispose();
+			}
+		}
+
+		@Override
+		public void dispose() {
+			if (STATE.compareAndSet(this, PENDING, RELEASED)) {
+				picked.dispose();
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return state == RELEASED;
+		}
+	}
+
+	static final class BoundedWorker extends AtomicBoolean implements Worker, Scannable {
+
+		final BoundedService picked;
+
+		final Disposable.Composite tasks;
+
+		BoundedWorker(BoundedService picked) {
+			this.picked = picked;
+			this.tasks = Disposables.composite();
+		}
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			return Schedulers.workerSchedule(picked.exec,
+					tasks,
+					task,
+					0L,
+					TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+			return Schedulers.workerSchedule(picked.exec, tasks, task, delay, unit);
+		}
+
+		@Override
+		public Disposable schedulePeriodically(Runnable task,
+				long initialDelay,
+				long period,
+				TimeUnit unit) {
+			return Schedulers.workerSchedulePeriodically(picked.exec,
+					tasks,
+					task,
+					initialDelay,
+					period,
+					unit);
+		}
+
+		@Override
+		public void dispose() {
+			if (compareAndSet(false, true)) {
+				tasks.dispose();
+				picked.dispose();
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return tasks.isDisposed();
+		}
+
+		@Override
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+			if (key == Attr.NAME) return picked.scanUnsafe(key) + ".worker";
+			if (key == Attr.PARENT) return picked.parent;
+
+			return picked.scanUnsafe(key);
+		}
+	}
+}
@@ -16,16 +16,17 @@
 
 package reactor.core.scheduler;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -45,6 +46,12 @@ import reactor.util.annotation.Nullable;
  * The default time-to-live for unused thread pools is 60 seconds, use the
  * appropriate constructor to push a different value.
  * <p>
+ * Idle thread pools are kept in most-recently-used order: a new Worker reuses the
+ * thread pool that was released last, while eviction only ever looks at the least
+ * recently used ones, stopping at the first that hasn't expired. A minimum number of
+ * idle thread pools can be started upfront and is never evicted, so that a burst of
+ * traffic after a quiet period doesn't pay for the creation of their threads.
+ * <p>
  * This scheduler is not restartable (may be later).
  *
  * @author Stephane Maldini
@@ -68,24 +75,46 @@ final class ElasticScheduler implements Scheduler, Supplier<ScheduledExecutorSer
 
 	final int ttlSeconds;
 
+	final int minIdle;
 
-	final Queue<ScheduledExecutorServiceExpiry> cache;
+	/**
+	 * The idle thread pools, the most recently released first.
+	 */
+	final Deque<ScheduledExecutorServiceExpiry> cache;
 
-	final Queue<CachedService> all;
+	final Set<CachedService> all;
 
 	final ScheduledExecutorService evictor;
 
+	volatile int idle;
+	static final AtomicIntegerFieldUpdater<ElasticScheduler> IDLE =
+			AtomicIntegerFieldUpdater.newUpdater(ElasticScheduler.class, "idle");
 
 	volatile boolean shutdown;
 
 	ElasticScheduler(ThreadFactory factory, int ttlSeconds) {
+		this(factory, ttlSeconds, 0);
+	}
+
+	ElasticScheduler(ThreadFactory factory, int ttlSeconds, int minIdle) {
 		if (ttlSeconds < 0) {
 			throw new IllegalArgumentException("ttlSeconds must be positive, was: " + ttlSeconds);
 		}
+		if (minIdle < 0) {
+			throw new IllegalArgumentException("minIdle must be positive, was: " + minIdle);
+		}
 		this.ttlSeconds = ttlSeconds;
+		this.minIdle = minIdle;
 		this.factory = factory;
-		this.cache = new ConcurrentLinkedQueue<>();
-		this.all = new ConcurrentLinkedQueue<>();
+		this.cache = new ConcurrentLinkedDeque<>();
+		this.all = ConcurrentHashMap.newKeySet();
+		for (int i = 0; i < minIdle; i++) {
+			CachedService cached = new CachedService(this);
+			//submitting a no-op task forces the executor to start its thread
+			cached.exec.execute(() -> {});
+			all.add(cached);
+			cached.dispose();
+		}
 		this.evictor = Executors.newScheduledThreadPool(1, EVICTOR_FACTORY);
 		this.evictor.scheduleAtFixedRate(this::eviction,
 				ttlSeconds,
@@ -124,11 +153,12 @@ final class ElasticScheduler implements Scheduler, Supplier<ScheduledExecutorSer
 		evictor.shutdownNow();
 
 		cache.clear();
+		idle = 0;
 
-		CachedService cached;
-
-		while ((cached = all.poll()) != null) {
-			cached.exec.shutdownNow();
+		for (CachedService cached : all) {
+			if (all.remove(cached)) {
+				cached.exec.shutdownNow();
+			}
 		}
 	}
 
@@ -137,13 +167,14 @@ final class ElasticScheduler implements Scheduler, Supplier<ScheduledExecutorSer
 			return SHUTDOWN;
 		}
 		CachedService result;
-		ScheduledExecutorServiceExpiry e = cache.poll();
+		ScheduledExecutorServiceExpiry e = cache.pollFirst();
 		if (e != null) {
+			IDLE.decrementAndGet(this);
 			return e.cached;
 		}
 
 		result = new CachedService(this);
-		all.offer(result);
+		all.add(result);
 		if (shutdown) {
 			all.remove(result);
 			return SHUTDOWN;
@@ -197,7 +228,7 @@ final class ElasticScheduler implements Scheduler, Supplier<ScheduledExecutorSer
 	public Object scanUnsafe(Attr key) {
 		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
 		if (key == Attr.CAPACITY) return Integer.MAX_VALUE;
-		if (key == Attr.BUFFERED) return cache.size(); //BUFFERED: number of workers alive
+		if (key == Attr.BUFFERED) return idle; //BUFFERED: number of idle workers alive
 		if (key == Attr.NAME) return this.toString();
 
 		return null;
@@ -214,16 +245,22 @@ final class ElasticScheduler implements Scheduler, Supplier<ScheduledExecutorSer
 		return new ElasticWorker(pick());
 	}
 
+	/**
+	 * Evict the idle thread pools that have expired, least recently used first, while
+	 * keeping at least {@link #minIdle} of them. As the pools are released in order of
+	 * expiry, this stops at the first one that hasn't expired and the cost doesn't depend
+	 * on the number of cached pools.
+	 */
 	void eviction() {
 		long now = System.currentTimeMillis();
 
-		List<ScheduledExecutorServiceExpiry> list = new ArrayList<>(cache);
-		for (ScheduledExecutorServiceExpiry e : list) {
-			if (e.expireMillis < now) {
-				if (cache.remove(e)) {
-					e.cached.exec.shutdownNow();
-					all.remove(e.cached);
-				}
+		ScheduledExecutorServiceExpiry e;
+		while (idle > minIdle && (e = cache.peekLast()) != null && e.expireMillis < now) {
+			//the tail is removed in constant time, unless picked concurrently
+			if (cache.removeLastOccurrence(e)) {
+				IDLE.decrementAndGet(this);
+				e.cached.exec.shutdownNow();
+				all.remove(e.cached);
 			}
 		}
 	}
@@ -252,9 +289,10 @@ final class ElasticScheduler implements Scheduler, Supplier<ScheduledExecutorSer
 					ScheduledExecutorServiceExpiry e = new
 							ScheduledExecutorServiceExpiry(this,
 							System.currentTimeMillis() + parent.ttlSeconds * 1000L);
-					parent.cache.offer(e);
+					parent.cache.offerFirst(e);
+					IDLE.incrementAndGet(parent);
 					if (parent.shutdown) {
-						if (parent.cache.remove(e)) {
+						if (parent.cache.removeFirstOccurrence(e)) {
 							exec.shutdownNow();
 						}
 					}
@@ -319,7 +357,7 @@ final class ElasticScheduler implements Scheduler, Supplier<ScheduledExecutorSer
 
 		ElasticWorker(CachedService cached) {
 			this.cached = cached;
-			this.tasks = Disposables.composite();
+			this.tasks = new StripedCompositeDisposable();
 		}
 
 		@Override
@@ -0,0 +1,491 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.util.concurrent.Queues;
+import reactor.util.concurrent.WaitStrategy;
+
+/**
+ * Scheduler that hosts a fixed pool of event loops, each one being a thread that owns a
+ * lock-free multi-producer queue of tasks and idles using a {@link WaitStrategy}
+ * rather than blocking on a lock. With a spinning strategy, handing a task over to an
+ * idle loop doesn't involve any system call. This scheduler is time-capable (can
+ * schedule with delay / periodically).
+ * <p>
+ * A {@link Worker} is bound to a single loop, which executes its tasks serially.
+ * Delayed tasks are armed in a shared {@link HashedWheelTimer} and only enqueued in
+ * their loop once the delay has elapsed.
+ * <p>
+ * Each loop gets its own {@link WaitStrategy} from the given {@link Supplier}, so that
+ * a submission only wakes up the loop it targets. Note that a busy-spinning strategy
+ * keeps each loop thread busy even when idle.
+ */
+final class EventLoopScheduler implements Scheduler, Scannable {
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	static final EventLoop[] SHUTDOWN = new EventLoop[0];
+
+	final int n;
+
+	final ThreadFactory factory;
+
+	final Supplier<? extends WaitStrategy> waitStrategySupplier;
+
+	volatile EventLoop[] loops;
+	static final AtomicReferenceFieldUpdater<EventLoopScheduler, EventLoop[]> LOOPS =
+			AtomicReferenceFieldUpdater.newUpdater(EventLoopScheduler.class,
+					EventLoop[].class, "loops");
+
+	volatile HashedWheelTimer timer;
+
+	int roundRobin;
+
+	EventLoopScheduler(int n, ThreadFactory factory,
+			Supplier<? extends WaitStrategy> waitStrategySupplier) {
+		if (n <= 0) {
+			throw new IllegalArgumentException("n > 0 required but it was " + n);
+		}
+		this.n = n;
+		this.factory = factory;
+		this.waitStrategySupplier = Objects.requireNonNull(waitStrategySupplier, "waitStrategySupplier");
+		this.timer = new HashedWheelTimer(timerName());
+		LOOPS.lazySet(this, newLoops());
+	}
+
+	EventLoop[] newLoops() {
+		ThreadFactory owned = Schedulers.ownedThreadFactory(this, factory);
+		EventLoop[] a = new EventLoop[n];
+		for (int i = 0; i < n; i++) {
+			a[i] = new EventLoop(Objects.requireNonNull(waitStrategySupplier.get(),
+					"waitStrategySupplier produced a null WaitStrategy"));
+		}
+		for (EventLoop loop : a) {
+			loop.start(owned);
+		}
+		return a;
+	}
+
+	String timerName() {
+		if (factory instanceof Schedulers.SchedulerThreadFactory) {
+			return ((Schedulers.SchedulerThreadFactory) factory).get();
+		}
+		return Schedulers.EVENT_LOOP;
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return loops == SHUTDOWN;
+	}
+
+	@Override
+	public boolean ownsCurrentThread() {
+		return Schedulers.isCurrentThreadOwnedBy(this);
+	}
+
+	@Override
+	public void start() {
+		EventLoop[] b = null;
+		for (;;) {
+			EventLoop[] a = loops;
+			if (a != SHUTDOWN) {
+				if (b != null) {
+					for (EventLoop loop : b) {
+						loop.shutdown();
+					}
+				}
+				return;
+			}
+
+			if (b == null) {
+				b = newLoops();
+			}
+
+			if (LOOPS.compareAndSet(this, a, b)) {
+				timer = new HashedWheelTimer(timerName());
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void dispose() {
+		EventLoop[] a = loops;
+		if (a != SHUTDOWN) {
+			a = LOOPS.getAndSet(this, SHUTDOWN);
+			if (a != SHUTDOWN) {
+				for (EventLoop loop : a) {
+					loop.shutdown();
+				}
+				timer.dispose();
+			}
+		}
+	}
+
+	EventLoop pick() {
+		EventLoop[] a = loops;
+		if (a == SHUTDOWN) {
+			throw Exceptions.failWithRejected();
+		}
+		// ignoring the race condition here, its already random who gets which loop
+		int idx = roundRobin;
+		if (idx == n) {
+			idx = 0;
+			roundRobin = 1;
+		}
+		else {
+			roundRobin = idx + 1;
+		}
+		return a[idx];
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		Objects.requireNonNull(task, "task");
+		ExecutorScheduler.ExecutorPlainRunnable r =
+				new ExecutorScheduler.ExecutorPlainRunnable(task);
+		pick().execute(r);
+		return r;
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+		if (delay <= 0L) {
+			return schedule(task);
+		}
+		Objects.requireNonNull(task, "task");
+
+		SerialExecutorWorker.DelayedTask delayed =
+				new SerialExecutorWorker.DelayedTask(pick(), null);
+		delayed.task = new ExecutorScheduler.ExecutorTrackedRunnable(task, delayed, true);
+		timer.schedule(delayed, delay, unit);
+		return delayed;
+	}
+
+	@Override
+	public Disposable schedulePeriodically(Runnable task,
+			long initialDelay,
+			long period,
+			TimeUnit unit) {
+		Objects.requireNonNull(task, "task");
+
+		SerialExecutorWorker.PeriodicTask periodic =
+				new SerialExecutorWorker.PeriodicTask(task, pick(), timer, null,
+						unit.toNanos(period));
+		periodic.start(unit.toNanos(initialDelay));
+		return periodic;
+	}
+
+	@Override
+	public Worker createWorker() {
+		return new EventLoopWorker(pick(), timer, this);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder ts = new StringBuilder(Schedulers.EVENT_LOOP)
+				.append('(').append(n);
+		if (factory instanceof Schedulers.SchedulerThreadFactory) {
+			ts.append(",\"").append(((Schedulers.SchedulerThreadFactory) factory).get()).append('\"');
+		}
+		ts.append(')');
+		return ts.toString();
+	}
+
+	@Override
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+		if (key == Attr.CAPACITY || key == Attr.BUFFERED) return n; //BUFFERED: number of loops doesn't vary
+		if (key == Attr.NAME) return this.toString();
+
+		return null;
+	}
+
+	@Override
+	public Stream<? extends Scannable> inners() {
+		return Stream.of(loops);
+	}
+
+	/**
+	 * A thread draining a lock-free queue of tasks. Producers publish a task by
+	 * enqueueing it then incrementing the {@link #produced} sequence, which the loop
+	 * waits on with its {@link WaitStrategy} once it has caught up.
+	 * <p>
+	 * Subclasses can drain several queues, by publishing to them with
+	 * {@link #execute(Runnable, Queue)} and overriding {@link #poll()} and
+	 * {@link #clear()}.
+	 */
+	static class EventLoop implements Executor, Runnable, LongSupplier, Scannable {
+
+		final Queue<Runnable> queue;
+		final WaitStrategy    waitStrategy;
+		final Runnable        spinObserver;
+
+		volatile long produced;
+		static final AtomicLongFieldUpdater<EventLoop> PRODUCED =
+				AtomicLongFieldUpdater.newUpdater(EventLoop.class, "produced");
+
+		volatile long consumed;
+		static final AtomicLongFieldUpdater<EventLoop> CONSUMED =
+				AtomicLongFieldUpdater.newUpdater(EventLoop.class, "consumed");
+
+		volatile boolean terminated;
+
+		Thread thread;
+
+		EventLoop(WaitStrategy waitStrategy) {
+			this.waitStrategy = waitStrategy;
+			this.queue = Queues.<Runnable>unboundedMultiproducer().get();
+			this.spinObserver = () -> {
+				if (terminated) {
+					WaitStrategy.alert();
+				}
+			};
+		}
+
+		void start(ThreadFactory factory) {
+			thread = factory.newThread(this);
+			thread.start();
+		}
+
+		@Override
+		public void execute(Runnable task) {
+			execute(task, queue);
+		}
+
+		final void execute(Runnable task, Queue<Runnable> q) {
+			if (terminated) {
+				throw Exceptions.failWithRejected();
+			}
+			q.offer(task);
+			PRODUCED.incrementAndGet(this);
+			waitStrategy.signalAllWhenBlocking();
+		}
+
+		/**
+		 * @return the next task to run, only called once it has been published
+		 */
+		Runnable poll() {
+			return queue.poll();
+		}
+
+		/**
+		 * Drop the pending tasks once terminated.
+		 */
+		void clear() {
+			queue.clear();
+		}
+
+		@Override
+		public long getAsLong() {
+			return produced;
+		}
+
+		@Override
+		public final void run() {
+			long next = consumed + 1L;
+
+			while (!terminated) {
+				long available;
+				try {
+					available = waitStrategy.waitFor(next, this, spinObserver);
+				}
+				catch (InterruptedException ex) {
+					continue;
+				}
+				catch (Throwable ex) {
+					if (WaitStrategy.isAlert(ex)) {
+						continue;
+					}
+					throw ex;
+				}
+
+				for (; next <= available && !terminated; next++) {
+					Runnable task = poll();
+					try {
+						//the task has been enqueued before its sequence was published
+						task.run();
+					}
+					catch (Throwable ex) {
+						Schedulers.handleError(ex);
+					}
+					CONSUMED.lazySet(this, next);
+				}
+			}
+			clear();
+		}
+
+		void shutdown() {
+			terminated = true;
+			waitStrategy.signalAllWhenBlocking();
+			thread.interrupt();
+		}
+
+		@Override
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.TERMINATED || key == Attr.CANCELLED) return terminated;
+			if (key == Attr.BUFFERED) return (int) Math.min(Integer.MAX_VALUE, produced - consumed);
+			if (key == Attr.NAME) return thread.getName();
+
+			return null;
+		}
+	}
+
+	/**
+	 * A {@link Worker} bound to an {@link EventLoop}, or to one of its queues, tracking
+	 * its pending tasks so that they can be cancelled together.
+	 */
+	static final class EventLoopWorker
+			implements Worker, Executor, ExecutorScheduler.WorkerDelete, Scannable {
+
+		final Executor             loop;
+		final HashedWheelTimer     timer;
+		final Scheduler            parent;
+		final Disposable.Composite tasks;
+
+		EventLoopWorker(Executor loop, HashedWheelTimer timer, Scheduler parent) {
+			this.loop = loop;
+			this.timer = timer;
+			this.parent = parent;
+			this.tasks = Disposables.composite();
+		}
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			Objects.requireNonNull(task, "task");
+
+			ExecutorScheduler.ExecutorTrackedRunnable r =
+					new ExecutorScheduler.ExecutorTrackedRunnable(task, this, true);
+			if (!tasks.add(r)) {
+				throw Exceptions.failWithRejected();
+			}
+
+			try {
+				loop.execute(r);
+			}
+			catch (RejectedExecutionException ex) {
+				r.dispose();
+				throw ex;
+			}
+			return r;
+		}
+
+		@Override
+		public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+			if (delay <= 0L) {
+				return schedule(task);
+			}
+			Objects.requireNonNull(task, "task");
+
+			SerialExecutorWorker.DelayedTask delayed =
+					new SerialExecutorWorker.DelayedTask(this, tasks);
+			delayed.task = new ExecutorScheduler.ExecutorTrackedRunnable(task, delayed, true);
+			if (!tasks.add(delayed)) {
+				throw Exceptions.failWithRejected();
+			}
+
+			try {
+				timer.schedule(delayed, delay, unit);
+			}
+			catch (RejectedExecutionException ex) {
+				delayed.dispose();
+				throw ex;
+			}
+			return delayed;
+		}
+
+		@Override
+		public Disposable schedulePeriodically(Runnable task,
+				long initialDelay,
+				long period,
+				TimeUnit unit) {
+			Objects.requireNonNull(task, "task");
+
+			SerialExecutorWorker.PeriodicTask periodic =
+					new SerialExecutorWorker.PeriodicTask(task, this, timer, tasks,
+							unit.toNanos(period));
+			if (!tasks.add(periodic)) {
+				throw Exceptions.failWithRejected();
+			}
+
+			try {
+				periodic.start(unit.toNanos(initialDelay));
+			}
+			catch (RejectedExecutionException ex) {
+				periodic.dispose();
+				throw ex;
+			}
+			return periodic;
+		}
+
+		/**
+		 * Enqueue a task that is already tracked by this worker in its loop.
+		 *
+		 * @throws RejectedExecutionException if this worker or its loop has been
+		 * disposed
+		 */
+		@Override
+		public void execute(Runnable task) {
+			if (tasks.isDisposed()) {
+				throw Exceptions.failWithRejected();
+			}
+			loop.execute(task);
+		}
+
+		@Override
+		public void dispose() {
+			tasks.dispose();
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return tasks.isDisposed();
+		}
+
+		@Override
+		public void delete(ExecutorScheduler.ExecutorTrackedRunnable r) {
+			tasks.remove(r);
+		}
+
+		@Override
+		public Object scanUnsafe(Attr key) {
+			if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+			if (key == Attr.BUFFERED) return tasks.size();
+			if (key == Attr.PARENT) return parent;
+			if (key == Attr.NAME) return parent + ".worker";
+
+			return null;
+		}
+	}
+}
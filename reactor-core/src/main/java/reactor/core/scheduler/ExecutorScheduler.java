@@ -18,17 +18,16 @@ package reactor.core.scheduler;
 
 import java.util.Objects;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import reactor.core.Disposable;
-import reactor.core.Disposables;
 import reactor.core.Exceptions;
 import reactor.core.Scannable;
 import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
 
 /**
  * Wraps a java.util.concurrent.Executor and provides the Scheduler API over it.
@@ -44,11 +43,16 @@ final class ExecutorScheduler implements Scheduler, Scannable {
 	final Executor executor;
 	final boolean  trampoline;
 
+	@Nullable
+	final TaskMetrics metrics;
+
 	volatile boolean terminated;
 
 	ExecutorScheduler(Executor executor, boolean trampoline) {
 		this.executor = executor;
 		this.trampoline = trampoline;
+		this.metrics = Schedulers.metricsEnabled ?
+				new TaskMetrics(Schedulers.FROM_EXECUTOR, this) : null;
 	}
 
 	@Override
@@ -61,7 +65,7 @@ final class ExecutorScheduler implements Scheduler, Scannable {
 		//RejectedExecutionException are propagated up, but since Executor doesn't from
 		//failing tasks we'll also wrap the execute call in a try catch:
 		try {
-			executor.execute(r);
+			execute(executor, metrics, r);
 		}
 		catch (Throwable ex) {
 			if (executor instanceof ExecutorService && ((ExecutorService) executor).isShutdown()) {
@@ -85,8 +89,8 @@ final class ExecutorScheduler implements Scheduler, Scannable {
 
 	@Override
 	public Worker createWorker() {
-		return trampoline ? new ExecutorSchedulerTrampolineWorker(executor) :
-				new ExecutorSchedulerWorker(executor);
+		return trampoline ? new ExecutorSchedulerTrampolineWorker(executor, metrics) :
+				new ExecutorSchedulerWorker(executor, metrics);
 	}
 
 	@Override
@@ -104,7 +108,35 @@ final class ExecutorScheduler implements Scheduler, Scannable {
 		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
 		if (key == Attr.NAME) return toString();
 
-		return null;
+		return scanMetrics(metrics, key);
+	}
+
+	/**
+	 * Execute the given task, recording its metrics if the {@link TaskMetrics} isn't
+	 * null.
+	 */
+	static void execute(Executor executor, @Nullable TaskMetrics metrics, Runnable task) {
+		if (metrics == null) {
+			executor.execute(task);
+			return;
+		}
+		metrics.onSubmit();
+		try {
+			executor.execute(metrics.wrap(task, 0L, 0L));
+		}
+		catch (Throwable ex) {
+			metrics.onReject();
+			throw ex;
+		}
+	}
+
+	@Nullable
+	static Object scanMetrics(@Nullable TaskMetrics metrics, Attr key) {
+		if (metrics == null) {
+			return null;
+		}
+		if (key == Attr.BUFFERED) return (int) metrics.pending();
+		return metrics.scanUnsafe(key);
 	}
 
 	/**
@@ -216,33 +248,105 @@ final class ExecutorScheduler implements Scheduler, Scannable {
 	}
 
 	/**
-	 * A non-trampolining worker that tracks tasks.
+	 * A worker that doesn't keep track of its tasks but lets them lazily check whether
+	 * the worker has been disposed, instead of removing them from a shared collection.
+	 */
+	interface LazyTrackingWorker extends Scheduler.Worker {
+
+		/**
+		 * Called once per task, when it has either been run or been disposed.
+		 */
+		void release();
+	}
+
+	/**
+	 * A Runnable that wraps a task and skips it if either itself or its parent worker
+	 * has been disposed in the meantime.
+	 */
+	static final class LazyTrackedRunnable extends AtomicBoolean
+			implements Runnable, Disposable {
+
+		/** */
+		private static final long serialVersionUID = -6154386390440003093L;
+
+		final Runnable           task;
+		final LazyTrackingWorker parent;
+
+		LazyTrackedRunnable(Runnable task, LazyTrackingWorker parent) {
+			this.task = task;
+			this.parent = parent;
+		}
+
+		@Override
+		public void run() {
+			if (!get() && !parent.isDisposed()) {
+				try {
+					task.run();
+				}
+				catch (Throwable ex) {
+					Schedulers.handleError(ex);
+				}
+				finally {
+					dispose();
+				}
+			}
+		}
+
+		@Override
+		public void dispose() {
+			if (compareAndSet(false, true)) {
+				parent.release();
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return get() || parent.isDisposed();
+		}
+	}
+
+	/**
+	 * A non-trampolining worker that tracks tasks lazily: it only counts the pending
+	 * tasks, which check the worker state before running.
 	 */
-	static final class ExecutorSchedulerWorker implements Scheduler.Worker, WorkerDelete, Scannable {
+	static final class ExecutorSchedulerWorker implements LazyTrackingWorker, Scannable {
 
 		final Executor executor;
 
-		final Disposable.Composite tasks;
+		@Nullable
+		final TaskMetrics metrics;
+
+		volatile boolean terminated;
+
+		volatile int pending;
+		static final AtomicIntegerFieldUpdater<ExecutorSchedulerWorker> PENDING =
+				AtomicIntegerFieldUpdater.newUpdater(ExecutorSchedulerWorker.class,
+						"pending");
 
 		ExecutorSchedulerWorker(Executor executor) {
+			this(executor, null);
+		}
+
+		ExecutorSchedulerWorker(Executor executor, @Nullable TaskMetrics metrics) {
 			this.executor = executor;
-			this.tasks = Disposables.composite();
+			this.metrics = metrics;
 		}
 
 		@Override
 		public Disposable schedule(Runnable task) {
 			Objects.requireNonNull(task, "task");
-
-			ExecutorTrackedRunnable r = new ExecutorTrackedRunnable(task, this, true);
-			if (!tasks.add(r)) {
+			if (terminated) {
 				throw Exceptions.failWithRejected();
 			}
 
+			LazyTrackedRunnable r = new LazyTrackedRunnable(task, this);
+			PENDING.incrementAndGet(this);
+
 			try {
-				executor.execute(r);
+				execute(executor, metrics, r);
 			}
 			catch (Throwable ex) {
-				tasks.remove(r);
+				r.dispose();
 				Schedulers.handleError(ex);
 				throw Exceptions.failWithRejected(ex);
 			}
@@ -252,23 +356,23 @@ final class ExecutorScheduler implements Scheduler, Scannable {
 
 		@Override
 		public void dispose() {
-			tasks.dispose();
+			terminated = true;
 		}
 
 		@Override
 		public boolean isDisposed() {
-			return tasks.isDisposed();
+			return terminated;
 		}
 
 		@Override
-		public void delete(ExecutorTrackedRunnable r) {
-			tasks.remove(r);
+		public void release() {
+			PENDING.decrementAndGet(this);
 		}
 
 		@Override
 		public Object scanUnsafe(Attr key) {
 			if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
-			if (key == Attr.BUFFERED) return tasks.size();
+			if (key == Attr.BUFFERED) return terminated ? 0 : pending;
 			if (key == Attr.PARENT) return (executor instanceof Scannable) ? executor : null;
 			if (key == Attr.NAME) {
 				//hack to recognize the SingleWorker
@@ -276,19 +380,28 @@ final class ExecutorScheduler implements Scheduler, Scannable {
 				return Schedulers.FROM_EXECUTOR + "("  + executor + ").worker";
 			}
 
+			Object m = scanMetrics(metrics, key);
+			if (m != null) {
+				return m;
+			}
 			return Schedulers.scanExecutor(executor, key);
 		}
 	}
 
 	/**
-	 * A trampolining worker that tracks tasks.
+	 * A trampolining worker that tracks tasks in a multi-producer single-consumer queue.
+	 * Disposed tasks are left in the queue and skipped once polled, and the queue is only
+	 * cleared by whoever owns the drain loop.
 	 */
 	static final class ExecutorSchedulerTrampolineWorker
-			implements Scheduler.Worker, WorkerDelete, Runnable, Scannable {
+			implements LazyTrackingWorker, Runnable, Scannable {
 
 		final Executor executor;
 
-		final Queue<ExecutorTrackedRunnable> queue;
+		@Nullable
+		final TaskMetrics metrics;
+
+		final Queue<LazyTrackedRunnable> queue;
 
 		volatile boolean terminated;
 
@@ -298,8 +411,13 @@ final class ExecutorScheduler implements Scheduler, Scannable {
 						"wip");
 
 		ExecutorSchedulerTrampolineWorker(Executor executor) {
+			this(executor, null);
+		}
+
+		ExecutorSchedulerTrampolineWorker(Executor executor, @Nullable TaskMetrics metrics) {
 			this.executor = executor;
-			this.queue = new ConcurrentLinkedQueue<>();
+			this.metrics = metrics;
+			this.queue = Queues.<LazyTrackedRunnable>unboundedMultiproducer().get();
 		}
 
 		@Override
@@ -309,17 +427,17 @@ final class ExecutorScheduler implements Scheduler, Scannable {
 				throw Exceptions.failWithRejected();
 			}
 
-			ExecutorTrackedRunnable r = new ExecutorTrackedRunnable(task, this, false);
-			synchronized (this) {
+			LazyTrackedRunnable r = new LazyTrackedRunnable(task, this);
+			queue.offer(r);
+
+			if (WIP.getAndIncrement(this) == 0) {
 				if (terminated) {
+					//the drain loop is ours but the worker has been disposed concurrently
+					clear();
 					throw Exceptions.failWithRejected();
 				}
-				queue.offer(r);
-			}
-
-			if (WIP.getAndIncrement(this) == 0) {
 				try {
-					executor.execute(this);
+					execute(executor, metrics, this);
 				}
 				catch (Throwable ex) {
 					r.dispose();
@@ -327,6 +445,10 @@ final class ExecutorScheduler implements Scheduler, Scannable {
 					throw Exceptions.failWithRejected(ex);
 				}
 			}
+			else if (terminated) {
+				//the task will be skipped and cleared by the drain loop
+				throw Exceptions.failWithRejected();
+			}
 
 			return r;
 		}
@@ -337,12 +459,9 @@ final class ExecutorScheduler implements Scheduler, Scannable {
 				return;
 			}
 			terminated = true;
-			final Queue<ExecutorTrackedRunnable> q = queue;
-
-			ExecutorTrackedRunnable r;
 
-			while ((r = q.poll()) != null && !q.isEmpty()) {
-				r.dispose();
+			if (WIP.getAndIncrement(this) == 0) {
+				clear();
 			}
 		}
 
@@ -352,17 +471,24 @@ final class ExecutorScheduler implements Scheduler, Scannable {
 		}
 
 		@Override
-		public void delete(ExecutorTrackedRunnable r) {
-			synchronized (this) {
-				if (!terminated) {
-					queue.remove(r);
-				}
+		public void release() {
+			//disposed tasks are lazily removed when polled
+		}
+
+		/**
+		 * Dispose all the queued tasks, only called by the owner of the drain loop once
+		 * the worker is terminated.
+		 */
+		void clear() {
+			LazyTrackedRunnable r;
+			while ((r = queue.poll()) != null) {
+				r.dispose();
 			}
 		}
 
 		@Override
 		public void run() {
-			final Queue<ExecutorTrackedRunnable> q = queue;
+			final Queue<LazyTrackedRunnable> q = queue;
 
 			for (; ; ) {
 
@@ -371,9 +497,10 @@ final class ExecutorScheduler implements Scheduler, Scannable {
 
 				while (e != r) {
 					if (terminated) {
+						clear();
 						return;
 					}
-					ExecutorTrackedRunnable task = q.poll();
+					LazyTrackedRunnable task = q.poll();
 
 					if (task == null) {
 						break;
@@ -385,6 +512,7 @@ final class ExecutorScheduler implements Scheduler, Scannable {
 				}
 
 				if (e == r && terminated) {
+					clear();
 					return;
 				}
 
@@ -399,8 +527,12 @@ final class ExecutorScheduler implements Scheduler, Scannable {
 			if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
 			if (key == Attr.PARENT) return (executor instanceof Scannable) ? executor : null;
 			if (key == Attr.NAME) return Schedulers.FROM_EXECUTOR + "("  + executor + ",trampolining).worker";
-			if (key == Attr.BUFFERED || key == Attr.LARGE_BUFFERED) return queue.size();
+			if (key == Attr.BUFFERED || key == Attr.LARGE_BUFFERED) return terminated ? 0 : queue.size();
 
+			Object m = scanMetrics(metrics, key);
+			if (m != null) {
+				return m;
+			}
 			return Schedulers.scanExecutor(executor, key);
 		}
 	}
@@ -20,8 +20,8 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import reactor.core.Disposable;
-import reactor.core.Disposables;
 import reactor.core.Scannable;
+import reactor.util.annotation.Nullable;
 
 /**
  * @author Stephane Maldini
@@ -32,10 +32,20 @@ final class ExecutorServiceWorker implements Scheduler.Worker, Disposable, Scann
 
 	final Composite tasks;
 
+	/**
+	 * Optional timer used to arm delayed tasks instead of the executor's own delayed queue
+	 */
+	@Nullable
+	final HashedWheelTimer timer;
 
 	ExecutorServiceWorker(ScheduledExecutorService exec) {
+		this(exec, null);
+	}
+
+	ExecutorServiceWorker(ScheduledExecutorService exec, @Nullable HashedWheelTimer timer) {
 		this.exec = exec;
-		this.tasks = Disposables.composite();
+		this.timer = timer;
+		this.tasks = new StripedCompositeDisposable();
 	}
 
 	@Override
@@ -45,6 +55,9 @@ final class ExecutorServiceWorker implements Scheduler.Worker, Disposable, Scann
 
 	@Override
 	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+		if (timer != null) {
+			return Schedulers.workerSchedule(exec, timer, tasks, task, delay, unit);
+		}
 		return Schedulers.workerSchedule(exec, tasks, task, delay, unit);
 	}
 
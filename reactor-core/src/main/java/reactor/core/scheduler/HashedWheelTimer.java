@@ -0,0 +1,402 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
+
+/**
+ * A hashed wheel timer that arms {@link Timeout timeouts} in O(1) and cancels them in
+ * O(1), processing the expired ones in batches on a single, lazily started, daemon
+ * thread.
+ * <p>
+ * Timeouts are first offered to a multi-producer pending queue, then transferred into
+ * the bucket of the wheel matching their deadline by the timer thread at each tick.
+ * Cancelled timeouts are unlinked from their bucket by the timer thread as well, so
+ * producers never contend on the wheel itself. When no timeout is armed, the timer
+ * thread parks until the next {@link #schedule(Timeout, long, TimeUnit)}.
+ * <p>
+ * Expiration is never early but can be late by up to one tick. The
+ * {@link Timeout#run() expiration action} runs on the timer thread and is expected
+ * to only hand the actual work off to another executor.
+ */
+final class HashedWheelTimer implements Runnable, Disposable {
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	static final long DEFAULT_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	static final int DEFAULT_WHEEL_SIZE = 512;
+
+	/**
+	 * Maximum number of pending timeouts transferred into the wheel per tick, so that
+	 * a burst of scheduling doesn't delay the expiration of the current bucket.
+	 */
+	static final int MAX_TRANSFER_PER_TICK = 100_000;
+
+	static final int INIT     = 0;
+	static final int STARTED  = 1;
+	static final int SHUTDOWN = 2;
+
+	final String   name;
+	final long     tickNanos;
+	final Bucket[] wheel;
+	final int      mask;
+	final long     startNanos;
+
+	final Queue<Timeout> pending;
+	final Queue<Timeout> cancelled;
+
+	volatile int state;
+	static final AtomicIntegerFieldUpdater<HashedWheelTimer> STATE =
+			AtomicIntegerFieldUpdater.newUpdater(HashedWheelTimer.class, "state");
+
+	volatile long armed;
+	static final AtomicLongFieldUpdater<HashedWheelTimer> ARMED =
+			AtomicLongFieldUpdater.newUpdater(HashedWheelTimer.class, "armed");
+
+	volatile boolean idle;
+
+	volatile Thread thread;
+
+	HashedWheelTimer(String name) {
+		this(name, DEFAULT_TICK_NANOS, TimeUnit.NANOSECONDS, DEFAULT_WHEEL_SIZE);
+	}
+
+	HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int wheelSize) {
+		if (tickDuration <= 0) {
+			throw new IllegalArgumentException("tickDuration > 0 required but it was " + tickDuration);
+		}
+		if (wheelSize <= 0) {
+			throw new IllegalArgumentException("wheelSize > 0 required but it was " + wheelSize);
+		}
+		this.name = name;
+		this.tickNanos = unit.toNanos(tickDuration);
+		int size = Queues.ceilingNextPowerOfTwo(wheelSize);
+		this.wheel = new Bucket[size];
+		for (int i = 0; i < size; i++) {
+			wheel[i] = new Bucket();
+		}
+		this.mask = size - 1;
+		this.startNanos = System.nanoTime();
+		this.pending = Queues.<Timeout>unboundedMultiproducer().get();
+		this.cancelled = Queues.<Timeout>unboundedMultiproducer().get();
+	}
+
+	/**
+	 * Arm the given {@link Timeout} so that it is {@link Timeout#run() run} once the
+	 * delay has elapsed, unless it is cancelled first.
+	 *
+	 * @param timeout the {@link Timeout} to arm, which must not have been armed before
+	 * @param delay the delay amount, non-positive values expire on the next tick
+	 * @param unit the unit of measure of the delay amount
+	 *
+	 * @throws java.util.concurrent.RejectedExecutionException if this timer has been
+	 * disposed
+	 */
+	void schedule(Timeout timeout, long delay, TimeUnit unit) {
+		int s = state;
+		if (s == SHUTDOWN) {
+			throw Exceptions.failWithRejected();
+		}
+		if (s == INIT && STATE.compareAndSet(this, INIT, STARTED)) {
+			Thread t = new Thread(this, name + "-timer-" + COUNTER.incrementAndGet());
+			t.setDaemon(true);
+			thread = t;
+			t.start();
+		}
+
+		timeout.timer = this;
+		long elapsed = System.nanoTime() - startNanos;
+		long delayNanos = Math.max(0L, unit.toNanos(delay));
+		//saturate rather than overflow into the past for very long delays
+		timeout.deadline = delayNanos > Long.MAX_VALUE - elapsed ? Long.MAX_VALUE : elapsed + delayNanos;
+
+		ARMED.incrementAndGet(this);
+		pending.offer(timeout);
+
+		if (idle) {
+			Thread t = thread;
+			if (t != null) {
+				LockSupport.unpark(t);
+			}
+		}
+	}
+
+	@Override
+	public void dispose() {
+		if (STATE.getAndSet(this, SHUTDOWN) == STARTED) {
+			Thread t = thread;
+			if (t != null) {
+				LockSupport.unpark(t);
+			}
+		}
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return state == SHUTDOWN;
+	}
+
+	/**
+	 * @return the number of armed timeouts, including cancelled ones that haven't been
+	 * unlinked yet
+	 */
+	long size() {
+		return armed;
+	}
+
+	@Override
+	public void run() {
+		long tick = 0L;
+		for (;;) {
+			if (armed == 0L) {
+				idle = true;
+				if (armed == 0L && state != SHUTDOWN) {
+					LockSupport.park(this);
+				}
+				idle = false;
+				//the wheel was empty in the meantime: no need to go over missed ticks
+				tick = Math.max(tick, (System.nanoTime() - startNanos) / tickNanos);
+			}
+
+			if (!waitForNextTick(tick)) {
+				break;
+			}
+
+			processCancelled();
+			transferPending(tick);
+			expire(wheel[(int) (tick & mask)]);
+			tick++;
+		}
+
+		for (Bucket bucket : wheel) {
+			bucket.clear();
+		}
+		Timeout t;
+		while ((t = pending.poll()) != null) {
+			t.cancel(false);
+		}
+		cancelled.clear();
+	}
+
+	/**
+	 * Wait until the end of the given tick, so that any timeout which deadline falls
+	 * into that tick has elapsed.
+	 *
+	 * @param tick the current tick
+	 * @return false if the timer has been disposed while waiting
+	 */
+	boolean waitForNextTick(long tick) {
+		long deadline = tickNanos * (tick + 1);
+		for (;;) {
+			if (state == SHUTDOWN) {
+				return false;
+			}
+			long sleepNanos = deadline - (System.nanoTime() - startNanos);
+			if (sleepNanos <= 0L) {
+				return true;
+			}
+			LockSupport.parkNanos(this, sleepNanos);
+		}
+	}
+
+	void transferPending(long tick) {
+		for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+			Timeout t = pending.poll();
+			if (t == null) {
+				return;
+			}
+			if (t.state != Timeout.PENDING) {
+				ARMED.decrementAndGet(this);
+				continue;
+			}
+			long calculated = t.deadline / tickNanos;
+			t.remainingRounds = (calculated - tick) / wheel.length;
+			//a timeout that is already late goes to the current bucket
+			long ticks = Math.max(calculated, tick);
+			wheel[(int) (ticks & mask)].add(t);
+		}
+	}
+
+	void processCancelled() {
+		Timeout t;
+		while ((t = cancelled.poll()) != null) {
+			Bucket b = t.bucket;
+			//otherwise still pending or already unlinked by expire
+			if (b != null) {
+				b.remove(t);
+				ARMED.decrementAndGet(this);
+			}
+		}
+	}
+
+	void expire(Bucket bucket) {
+		Timeout t = bucket.head;
+		while (t != null) {
+			Timeout next = t.next;
+			if (t.state != Timeout.PENDING) {
+				bucket.remove(t);
+				ARMED.decrementAndGet(this);
+			}
+			else if (t.remainingRounds <= 0L) {
+				bucket.remove(t);
+				ARMED.decrementAndGet(this);
+				t.expire();
+			}
+			else {
+				t.remainingRounds--;
+			}
+			t = next;
+		}
+	}
+
+	/**
+	 * A task armed in a {@link HashedWheelTimer}, also exposed as a {@link Future}
+	 * so that it can be used as the pending future of a {@link SchedulerTask} or
+	 * {@link WorkerTask} until its expiration hands it off to an executor.
+	 */
+	abstract static class Timeout implements Runnable, Future<Void> {
+
+		static final int PENDING   = 0;
+		static final int EXPIRED   = 1;
+		static final int CANCELLED = 2;
+
+		volatile int state;
+		static final AtomicIntegerFieldUpdater<Timeout> TIMEOUT_STATE =
+				AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+		@Nullable
+		volatile HashedWheelTimer timer;
+		long deadline;
+
+		//only accessed from the timer thread
+		long    remainingRounds;
+		@Nullable
+		Bucket  bucket;
+		@Nullable
+		Timeout next;
+		@Nullable
+		Timeout prev;
+
+		void expire() {
+			if (TIMEOUT_STATE.compareAndSet(this, PENDING, EXPIRED)) {
+				try {
+					run();
+				}
+				catch (Throwable ex) {
+					Schedulers.handleError(ex);
+				}
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			if (TIMEOUT_STATE.compareAndSet(this, PENDING, CANCELLED)) {
+				HashedWheelTimer t = timer;
+				if (t != null && t.state != SHUTDOWN) {
+					t.cancelled.offer(this);
+				}
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return state == CANCELLED;
+		}
+
+		@Override
+		public boolean isDone() {
+			return state != PENDING;
+		}
+
+		@Override
+		public Void get() {
+			throw new UnsupportedOperationException("Timeout doesn't support blocking get");
+		}
+
+		@Override
+		public Void get(long timeout, TimeUnit unit) {
+			throw new UnsupportedOperationException("Timeout doesn't support blocking get");
+		}
+	}
+
+	/**
+	 * A doubly-linked list of {@link Timeout}, only ever accessed from the timer thread.
+	 */
+	static final class Bucket {
+
+		@Nullable
+		Timeout head;
+		@Nullable
+		Timeout tail;
+
+		void add(Timeout t) {
+			t.bucket = this;
+			if (head == null) {
+				head = tail = t;
+			}
+			else {
+				tail.next = t;
+				t.prev = tail;
+				tail = t;
+			}
+		}
+
+		void remove(Timeout t) {
+			Timeout next = t.next;
+			Timeout prev = t.prev;
+			if (prev != null) {
+				prev.next = next;
+			}
+			if (next != null) {
+				next.prev = prev;
+			}
+			if (t == head) {
+				head = next;
+			}
+			if (t == tail) {
+				tail = prev;
+			}
+			t.prev = null;
+			t.next = null;
+			t.bucket = null;
+		}
+
+		void clear() {
+			Timeout t = head;
+			while (t != null) {
+				Timeout next = t.next;
+				remove(t);
+				t.cancel(false);
+				t = next;
+			}
+		}
+	}
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.NotNull;
+import reactor.core.Scannable;
+
+/**
+ * A {@link ScheduledExecutorService} decorator recording the {@link TaskMetrics} of the
+ * tasks it submits to the actual executor, applied by
+ * {@link Schedulers#decorateExecutorService(String, Supplier)} once
+ * {@link Schedulers#enableMetrics() metrics are enabled}.
+ */
+final class InstrumentedScheduledExecutorService
+		implements ScheduledExecutorService, Supplier<ScheduledExecutorService>, Scannable {
+
+	final ScheduledExecutorService exec;
+	final TaskMetrics              metrics;
+
+	InstrumentedScheduledExecutorService(String schedulerType, ScheduledExecutorService exec) {
+		this.exec = exec;
+		this.metrics = new TaskMetrics(schedulerType, this);
+	}
+
+	@Override
+	public ScheduledExecutorService get() {
+		return exec;
+	}
+
+	@Override
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.NAME) return metrics.name;
+		Object m = metrics.scanUnsafe(key);
+		if (m != null) {
+			return m;
+		}
+		return Schedulers.scanExecutor(exec, key);
+	}
+
+	@Override
+	public void shutdown() {
+		exec.shutdown();
+	}
+
+	@NotNull
+	@Override
+	public List<Runnable> shutdownNow() {
+		return exec.shutdownNow();
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return exec.isShutdown();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return exec.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, @NotNull TimeUnit unit)
+			throws InterruptedException {
+		return exec.awaitTermination(timeout, unit);
+	}
+
+	@NotNull
+	@Override
+	public <T> Future<T> submit(@NotNull Callable<T> task) {
+		metrics.onSubmit();
+		try {
+			return exec.submit((Callable<T>) metrics.wrap(task, 0L));
+		}
+		catch (Throwable ex) {
+			metrics.onReject();
+			throw ex;
+		}
+	}
+
+	@NotNull
+	@Override
+	public <T> Future<T> submit(@NotNull Runnable task, T result) {
+		metrics.onSubmit();
+		try {
+			return exec.submit((Runnable) metrics.wrap(task, 0L, 0L), result);
+		}
+		catch (Throwable ex) {
+			metrics.onReject();
+			throw ex;
+		}
+	}
+
+	@NotNull
+	@Override
+	public Future<?> submit(@NotNull Runnable task) {
+		metrics.onSubmit();
+		try {
+			return exec.submit((Runnable) metrics.wrap(task, 0L, 0L));
+		}
+		catch (Throwable ex) {
+			metrics.onReject();
+			throw ex;
+		}
+	}
+
+	<T> List<Callable<T>> wrapAll(Collection<? extends Callable<T>> tasks) {
+		List<Callable<T>> wrapped = new ArrayList<>(tasks.size());
+		for (Callable<T> task : tasks) {
+			metrics.onSubmit();
+			wrapped.add(metrics.wrap(task, 0L));
+		}
+		return wrapped;
+	}
+
+	@NotNull
+	@Override
+	public <T> List<Future<T>> invokeAll(@NotNull Collection<? extends Callable<T>> tasks)
+			throws InterruptedException {
+		return exec.invokeAll(wrapAll(tasks));
+	}
+
+	@NotNull
+	@Override
+	public <T> List<Future<T>> invokeAll(@NotNull Collection<? extends Callable<T>> tasks,
+			long timeout,
+			@NotNull TimeUnit unit) throws InterruptedException {
+		return exec.invokeAll(wrapAll(tasks), timeout, unit);
+	}
+
+	@NotNull
+	@Override
+	public <T> T invokeAny(@NotNull Collection<? extends Callable<T>> tasks)
+			throws InterruptedException, ExecutionException {
+		return exec.invokeAny(wrapAll(tasks));
+	}
+
+	@Override
+	public <T> T invokeAny(@NotNull Collection<? extends Callable<T>> tasks,
+			long timeout,
+			@NotNull TimeUnit unit)
+			throws InterruptedException, ExecutionException, TimeoutException {
+		return exec.invokeAny(wrapAll(tasks), timeout, unit);
+	}
+
+	@Override
+	public void execute(@NotNull Runnable command) {
+		metrics.onSubmit();
+		try {
+			exec.execute((Runnable) metrics.wrap(command, 0L, 0L));
+		}
+		catch (Throwable ex) {
+			metrics.onReject();
+			throw ex;
+		}
+	}
+
+	@NotNull
+	@Override
+	public ScheduledFuture<?> schedule(@NotNull Runnable command,
+			long delay,
+			@NotNull TimeUnit unit) {
+		metrics.onSubmit();
+		try {
+			return exec.schedule((Runnable) metrics.wrap(command, unit.toNanos(delay), 0L),
+					delay, unit);
+		}
+		catch (Throwable ex) {
+			metrics.onReject();
+			throw ex;
+		}
+	}
+
+	@NotNull
+	@Override
+	public <V> ScheduledFuture<V> schedule(@NotNull Callable<V> callable,
+			long delay,
+			@NotNull TimeUnit unit) {
+		metrics.onSubmit();
+		try {
+			return exec.schedule((Callable<V>) metrics.wrap(callable, unit.toNanos(delay)),
+					delay, unit);
+		}
+		catch (Throwable ex) {
+			metrics.onReject();
+			throw ex;
+		}
+	}
+
+	@NotNull
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(@NotNull Runnable command,
+			long initialDelay,
+			long period,
+			@NotNull TimeUnit unit) {
+		metrics.onSubmit();
+		try {
+			return exec.scheduleAtFixedRate((Runnable) metrics.wrap(command,
+					unit.toNanos(initialDelay), unit.toNanos(period)),
+					initialDelay, period, unit);
+		}
+		catch (Throwable ex) {
+			metrics.onReject();
+			throw ex;
+		}
+	}
+
+	@NotNull
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(@NotNull Runnable command,
+			long initialDelay,
+			long delay,
+			@NotNull TimeUnit unit) {
+		metrics.onSubmit();
+		try {
+			return exec.scheduleWithFixedDelay((Runnable) metrics.wrap(command,
+					unit.toNanos(initialDelay), -unit.toNanos(delay)),
+					initialDelay, delay, unit);
+		}
+		catch (Throwable ex) {
+			metrics.onReject();
+			throw ex;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return exec.toString();
+	}
+}
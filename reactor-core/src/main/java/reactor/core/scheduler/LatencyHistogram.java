@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations in nanoseconds, which buckets are powers of two:
+ * bucket {@code i} counts the durations in {@code [2^(i-1), 2^i)}, bucket 0 counting
+ * the zero durations. Recording is a couple of atomic increments, and the precision of
+ * the reported percentiles is therefore within a factor of two.
+ * <p>
+ * Instances are exposed by instrumented {@link Scheduler} executors through the
+ * {@link reactor.core.Scannable.Attr#TASK_WAIT_TIME} and
+ * {@link reactor.core.Scannable.Attr#TASK_RUN_TIME} attributes, see
+ * {@link Schedulers#enableMetrics()}.
+ */
+public final class LatencyHistogram {
+
+	static final int BUCKETS = 64;
+
+	final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	final AtomicLong      total   = new AtomicLong();
+	final AtomicLong      max     = new AtomicLong();
+
+	LatencyHistogram() {
+	}
+
+	void record(long nanos) {
+		if (nanos < 0L) {
+			nanos = 0L;
+		}
+		buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(nanos));
+		total.addAndGet(nanos);
+		long m;
+		while (nanos > (m = max.get()) && !max.compareAndSet(m, nanos)) {
+			//retry
+		}
+	}
+
+	/**
+	 * @return the number of recorded durations
+	 */
+	public long count() {
+		long c = 0L;
+		for (int i = 0; i < BUCKETS; i++) {
+			c += buckets.get(i);
+		}
+		return c;
+	}
+
+	/**
+	 * @return the sum of the recorded durations, in nanoseconds
+	 */
+	public long totalNanos() {
+		return total.get();
+	}
+
+	/**
+	 * @return the largest recorded duration, in nanoseconds
+	 */
+	public long maxNanos() {
+		return max.get();
+	}
+
+	/**
+	 * @return the mean of the recorded durations in nanoseconds, or 0 if none has been
+	 * recorded
+	 */
+	public long meanNanos() {
+		long c = count();
+		return c == 0L ? 0L : totalNanos() / c;
+	}
+
+	/**
+	 * Return an upper bound of the given percentile of the recorded durations, which is
+	 * at most twice the actual value.
+	 *
+	 * @param percentile the percentile, between 0 and 1
+	 *
+	 * @return an upper bound of the percentile in nanoseconds, or 0 if no duration has
+	 * been recorded
+	 */
+	public long percentileNanos(double percentile) {
+		if (percentile < 0d || percentile > 1d) {
+			throw new IllegalArgumentException("percentile must be between 0 and 1 but it was " + percentile);
+		}
+		long[] snapshot = new long[BUCKETS];
+		long c = 0L;
+		for (int i = 0; i < BUCKETS; i++) {
+			snapshot[i] = buckets.get(i);
+			c += snapshot[i];
+		}
+		if (c == 0L) {
+			return 0L;
+		}
+		long rank = Math.max(1L, (long) Math.ceil(percentile * c));
+		long seen = 0L;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += snapshot[i];
+			if (seen >= rank) {
+				return Math.min(upperBound(i), maxNanos());
+			}
+		}
+		return maxNanos();
+	}
+
+	static long upperBound(int bucket) {
+		if (bucket == 0) {
+			return 0L;
+		}
+		if (bucket >= BUCKETS - 1) {
+			return Long.MAX_VALUE;
+		}
+		return (1L << bucket) - 1L;
+	}
+
+	@Override
+	public String toString() {
+		return "LatencyHistogram{count=" + count() + ", meanNanos=" + meanNanos() +
+				", p99Nanos=" + percentileNanos(0.99) + ", maxNanos=" + maxNanos() + '}';
+	}
+}
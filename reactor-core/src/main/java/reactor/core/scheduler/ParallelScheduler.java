@@ -15,10 +15,12 @@
  */
 package reactor.core.scheduler;
 
+import java.util.Objects;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -32,6 +34,13 @@ import reactor.core.Scannable;
  * Scheduler that hosts a fixed pool of single-threaded ScheduledExecutorService-based workers
  * and is suited for parallel work. This scheduler is time-capable (can schedule with
  * delay / periodically).
+ * <p>
+ * Delayed tasks are armed in a shared {@link HashedWheelTimer} and only submitted to
+ * their executor once the delay has elapsed.
+ * <p>
+ * The executor backing each {@link #createWorker() worker} and direct {@code schedule}
+ * call is picked according to a {@link Schedulers.WorkerSelection}: round-robin by
+ * default, or based on the number of tasks pending in each executor.
  *
  * @author Stephane Maldini
  * @author Simon Baslé
@@ -45,6 +54,8 @@ final class ParallelScheduler implements Scheduler, Supplier<ScheduledExecutorSe
     
     final ThreadFactory factory;
 
+    final Schedulers.WorkerSelection selection;
+
     volatile ScheduledExecutorService[] executors;
     static final AtomicReferenceFieldUpdater<ParallelScheduler, ScheduledExecutorService[]> EXECUTORS =
             AtomicReferenceFieldUpdater.newUpdater(ParallelScheduler.class, ScheduledExecutorService[].class, "executors");
@@ -57,14 +68,21 @@ final class ParallelScheduler implements Scheduler, Supplier<ScheduledExecutorSe
         TERMINATED.shutdownNow();
     }
 
+    volatile HashedWheelTimer timer;
+
     int roundRobin;
 
     ParallelScheduler(int n, ThreadFactory factory) {
+        this(n, factory, Schedulers.WorkerSelection.ROUND_ROBIN);
+    }
+
+    ParallelScheduler(int n, ThreadFactory factory, Schedulers.WorkerSelection selection) {
         if (n <= 0) {
             throw new IllegalArgumentException("n > 0 required but it was " + n);
         }
         this.n = n;
         this.factory = factory;
+        this.selection = Objects.requireNonNull(selection, "selection");
         init(n);
     }
 
@@ -74,7 +92,8 @@ final class ParallelScheduler implements Scheduler, Supplier<ScheduledExecutorSe
      */
     @Override
     public ScheduledExecutorService get() {
-        ScheduledThreadPoolExecutor poolExecutor = new ScheduledThreadPoolExecutor(1, factory);
+        ScheduledThreadPoolExecutor poolExecutor = new ScheduledThreadPoolExecutor(1,
+                Schedulers.ownedThreadFactory(this, factory));
         poolExecutor.setMaximumPoolSize(1);
         return poolExecutor;
     }
@@ -84,50 +103,72 @@ final class ParallelScheduler implements Scheduler, Supplier<ScheduledExecutorSe
         for (int i = 0; i < n; i++) {
             a[i] = Schedulers.decorateExecutorService(Schedulers.PARALLEL, this);
         }
+        timer = new HashedWheelTimer(timerName());
         EXECUTORS.lazySet(this, a);
     }
 
+    String timerName() {
+        if (factory instanceof Schedulers.SchedulerThreadFactory) {
+            return ((Schedulers.SchedulerThreadFactory) factory).get();
+        }
+        return Schedulers.PARALLEL;
+    }
+
 	@Override
 	public boolean isDisposed() {
 		return executors == SHUTDOWN;
 	}
 
 	@Override
-    public void start() {
-        ScheduledExecutorService[] b = null;
-        for (;;) {
-            ScheduledExecutorService[] a = executors;
-            if (a != SHUTDOWN) {
-                if (b != null) {
-                    for (ScheduledExecutorService exec : b) {
-                        exec.shutdownNow();
-                    }
-                }
-                return;
-            }
+	public boolean ownsCurrentThread() {
+		return Schedulers.isCurrentThreadOwnedBy(this);
+	}
 
-            if (b == null) {
-                b = new ScheduledExecutorService[n];
-                for (int i = 0; i < n; i++) {
-                    b[i] = Schedulers.decorateExecutorService(Schedulers.PARALLEL, this);
-                }
-            }
-            
-            if (EXECUTORS.compareAndSet(this, a, b)) {
-                return;
+	/**
+	 * Restart a disposed scheduler. The new timer is published before the new executors,
+	 * so that no delayed task can reach the disposed timer once the executors are
+	 * visible. Restarts are serialized, as a concurrent one could otherwise replace the
+	 * timer of this one.
+	 */
+	@Override
+    public synchronized void start() {
+        ScheduledExecutorService[] a = executors;
+        if (a != SHUTDOWN) {
+            return;
+        }
+
+        ScheduledExecutorService[] b = new ScheduledExecutorService[n];
+        for (int i = 0; i < n; i++) {
+            b[i] = Schedulers.decorateExecutorService(Schedulers.PARALLEL, this);
+        }
+        HashedWheelTimer t = new HashedWheelTimer(timerName());
+
+        HashedWheelTimer previous = timer;
+        timer = t;
+        if (!EXECUTORS.compareAndSet(this, a, b)) {
+            timer = previous;
+            for (ScheduledExecutorService exec : b) {
+                exec.shutdownNow();
             }
+            t.dispose();
         }
     }
 
     @Override
     public void dispose() {
-        ScheduledExecutorService[] a = executors;
-        if (a != SHUTDOWN) {
-            a = EXECUTORS.getAndSet(this, SHUTDOWN);
-            if (a != SHUTDOWN) {
+        for (;;) {
+            ScheduledExecutorService[] a = executors;
+            if (a == SHUTDOWN) {
+                return;
+            }
+            //read before the CAS: the timer is published before the executors
+            HashedWheelTimer t = timer;
+            if (EXECUTORS.compareAndSet(this, a, SHUTDOWN)) {
                 for (ScheduledExecutorService exec : a) {
                     exec.shutdownNow();
                 }
+                t.dispose();
+                return;
             }
         }
     }
@@ -143,11 +184,66 @@ final class ParallelScheduler implements Scheduler, Supplier<ScheduledExecutorSe
             } else {
                 roundRobin = idx + 1;
             }
-            return a[idx];
+            switch (selection) {
+                case LEAST_PENDING:
+                    return leastPending(a, idx);
+                case POWER_OF_TWO_CHOICES:
+                    return powerOfTwoChoices(a, idx);
+                default:
+                    return a[idx];
+            }
         }
         return TERMINATED;
     }
 
+    /**
+     * Scan all the executors, starting at the round-robin index so that ties (eg. idle
+     * executors) are still spread evenly, and return the one with the fewest pending
+     * tasks.
+     */
+    static ScheduledExecutorService leastPending(ScheduledExecutorService[] a, int start) {
+        int n = a.length;
+        ScheduledExecutorService best = a[start];
+        int min = pending(best);
+        for (int i = 1; i < n && min > 0; i++) {
+            int idx = start + i;
+            if (idx >= n) {
+                idx -= n;
+            }
+            int p = pending(a[idx]);
+            if (p < min) {
+                min = p;
+                best = a[idx];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Compare the executor at the round-robin index with another one picked at random,
+     * and return the one with the fewest pending tasks.
+     */
+    static ScheduledExecutorService powerOfTwoChoices(ScheduledExecutorService[] a, int first) {
+        int n = a.length;
+        if (n == 1) {
+            return a[0];
+        }
+        int second = ThreadLocalRandom.current().nextInt(n - 1);
+        if (second >= first) {
+            second++;
+        }
+        return pending(a[second]) < pending(a[first]) ? a[second] : a[first];
+    }
+
+    /**
+     * @return the number of tasks queued or running in the executor, as reported by its
+     * {@link Attr#BUFFERED} attribute, or 0 if unknown
+     */
+    static int pending(ScheduledExecutorService exec) {
+        Object buffered = Schedulers.scanExecutor(exec, Attr.BUFFERED);
+        return buffered instanceof Integer ? (Integer) buffered : 0;
+    }
+
     @Override
     public Disposable schedule(Runnable task) {
 	    return Schedulers.directSchedule(pick(), task, 0L, TimeUnit.MILLISECONDS);
@@ -155,7 +251,7 @@ final class ParallelScheduler implements Scheduler, Supplier<ScheduledExecutorSe
 
     @Override
     public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
-	    return Schedulers.directSchedule(pick(), task, delay, unit);
+	    return Schedulers.directSchedule(pick(), timer, task, delay, unit);
     }
 
     @Override
@@ -177,6 +273,9 @@ final class ParallelScheduler implements Scheduler, Supplier<ScheduledExecutorSe
         if (factory instanceof Schedulers.SchedulerThreadFactory) {
             ts.append(",\"").append(((Schedulers.SchedulerThreadFactory) factory).get()).append('\"');
         }
+        if (selection != Schedulers.WorkerSelection.ROUND_ROBIN) {
+            ts.append(',').append(selection);
+        }
         ts.append(')');
         return ts.toString();
     }
@@ -198,6 +297,6 @@ final class ParallelScheduler implements Scheduler, Supplier<ScheduledExecutorSe
 
     @Override
     public Worker createWorker() {
-        return new ExecutorServiceWorker(pick());
+        return new ExecutorServiceWorker(pick(), timer);
     }
 }
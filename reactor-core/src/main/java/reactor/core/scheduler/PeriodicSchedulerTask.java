@@ -43,7 +43,9 @@ final class PeriodicSchedulerTask implements Runnable, Disposable, Callable<Void
 	@Override
 	@Nullable
 	public Void call() {
-		thread = Thread.currentThread();
+		Thread t = Thread.currentThread();
+		thread = t;
+		Schedulers.NonBlockingThread.enterTask(t, task);
 		try {
 			try {
 				task.run();
@@ -54,6 +56,7 @@ final class PeriodicSchedulerTask implements Runnable, Disposable, Callable<Void
 		}
 		finally {
 			thread = null;
+			Schedulers.NonBlockingThread.exitTask(t);
 		}
 		return null;
 	}
@@ -53,7 +53,9 @@ final class PeriodicWorkerTask implements Runnable, Disposable, Callable<Void> {
 	@Override
 	@Nullable
 	public Void call() {
-		thread = Thread.currentThread();
+		Thread t = Thread.currentThread();
+		thread = t;
+		Schedulers.NonBlockingThread.enterTask(t, task);
 		try {
 			try {
 				task.run();
@@ -64,6 +66,7 @@ final class PeriodicWorkerTask implements Runnable, Disposable, Callable<Void> {
 		}
 		finally {
 			thread = null;
+			Schedulers.NonBlockingThread.exitTask(t);
 		}
 		return null;
 	}
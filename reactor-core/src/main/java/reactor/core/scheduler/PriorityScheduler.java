@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.scheduler;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.stream.Stream;
+
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Schedulers.TaskPriority;
+import reactor.util.concurrent.Queues;
+import reactor.util.concurrent.WaitStrategy;
+import reactor.util.context.Context;
+
+/**
+ * Scheduler that hosts a fixed pool of threads, each one draining a queue per
+ * {@link TaskPriority}: pending tasks of a more urgent class run first, unless a less
+ * urgent class has been passed over {@link #STARVATION_LIMIT} times in a row. This
+ * scheduler is time-capable (can schedule with delay / periodically).
+ * <p>
+ * A {@link Worker} is bound to a single thread and to a single class, read from the
+ * {@link Context} it is {@link #createWorker(Context) created for}, so its tasks are
+ * executed serially and in order. Delayed tasks are armed in a shared
+ * {@link HashedWheelTimer} and only enqueued once the delay has elapsed.
+ */
+final class PriorityScheduler implements Scheduler, Scannable {
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	/**
+	 * How many tasks of more urgent classes can be run in a row while a less urgent
+	 * class has pending tasks, before one of these is run anyway.
+	 */
+	static final int STARVATION_LIMIT = 8;
+
+	static final PriorityLoop[] SHUTDOWN = new PriorityLoop[0];
+
+	final int n;
+
+	final ThreadFactory factory;
+
+	volatile PriorityLoop[] loops;
+	static final AtomicReferenceFieldUpdater<PriorityScheduler, PriorityLoop[]> LOOPS =
+			AtomicReferenceFieldUpdater.newUpdater(PriorityScheduler.class,
+					PriorityLoop[].class, "loops");
+
+	volatile HashedWheelTimer timer;
+
+	int roundRobin;
+
+	PriorityScheduler(int n, ThreadFactory factory) {
+		if (n <= 0) {
+			throw new IllegalArgumentException("n > 0 required but it was " + n);
+		}
+		this.n = n;
+		this.factory = factory;
+		this.timer = new HashedWheelTimer(timerName());
+		LOOPS.lazySet(this, newLoops());
+	}
+
+	PriorityLoop[] newLoops() {
+		ThreadFactory owned = Schedulers.ownedThreadFactory(this, factory);
+		PriorityLoop[] a = new PriorityLoop[n];
+		for (int i = 0; i < n; i++) {
+			a[i] = new PriorityLoop();
+		}
+		for (PriorityLoop loop : a) {
+			loop.start(owned);
+		}
+		return a;
+	}
+
+	String timerName() {
+		if (factory instanceof Schedulers.SchedulerThreadFactory) {
+			return ((Schedulers.SchedulerThreadFactory) factory).get();
+		}
+		return Schedulers.PRIORITY;
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return loops == SHUTDOWN;
+	}
+
+	@Override
+	public boolean ownsCurrentThread() {
+		return Schedulers.isCurrentThreadOwnedBy(this);
+	}
+
+	@Override
+	public void start() {
+		PriorityLoop[] b = null;
+		for (;;) {
+			PriorityLoop[] a = loops;
+			if (a != SHUTDOWN) {
+				if (b != null) {
+					for (PriorityLoop loop : b) {
+						loop.shutdown();
+					}
+				}
+				return;
+			}
+
+			if (b == null) {
+				b = newLoops();
+			}
+
+			if (LOOPS.compareAndSet(this, a, b)) {
+				timer = new HashedWheelTimer(timerName());
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void dispose() {
+		PriorityLoop[] a = loops;
+		if (a != SHUTDOWN) {
+			a = LOOPS.getAndSet(this, SHUTDOWN);
+			if (a != SHUTDOWN) {
+				for (PriorityLoop loop : a) {
+					loop.shutdown();
+				}
+				timer.dispose();
+			}
+		}
+	}
+
+	PriorityLoop pick() {
+		PriorityLoop[] a = loops;
+		if (a == SHUTDOWN) {
+			throw Exceptions.failWithRejected();
+		}
+		// ignoring the race condition here, its already random who gets which loop
+		int idx = roundRobin;
+		if (idx == n) {
+			idx = 0;
+			roundRobin = 1;
+		}
+		else {
+			roundRobin = idx + 1;
+		}
+		return a[idx];
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		Objects.requireNonNull(task, "task");
+		ExecutorScheduler.ExecutorPlainRunnable r =
+				new ExecutorScheduler.ExecutorPlainRunnable(task);
+		pick().execute(r);
+		return r;
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+		if (delay <= 0L) {
+			return schedule(task);
+		}
+		Objects.requireNonNull(task, "task");
+
+		SerialExecutorWorker.DelayedTask delayed =
+				new SerialExecutorWorker.DelayedTask(pick(), null);
+		delayed.task = new ExecutorScheduler.ExecutorTrackedRunnable(task, delayed, true);
+		timer.schedule(delayed, delay, unit);
+		return delayed;
+	}
+
+	@Override
+	public Disposable schedulePeriodically(Runnable task,
+			long initialDelay,
+			long period,
+			TimeUnit unit) {
+		Objects.requireNonNull(task, "task");
+
+		SerialExecutorWorker.PeriodicTask periodic =
+				new SerialExecutorWorker.PeriodicTask(task, pick(), timer, null,
+						unit.toNanos(period));
+		periodic.start(unit.toNanos(initialDelay));
+		return periodic;
+	}
+
+	@Override
+	public Worker createWorker() {
+		return createWorker(TaskPriority.NORMAL);
+	}
+
+	@Override
+	public Worker createWorker(Context context) {
+		Object priority = context.getOrDefault(Schedulers.PRIORITY_KEY, null);
+		if (priority instanceof TaskPriority) {
+			return createWorker((TaskPriority) priority);
+		}
+		return createWorker();
+	}
+
+	Worker createWorker(TaskPriority priority) {
+		return new EventLoopScheduler.EventLoopWorker(pick().lanes[priority.ordinal()],
+				timer, this);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder ts = new StringBuilder(Schedulers.PRIORITY)
+				.append('(').append(n);
+		if (factory instanceof Schedulers.SchedulerThreadFactory) {
+			ts.append(",\"").append(((Schedulers.SchedulerThreadFactory) factory).get()).append('\"');
+		}
+		ts.append(')');
+		return ts.toString();
+	}
+
+	@Override
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+		if (key == Attr.CAPACITY || key == Attr.BUFFERED) return n; //BUFFERED: number of loops doesn't vary
+		if (key == Attr.NAME) return this.toString();
+
+		return null;
+	}
+
+	@Override
+	public Stream<? extends Scannable> inners() {
+		return Stream.of(loops);
+	}
+
+	/**
+	 * An event loop draining one queue per {@link TaskPriority}, the
+	 * {@link TaskPriority#NORMAL} one being the queue of the plain loop.
+	 */
+	static final class PriorityLoop extends EventLoopScheduler.EventLoop {
+
+		final Queue<Runnable>[] queues;
+
+		/**
+		 * An {@link Executor} enqueueing in the queue of each {@link TaskPriority}.
+		 */
+		final Executor[] lanes;
+
+		/**
+		 * How many times each class had pending tasks while a more urgent one was
+		 * served, only accessed by the loop thread.
+		 */
+		final int[] passedOver;
+
+		@SuppressWarnings("unchecked")
+		PriorityLoop() {
+			super(WaitStrategy.liteBlocking());
+			int classes = TaskPriority.values().length;
+			this.queues = new Queue[classes];
+			this.lanes = new Executor[classes];
+			this.passedOver = new int[classes];
+			for (int i = 0; i < classes; i++) {
+				Queue<Runnable> q = i == TaskPriority.NORMAL.ordinal() ? queue :
+						Queues.<Runnable>unboundedMultiproducer().get();
+				queues[i] = q;
+				lanes[i] = task -> execute(task, q);
+			}
+		}
+
+		@Override
+		Runnable poll() {
+			Queue<Runnable>[] qs = queues;
+			//a class that has been passed over too many times goes first, starting with
+			//the least urgent one
+			for (int i = qs.length - 1; i > 0; i--) {
+				if (passedOver[i] >= STARVATION_LIMIT) {
+					passedOver[i] = 0;
+					Runnable task = qs[i].poll();
+					if (task != null) {
+						return task;
+					}
+				}
+			}
+			for (int i = 0; i < qs.length; i++) {
+				Runnable task = qs[i].poll();
+				if (task != null) {
+					passedOver[i] = 0;
+					for (int j = i + 1; j < qs.length; j++) {
+						if (!qs[j].isEmpty()) {
+							passedOver[j]++;
+						}
+					}
+					return task;
+				}
+			}
+			//unreachable once a task has been published
+			throw new IllegalStateException("No task available in " + this);
+		}
+
+		@Override
+		void clear() {
+			for (Queue<Runnable> q : queues) {
+				q.clear();
+			}
+		}
+	}
+}
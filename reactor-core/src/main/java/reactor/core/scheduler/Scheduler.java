@@ -24,6 +24,7 @@ import java.util.function.Supplier;
 import reactor.core.Disposable;
 import reactor.core.Exceptions;
 import reactor.core.Scannable;
+import reactor.util.context.Context;
 
 /**
  * Provides an abstract asynchronous boundary to operators.
@@ -100,6 +101,19 @@ public interface Scheduler extends Disposable {
 		return unit.convert(System.currentTimeMillis(), TimeUnit.MILLISECONDS);
 	}
 	
+	/**
+	 * Indicates whether the calling thread is one of the threads this Scheduler runs its
+	 * tasks on. Operators such as {@code publishOn} use this to emit inline rather than
+	 * hopping to a {@link Worker} when they are already running on such a thread.
+	 * <p>
+	 * Defaults to false, which is always safe.
+	 *
+	 * @return true if the current thread belongs to this Scheduler
+	 */
+	default boolean ownsCurrentThread() {
+		return false;
+	}
+
 	/**
 	 * Creates a worker of this Scheduler that executed task in a strict
 	 * FIFO order, guaranteed non-concurrently with each other.
@@ -115,6 +129,23 @@ public interface Scheduler extends Disposable {
 	 */
 	Worker createWorker();
 
+	/**
+	 * Creates a worker of this Scheduler on behalf of a subscriber, as operators like
+	 * {@code publishOn} and {@code subscribeOn} do at subscription time. This lets a
+	 * Scheduler tune the worker according to the {@link Context} of that subscriber,
+	 * e.g. a {@link Schedulers#newPriority(String, int) priority} Scheduler reads the
+	 * {@link Schedulers.TaskPriority} of the worker from its
+	 * {@link Schedulers#PRIORITY_KEY}.
+	 * <p>
+	 * Defaults to {@link #createWorker()}, ignoring the {@link Context}.
+	 *
+	 * @param context the {@link Context} of the subscriber the worker is created for
+	 * @return the Worker instance.
+	 */
+	default Worker createWorker(Context context) {
+		return createWorker();
+	}
+
 	/**
 	 * Instructs this Scheduler to release all resources and reject
 	 * any new tasks to be executed.
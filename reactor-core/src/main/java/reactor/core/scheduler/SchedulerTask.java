@@ -44,7 +44,9 @@ final class SchedulerTask implements Runnable, Disposable, Callable<Void> {
 	@Override
 	@Nullable
 	public Void call() {
-		thread = Thread.currentThread();
+		Thread t = Thread.currentThread();
+		thread = t;
+		Schedulers.NonBlockingThread.enterTask(t, task);
 		try {
 			try {
 				task.run();
@@ -55,6 +57,7 @@ final class SchedulerTask implements Runnable, Disposable, Callable<Void> {
 		}
 		finally {
 			thread = null;
+			Schedulers.NonBlockingThread.exitTask(t);
 			Future f;
 			for (;;) {
 				f = future;
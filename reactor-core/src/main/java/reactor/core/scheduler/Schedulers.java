@@ -16,10 +16,15 @@
 
 package reactor.core.scheduler;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
@@ -38,6 +43,8 @@ import reactor.core.Scannable;
 import reactor.util.Logger;
 import reactor.util.Loggers;
 import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.WaitStrategy;
+import reactor.util.context.Context;
 
 import static reactor.core.Exceptions.unwrap;
 
@@ -66,8 +73,22 @@ public abstract class Schedulers {
 	 */
 	public static final int DEFAULT_POOL_SIZE = Math.max(Runtime.getRuntime().availableProcessors(), 4);
 
+	/**
+	 * The {@link Context} key from which a {@link #newPriority(String, int) priority}
+	 * {@link Scheduler} reads the {@link TaskPriority} of the workers it creates for
+	 * operators like {@code publishOn}, see {@link Scheduler#createWorker(Context)}.
+	 */
+	public static final String PRIORITY_KEY = "reactor.scheduler.priority";
+
 	static volatile BiConsumer<Thread, ? super Throwable> onHandleErrorHook;
 
+	static volatile boolean metricsEnabled;
+
+	static volatile TaskMetricsListener onTaskMetricsHook;
+
+	@Nullable
+	static volatile BlockingTaskDetector blockingTaskDetector;
+
 	/**
 	 * Create a {@link Scheduler} which uses a backing {@link Executor} to schedule
 	 * Runnables for async operators.
@@ -215,6 +236,203 @@ public abstract class Schedulers {
 		return factory.newElastic(ttlSeconds, threadFactory);
 	}
 
+	/**
+	 * {@link Scheduler} that dynamically creates ExecutorService-based Workers and caches
+	 * the thread pools, reusing them once the Workers have been shut down. The first
+	 * {@code minIdle} thread pools are started right away and are never evicted, so that
+	 * a burst of Workers after a quiet period doesn't wait for their threads to start.
+	 * <p>
+	 * The maximum number of created thread pools is unbounded.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param minIdle number of idle thread pools to start upfront and to keep when evicting
+	 * @param name Thread prefix
+	 * @param ttlSeconds Time-to-live for an idle {@link reactor.core.scheduler.Scheduler.Worker}
+	 * @param daemon false if the {@link Scheduler} requires an explicit {@link
+	 * Scheduler#dispose()} to exit the VM.
+	 *
+	 * @return a new {@link Scheduler} that dynamically creates ExecutorService-based
+	 * Workers and keeps at least {@code minIdle} of their thread pools warm
+	 */
+	public static Scheduler newElastic(int minIdle, String name, int ttlSeconds, boolean daemon) {
+		return newElastic(minIdle, ttlSeconds,
+				new SchedulerThreadFactory(name, daemon, ElasticScheduler.COUNTER));
+	}
+
+	/**
+	 * {@link Scheduler} that dynamically creates ExecutorService-based Workers and caches
+	 * the thread pools, reusing them once the Workers have been shut down. The first
+	 * {@code minIdle} thread pools are started right away and are never evicted, so that
+	 * a burst of Workers after a quiet period doesn't wait for their threads to start.
+	 * <p>
+	 * The maximum number of created thread pools is unbounded.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param minIdle number of idle thread pools to start upfront and to keep when evicting
+	 * @param ttlSeconds Time-to-live for an idle {@link reactor.core.scheduler.Scheduler.Worker}
+	 * @param threadFactory a {@link ThreadFactory} to use each thread initialization
+	 *
+	 * @return a new {@link Scheduler} that dynamically creates ExecutorService-based
+	 * Workers and keeps at least {@code minIdle} of their thread pools warm
+	 */
+	public static Scheduler newElastic(int minIdle, int ttlSeconds, ThreadFactory threadFactory) {
+		return factory.newElastic(minIdle, ttlSeconds, threadFactory);
+	}
+
+	/**
+	 * {@link Scheduler} that dynamically creates a bounded number of ExecutorService-based
+	 * Workers, reusing them once the Workers have been shut down. The underlying thread
+	 * pools are capped at {@code threadCap}: once reached, new Workers share the least
+	 * busy thread pool. Each thread pool enqueues at most {@code queuedTaskCap} tasks,
+	 * further tasks being rejected with a {@link RejectedExecutionException}.
+	 * <p>
+	 * The default time-to-live for unused thread pools is 60 seconds, use the appropriate
+	 * factory to push a different value.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param threadCap maximum number of underlying threads to create
+	 * @param queuedTaskCap maximum number of tasks to enqueue per underlying thread
+	 * @param name Thread prefix
+	 *
+	 * @return a new {@link Scheduler} that dynamically creates a bounded number of
+	 * ExecutorService-based Workers and is suited for blocking work
+	 */
+	public static Scheduler newBoundedElastic(int threadCap, int queuedTaskCap, String name) {
+		return newBoundedElastic(threadCap, queuedTaskCap, name,
+				BoundedElasticScheduler.DEFAULT_TTL_SECONDS);
+	}
+
+	/**
+	 * {@link Scheduler} that dynamically creates a bounded number of ExecutorService-based
+	 * Workers, reusing them once the Workers have been shut down. The underlying thread
+	 * pools are capped at {@code threadCap}: once reached, new Workers share the least
+	 * busy thread pool. Each thread pool enqueues at most {@code queuedTaskCap} tasks,
+	 * further tasks being rejected with a {@link RejectedExecutionException}.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param threadCap maximum number of underlying threads to create
+	 * @param queuedTaskCap maximum number of tasks to enqueue per underlying thread
+	 * @param name Thread prefix
+	 * @param ttlSeconds Time-to-live for an idle {@link reactor.core.scheduler.Scheduler.Worker}
+	 *
+	 * @return a new {@link Scheduler} that dynamically creates a bounded number of
+	 * ExecutorService-based Workers and is suited for blocking work
+	 */
+	public static Scheduler newBoundedElastic(int threadCap, int queuedTaskCap, String name, int ttlSeconds) {
+		return newBoundedElastic(threadCap, queuedTaskCap, name, ttlSeconds, false);
+	}
+
+	/**
+	 * {@link Scheduler} that dynamically creates a bounded number of ExecutorService-based
+	 * Workers, reusing them once the Workers have been shut down. The underlying thread
+	 * pools are capped at {@code threadCap}: once reached, new Workers share the least
+	 * busy thread pool. Each thread pool enqueues at most {@code queuedTaskCap} tasks,
+	 * further tasks being rejected with a {@link RejectedExecutionException}.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param threadCap maximum number of underlying threads to create
+	 * @param queuedTaskCap maximum number of tasks to enqueue per underlying thread
+	 * @param name Thread prefix
+	 * @param ttlSeconds Time-to-live for an idle {@link reactor.core.scheduler.Scheduler.Worker}
+	 * @param daemon false if the {@link Scheduler} requires an explicit {@link
+	 * Scheduler#dispose()} to exit the VM.
+	 *
+	 * @return a new {@link Scheduler} that dynamically creates a bounded number of
+	 * ExecutorService-based Workers and is suited for blocking work
+	 */
+	public static Scheduler newBoundedElastic(int threadCap, int queuedTaskCap,
+			String name, int ttlSeconds, boolean daemon) {
+		return newBoundedElastic(threadCap, queuedTaskCap,
+				new SchedulerThreadFactory(name, daemon, BoundedElasticScheduler.COUNTER),
+				ttlSeconds);
+	}
+
+	/**
+	 * {@link Scheduler} that dynamically creates a bounded number of ExecutorService-based
+	 * Workers, reusing them once the Workers have been shut down. The underlying thread
+	 * pools are capped at {@code threadCap}: once reached, new Workers share the least
+	 * busy thread pool. Each thread pool enqueues at most {@code queuedTaskCap} tasks,
+	 * further tasks being rejected with a {@link RejectedExecutionException}.
+	 * <p>
+	 * This scheduler is not restartable.
+	 *
+	 * @param threadCap maximum number of underlying threads to create
+	 * @param queuedTaskCap maximum number of tasks to enqueue per underlying thread
+	 * @param threadFactory a {@link ThreadFactory} to use each thread initialization
+	 * @param ttlSeconds Time-to-live for an idle {@link reactor.core.scheduler.Scheduler.Worker}
+	 *
+	 * @return a new {@link Scheduler} that dynamically creates a bounded number of
+	 * ExecutorService-based Workers and is suited for blocking work
+	 */
+	public static Scheduler newBoundedElastic(int threadCap, int queuedTaskCap,
+			ThreadFactory threadFactory, int ttlSeconds) {
+		return factory.newBoundedElastic(threadCap, queuedTaskCap, threadFactory, ttlSeconds);
+	}
+
+	/**
+	 * {@link Scheduler} that dynamically creates a bounded number of ExecutorService-based
+	 * Workers backed by virtual threads, reusing them once the Workers have been shut
+	 * down. See {@link #newBoundedElastic(int, int, String)} for the capping of threads
+	 * and queued tasks.
+	 * <p>
+	 * Virtual threads are only available on JDK 21 and above.
+	 *
+	 * @param threadCap maximum number of underlying virtual threads to create
+	 * @param queuedTaskCap maximum number of tasks to enqueue per underlying thread
+	 * @param name Thread prefix
+	 *
+	 * @return a new {@link Scheduler} that dynamically creates a bounded number of
+	 * ExecutorService-based Workers backed by virtual threads
+	 * @throws UnsupportedOperationException if the running JVM doesn't support virtual
+	 * threads
+	 */
+	public static Scheduler newBoundedElasticVirtual(int threadCap, int queuedTaskCap, String name) {
+		if (!VirtualThreads.isSupported()) {
+			throw new UnsupportedOperationException("Virtual threads require JDK 21 or above");
+		}
+		return newBoundedElastic(threadCap, queuedTaskCap,
+				new SchedulerThreadFactory(name, true, BoundedElasticScheduler.COUNTER, true),
+				BoundedElasticScheduler.DEFAULT_TTL_SECONDS);
+	}
+
+	/**
+	 * {@link Scheduler} that starts a new virtual thread for each task, suited for
+	 * blocking work like JDBC calls. Tasks of a
+	 * {@link reactor.core.scheduler.Scheduler.Worker} are still executed serially.
+	 * <p>
+	 * Virtual threads are only available on JDK 21 and above.
+	 *
+	 * @param name Thread prefix
+	 *
+	 * @return a new {@link Scheduler} that starts a new virtual thread for each task
+	 * @throws UnsupportedOperationException if the running JVM doesn't support virtual
+	 * threads
+	 */
+	public static Scheduler newVirtualThreadPerTask(String name) {
+		if (!VirtualThreads.isSupported()) {
+			throw new UnsupportedOperationException("Virtual threads require JDK 21 or above");
+		}
+		return newThreadPerTask(new SchedulerThreadFactory(name, true,
+				ThreadPerTaskScheduler.COUNTER, true));
+	}
+
+	/**
+	 * {@link Scheduler} that starts a new thread for each task. Tasks of a
+	 * {@link reactor.core.scheduler.Scheduler.Worker} are still executed serially.
+	 *
+	 * @param threadFactory a {@link ThreadFactory} to use for each task
+	 *
+	 * @return a new {@link Scheduler} that starts a new thread for each task
+	 */
+	public static Scheduler newThreadPerTask(ThreadFactory threadFactory) {
+		return factory.newThreadPerTask(threadFactory);
+	}
+
 	/**
 	 * {@link Scheduler} that hosts a fixed pool of single-threaded ExecutorService-based
 	 * workers and is suited for parallel work.
@@ -257,7 +475,7 @@ public abstract class Schedulers {
 	 */
 	public static Scheduler newParallel(String name, int parallelism, boolean daemon) {
 		return newParallel(parallelism,
-				new SchedulerThreadFactory(name, daemon, ParallelScheduler.COUNTER));
+				new SchedulerThreadFactory(name, daemon, ParallelScheduler.COUNTER, false, true));
 	}
 
 	/**
@@ -275,6 +493,240 @@ public abstract class Schedulers {
 		return factory.newParallel(parallelism, threadFactory);
 	}
 
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of single-threaded ExecutorService-based
+	 * workers and is suited for parallel work, picking the executor backing each new
+	 * {@link Worker} or direct {@code schedule} call according to the given
+	 * {@link WorkerSelection}. Latency-sensitive pipelines can use
+	 * {@link WorkerSelection#LEAST_PENDING} or {@link WorkerSelection#POWER_OF_TWO_CHOICES}
+	 * to avoid long-lived workers piling onto the same busy thread.
+	 *
+	 * @param name Thread prefix
+	 * @param parallelism Number of pooled workers.
+	 * @param daemon false if the {@link Scheduler} requires an explicit {@link
+	 * Scheduler#dispose()} to exit the VM.
+	 * @param selection the {@link WorkerSelection} policy
+	 *
+	 * @return a new {@link Scheduler} that hosts a fixed pool of single-threaded
+	 * ExecutorService-based workers and is suited for parallel work
+	 */
+	public static Scheduler newParallel(String name, int parallelism, boolean daemon,
+			WorkerSelection selection) {
+		return newParallel(parallelism,
+				new SchedulerThreadFactory(name, daemon, ParallelScheduler.COUNTER, false, true),
+				selection);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of single-threaded ExecutorService-based
+	 * workers and is suited for parallel work, picking the executor backing each new
+	 * {@link Worker} or direct {@code schedule} call according to the given
+	 * {@link WorkerSelection}.
+	 *
+	 * @param parallelism Number of pooled workers.
+	 * @param threadFactory a {@link ThreadFactory} to use for the fixed initialized
+	 * number of {@link Thread}
+	 * @param selection the {@link WorkerSelection} policy
+	 *
+	 * @return a new {@link Scheduler} that hosts a fixed pool of single-threaded
+	 * ExecutorService-based workers and is suited for parallel work
+	 */
+	public static Scheduler newParallel(int parallelism, ThreadFactory threadFactory,
+			WorkerSelection selection) {
+		return factory.newParallel(parallelism, threadFactory, selection);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of threads serving several classes of
+	 * tasks, so that latency-critical and throughput work can share the same cores.
+	 * Each thread runs its pending {@link TaskPriority#HIGH} tasks first, then the
+	 * {@link TaskPriority#NORMAL} ones and finally the {@link TaskPriority#LOW} ones,
+	 * except that a lower class is served anyway once it has been passed over too many
+	 * times in a row, so that it cannot starve.
+	 * <p>
+	 * Each {@link Worker} is bound to a thread and has a class, read from the
+	 * {@link #PRIORITY_KEY} of the {@link Context} given to
+	 * {@link Scheduler#createWorker(Context)} (e.g. by {@code publishOn} at subscription
+	 * time) and defaulting to {@link TaskPriority#NORMAL}. Its tasks are executed
+	 * serially, in FIFO order. Direct {@code schedule} calls are {@link TaskPriority#NORMAL}.
+	 *
+	 * @param name Thread prefix
+	 * @param parallelism Number of pooled threads.
+	 *
+	 * @return a new {@link Scheduler} that hosts a fixed pool of threads serving tasks
+	 * by priority
+	 */
+	public static Scheduler newPriority(String name, int parallelism) {
+		return newPriority(name, parallelism, false);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of threads serving several classes of
+	 * tasks, see {@link #newPriority(String, int)}.
+	 *
+	 * @param name Thread prefix
+	 * @param parallelism Number of pooled threads.
+	 * @param daemon false if the {@link Scheduler} requires an explicit {@link
+	 * Scheduler#dispose()} to exit the VM.
+	 *
+	 * @return a new {@link Scheduler} that hosts a fixed pool of threads serving tasks
+	 * by priority
+	 */
+	public static Scheduler newPriority(String name, int parallelism, boolean daemon) {
+		return newPriority(parallelism,
+				new SchedulerThreadFactory(name, daemon, PriorityScheduler.COUNTER, false, true));
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of threads serving several classes of
+	 * tasks, see {@link #newPriority(String, int)}.
+	 *
+	 * @param parallelism Number of pooled threads.
+	 * @param threadFactory a {@link ThreadFactory} to use for the pooled threads
+	 *
+	 * @return a new {@link Scheduler} that hosts a fixed pool of threads serving tasks
+	 * by priority
+	 */
+	public static Scheduler newPriority(int parallelism, ThreadFactory threadFactory) {
+		return factory.newPriority(parallelism, threadFactory);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a work-stealing {@link ForkJoinPool} and is suited for
+	 * parallel work which load is unevenly distributed among workers.
+	 * <p>
+	 * Each {@link reactor.core.scheduler.Scheduler.Worker} still executes its tasks
+	 * serially, but is not bound to a given thread: its pending tasks are drained by
+	 * whichever pool thread picks it up, so that idle threads can steal the backlog of
+	 * a busy worker.
+	 *
+	 * @param name Thread prefix
+	 *
+	 * @return a new {@link Scheduler} that hosts a work-stealing pool of threads and is
+	 * suited for parallel work
+	 */
+	public static Scheduler newWorkStealing(String name) {
+		return newWorkStealing(name, Runtime.getRuntime()
+		                                    .availableProcessors());
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a work-stealing {@link ForkJoinPool} and is suited for
+	 * parallel work which load is unevenly distributed among workers.
+	 *
+	 * @param name Thread prefix
+	 * @param parallelism Number of pooled threads.
+	 *
+	 * @return a new {@link Scheduler} that hosts a work-stealing pool of threads and is
+	 * suited for parallel work
+	 */
+	public static Scheduler newWorkStealing(String name, int parallelism) {
+		return newWorkStealing(name, parallelism, false);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a work-stealing {@link ForkJoinPool} and is suited for
+	 * parallel work which load is unevenly distributed among workers.
+	 *
+	 * @param name Thread prefix
+	 * @param parallelism Number of pooled threads.
+	 * @param daemon false if the {@link Scheduler} requires an explicit {@link
+	 * Scheduler#dispose()} to exit the VM.
+	 *
+	 * @return a new {@link Scheduler} that hosts a work-stealing pool of threads and is
+	 * suited for parallel work
+	 */
+	public static Scheduler newWorkStealing(String name, int parallelism, boolean daemon) {
+		return newWorkStealing(parallelism,
+				new SchedulerThreadFactory(name, daemon, WorkStealingScheduler.COUNTER));
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a work-stealing {@link ForkJoinPool} and is suited for
+	 * parallel work which load is unevenly distributed among workers.
+	 *
+	 * @param parallelism Number of pooled threads.
+	 * @param threadFactory a {@link ForkJoinPool.ForkJoinWorkerThreadFactory} to use for
+	 * the pooled threads
+	 *
+	 * @return a new {@link Scheduler} that hosts a work-stealing pool of threads and is
+	 * suited for parallel work
+	 */
+	public static Scheduler newWorkStealing(int parallelism,
+			ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory) {
+		return factory.newWorkStealing(parallelism, threadFactory);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of event loops and is suited for
+	 * latency-sensitive non-blocking work. Each loop is a thread owning a lock-free task
+	 * queue, which idles using its own {@link WaitStrategy} rather than blocking on a
+	 * lock: a spinning strategy like {@link WaitStrategy#busySpin()} hands tasks over
+	 * without any system call, at the cost of keeping the loop threads busy when idle.
+	 *
+	 * @param parallelism Number of event loops.
+	 * @param waitStrategySupplier supplies the {@link WaitStrategy} of each idle loop,
+	 * called once per loop (eg. {@code WaitStrategy::liteBlocking})
+	 *
+	 * @return a new {@link Scheduler} that hosts a fixed pool of event loops
+	 */
+	public static Scheduler newEventLoop(int parallelism,
+			Supplier<? extends WaitStrategy> waitStrategySupplier) {
+		return newEventLoop(EVENT_LOOP, parallelism, waitStrategySupplier);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of event loops and is suited for
+	 * latency-sensitive non-blocking work, see {@link #newEventLoop(int, Supplier)}.
+	 *
+	 * @param name Thread prefix
+	 * @param parallelism Number of event loops.
+	 * @param waitStrategySupplier supplies the {@link WaitStrategy} of each idle loop,
+	 * called once per loop (eg. {@code WaitStrategy::liteBlocking})
+	 *
+	 * @return a new {@link Scheduler} that hosts a fixed pool of event loops
+	 */
+	public static Scheduler newEventLoop(String name, int parallelism,
+			Supplier<? extends WaitStrategy> waitStrategySupplier) {
+		return newEventLoop(name, parallelism, waitStrategySupplier, false);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of event loops and is suited for
+	 * latency-sensitive non-blocking work, see {@link #newEventLoop(int, Supplier)}.
+	 *
+	 * @param name Thread prefix
+	 * @param parallelism Number of event loops.
+	 * @param waitStrategySupplier supplies the {@link WaitStrategy} of each idle loop,
+	 * called once per loop (eg. {@code WaitStrategy::liteBlocking})
+	 * @param daemon false if the {@link Scheduler} requires an explicit {@link
+	 * Scheduler#dispose()} to exit the VM.
+	 *
+	 * @return a new {@link Scheduler} that hosts a fixed pool of event loops
+	 */
+	public static Scheduler newEventLoop(String name, int parallelism,
+			Supplier<? extends WaitStrategy> waitStrategySupplier, boolean daemon) {
+		return newEventLoop(parallelism,
+				new SchedulerThreadFactory(name, daemon, EventLoopScheduler.COUNTER),
+				waitStrategySupplier);
+	}
+
+	/**
+	 * {@link Scheduler} that hosts a fixed pool of event loops and is suited for
+	 * latency-sensitive non-blocking work, see {@link #newEventLoop(int, Supplier)}.
+	 *
+	 * @param parallelism Number of event loops.
+	 * @param threadFactory a {@link ThreadFactory} to use for the loop threads
+	 * @param waitStrategySupplier supplies the {@link WaitStrategy} of each idle loop,
+	 * called once per loop (eg. {@code WaitStrategy::liteBlocking})
+	 *
+	 * @return a new {@link Scheduler} that hosts a fixed pool of event loops
+	 */
+	public static Scheduler newEventLoop(int parallelism, ThreadFactory threadFactory,
+			Supplier<? extends WaitStrategy> waitStrategySupplier) {
+		return factory.newEventLoop(parallelism, threadFactory, waitStrategySupplier);
+	}
+
 	/**
 	 * {@link Scheduler} that hosts a single-threaded ExecutorService-based worker and is
 	 * suited for parallel work.
@@ -301,7 +753,7 @@ public abstract class Schedulers {
 	 */
 	public static Scheduler newSingle(String name, boolean daemon) {
 		return newSingle(new SchedulerThreadFactory(name, daemon,
-				SingleScheduler.COUNTER));
+				SingleScheduler.COUNTER, false, true));
 	}
 
 	/**
@@ -318,6 +770,137 @@ public abstract class Schedulers {
 		return factory.newSingle(threadFactory);
 	}
 
+	/**
+	 * Watch the {@link NonBlocking non-blocking} threads of the parallel and single
+	 * {@link Scheduler schedulers} and log a warning whenever one of their tasks runs for
+	 * longer than the given threshold, or is observed blocked or waiting (including
+	 * timed waits) on two consecutive samples. The warning
+	 * carries the offending task and the stack trace of its thread at the time it was
+	 * detected. Each task is reported at most once.
+	 *
+	 * @param threshold the maximum time a task is expected to run for
+	 * @see #enableBlockingTaskDetection(Duration, BiConsumer)
+	 */
+	public static void enableBlockingTaskDetection(Duration threshold) {
+		enableBlockingTaskDetection(threshold, (t, e) -> log.warn(e.getMessage(), e));
+	}
+
+	/**
+	 * Watch the {@link NonBlocking non-blocking} threads of the parallel and single
+	 * {@link Scheduler schedulers} and report whenever one of their tasks runs for
+	 * longer than the given threshold, or is observed blocked or waiting (including
+	 * timed waits) on two consecutive samples, so that brief contention or parking
+	 * isn't reported. The report is an {@link IllegalStateException} describing the
+	 * offending task, whose stack trace is the one of the thread at the time it was
+	 * detected. Each task is reported at most once.
+	 * <p>
+	 * Threads are sampled by a single daemon watchdog thread, every half threshold.
+	 * Replaces any detection previously enabled.
+	 *
+	 * @param threshold the maximum time a task is expected to run for
+	 * @param reporter the callback notified of the thread running the offending task,
+	 * and of the report
+	 * @see #disableBlockingTaskDetection()
+	 */
+	public static void enableBlockingTaskDetection(Duration threshold,
+			BiConsumer<Thread, ? super Throwable> reporter) {
+		if (log.isDebugEnabled()) {
+			log.debug("Enabling blocking task detection");
+		}
+		BlockingTaskDetector detector = new BlockingTaskDetector(threshold.toNanos(),
+				Objects.requireNonNull(reporter, "reporter"));
+		BlockingTaskDetector previous;
+		synchronized (Schedulers.class) {
+			previous = blockingTaskDetector;
+			blockingTaskDetector = detector;
+		}
+		if (previous != null) {
+			previous.dispose();
+		}
+		detector.start();
+	}
+
+	/**
+	 * Stop the detection enabled by {@link #enableBlockingTaskDetection(Duration)}, and
+	 * its watchdog thread.
+	 */
+	public static void disableBlockingTaskDetection() {
+		if (log.isDebugEnabled()) {
+			log.debug("Disabling blocking task detection");
+		}
+		BlockingTaskDetector previous;
+		synchronized (Schedulers.class) {
+			previous = blockingTaskDetector;
+			blockingTaskDetector = null;
+		}
+		if (previous != null) {
+			previous.dispose();
+		}
+	}
+
+	/**
+	 * Check if calling a Reactor blocking API in the current {@link Thread} is forbidden
+	 * or not, by checking if the thread implements {@link NonBlocking} (in which case it
+	 * is forbidden and this method returns {@code true}). The threads of the parallel and
+	 * single {@link Scheduler schedulers} are non-blocking, unless they have been created
+	 * by a custom {@link ThreadFactory}.
+	 *
+	 * @return {@code true} if blocking is forbidden in this thread, {@code false} otherwise
+	 */
+	public static boolean isInNonBlockingThread() {
+		return Thread.currentThread() instanceof NonBlocking;
+	}
+
+	/**
+	 * Instrument the executors backing the {@link Scheduler schedulers} created from now
+	 * on (parallel, single, elastic, boundedElastic, {@link #fromExecutor(Executor)} and
+	 * {@link #fromExecutorService(ExecutorService)}), so that they record the metrics of
+	 * their tasks. Each instrumented executor (e.g. each rail of a parallel scheduler)
+	 * exposes its own metrics through {@link Scannable#inners()} of the scheduler, or
+	 * directly when scanning the scheduler for a single executor:
+	 * <ul>
+	 *     <li>{@link Scannable.Attr#TASKS_SUBMITTED} and
+	 *     {@link Scannable.Attr#TASKS_COMPLETED} counters</li>
+	 *     <li>{@link Scannable.Attr#BUFFERED} for the pending queue depth</li>
+	 *     <li>{@link Scannable.Attr#TASK_WAIT_TIME} and {@link Scannable.Attr#TASK_RUN_TIME}
+	 *     {@link LatencyHistogram histograms}</li>
+	 * </ul>
+	 * Schedulers created while metrics are disabled are not instrumented and have no
+	 * overhead. See {@link #onTaskMetrics(TaskMetricsListener)} to be notified of each
+	 * task.
+	 */
+	public static void enableMetrics() {
+		if (log.isDebugEnabled()) {
+			log.debug("Enabling scheduler metrics");
+		}
+		metricsEnabled = true;
+	}
+
+	/**
+	 * Stop instrumenting the executors of the {@link Scheduler schedulers} created from
+	 * now on, see {@link #enableMetrics()}. Already instrumented executors keep on
+	 * recording metrics.
+	 */
+	public static void disableMetrics() {
+		if (log.isDebugEnabled()) {
+			log.debug("Disabling scheduler metrics");
+		}
+		metricsEnabled = false;
+	}
+
+	/**
+	 * Define a hook that is notified of each task submitted to and completed by the
+	 * executors instrumented once {@link #enableMetrics() metrics are enabled}.
+	 *
+	 * @param listener the new hook to push.
+	 */
+	public static void onTaskMetrics(TaskMetricsListener listener) {
+		if (log.isDebugEnabled()) {
+			log.debug("Hooking new default: onTaskMetrics");
+		}
+		onTaskMetricsHook = Objects.requireNonNull(listener, "onTaskMetrics");
+	}
+
 	/**
 	 * Define a hook that is executed when a {@link Scheduler} has
 	 * {@link #handleError(Throwable) handled an error}. Note that it is executed after
@@ -361,6 +944,17 @@ public abstract class Schedulers {
 		onHandleErrorHook = null;
 	}
 
+	/**
+	 * Reset the {@link #onTaskMetrics(TaskMetricsListener)} hook to the default no-op
+	 * behavior.
+	 */
+	public static void resetOnTaskMetrics() {
+		if (log.isDebugEnabled()) {
+			log.debug("Reset to factory defaults: onTaskMetrics");
+		}
+		onTaskMetricsHook = null;
+	}
+
 	/**
 	 * Replace {@link Schedulers} factories ({@link #newParallel(String) newParallel},
 	 * {@link #newSingle(String) newSingle} and {@link #newElastic(String) newElastic}). Also
@@ -419,6 +1013,51 @@ public abstract class Schedulers {
 		return new SingleWorkerScheduler(original);
 	}
 
+	/**
+	 * The policy used by a {@link #newParallel(String, int, boolean, WorkerSelection)
+	 * parallel} {@link Scheduler} to pick the executor backing a new {@link Worker} or a
+	 * direct {@code schedule} call.
+	 */
+	public enum WorkerSelection {
+
+		/**
+		 * Cycle through the executors, regardless of their load. This is the default.
+		 */
+		ROUND_ROBIN,
+		/**
+		 * Pick the executor with the fewest queued or running tasks, ties being broken
+		 * in a round-robin fashion. Every executor is inspected on each pick.
+		 */
+		LEAST_PENDING,
+		/**
+		 * Pick the least loaded of two executors: the next one in round-robin order and
+		 * another one chosen at random. Cheaper than {@link #LEAST_PENDING} for large
+		 * pools, while still avoiding the busiest executors.
+		 */
+		POWER_OF_TWO_CHOICES
+	}
+
+	/**
+	 * The classes of tasks served by a {@link #newPriority(String, int) priority}
+	 * {@link Scheduler}, from the most to the least urgent.
+	 */
+	public enum TaskPriority {
+
+		/**
+		 * Latency-critical tasks, e.g. interactive request handling.
+		 */
+		HIGH,
+		/**
+		 * Regular tasks. This is the default.
+		 */
+		NORMAL,
+		/**
+		 * Throughput-oriented tasks, e.g. background batches, that only get the time
+		 * left by the other classes.
+		 */
+		LOW
+	}
+
 	/**
 	 * Public factory hook to override Schedulers behavior globally
 	 */
@@ -455,6 +1094,45 @@ public abstract class Schedulers {
 			return new ElasticScheduler(threadFactory, ttlSeconds);
 		}
 
+		/**
+		 * {@link Scheduler} that dynamically creates Workers resources and caches
+		 * eventually, reusing them once the Workers have been shut down. At least
+		 * {@code minIdle} idle resources are created upfront and kept.
+		 * <p>
+		 * The maximum number of created workers is unbounded.
+		 *
+		 * @param minIdle number of idle resources to create upfront and to keep when evicting
+		 * @param ttlSeconds Time-to-live for an idle {@link reactor.core.scheduler.Scheduler.Worker}
+		 * @param threadFactory a {@link ThreadFactory} to use
+		 *
+		 * @return a new {@link Scheduler} that dynamically creates Workers resources and
+		 * caches eventually, keeping at least {@code minIdle} of them.
+		 */
+		default Scheduler newElastic(int minIdle, int ttlSeconds, ThreadFactory threadFactory) {
+			return new ElasticScheduler(threadFactory, ttlSeconds, minIdle);
+		}
+
+		/**
+		 * {@link Scheduler} that dynamically creates a bounded number of Workers
+		 * resources and caches eventually, reusing them once the Workers have been shut
+		 * down.
+		 * <p>
+		 * The maximum number of created workers is capped at {@code threadCap}, and
+		 * each of them enqueues at most {@code queuedTaskCap} tasks.
+		 *
+		 * @param threadCap maximum number of underlying threads to create
+		 * @param queuedTaskCap maximum number of tasks to enqueue per underlying thread
+		 * @param threadFactory a {@link ThreadFactory} to use
+		 * @param ttlSeconds Time-to-live for an idle {@link reactor.core.scheduler.Scheduler.Worker}
+		 *
+		 * @return a new {@link Scheduler} that dynamically creates a bounded number of
+		 * Workers resources and caches eventually
+		 */
+		default Scheduler newBoundedElastic(int threadCap, int queuedTaskCap,
+				ThreadFactory threadFactory, int ttlSeconds) {
+			return new BoundedElasticScheduler(threadCap, queuedTaskCap, threadFactory, ttlSeconds);
+		}
+
 		/**
 		 * {@link Scheduler} that hosts a fixed pool of workers and is suited for parallel
 		 * work.
@@ -470,6 +1148,81 @@ public abstract class Schedulers {
 			return new ParallelScheduler(parallelism, threadFactory);
 		}
 
+		/**
+		 * {@link Scheduler} that hosts a fixed pool of workers and is suited for parallel
+		 * work, picking the executor of each worker according to the given
+		 * {@link WorkerSelection}.
+		 *
+		 * @param parallelism Number of pooled workers.
+		 * @param threadFactory a {@link ThreadFactory} to use for the fixed initialized
+		 * number of {@link Thread}
+		 * @param selection the {@link WorkerSelection} policy
+		 *
+		 * @return a new {@link Scheduler} that hosts a fixed pool of workers and is
+		 * suited for parallel work
+		 */
+		default Scheduler newParallel(int parallelism, ThreadFactory threadFactory,
+				WorkerSelection selection) {
+			return new ParallelScheduler(parallelism, threadFactory, selection);
+		}
+
+		/**
+		 * {@link Scheduler} that hosts a fixed pool of threads serving tasks by
+		 * {@link TaskPriority}.
+		 *
+		 * @param parallelism Number of pooled threads.
+		 * @param threadFactory a {@link ThreadFactory} to use for the pooled threads
+		 *
+		 * @return a new {@link Scheduler} that hosts a fixed pool of threads serving
+		 * tasks by priority
+		 */
+		default Scheduler newPriority(int parallelism, ThreadFactory threadFactory) {
+			return new PriorityScheduler(parallelism, threadFactory);
+		}
+
+		/**
+		 * {@link Scheduler} that starts a new thread for each task.
+		 *
+		 * @param threadFactory a {@link ThreadFactory} to use for each task
+		 *
+		 * @return a new {@link Scheduler} that starts a new thread for each task
+		 */
+		default Scheduler newThreadPerTask(ThreadFactory threadFactory) {
+			return new ThreadPerTaskScheduler(threadFactory);
+		}
+
+		/**
+		 * {@link Scheduler} that hosts a work-stealing pool of threads and is suited for
+		 * parallel work.
+		 *
+		 * @param parallelism Number of pooled threads.
+		 * @param threadFactory a {@link ForkJoinPool.ForkJoinWorkerThreadFactory} to use
+		 * for the pooled threads
+		 *
+		 * @return a new {@link Scheduler} that hosts a work-stealing pool of threads and
+		 * is suited for parallel work
+		 */
+		default Scheduler newWorkStealing(int parallelism,
+				ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory) {
+			return new WorkStealingScheduler(parallelism, threadFactory);
+		}
+
+		/**
+		 * {@link Scheduler} that hosts a fixed pool of event loops idling with the supplied
+		 * {@link WaitStrategy}, and is suited for latency-sensitive non-blocking work.
+		 *
+		 * @param parallelism Number of event loops.
+		 * @param threadFactory a {@link ThreadFactory} to use for the loop threads
+		 * @param waitStrategySupplier supplies the {@link WaitStrategy} of each idle loop,
+	 * called once per loop (eg. {@code WaitStrategy::liteBlocking})
+		 *
+		 * @return a new {@link Scheduler} that hosts a fixed pool of event loops
+		 */
+		default Scheduler newEventLoop(int parallelism, ThreadFactory threadFactory,
+				Supplier<? extends WaitStrategy> waitStrategySupplier) {
+			return new EventLoopScheduler(parallelism, threadFactory, waitStrategySupplier);
+		}
+
 		/**
 		 * {@link Scheduler} that hosts a single worker and is suited for non-blocking
 		 * work.
@@ -486,8 +1239,13 @@ public abstract class Schedulers {
 
 	// Internals
 	static final String ELASTIC               = "elastic"; // IO stuff
+	static final String BOUNDED_ELASTIC       = "boundedElastic"; // IO stuff, capped
 	static final String PARALLEL              = "parallel"; //scale up common tasks
 	static final String SINGLE                = "single"; //non blocking tasks
+	static final String WORK_STEALING         = "workStealing"; //unevenly loaded parallel tasks
+	static final String THREAD_PER_TASK       = "threadPerTask"; //blocking tasks on cheap threads
+	static final String EVENT_LOOP            = "eventLoop"; //latency-sensitive non blocking tasks
+	static final String PRIORITY              = "priority"; //mixed latency-critical and throughput tasks
 	static final String IMMEDIATE             = "immediate";
 	static final String FROM_EXECUTOR         = "fromExecutor";
 	static final String FROM_EXECUTOR_SERVICE = "fromExecutorService";
@@ -542,22 +1300,84 @@ public abstract class Schedulers {
 
 	static final Logger log = Loggers.getLogger(Schedulers.class);
 
+	/**
+	 * Decorate a {@link ThreadFactory} so that the threads it creates report being owned
+	 * by the given {@link Scheduler}, see {@link #isCurrentThreadOwnedBy(Scheduler)}.
+	 *
+	 * @param owner the {@link Scheduler} owning the threads
+	 * @param factory the actual {@link ThreadFactory}
+	 * @return the decorated {@link ThreadFactory}
+	 */
+	static ThreadFactory ownedThreadFactory(Scheduler owner, ThreadFactory factory) {
+		return r -> factory.newThread(() -> {
+			THREAD_OWNER.set(owner);
+			r.run();
+		});
+	}
+
+	/**
+	 * @param owner the candidate {@link Scheduler}
+	 * @return true if the current thread has been created by a
+	 * {@link #ownedThreadFactory(Scheduler, ThreadFactory) factory} owned by the given
+	 * {@link Scheduler}
+	 */
+	static boolean isCurrentThreadOwnedBy(Scheduler owner) {
+		return THREAD_OWNER.get() == owner;
+	}
+
+	static final ThreadLocal<Scheduler> THREAD_OWNER = new ThreadLocal<>();
+
 	static final class SchedulerThreadFactory
-			implements ThreadFactory, Supplier<String>, Thread.UncaughtExceptionHandler {
+			implements ThreadFactory, ForkJoinPool.ForkJoinWorkerThreadFactory,
+			           Supplier<String>, Thread.UncaughtExceptionHandler {
 
 		final String     name;
 		final boolean    daemon;
+		final boolean    virtual;
+		final boolean    nonBlocking;
 		final AtomicLong COUNTER;
 
 		SchedulerThreadFactory(String name, boolean daemon, AtomicLong counter) {
+			this(name, daemon, counter, false);
+		}
+
+		SchedulerThreadFactory(String name, boolean daemon, AtomicLong counter, boolean virtual) {
+			this(name, daemon, counter, virtual, false);
+		}
+
+		SchedulerThreadFactory(String name, boolean daemon, AtomicLong counter,
+				boolean virtual, boolean nonBlocking) {
 			this.name = name;
 			this.daemon = daemon;
+			this.virtual = virtual;
+			this.nonBlocking = nonBlocking;
 			this.COUNTER = counter;
 		}
 
 		@Override
 		public Thread newThread(Runnable r) {
-			Thread t = new Thread(r, name + "-" + COUNTER.incrementAndGet());
+			String threadName = name + "-" + COUNTER.incrementAndGet();
+			Thread t;
+			if (virtual) {
+				//virtual threads are always daemon
+				t = VirtualThreads.newThread(threadName, r);
+			}
+			else if (nonBlocking) {
+				t = new NonBlockingThread(r, threadName);
+				t.setDaemon(daemon);
+			}
+			else {
+				t = new Thread(r, threadName);
+				t.setDaemon(daemon);
+			}
+			t.setUncaughtExceptionHandler(this);
+			return t;
+		}
+
+		@Override
+		public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+			ForkJoinWorkerThread t = new SchedulerForkJoinWorkerThread(pool);
+			t.setName(name + "-" + COUNTER.incrementAndGet());
 			t.setDaemon(daemon);
 			t.setUncaughtExceptionHandler(this);
 			return t;
@@ -575,6 +1395,73 @@ public abstract class Schedulers {
 		}
 	}
 
+	static final class SchedulerForkJoinWorkerThread extends ForkJoinWorkerThread {
+
+		SchedulerForkJoinWorkerThread(ForkJoinPool pool) {
+			super(pool);
+		}
+	}
+
+	/**
+	 * A {@link NonBlocking} thread, which keeps track of the task it is running so that
+	 * the {@link BlockingTaskDetector} can report tasks running for too long.
+	 */
+	static final class NonBlockingThread extends Thread implements NonBlocking {
+
+		/**
+		 * The live non-blocking threads, watched by the {@link BlockingTaskDetector}.
+		 */
+		static final Set<NonBlockingThread> LIVE = ConcurrentHashMap.newKeySet();
+
+		@Nullable
+		volatile Object task;
+		volatile long   taskStart;
+
+		NonBlockingThread(Runnable target, String name) {
+			super(target, name);
+		}
+
+		@Override
+		public void run() {
+			LIVE.add(this);
+			try {
+				super.run();
+			}
+			finally {
+				LIVE.remove(this);
+			}
+		}
+
+		/**
+		 * Record that the given thread starts running the given task, if it is a
+		 * {@link NonBlockingThread} and blocking task detection is enabled.
+		 *
+		 * @param thread the current thread
+		 * @param task the task about to run
+		 */
+		static void enterTask(Thread thread, Object task) {
+			if (thread instanceof NonBlockingThread && blockingTaskDetector != null) {
+				NonBlockingThread t = (NonBlockingThread) thread;
+				t.taskStart = System.nanoTime();
+				t.task = task;
+			}
+		}
+
+		/**
+		 * Record that the given thread is done running its current task, if any.
+		 *
+		 * @param thread the current thread
+		 */
+		static void exitTask(Thread thread) {
+			if (thread instanceof NonBlockingThread) {
+				NonBlockingThread t = (NonBlockingThread) thread;
+				if (t.task != null) {
+					t.task = null;
+				}
+			}
+		}
+	}
+
 	static void handleError(Throwable ex) {
 		Thread thread = Thread.currentThread();
 		Throwable t = unwrap(ex);
@@ -623,6 +1510,11 @@ public abstract class Schedulers {
 			return cached.createWorker();
 		}
 
+		@Override
+		public Worker createWorker(Context context) {
+			return cached.createWorker(context);
+		}
+
 		@Override
 		public long now(TimeUnit unit) {
 			return cached.now(unit);
@@ -642,6 +1534,11 @@ public abstract class Schedulers {
 			return cached.isDisposed();
 		}
 
+		@Override
+		public boolean ownsCurrentThread() {
+			return cached.ownsCurrentThread();
+		}
+
 		@Override
 		public String toString() {
 			return cached.toString();
@@ -685,6 +1582,32 @@ public abstract class Schedulers {
 		return sr;
 	}
 
+	/**
+	 * Schedule a delayed task by arming a {@link HashedWheelTimer.Timeout} that submits
+	 * it to the given {@link ScheduledExecutorService} once the delay has elapsed,
+	 * rather than relying on the executor's own delayed queue.
+	 */
+	static Disposable directSchedule(ExecutorService exec,
+			HashedWheelTimer timer,
+			Runnable task,
+			long delay,
+			TimeUnit unit) {
+		SchedulerTask sr = new SchedulerTask(task);
+		if (delay <= 0L) {
+			sr.setFuture(exec.submit((Callable<?>) sr));
+			return sr;
+		}
+		if (exec.isShutdown()) {
+			throw Exceptions.failWithRejected();
+		}
+
+		TimedSubmit timeout = new TimedSubmit(exec, sr);
+		sr.setFuture(timeout);
+		timer.schedule(timeout, delay, unit);
+
+		return sr;
+	}
+
 	static Disposable directSchedulePeriodically(ScheduledExecutorService exec,
 			Runnable task,
 			long initialDelay,
@@ -729,6 +1652,43 @@ public abstract class Schedulers {
 		return sr;
 	}
 
+	/**
+	 * Schedule a delayed worker task by arming a {@link HashedWheelTimer.Timeout} that
+	 * submits it to the given {@link ScheduledExecutorService} once the delay has
+	 * elapsed, rather than relying on the executor's own delayed queue.
+	 */
+	static Disposable workerSchedule(ScheduledExecutorService exec,
+			HashedWheelTimer timer,
+			Disposable.Composite tasks,
+			Runnable task,
+			long delay,
+			TimeUnit unit) {
+		if (delay <= 0L) {
+			return workerSchedule(exec, tasks, task, delay, unit);
+		}
+		if (exec.isShutdown()) {
+			throw Exceptions.failWithRejected();
+		}
+
+		WorkerTask sr = new WorkerTask(task, tasks);
+		if (!tasks.add(sr)) {
+			throw Exceptions.failWithRejected();
+		}
+
+		TimedSubmit timeout = new TimedSubmit(exec, sr);
+		sr.setFuture(timeout);
+		try {
+			timer.schedule(timeout, delay, unit);
+		}
+		catch (RejectedExecutionException ex) {
+			sr.dispose();
+			//RejectedExecutionException are propagated up
+			throw ex;
+		}
+
+		return sr;
+	}
+
 	static Disposable workerSchedulePeriodically(ScheduledExecutorService exec,
 			Disposable.Composite tasks,
 			Runnable task,
@@ -755,9 +1715,53 @@ public abstract class Schedulers {
 	}
 
 
+	/**
+	 * A {@link HashedWheelTimer.Timeout} that submits a {@link SchedulerTask} or
+	 * {@link WorkerTask} to its executor upon expiration, replacing itself as the
+	 * task's pending {@link Future}.
+	 */
+	static final class TimedSubmit extends HashedWheelTimer.Timeout {
+
+		final ExecutorService exec;
+		final Callable<?>     task;
+
+		TimedSubmit(ExecutorService exec, SchedulerTask task) {
+			this.exec = exec;
+			this.task = task;
+		}
+
+		TimedSubmit(ExecutorService exec, WorkerTask task) {
+			this.exec = exec;
+			this.task = task;
+		}
+
+		@Override
+		public void run() {
+			Future<?> f;
+			try {
+				f = exec.submit(task);
+			}
+			catch (RejectedExecutionException ex) {
+				//the executor has been shut down in the meantime, drop the task
+				((Disposable) task).dispose();
+				return;
+			}
+			if (task instanceof WorkerTask) {
+				((WorkerTask) task).setFuture(f);
+			}
+			else {
+				((SchedulerTask) task).setFuture(f);
+			}
+		}
+	}
+
 	static ScheduledExecutorService decorateExecutorService(String schedulerType,
 			Supplier<? extends ScheduledExecutorService> actual) {
-		return factory.decorateExecutorService(schedulerType, actual);
+		ScheduledExecutorService exec = factory.decorateExecutorService(schedulerType, actual);
+		if (metricsEnabled) {
+			return new InstrumentedScheduledExecutorService(schedulerType, exec);
+		}
+		return exec;
 	}
 
 	/**
@@ -0,0 +1,399 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
+
+/**
+ * A time-capable {@link Scheduler.Worker} that executes its tasks serially on top of an
+ * {@link Executor} which threads are not bound to the worker, by draining them from a
+ * queue in a single task of the executor at a time.
+ * <p>
+ * The drain task is submitted whenever the worker goes from idle to busy, and gives
+ * its thread back after a batch of tasks so that a hot worker doesn't starve the
+ * other tasks of the executor. Delayed and periodic tasks are armed in a
+ * {@link HashedWheelTimer} and only enqueued once their delay has elapsed.
+ */
+final class SerialExecutorWorker
+		implements Scheduler.Worker, Executor, Runnable, ExecutorScheduler.WorkerDelete,
+		           Scannable {
+
+	/**
+	 * Maximum number of tasks run by the drain loop before it is resubmitted to the
+	 * executor.
+	 */
+	static final int DRAIN_BATCH = 128;
+
+	final Executor         executor;
+	final HashedWheelTimer timer;
+	final Scheduler        parent;
+	final Queue<Runnable>  queue;
+
+	final Disposable.Composite tasks;
+
+	volatile int wip;
+	static final AtomicIntegerFieldUpdater<SerialExecutorWorker> WIP =
+			AtomicIntegerFieldUpdater.newUpdater(SerialExecutorWorker.class, "wip");
+
+	SerialExecutorWorker(Executor executor, HashedWheelTimer timer, Scheduler parent) {
+		this.executor = executor;
+		this.timer = timer;
+		this.parent = parent;
+		this.queue = Queues.<Runnable>unboundedMultiproducer().get();
+		this.tasks = Disposables.composite();
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		Objects.requireNonNull(task, "task");
+
+		ExecutorScheduler.ExecutorTrackedRunnable r =
+				new ExecutorScheduler.ExecutorTrackedRunnable(task, this, true);
+		if (!tasks.add(r)) {
+			throw Exceptions.failWithRejected();
+		}
+
+		try {
+			execute(r);
+		}
+		catch (RejectedExecutionException ex) {
+			r.dispose();
+			throw ex;
+		}
+		return r;
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+		if (delay <= 0L) {
+			return schedule(task);
+		}
+		Objects.requireNonNull(task, "task");
+
+		DelayedTask delayed = new DelayedTask(this, tasks);
+		ExecutorScheduler.ExecutorTrackedRunnable r =
+				new ExecutorScheduler.ExecutorTrackedRunnable(task, delayed, true);
+		delayed.task = r;
+		if (!tasks.add(delayed)) {
+			throw Exceptions.failWithRejected();
+		}
+
+		try {
+			timer.schedule(delayed, delay, unit);
+		}
+		catch (RejectedExecutionException ex) {
+			delayed.dispose();
+			throw ex;
+		}
+		return delayed;
+	}
+
+	@Override
+	public Disposable schedulePeriodically(Runnable task,
+			long initialDelay,
+			long period,
+			TimeUnit unit) {
+		Objects.requireNonNull(task, "task");
+
+		PeriodicTask periodic = new PeriodicTask(task, this, timer, tasks, unit.toNanos(period));
+		if (!tasks.add(periodic)) {
+			throw Exceptions.failWithRejected();
+		}
+
+		try {
+			periodic.start(unit.toNanos(initialDelay));
+		}
+		catch (RejectedExecutionException ex) {
+			periodic.dispose();
+			throw ex;
+		}
+		return periodic;
+	}
+
+	/**
+	 * Enqueue the given task and submit the drain loop to the executor if this
+	 * worker was idle.
+	 *
+	 * @param task the task to run serially with the other tasks of this worker
+	 *
+	 * @throws RejectedExecutionException if this worker or its executor has been disposed
+	 */
+	@Override
+	public void execute(Runnable task) {
+		if (tasks.isDisposed()) {
+			throw Exceptions.failWithRejected();
+		}
+		queue.offer(task);
+
+		if (WIP.getAndIncrement(this) == 0) {
+			try {
+				executor.execute(this);
+			}
+			catch (RejectedExecutionException ex) {
+				tasks.dispose();
+				throw Exceptions.failWithRejected(ex);
+			}
+		}
+	}
+
+	@Override
+	public void run() {
+		final Queue<Runnable> q = queue;
+		int e = 0;
+
+		for (;;) {
+			if (tasks.isDisposed()) {
+				q.clear();
+				return;
+			}
+
+			Runnable task = q.poll();
+
+			if (task == null) {
+				if (WIP.addAndGet(this, -e) == 0) {
+					return;
+				}
+				e = 0;
+				continue;
+			}
+
+			task.run();
+
+			if (++e == DRAIN_BATCH) {
+				if (WIP.addAndGet(this, -e) == 0) {
+					return;
+				}
+				//yield the thread: the remaining tasks can then be picked up by
+				//any idle thread of the executor
+				try {
+					executor.execute(this);
+				}
+				catch (RejectedExecutionException ex) {
+					tasks.dispose();
+					q.clear();
+				}
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void dispose() {
+		tasks.dispose();
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return tasks.isDisposed();
+	}
+
+	@Override
+	public void delete(ExecutorScheduler.ExecutorTrackedRunnable r) {
+		tasks.remove(r);
+	}
+
+	@Override
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+		if (key == Attr.BUFFERED) return tasks.size();
+		if (key == Attr.PARENT) return parent;
+		if (key == Attr.NAME) return parent + ".worker";
+
+		return null;
+	}
+
+	/**
+	 * A delayed task armed in the timer then handed over to its target {@link Executor}
+	 * (eg. a worker) on expiration, which removes itself from its optional parent
+	 * {@link Disposable.Composite} once done or disposed.
+	 */
+	static final class DelayedTask extends HashedWheelTimer.Timeout
+			implements Disposable, ExecutorScheduler.WorkerDelete {
+
+		final Executor target;
+
+		@Nullable
+		final Disposable.Composite parent;
+
+		ExecutorScheduler.ExecutorTrackedRunnable task;
+
+		DelayedTask(Executor target, @Nullable Disposable.Composite parent) {
+			this.target = target;
+			this.parent = parent;
+		}
+
+		@Override
+		public void run() {
+			try {
+				target.execute(task);
+			}
+			catch (RejectedExecutionException ex) {
+				task.dispose();
+			}
+		}
+
+		@Override
+		public void delete(ExecutorScheduler.ExecutorTrackedRunnable r) {
+			if (parent != null) {
+				parent.remove(this);
+			}
+		}
+
+		@Override
+		public void dispose() {
+			cancel(false);
+			task.dispose();
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return task.isDisposed();
+		}
+	}
+
+	/**
+	 * A fixed-rate periodic task which runs don't overlap: the next run is only armed in
+	 * the timer once the current one has completed, late runs being executed right away.
+	 */
+	static final class PeriodicTask implements Runnable, Disposable {
+
+		final Runnable         task;
+		final Executor         target;
+		final HashedWheelTimer timer;
+		final long             periodNanos;
+
+		@Nullable
+		final Disposable.Composite parent;
+
+		long nextStartNanos;
+
+		volatile boolean disposed;
+
+		@Nullable
+		volatile HashedWheelTimer.Timeout current;
+
+		PeriodicTask(Runnable task,
+				Executor target,
+				HashedWheelTimer timer,
+				@Nullable Disposable.Composite parent,
+				long periodNanos) {
+			this.task = task;
+			this.target = target;
+			this.timer = timer;
+			this.parent = parent;
+			this.periodNanos = periodNanos;
+		}
+
+		void start(long initialDelayNanos) {
+			nextStartNanos = System.nanoTime() + initialDelayNanos;
+			arm(initialDelayNanos);
+		}
+
+		void arm(long delayNanos) {
+			if (delayNanos <= 0L) {
+				target.execute(this);
+				return;
+			}
+			HashedWheelTimer.Timeout t = new PeriodicTick(this);
+			current = t;
+			if (disposed) {
+				t.cancel(false);
+				return;
+			}
+			timer.schedule(t, delayNanos, TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public void run() {
+			if (disposed) {
+				return;
+			}
+			try {
+				task.run();
+			}
+			catch (Throwable ex) {
+				dispose();
+				Schedulers.handleError(ex);
+				return;
+			}
+			if (disposed) {
+				return;
+			}
+			nextStartNanos += periodNanos;
+			try {
+				arm(nextStartNanos - System.nanoTime());
+			}
+			catch (RejectedExecutionException ex) {
+				dispose();
+			}
+		}
+
+		@Override
+		public void dispose() {
+			if (disposed) {
+				return;
+			}
+			disposed = true;
+			HashedWheelTimer.Timeout t = current;
+			if (t != null) {
+				t.cancel(false);
+			}
+			if (parent != null) {
+				parent.remove(this);
+			}
+		}
+
+		@Override
+		public boolean isDisposed() {
+			return disposed;
+		}
+	}
+
+	/**
+	 * Hands the next run of a {@link PeriodicTask} over to its target on expiration.
+	 */
+	static final class PeriodicTick extends HashedWheelTimer.Timeout {
+
+		final PeriodicTask parent;
+
+		PeriodicTick(PeriodicTask parent) {
+			this.parent = parent;
+		}
+
+		@Override
+		public void run() {
+			try {
+				parent.target.execute(parent);
+			}
+			catch (RejectedExecutionException ex) {
+				parent.dispose();
+			}
+		}
+	}
+}
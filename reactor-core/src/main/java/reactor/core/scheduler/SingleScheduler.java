@@ -32,6 +32,9 @@ import reactor.core.Scannable;
  * Scheduler that works with a single-threaded ScheduledExecutorService and is suited for
  * same-thread work (like an event dispatch thread). This scheduler is time-capable (can
  * schedule with delay / periodically).
+ * <p>
+ * Delayed tasks are armed in a {@link HashedWheelTimer} and only submitted to the
+ * executor once the delay has elapsed.
  */
 final class SingleScheduler implements Scheduler, Supplier<ScheduledExecutorService>,
                                        Scannable {
@@ -46,6 +49,8 @@ final class SingleScheduler implements Scheduler, Supplier<ScheduledExecutorServ
 					ScheduledExecutorService.class,
 					"executor");
 
+	volatile HashedWheelTimer timer;
+
 	static final ScheduledExecutorService TERMINATED;
 
 	static {
@@ -64,52 +69,75 @@ final class SingleScheduler implements Scheduler, Supplier<ScheduledExecutorServ
 	 */
 	@Override
 	public ScheduledExecutorService get() {
-		ScheduledThreadPoolExecutor e = (ScheduledThreadPoolExecutor) Executors.newScheduledThreadPool(1, this.factory);
+		ScheduledThreadPoolExecutor e = (ScheduledThreadPoolExecutor) Executors.newScheduledThreadPool(1,
+				Schedulers.ownedThreadFactory(this, this.factory));
 		e.setRemoveOnCancelPolicy(true);
 		e.setMaximumPoolSize(1);
 		return e;
 	}
 
 	private void init() {
+		timer = new HashedWheelTimer(timerName());
 		EXECUTORS.lazySet(this,
 				Schedulers.decorateExecutorService(Schedulers.SINGLE, this));
 	}
 
+	String timerName() {
+		if (factory instanceof Schedulers.SchedulerThreadFactory) {
+			return ((Schedulers.SchedulerThreadFactory) factory).get();
+		}
+		return Schedulers.SINGLE;
+	}
+
 	@Override
 	public boolean isDisposed() {
 		return executor == TERMINATED;
 	}
 
 	@Override
-	public void start() {
+	public boolean ownsCurrentThread() {
+		return Schedulers.isCurrentThreadOwnedBy(this);
+	}
+
+	/**
+	 * Restart a disposed scheduler. The new timer is published before the new executor,
+	 * so that no delayed task can reach the disposed timer once the executor is
+	 * visible. Restarts are serialized, as a concurrent one could otherwise replace the
+	 * timer of this one.
+	 */
+	@Override
+	public synchronized void start() {
 		//TODO SingleTimedScheduler didn't implement start, check if any particular reason?
-		ScheduledExecutorService b = null;
-		for (; ; ) {
-			ScheduledExecutorService a = executor;
-			if (a != TERMINATED) {
-				if (b != null) {
-					b.shutdownNow();
-				}
-				return;
-			}
+		ScheduledExecutorService a = executor;
+		if (a != TERMINATED) {
+			return;
+		}
 
-			if (b == null) {
-				b = Schedulers.decorateExecutorService(Schedulers.SINGLE, this);
-			}
+		ScheduledExecutorService b = Schedulers.decorateExecutorService(Schedulers.SINGLE, this);
+		HashedWheelTimer t = new HashedWheelTimer(timerName());
 
-			if (EXECUTORS.compareAndSet(this, a, b)) {
-				return;
-			}
+		HashedWheelTimer previous = timer;
+		timer = t;
+		if (!EXECUTORS.compareAndSet(this, a, b)) {
+			timer = previous;
+			b.shutdownNow();
+			t.dispose();
 		}
 	}
 
 	@Override
 	public void dispose() {
-		ScheduledExecutorService a = executor;
-		if (a != TERMINATED) {
-			a = EXECUTORS.getAndSet(this, TERMINATED);
-			if (a != TERMINATED) {
+		for (; ; ) {
+			ScheduledExecutorService a = executor;
+			if (a == TERMINATED) {
+				return;
+			}
+			//read before the CAS: the timer is published before the executor
+			HashedWheelTimer t = timer;
+			if (EXECUTORS.compareAndSet(this, a, TERMINATED)) {
 				a.shutdownNow();
+				t.dispose();
+				return;
 			}
 		}
 	}
@@ -121,7 +149,7 @@ final class SingleScheduler implements Scheduler, Supplier<ScheduledExecutorServ
 
 	@Override
 	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
-		return Schedulers.directSchedule(executor, task, delay, unit);
+		return Schedulers.directSchedule(executor, timer, task, delay, unit);
 	}
 
 	@Override
@@ -157,7 +185,7 @@ final class SingleScheduler implements Scheduler, Supplier<ScheduledExecutorServ
 
 	@Override
 	public Worker createWorker() {
-		return new ExecutorServiceWorker(executor);
+		return new ExecutorServiceWorker(executor, timer);
 	}
 
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.core.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
+
+/**
+ * A {@link Disposable.Composite} split into independent stripes, each one a
+ * {@link Disposables#composite() regular composite} holding the {@link Disposable}s
+ * whose hash falls into it. Threads adding and removing different tasks therefore
+ * mostly contend on different monitors, instead of all of them serializing on a
+ * single one. Stripes are only created when first needed, so that a composite used by
+ * a single thread costs about as much as a regular one.
+ * <p>
+ * Adding several {@link Disposable}s at once is atomic per stripe only: if the
+ * composite is disposed concurrently, some of them can be added and the others
+ * disposed right away, all of them ending up disposed.
+ */
+final class StripedCompositeDisposable implements Disposable.Composite, Scannable {
+
+	/**
+	 * The default number of stripes, enough for each CPU to work on its own stripe
+	 * most of the time.
+	 */
+	static final int DEFAULT_STRIPES =
+			Math.min(32, Queues.ceilingNextPowerOfTwo(Runtime.getRuntime().availableProcessors()));
+
+	static final Composite DISPOSED = Disposables.composite();
+
+	static {
+		DISPOSED.dispose();
+	}
+
+	final AtomicReferenceArray<Composite> stripes;
+
+	final int shift;
+
+	volatile boolean disposed;
+
+	StripedCompositeDisposable() {
+		this(DEFAULT_STRIPES);
+	}
+
+	StripedCompositeDisposable(int stripes) {
+		int n = Queues.ceilingNextPowerOfTwo(stripes);
+		this.stripes = new AtomicReferenceArray<>(n);
+		this.shift = 32 - Integer.numberOfTrailingZeros(n);
+	}
+
+	/**
+	 * Pick the stripe from the high bits of the mixed hash, as each stripe uses the low
+	 * bits to place its entries.
+	 */
+	Composite stripe(Disposable d) {
+		int index = shift == 32 ? 0 : mix(d.hashCode()) >>> shift;
+		Composite s = stripes.get(index);
+		if (s == null) {
+			Composite c = Disposables.composite();
+			if (stripes.compareAndSet(index, null, c)) {
+				return c;
+			}
+			s = stripes.get(index);
+		}
+		return s;
+	}
+
+	@Override
+	public boolean add(Disposable d) {
+		Objects.requireNonNull(d, "d is null");
+		if (!disposed) {
+			//a stripe disposed concurrently rejects and disposes d
+			return stripe(d).add(d);
+		}
+		d.dispose();
+		return false;
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends Disposable> ds) {
+		Objects.requireNonNull(ds, "ds is null");
+		boolean added = true;
+		for (Disposable d : ds) {
+			if (!add(d)) {
+				added = false;
+			}
+		}
+		return added;
+	}
+
+	@Override
+	public boolean remove(Disposable d) {
+		Objects.requireNonNull(d, "Disposable item is null");
+		if (disposed) {
+			return false;
+		}
+		return stripe(d).remove(d);
+	}
+
+	@Override
+	public int size() {
+		if (disposed) {
+			return 0;
+		}
+		int size = 0;
+		for (int i = 0; i < stripes.length(); i++) {
+			Composite s = stripes.get(i);
+			if (s != null) {
+				size += s.size();
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public void dispose() {
+		if (disposed) {
+			return;
+		}
+		disposed = true;
+
+		List<Throwable> errors = null;
+		for (int i = 0; i < stripes.length(); i++) {
+			//a stripe created concurrently is either swapped out here or fails to be set
+			Composite s = stripes.getAndSet(i, DISPOSED);
+			if (s != null && s != DISPOSED) {
+				try {
+					s.dispose();
+				}
+				catch (Throwable ex) {
+					Exceptions.throwIfFatal(ex);
+					if (errors == null) {
+						errors = new ArrayList<>();
+					}
+					errors.addAll(Exceptions.unwrapMultiple(ex));
+				}
+			}
+		}
+		if (errors != null) {
+			if (errors.size() == 1) {
+				throw Exceptions.propagate(errors.get(0));
+			}
+			throw Exceptions.multiple(errors);
+		}
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return disposed;
+	}
+
+	@Nullable
+	@Override
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.CANCELLED) {
+			return isDisposed();
+		}
+		return null;
+	}
+
+	static final int INT_PHI = 0x9E3779B9;
+
+	static int mix(int x) {
+		final int h = x * INT_PHI;
+		return h ^ (h >>> 16);
+	}
+}
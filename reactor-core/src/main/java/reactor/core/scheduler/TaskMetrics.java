@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import reactor.core.Scannable;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Execution metrics of the tasks of an instrumented executor: counters of submitted,
+ * started and completed tasks, and histograms of the time tasks wait for a thread once
+ * due and of their execution time.
+ * <p>
+ * Tasks are {@link #wrap(Runnable, long, long) wrapped} before being handed to the
+ * executor, and the {@link Schedulers#onTaskMetrics(TaskMetricsListener) listener} is
+ * notified with the instrumented executor as a {@link Scannable}.
+ */
+final class TaskMetrics {
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	final String    name;
+	final Scannable owner;
+
+	final LatencyHistogram waitTime = new LatencyHistogram();
+	final LatencyHistogram runTime  = new LatencyHistogram();
+
+	volatile long submitted;
+	static final AtomicLongFieldUpdater<TaskMetrics> SUBMITTED =
+			AtomicLongFieldUpdater.newUpdater(TaskMetrics.class, "submitted");
+
+	volatile long started;
+	static final AtomicLongFieldUpdater<TaskMetrics> STARTED =
+			AtomicLongFieldUpdater.newUpdater(TaskMetrics.class, "started");
+
+	volatile long completed;
+	static final AtomicLongFieldUpdater<TaskMetrics> COMPLETED =
+			AtomicLongFieldUpdater.newUpdater(TaskMetrics.class, "completed");
+
+	/**
+	 * @param schedulerType the type of the scheduler, used as a name prefix
+	 * @param owner the instrumented executor, passed to the listener
+	 */
+	TaskMetrics(String schedulerType, Scannable owner) {
+		this.name = schedulerType + "#" + COUNTER.incrementAndGet();
+		this.owner = owner;
+	}
+
+	/**
+	 * Wrap a task which is due after the given delay, or periodically when the period
+	 * is non-zero: positive for a fixed rate, negative for a fixed delay (in which case
+	 * the delay between runs is the opposite of the period).
+	 */
+	MeteredTask<Void> wrap(Runnable task, long delayNanos, long periodNanos) {
+		return new MeteredTask<>(this, task, null, delayNanos, periodNanos);
+	}
+
+	<V> MeteredTask<V> wrap(Callable<V> task, long delayNanos) {
+		return new MeteredTask<>(this, null, task, delayNanos, 0L);
+	}
+
+	void onSubmit() {
+		SUBMITTED.incrementAndGet(this);
+		TaskMetricsListener l = Schedulers.onTaskMetricsHook;
+		if (l != null) {
+			try {
+				l.onTaskSubmitted(owner);
+			}
+			catch (Throwable ex) {
+				Schedulers.handleError(ex);
+			}
+		}
+	}
+
+	/**
+	 * Revert a {@link #onSubmit()} for a task that has been rejected by the executor.
+	 */
+	void onReject() {
+		SUBMITTED.decrementAndGet(this);
+	}
+
+	void onComplete(long waitNanos, long runNanos) {
+		waitTime.record(waitNanos);
+		runTime.record(runNanos);
+		COMPLETED.incrementAndGet(this);
+		TaskMetricsListener l = Schedulers.onTaskMetricsHook;
+		if (l != null) {
+			try {
+				l.onTaskCompleted(owner, waitNanos, runNanos);
+			}
+			catch (Throwable ex) {
+				Schedulers.handleError(ex);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of submitted tasks that haven't started yet
+	 */
+	long pending() {
+		return submitted - started;
+	}
+
+	/**
+	 * Answer the metrics related {@link Scannable.Attr attributes}.
+	 *
+	 * @param key the attribute
+	 * @return the value of the attribute, or null if not a metrics attribute
+	 */
+	@Nullable
+	Object scanUnsafe(Scannable.Attr key) {
+		if (key == Scannable.Attr.TASKS_SUBMITTED) return submitted;
+		if (key == Scannable.Attr.TASKS_COMPLETED) return completed;
+		if (key == Scannable.Attr.TASK_WAIT_TIME) return waitTime;
+		if (key == Scannable.Attr.TASK_RUN_TIME) return runTime;
+
+		return null;
+	}
+
+	/**
+	 * A task recording its wait and run times in its parent {@link TaskMetrics}.
+	 */
+	static final class MeteredTask<V> implements Runnable, Callable<V> {
+
+		final TaskMetrics parent;
+		final long        periodNanos;
+
+		@Nullable
+		final Runnable    runnable;
+		@Nullable
+		final Callable<V> callable;
+
+		long dueNanos;
+
+		MeteredTask(TaskMetrics parent,
+				@Nullable Runnable runnable,
+				@Nullable Callable<V> callable,
+				long delayNanos,
+				long periodNanos) {
+			this.parent = parent;
+			this.runnable = runnable;
+			this.callable = callable;
+			this.periodNanos = periodNanos;
+			this.dueNanos = System.nanoTime() + Math.max(0L, delayNanos);
+		}
+
+		@Override
+		public void run() {
+			long start = onStart();
+			try {
+				//runnable is never null when run() is invoked by the executor
+				runnable.run();
+			}
+			finally {
+				onEnd(start);
+			}
+		}
+
+		@Override
+		@Nullable
+		public V call() throws Exception {
+			long start = onStart();
+			try {
+				//callable is never null when call() is invoked by the executor
+				return callable.call();
+			}
+			finally {
+				onEnd(start);
+			}
+		}
+
+		long onStart() {
+			STARTED.incrementAndGet(parent);
+			return System.nanoTime();
+		}
+
+		void onEnd(long start) {
+			long end = System.nanoTime();
+			parent.onComplete(start - dueNanos, end - start);
+			if (periodNanos > 0L) {
+				dueNanos += periodNanos;
+				parent.onSubmit();
+			}
+			else if (periodNanos < 0L) {
+				dueNanos = end - periodNanos;
+				parent.onSubmit();
+			}
+		}
+	}
+}
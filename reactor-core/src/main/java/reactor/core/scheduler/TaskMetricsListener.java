@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import reactor.core.Scannable;
+
+/**
+ * A listener notified of the tasks executed by the instrumented executors of
+ * {@link Scheduler schedulers}, see {@link Schedulers#enableMetrics()} and
+ * {@link Schedulers#onTaskMetrics(TaskMetricsListener)}.
+ * <p>
+ * Callbacks are invoked on the threads submitting and running the tasks, and should
+ * therefore be fast and non-blocking.
+ */
+@FunctionalInterface
+public interface TaskMetricsListener {
+
+	/**
+	 * Notified when a task has been submitted to an instrumented executor.
+	 *
+	 * @param executor the instrumented executor, which can be
+	 * {@link Scannable#scan(Scannable.Attr) scanned} for its {@link Scannable.Attr#NAME}
+	 * and metrics
+	 */
+	default void onTaskSubmitted(Scannable executor) {
+	}
+
+	/**
+	 * Notified when a task of an instrumented executor has completed, normally or not.
+	 *
+	 * @param executor the instrumented executor, which can be
+	 * {@link Scannable#scan(Scannable.Attr) scanned} for its {@link Scannable.Attr#NAME}
+	 * and metrics
+	 * @param waitNanos the time the task waited for a thread once it was due, in
+	 * nanoseconds
+	 * @param runNanos the execution time of the task, in nanoseconds
+	 */
+	void onTaskCompleted(Scannable executor, long waitNanos, long runNanos);
+}
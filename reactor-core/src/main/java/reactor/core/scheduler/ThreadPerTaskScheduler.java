@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+
+/**
+ * Scheduler that starts a new {@link Thread} for each task, which is mostly suited for
+ * blocking work on cheap threads, like virtual threads. This scheduler is
+ * time-capable (can schedule with delay / periodically).
+ * <p>
+ * Threads are never pooled: each one terminates as soon as its task is done. Tasks of
+ * a {@link Worker} are still executed serially by a {@link SerialExecutorWorker}, and
+ * delayed tasks are armed in a {@link HashedWheelTimer} rather than in a thread of
+ * their own.
+ */
+final class ThreadPerTaskScheduler implements Scheduler, Scannable {
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	static final ExecutorService TERMINATED;
+	static {
+		TERMINATED = Executors.newSingleThreadExecutor();
+		TERMINATED.shutdownNow();
+	}
+
+	final ThreadFactory factory;
+
+	volatile ExecutorService executor;
+	static final AtomicReferenceFieldUpdater<ThreadPerTaskScheduler, ExecutorService> EXECUTOR =
+			AtomicReferenceFieldUpdater.newUpdater(ThreadPerTaskScheduler.class,
+					ExecutorService.class, "executor");
+
+	volatile HashedWheelTimer timer;
+
+	ThreadPerTaskScheduler(ThreadFactory factory) {
+		this.factory = factory;
+		this.timer = new HashedWheelTimer(timerName());
+		EXECUTOR.lazySet(this, newExecutor());
+	}
+
+	/**
+	 * A {@link ThreadPoolExecutor} without core threads and with a zero keep-alive,
+	 * which threads exit right after running their task.
+	 */
+	ExecutorService newExecutor() {
+		return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.MILLISECONDS,
+				new SynchronousQueue<>(), factory);
+	}
+
+	String timerName() {
+		if (factory instanceof Schedulers.SchedulerThreadFactory) {
+			return ((Schedulers.SchedulerThreadFactory) factory).get();
+		}
+		return Schedulers.THREAD_PER_TASK;
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return executor == TERMINATED;
+	}
+
+	@Override
+	public void start() {
+		ExecutorService b = null;
+		for (;;) {
+			ExecutorService a = executor;
+			if (a != TERMINATED) {
+				if (b != null) {
+					b.shutdownNow();
+				}
+				return;
+			}
+
+			if (b == null) {
+				b = newExecutor();
+			}
+
+			if (EXECUTOR.compareAndSet(this, a, b)) {
+				timer = new HashedWheelTimer(timerName());
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void dispose() {
+		ExecutorService a = executor;
+		if (a != TERMINATED) {
+			a = EXECUTOR.getAndSet(this, TERMINATED);
+			if (a != TERMINATED) {
+				a.shutdownNow();
+				timer.dispose();
+			}
+		}
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		return Schedulers.directSchedule(executor, timer, task, 0L, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+		return Schedulers.directSchedule(executor, timer, task, delay, unit);
+	}
+
+	@Override
+	public Disposable schedulePeriodically(Runnable task,
+			long initialDelay,
+			long period,
+			TimeUnit unit) {
+		ExecutorService e = executor;
+		if (e.isShutdown()) {
+			throw Exceptions.failWithRejected();
+		}
+		SerialExecutorWorker.PeriodicTask periodic =
+				new SerialExecutorWorker.PeriodicTask(task, e, timer, null, unit.toNanos(period));
+		periodic.start(unit.toNanos(initialDelay));
+		return periodic;
+	}
+
+	@Override
+	public Worker createWorker() {
+		return new SerialExecutorWorker(executor, timer, this);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder ts = new StringBuilder(Schedulers.THREAD_PER_TASK).append('(');
+		if (factory instanceof Schedulers.SchedulerThreadFactory) {
+			Schedulers.SchedulerThreadFactory f = (Schedulers.SchedulerThreadFactory) factory;
+			ts.append('\"').append(f.get()).append('\"');
+			if (f.virtual) {
+				ts.append(",virtual");
+			}
+		}
+		ts.append(')');
+		return ts.toString();
+	}
+
+	@Override
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+		if (key == Attr.NAME) return this.toString();
+		if (key == Attr.BUFFERED) {
+			ExecutorService e = executor;
+			if (e instanceof ThreadPoolExecutor) {
+				return ((ThreadPoolExecutor) e).getActiveCount();
+			}
+			return 0;
+		}
+
+		return null;
+	}
+}
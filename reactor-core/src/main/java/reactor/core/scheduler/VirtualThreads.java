@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+/**
+ * Access to virtual threads, which are only available starting with JDK 21.
+ * <p>
+ * This is the Java 8 baseline version, which doesn't support virtual threads. The
+ * {@code reactor-core} jar is a multi-release jar that ships an alternative version of
+ * this class in {@code META-INF/versions/21}, picked instead of this one on JDK 21+.
+ */
+final class VirtualThreads {
+
+	/**
+	 * @return true if the running JVM supports virtual threads
+	 */
+	static boolean isSupported() {
+		return false;
+	}
+
+	/**
+	 * Create an unstarted virtual {@link Thread}.
+	 *
+	 * @param name the name of the thread
+	 * @param task the task of the thread
+	 *
+	 * @return the unstarted virtual thread
+	 *
+	 * @throws UnsupportedOperationException if the running JVM doesn't support virtual
+	 * threads
+	 */
+	static Thread newThread(String name, Runnable task) {
+		throw new UnsupportedOperationException("Virtual threads require JDK 21 or above");
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+
+/**
+ * Scheduler that hosts a {@link ForkJoinPool} in async mode and is suited for parallel
+ * work which load is unevenly distributed among workers. This scheduler is
+ * time-capable (can schedule with delay / periodically).
+ * <p>
+ * Unlike the {@link ParallelScheduler}, a {@link Worker} isn't bound to a thread. Each
+ * {@link SerialExecutorWorker} enqueues its tasks and submits a single drain loop to
+ * the pool whenever it goes from idle to busy, which preserves the serial execution
+ * of its tasks while letting any idle thread of the pool steal it. The drain loop
+ * gives the thread back after a batch of tasks, so that a hot worker doesn't starve
+ * the others queued behind it on the same thread.
+ * <p>
+ * Delayed tasks are armed in a {@link HashedWheelTimer} and only submitted to the pool
+ * once the delay has elapsed.
+ */
+final class WorkStealingScheduler implements Scheduler, Scannable {
+
+	static final AtomicLong COUNTER = new AtomicLong();
+
+	static final ForkJoinPool TERMINATED;
+	static {
+		TERMINATED = new ForkJoinPool(1);
+		TERMINATED.shutdownNow();
+	}
+
+	final int parallelism;
+
+	final ForkJoinPool.ForkJoinWorkerThreadFactory factory;
+
+	volatile ForkJoinPool pool;
+	static final AtomicReferenceFieldUpdater<WorkStealingScheduler, ForkJoinPool> POOL =
+			AtomicReferenceFieldUpdater.newUpdater(WorkStealingScheduler.class,
+					ForkJoinPool.class, "pool");
+
+	volatile HashedWheelTimer timer;
+
+	WorkStealingScheduler(int parallelism, ForkJoinPool.ForkJoinWorkerThreadFactory factory) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("parallelism > 0 required but it was " + parallelism);
+		}
+		this.parallelism = parallelism;
+		this.factory = factory;
+		this.timer = new HashedWheelTimer(timerName());
+		POOL.lazySet(this, newPool());
+	}
+
+	ForkJoinPool newPool() {
+		return new ForkJoinPool(parallelism, factory, null, true);
+	}
+
+	String timerName() {
+		if (factory instanceof Schedulers.SchedulerThreadFactory) {
+			return ((Schedulers.SchedulerThreadFactory) factory).get();
+		}
+		return Schedulers.WORK_STEALING;
+	}
+
+	@Override
+	public boolean isDisposed() {
+		return pool == TERMINATED;
+	}
+
+	@Override
+	public boolean ownsCurrentThread() {
+		return ForkJoinTask.getPool() == pool;
+	}
+
+	@Override
+	public void start() {
+		ForkJoinPool b = null;
+		for (;;) {
+			ForkJoinPool a = pool;
+			if (a != TERMINATED) {
+				if (b != null) {
+					b.shutdownNow();
+				}
+				return;
+			}
+
+			if (b == null) {
+				b = newPool();
+			}
+
+			if (POOL.compareAndSet(this, a, b)) {
+				timer = new HashedWheelTimer(timerName());
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void dispose() {
+		ForkJoinPool a = pool;
+		if (a != TERMINATED) {
+			a = POOL.getAndSet(this, TERMINATED);
+			if (a != TERMINATED) {
+				a.shutdownNow();
+				timer.dispose();
+			}
+		}
+	}
+
+	@Override
+	public Disposable schedule(Runnable task) {
+		return Schedulers.directSchedule(pool, timer, task, 0L, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+		return Schedulers.directSchedule(pool, timer, task, delay, unit);
+	}
+
+	@Override
+	public Disposable schedulePeriodically(Runnable task,
+			long initialDelay,
+			long period,
+			TimeUnit unit) {
+		ForkJoinPool p = pool;
+		if (p.isShutdown()) {
+			throw Exceptions.failWithRejected();
+		}
+		SerialExecutorWorker.PeriodicTask periodic =
+				new SerialExecutorWorker.PeriodicTask(task, p, timer, null, unit.toNanos(period));
+		periodic.start(unit.toNanos(initialDelay));
+		return periodic;
+	}
+
+	@Override
+	public Worker createWorker() {
+		return new SerialExecutorWorker(pool, timer, this);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder ts = new StringBuilder(Schedulers.WORK_STEALING)
+				.append('(').append(parallelism);
+		if (factory instanceof Schedulers.SchedulerThreadFactory) {
+			ts.append(",\"").append(((Schedulers.SchedulerThreadFactory) factory).get()).append('\"');
+		}
+		ts.append(')');
+		return ts.toString();
+	}
+
+	@Override
+	public Object scanUnsafe(Attr key) {
+		if (key == Attr.TERMINATED || key == Attr.CANCELLED) return isDisposed();
+		if (key == Attr.CAPACITY) return parallelism;
+		if (key == Attr.BUFFERED) return pool.getPoolSize();
+		if (key == Attr.LARGE_BUFFERED) return pool.getQueuedTaskCount() + pool.getQueuedSubmissionCount();
+		if (key == Attr.NAME) return this.toString();
+
+		return null;
+	}
+}
@@ -63,7 +63,9 @@ final class WorkerTask implements Runnable, Disposable, Callable<Void> {
 	@Override
 	@Nullable
 	public Void call() {
-		thread = Thread.currentThread();
+		Thread t = Thread.currentThread();
+		thread = t;
+		Schedulers.NonBlockingThread.enterTask(t, task);
 		try {
 			try {
 				task.run();
@@ -74,6 +76,7 @@ final class WorkerTask implements Runnable, Disposable, Callable<Void> {
 		}
 		finally {
 			thread = null;
+			Schedulers.NonBlockingThread.exitTask(t);
 			Composite o = parent;
 			if (o != DISPOSED && o != null && PARENT.compareAndSet(this, o, DONE)) {
 				o.remove(this);
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import reactor.util.annotation.Nullable;
+
+/**
+ * A bounded, array backed, multi-producer single-consumer queue.
+ * <p>
+ * This implementation is based on JCTools' MPSC algorithms:
+ * <a href='https://github.com/JCTools/JCTools/blob/master/jctools-core/src/main/java/org/jctools/queues/atomic/MpscAtomicArrayQueue.java'>MpscAtomicArrayQueue</a>.
+ * Producers claim a slot by moving the producer index forward with a CAS, as long as
+ * the queue isn't full, then write the value in it. The consumer waits for a claimed
+ * slot to be written, which happens right after the claim. Unlike {@link MpscLinkedQueue},
+ * there is no allocation per element.
+ *
+ * @param <T> the value type
+ */
+final class MpscArrayQueue<T> extends AbstractQueue<T> {
+
+	final AtomicReferenceArray<T> array;
+
+	final int mask;
+
+	volatile long producerIndex;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<MpscArrayQueue> PRODUCER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(MpscArrayQueue.class, "producerIndex");
+
+	volatile long consumerIndex;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<MpscArrayQueue> CONSUMER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(MpscArrayQueue.class, "consumerIndex");
+
+	MpscArrayQueue(int capacity) {
+		int c = Queues.ceilingNextPowerOfTwo(capacity);
+		this.array = new AtomicReferenceArray<>(c);
+		this.mask = c - 1;
+	}
+
+	@Override
+	public boolean offer(T e) {
+		Objects.requireNonNull(e, "e");
+		int capacity = mask + 1;
+		long pi;
+		for (;;) {
+			pi = producerIndex;
+			if (pi - consumerIndex >= capacity) {
+				return false;
+			}
+			if (PRODUCER_INDEX.compareAndSet(this, pi, pi + 1)) {
+				break;
+			}
+		}
+		array.lazySet((int) pi & mask, e);
+		return true;
+	}
+
+	@Override
+	@Nullable
+	public T poll() {
+		long ci = consumerIndex;
+		int offset = (int) ci & mask;
+
+		T v = array.get(offset);
+		if (v == null) {
+			if (ci == producerIndex) {
+				return null;
+			}
+			//the slot has been claimed by a producer that is about to write it
+			while ((v = array.get(offset)) == null) { }
+		}
+		array.lazySet(offset, null);
+		CONSUMER_INDEX.lazySet(this, ci + 1);
+		return v;
+	}
+
+	@Override
+	@Nullable
+	public T peek() {
+		long ci = consumerIndex;
+		int offset = (int) ci & mask;
+
+		T v = array.get(offset);
+		if (v == null && ci != producerIndex) {
+			while ((v = array.get(offset)) == null) { }
+		}
+		return v;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return producerIndex == consumerIndex;
+	}
+
+	@Override
+	public int size() {
+		long ci = consumerIndex;
+		for (; ; ) {
+			long pi = producerIndex;
+			long ci2 = consumerIndex;
+			if (ci == ci2) {
+				return (int) (pi - ci);
+			}
+			ci = ci2;
+		}
+	}
+
+	@Override
+	public void clear() {
+		while (poll() != null) { }
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * @return the number of slots of this queue
+	 */
+	int length() {
+		return array.length();
+	}
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import reactor.util.annotation.Nullable;
+
+/**
+ * An unbounded, multi-producer single-consumer queue made of linked array chunks of a
+ * fixed size.
+ * <p>
+ * This implementation is inspired by JCTools' MPSC algorithms:
+ * <a href='https://github.com/JCTools/JCTools/blob/master/jctools-core/src/main/java/org/jctools/queues/MpscUnboundedXaddArrayQueue.java'>MpscUnboundedXaddArrayQueue</a>.
+ * Producers claim an index with an atomic increment, find or append the chunk that
+ * index falls into, then write the value in it. Unlike {@link MpscLinkedQueue}, a
+ * chunk is only allocated every {@code chunkSize} elements.
+ *
+ * @param <T> the value type
+ */
+final class MpscLinkedArrayQueue<T> extends AbstractQueue<T> {
+
+	final int mask;
+
+	final int shift;
+
+	volatile long producerIndex;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<MpscLinkedArrayQueue> PRODUCER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(MpscLinkedArrayQueue.class,
+					"producerIndex");
+
+	/**
+	 * The most recently appended chunk, a hint for producers.
+	 */
+	volatile Chunk producerChunk;
+	@SuppressWarnings("rawtypes")
+	static final AtomicReferenceFieldUpdater<MpscLinkedArrayQueue, Chunk> PRODUCER_CHUNK =
+			AtomicReferenceFieldUpdater.newUpdater(MpscLinkedArrayQueue.class,
+					Chunk.class, "producerChunk");
+
+	volatile long consumerIndex;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<MpscLinkedArrayQueue> CONSUMER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(MpscLinkedArrayQueue.class,
+					"consumerIndex");
+
+	/**
+	 * The chunk being consumed, only written by the consumer but read by producers
+	 * looking for the chunk of an index lower than the {@link #producerChunk}.
+	 */
+	volatile Chunk consumerChunk;
+
+	MpscLinkedArrayQueue(int chunkSize) {
+		int c = Queues.ceilingNextPowerOfTwo(Math.max(8, chunkSize));
+		this.mask = c - 1;
+		this.shift = Integer.numberOfTrailingZeros(c);
+		Chunk first = new Chunk(0L, c);
+		this.consumerChunk = first;
+		PRODUCER_CHUNK.lazySet(this, first);
+	}
+
+	@Override
+	public boolean offer(T e) {
+		Objects.requireNonNull(e, "e");
+		long pi = PRODUCER_INDEX.getAndIncrement(this);
+		long index = pi >>> shift;
+
+		Chunk c = producerChunk;
+		if (c.index != index) {
+			c = chunkOf(c, index);
+		}
+		c.lazySet((int) pi & mask, e);
+		return true;
+	}
+
+	/**
+	 * Find the chunk of the given index, appending chunks as needed.
+	 */
+	Chunk chunkOf(Chunk c, long index) {
+		if (c.index > index) {
+			//the chunk of a claimed index can't have been consumed past
+			c = consumerChunk;
+		}
+		while (c.index != index) {
+			Chunk next = c.next;
+			if (next == null) {
+				next = new Chunk(c.index + 1, mask + 1);
+				if (Chunk.NEXT.compareAndSet(c, null, next)) {
+					for (;;) {
+						Chunk p = producerChunk;
+						if (p.index >= next.index || PRODUCER_CHUNK.compareAndSet(this, p, next)) {
+							break;
+						}
+					}
+				}
+				else {
+					next = c.next;
+				}
+			}
+			c = next;
+		}
+		return c;
+	}
+
+	/**
+	 * Return the chunk holding the given consumer index, moving the consumer to the
+	 * next chunk if needed, or null if that next chunk hasn't been claimed yet.
+	 */
+	@Nullable
+	Chunk consumerChunk(long ci) {
+		Chunk c = consumerChunk;
+		if (c.index != ci >>> shift) {
+			if (ci == producerIndex) {
+				return null;
+			}
+			//the next chunk is being appended by the producer that claimed ci
+			Chunk next;
+			while ((next = c.next) == null) { }
+			c = next;
+			consumerChunk = c;
+		}
+		return c;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	@Nullable
+	public T poll() {
+		long ci = consumerIndex;
+		Chunk c = consumerChunk(ci);
+		if (c == null) {
+			return null;
+		}
+		int offset = (int) ci & mask;
+
+		Object v = c.get(offset);
+		if (v == null) {
+			if (ci == producerIndex) {
+				return null;
+			}
+			//the slot has been claimed by a producer that is about to write it
+			while ((v = c.get(offset)) == null) { }
+		}
+		c.lazySet(offset, null);
+		CONSUMER_INDEX.lazySet(this, ci + 1);
+		return (T) v;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	@Nullable
+	public T peek() {
+		long ci = consumerIndex;
+		Chunk c = consumerChunk(ci);
+		if (c == null) {
+			return null;
+		}
+		int offset = (int) ci & mask;
+
+		Object v = c.get(offset);
+		if (v == null && ci != producerIndex) {
+			while ((v = c.get(offset)) == null) { }
+		}
+		return (T) v;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return producerIndex == consumerIndex;
+	}
+
+	@Override
+	public int size() {
+		long ci = consumerIndex;
+		for (; ; ) {
+			long pi = producerIndex;
+			long ci2 = consumerIndex;
+			if (ci == ci2) {
+				return (int) (pi - ci);
+			}
+			ci = ci2;
+		}
+	}
+
+	@Override
+	public void clear() {
+		while (poll() != null) { }
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		throw new UnsupportedOperationException();
+	}
+
+	static final class Chunk extends AtomicReferenceArray<Object> {
+
+		/** */
+		private static final long serialVersionUID = -2735718853960151917L;
+
+		final long index;
+
+		volatile Chunk next;
+		static final AtomicReferenceFieldUpdater<Chunk, Chunk> NEXT =
+				AtomicReferenceFieldUpdater.newUpdater(Chunk.class, Chunk.class, "next");
+
+		Chunk(long index, int length) {
+			super(length);
+			this.index = index;
+		}
+	}
+}
@@ -22,6 +22,7 @@ import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import reactor.util.annotation.Nullable;
@@ -29,7 +30,8 @@ import reactor.util.annotation.Nullable;
 
 /**
  * Queue utilities and suppliers for 1-producer/1-consumer ready queues adapted for
- * various given capacities.
+ * various given capacities. The implementations backing these suppliers can be
+ * replaced globally with {@link #setFactory(Factory)}.
  */
 public final class Queues {
 
@@ -52,9 +54,18 @@ public final class Queues {
 		else if (q instanceof SpscArrayQueue) {
 			return ((SpscArrayQueue) q).length();
 		}
+		else if (q instanceof SpscPaddedArrayQueue) {
+			return ((SpscPaddedArrayQueue) q).capacity();
+		}
 		else if(q instanceof MpscLinkedQueue) {
 			return Integer.MAX_VALUE;
 		}
+		else if (q instanceof MpscLinkedArrayQueue) {
+			return Integer.MAX_VALUE;
+		}
+		else if (q instanceof MpscArrayQueue) {
+			return ((MpscArrayQueue) q).length();
+		}
 		else if (q instanceof BlockingQueue) {
 			return ((BlockingQueue) q).remainingCapacity();
 		}
@@ -66,6 +77,44 @@ public final class Queues {
 		}
 	}
 
+	/**
+	 * Poll up to {@code limit} elements from the given {@link Queue} and pass them to the
+	 * consumer, stopping early if the queue becomes empty. The single-producer queues of
+	 * {@link Queues} publish their consumer progress once per batch rather than once
+	 * per element, other queues are polled one element at a time.
+	 * <p>
+	 * This must be called by the single consumer of the queue, and the consumer must not
+	 * interact with the queue. If polling fails, the elements polled so far have been
+	 * passed to the consumer and the exception is propagated.
+	 *
+	 * @param queue the {@link Queue} to poll
+	 * @param consumer the consumer of the polled elements
+	 * @param limit the maximum number of elements to poll
+	 * @param <T> the element type
+	 * @return the number of polled elements
+	 */
+	public static <T> int drain(Queue<T> queue, Consumer<? super T> consumer, int limit) {
+		if (queue instanceof SpscArrayQueue) {
+			return ((SpscArrayQueue<T>) queue).drain(consumer, limit);
+		}
+		if (queue instanceof SpscLinkedArrayQueue) {
+			return ((SpscLinkedArrayQueue<T>) queue).drain(consumer, limit);
+		}
+		if (queue instanceof SpscPaddedArrayQueue) {
+			return ((SpscPaddedArrayQueue<T>) queue).drain(consumer, limit);
+		}
+		int n = 0;
+		while (n < limit) {
+			T v = queue.poll();
+			if (v == null) {
+				break;
+			}
+			n++;
+			consumer.accept(v);
+		}
+		return n;
+	}
+
 	/**
 	 * An allocation friendly default of available slots in a given container, e.g. slow publishers and or fast/few
 	 * subscribers
@@ -78,6 +127,13 @@ public final class Queues {
 	 */
 	public static final int SMALL_BUFFER_SIZE = Math.max(16,
 			Integer.parseInt(System.getProperty("reactor.bufferSize.small", "256")));
+	/**
+	 * The bounded size from which {@link #get(int)} supplies padded queues, trading
+	 * footprint for throughput: containers that large are typically long lived and
+	 * busy, e.g. a {@code publishOn} with a large prefetch.
+	 */
+	public static final int PADDED_BUFFER_SIZE = Math.max(16,
+			Integer.parseInt(System.getProperty("reactor.bufferSize.padded", "1024")));
 
 	/**
 	 * Calculate the next power of 2, greater than or equal to x.<p> From Hacker's Delight, Chapter 3, Harry S. Warren
@@ -116,11 +172,36 @@ public final class Queues {
 		if (adjustedBatchSize > 10_000_000) {
 			return SMALL_UNBOUNDED;
 		}
+		else if (adjustedBatchSize >= PADDED_BUFFER_SIZE) {
+			return () -> factory.newSpscPadded(adjustedBatchSize);
+		}
 		else{
-			return () -> new SpscArrayQueue<>(adjustedBatchSize);
+			return () -> factory.newSpscBounded(adjustedBatchSize);
 		}
 	}
 
+	/**
+	 * Supply a bounded single-producer single-consumer {@link Queue} tuned for long
+	 * lived hand-offs under sustained load: its indexes and slots are padded and the
+	 * producer caches the consumer progress. Smaller and short lived queues are better
+	 * served by {@link #get(int)}.
+	 *
+	 * @param capacity the minimum capacity of the queue
+	 * @param <T> the reified {@link Queue} generic type
+	 * @return a padded bounded {@link Queue} {@link Supplier}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Supplier<Queue<T>> padded(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity > 0 required but it was " + capacity);
+		}
+		final int adjustedCapacity = Math.max(8, capacity);
+		if (adjustedCapacity > 10_000_000) {
+			return SMALL_UNBOUNDED;
+		}
+		return () -> factory.newSpscPadded(adjustedCapacity);
+	}
+
 	/**
 	 * @param x the int to test
 	 *
@@ -175,7 +256,7 @@ public final class Queues {
 		else if (linkSize == Integer.MAX_VALUE || linkSize == SMALL_BUFFER_SIZE) {
 			return unbounded();
 		}
-		return  () -> new SpscLinkedArrayQueue<>(linkSize);
+		return  () -> factory.newSpscUnbounded(linkSize);
 	}
 
 	/**
@@ -195,8 +276,145 @@ public final class Queues {
 	 * @param <T> the reified {@link Queue} generic type
 	 * @return an unbounded MPSC {@link Queue} {@link Supplier}
 	 */
+	@SuppressWarnings("unchecked")
 	public static <T> Supplier<Queue<T>> unboundedMultiproducer() {
-		return MpscLinkedQueue::new;
+		return MPSC_UNBOUNDED;
+	}
+
+	/**
+	 * Returns an unbounded, linked-array-based queue suitable for
+	 * multi-producer/single-consumer (MPSC) scenarios, which allocates a new link every
+	 * {@code linkSize} elements rather than a node per element. Integer.max sized link
+	 * will use the default {@link #SMALL_BUFFER_SIZE} size.
+	 *
+	 * @param linkSize the link size
+	 * @param <T> the reified {@link Queue} generic type
+	 * @return an unbounded MPSC {@link Queue} {@link Supplier}
+	 */
+	public static <T> Supplier<Queue<T>> unboundedMultiproducer(int linkSize) {
+		int adjustedLinkSize = linkSize == Integer.MAX_VALUE ? SMALL_BUFFER_SIZE : linkSize;
+		return () -> factory.newMpscUnbounded(adjustedLinkSize);
+	}
+
+	/**
+	 * Returns a bounded, array-based queue suitable for multi-producer/single-consumer
+	 * (MPSC) scenarios. The capacity is rounded up to the next power of two, and
+	 * capacities too large to be preallocated yield an
+	 * {@link #unboundedMultiproducer(int) unbounded} MPSC queue instead.
+	 *
+	 * @param capacity the minimum capacity of the queue
+	 * @param <T> the reified {@link Queue} generic type
+	 * @return a bounded MPSC {@link Queue} {@link Supplier}
+	 */
+	public static <T> Supplier<Queue<T>> mpsc(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity > 0 required but it was " + capacity);
+		}
+		if (capacity > 10_000_000) {
+			return unboundedMultiproducer(SMALL_BUFFER_SIZE);
+		}
+		return () -> factory.newMpscBounded(capacity);
+	}
+
+	/**
+	 * Replace the {@link Factory} creating the queues of all the suppliers returned by
+	 * {@link Queues}, including the ones already obtained. Queues created before the
+	 * replacement are left untouched.
+	 * <p>
+	 * This method should be called safely and with caution, typically on app startup.
+	 *
+	 * @param factoryInstance an arbitrary {@link Factory} instance.
+	 */
+	public static void setFactory(Factory factoryInstance) {
+		factory = Objects.requireNonNull(factoryInstance, "factoryInstance");
+	}
+
+	/**
+	 * Re-apply default factory to {@link Queues}
+	 */
+	public static void resetFactory() {
+		factory = DEFAULT;
+	}
+
+	/**
+	 * Public factory hook to override the {@link Queue} implementations used by
+	 * operators globally, e.g. to use padded or instrumented queues. Each method defaults
+	 * to the implementation used by Reactor.
+	 */
+	public interface Factory {
+
+		/**
+		 * Create a bounded queue for one producer and one consumer.
+		 *
+		 * @param capacity the minimum capacity of the queue
+		 * @param <T> the reified {@link Queue} generic type
+		 * @return a bounded single-producer single-consumer {@link Queue}
+		 */
+		default <T> Queue<T> newSpscBounded(int capacity) {
+			if (capacity == 1) {
+				return new OneQueue<>();
+			}
+			return new SpscArrayQueue<>(capacity);
+		}
+
+		/**
+		 * Create an unbounded queue for one producer and one consumer.
+		 *
+		 * @param linkSize the number of elements the queue grows by
+		 * @param <T> the reified {@link Queue} generic type
+		 * @return an unbounded single-producer single-consumer {@link Queue}
+		 */
+		default <T> Queue<T> newSpscUnbounded(int linkSize) {
+			return new SpscLinkedArrayQueue<>(linkSize);
+		}
+
+		/**
+		 * Create a padded bounded queue for one producer and one consumer, for long
+		 * lived hand-offs under sustained load.
+		 *
+		 * @param capacity the minimum capacity of the queue
+		 * @param <T> the reified {@link Queue} generic type
+		 * @return a padded bounded single-producer single-consumer {@link Queue}
+		 */
+		default <T> Queue<T> newSpscPadded(int capacity) {
+			return new SpscPaddedArrayQueue<>(capacity);
+		}
+
+		/**
+		 * Create a bounded queue for several producers and one consumer.
+		 *
+		 * @param capacity the minimum capacity of the queue
+		 * @param <T> the reified {@link Queue} generic type
+		 * @return a bounded multi-producer single-consumer {@link Queue}
+		 */
+		default <T> Queue<T> newMpscBounded(int capacity) {
+			return new MpscArrayQueue<>(capacity);
+		}
+
+		/**
+		 * Create an unbounded queue for several producers and one consumer.
+		 *
+		 * @param linkSize the number of elements the queue grows by
+		 * @param <T> the reified {@link Queue} generic type
+		 * @return an unbounded multi-producer single-consumer {@link Queue}
+		 */
+		default <T> Queue<T> newMpscUnbounded(int linkSize) {
+			return new MpscLinkedArrayQueue<>(linkSize);
+		}
+
+		/**
+		 * Create an unbounded queue for several producers and one consumer, growing one
+		 * element at a time. The queue must also implement
+		 * {@link java.util.function.BiPredicate}: join operators offer pairs of values
+		 * through {@link java.util.function.BiPredicate#test(Object, Object)}, which must
+		 * make both values visible to the consumer at once.
+		 *
+		 * @param <T> the reified {@link Queue} generic type
+		 * @return an unbounded multi-producer single-consumer {@link Queue}
+		 */
+		default <T> Queue<T> newMpscUnbounded() {
+			return new MpscLinkedQueue<>();
+		}
 	}
 
 	private Queues() {
@@ -345,15 +563,22 @@ public final class Queues {
 			queue.remove();
 		}
 	}
+	static final Factory DEFAULT = new Factory() {
+	};
+
+	static volatile Factory factory = DEFAULT;
+
     @SuppressWarnings("rawtypes")
-    static final Supplier ONE_SUPPLIER   = OneQueue::new;
+    static final Supplier ONE_SUPPLIER   = () -> factory.newSpscBounded(1);
 	@SuppressWarnings("rawtypes")
-    static final Supplier XS_SUPPLIER    = () -> new SpscArrayQueue<>(XS_BUFFER_SIZE);
+    static final Supplier XS_SUPPLIER    = () -> factory.newSpscBounded(XS_BUFFER_SIZE);
 	@SuppressWarnings("rawtypes")
-    static final Supplier SMALL_SUPPLIER = () -> new SpscArrayQueue<>(SMALL_BUFFER_SIZE);
+    static final Supplier SMALL_SUPPLIER = () -> factory.newSpscBounded(SMALL_BUFFER_SIZE);
 	@SuppressWarnings("rawtypes")
 	static final Supplier SMALL_UNBOUNDED =
-			() -> new SpscLinkedArrayQueue<>(SMALL_BUFFER_SIZE);
+			() -> factory.newSpscUnbounded(SMALL_BUFFER_SIZE);
+	@SuppressWarnings("rawtypes")
+	static final Supplier XS_UNBOUNDED = () -> factory.newSpscUnbounded(XS_BUFFER_SIZE);
 	@SuppressWarnings("rawtypes")
-	static final Supplier XS_UNBOUNDED = () -> new SpscLinkedArrayQueue<>(XS_BUFFER_SIZE);
+	static final Supplier MPSC_UNBOUNDED = () -> factory.newMpscUnbounded();
 }
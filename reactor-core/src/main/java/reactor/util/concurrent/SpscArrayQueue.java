@@ -20,6 +20,7 @@ import java.util.Iterator;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.atomic.*;
+import java.util.function.Consumer;
 
 import reactor.util.annotation.Nullable;
 
@@ -71,6 +72,39 @@ final class SpscArrayQueue<T> extends SpscArrayQueueP3<T> implements Queue<T> {
 		return v;
 	}
 	
+	/**
+	 * Poll up to {@code limit} elements and pass them to the consumer, publishing the
+	 * consumer index once for the whole batch. The consumer must not interact with this
+	 * queue.
+	 *
+	 * @param consumer the consumer of the polled elements
+	 * @param limit the maximum number of elements to poll
+	 * @return the number of polled elements
+	 */
+	int drain(Consumer<? super T> consumer, int limit) {
+		long ci = consumerIndex;
+		int m = mask;
+		int n = 0;
+		try {
+			while (n < limit) {
+				int offset = (int) (ci + n) & m;
+				T v = get(offset);
+				if (v == null) {
+					break;
+				}
+				lazySet(offset, null);
+				n++;
+				consumer.accept(v);
+			}
+		}
+		finally {
+			if (n != 0) {
+				CONSUMER_INDEX.lazySet(this, ci + n);
+			}
+		}
+		return n;
+	}
+
 	@Override
 	@Nullable
 	public T peek() {
@@ -21,7 +21,9 @@ import java.util.Iterator;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 
 import reactor.util.annotation.Nullable;
 
@@ -37,6 +39,10 @@ import reactor.util.annotation.Nullable;
  * authors of this library. The notable difference is that this class is not padded and
  * there is no lookahead cache involved; padding has a toll on short lived or bursty uses
  * and lookahead doesn't really matter with small queues.
+ * <p>
+ * The consumer hands each link it has emptied back to the producer, which reuses it
+ * rather than allocating a new one, so a queue whose size remains within a couple of
+ * links doesn't allocate once warmed up.
  *
  * @param <T> the value type
  */
@@ -59,6 +65,18 @@ final class SpscLinkedArrayQueue<T> extends AbstractQueue<T>
 					"consumerIndex");
 	AtomicReferenceArray<Object> consumerArray;
 
+	/**
+	 * An emptied link handed by the consumer to the producer, at most one at a time.
+	 * Only the consumer sets it and only the producer clears it.
+	 */
+	@Nullable
+	volatile AtomicReferenceArray<Object> freeArray;
+	@SuppressWarnings("rawtypes")
+	static final AtomicReferenceFieldUpdater<SpscLinkedArrayQueue, AtomicReferenceArray> FREE_ARRAY =
+			AtomicReferenceFieldUpdater.newUpdater(SpscLinkedArrayQueue.class,
+					AtomicReferenceArray.class,
+					"freeArray");
+
 	static final Object NEXT = new Object();
 
 	SpscLinkedArrayQueue(int linkSize) {
@@ -80,7 +98,7 @@ final class SpscLinkedArrayQueue<T> extends AbstractQueue<T>
 		if (a.get(offset) != null) {
 			offset = (int) pi & m;
 
-			AtomicReferenceArray<Object> b = new AtomicReferenceArray<>(m + 2);
+			AtomicReferenceArray<Object> b = newArray(m);
 			producerArray = b;
 			b.lazySet(offset, e);
 			a.lazySet(m + 1, b);
@@ -114,8 +132,7 @@ final class SpscLinkedArrayQueue<T> extends AbstractQueue<T>
 		int pi = (int) (p + 2) & m;
 
 		if (null != buffer.get(pi)) {
-			final AtomicReferenceArray<Object> newBuffer =
-					new AtomicReferenceArray<>(m + 2);
+			final AtomicReferenceArray<Object> newBuffer = newArray(m);
 			producerArray = newBuffer;
 
 			pi = (int) p & m;
@@ -154,11 +171,8 @@ final class SpscLinkedArrayQueue<T> extends AbstractQueue<T>
 			return null;
 		}
 		if (o == NEXT) {
-			AtomicReferenceArray<Object> b = (AtomicReferenceArray<Object>) a.get(m + 1);
-			a.lazySet(m + 1, null);
-			o = b.get(offset);
-			a = b;
-			consumerArray = b;
+			a = nextArray(a, offset, m);
+			o = a.get(offset);
 		}
 		a.lazySet(offset, null);
 		CONSUMER_INDEX.lazySet(this, ci + 1);
@@ -166,6 +180,45 @@ final class SpscLinkedArrayQueue<T> extends AbstractQueue<T>
 		return (T) o;
 	}
 
+	/**
+	 * Poll up to {@code limit} elements and pass them to the consumer, publishing the
+	 * consumer index once for the whole batch. The consumer must not interact with this
+	 * queue.
+	 *
+	 * @param consumer the consumer of the polled elements
+	 * @param limit the maximum number of elements to poll
+	 * @return the number of polled elements
+	 */
+	@SuppressWarnings("unchecked")
+	int drain(Consumer<? super T> consumer, int limit) {
+		long ci = consumerIndex;
+		AtomicReferenceArray<Object> a = consumerArray;
+		int m = mask;
+		int n = 0;
+		try {
+			while (n < limit) {
+				int offset = (int) (ci + n) & m;
+				Object o = a.get(offset);
+				if (o == null) {
+					break;
+				}
+				if (o == NEXT) {
+					a = nextArray(a, offset, m);
+					o = a.get(offset);
+				}
+				a.lazySet(offset, null);
+				n++;
+				consumer.accept((T) o);
+			}
+		}
+		finally {
+			if (n != 0) {
+				CONSUMER_INDEX.lazySet(this, ci + n);
+			}
+		}
+		return n;
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	@Nullable
@@ -189,6 +242,35 @@ final class SpscLinkedArrayQueue<T> extends AbstractQueue<T>
 		return (T) o;
 	}
 
+	/**
+	 * Provide a link for the producer, reusing the one handed back by the consumer if
+	 * any.
+	 */
+	AtomicReferenceArray<Object> newArray(int m) {
+		AtomicReferenceArray<Object> b = freeArray;
+		if (b != null) {
+			FREE_ARRAY.lazySet(this, null);
+			return b;
+		}
+		return new AtomicReferenceArray<>(m + 2);
+	}
+
+	/**
+	 * Move the consumer to the link following the given one, which is emptied and
+	 * handed back to the producer unless it still holds a previous one.
+	 */
+	@SuppressWarnings("unchecked")
+	AtomicReferenceArray<Object> nextArray(AtomicReferenceArray<Object> a, int offset, int m) {
+		AtomicReferenceArray<Object> b = (AtomicReferenceArray<Object>) a.get(m + 1);
+		consumerArray = b;
+		a.lazySet(m + 1, null);
+		a.lazySet(offset, null);
+		if (freeArray == null) {
+			FREE_ARRAY.lazySet(this, a);
+		}
+		return b;
+	}
+
 	@Override
 	public boolean isEmpty() {
 		return producerIndex == consumerIndex;
@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package reactor.util.concurrent;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import reactor.util.annotation.Nullable;
+
+/**
+ * A bounded, array backed, single-producer single-consumer queue tuned for long lived,
+ * high rate hand-offs.
+ * <p>
+ * Unlike {@link SpscArrayQueue}, the first and last slots are kept away from the
+ * neighbouring objects by unused slots, and the producer caches the consumer index:
+ * the index is only read again once the producer has filled all the slots it knew as
+ * free, so under sustained load producer and consumer rarely touch each other's
+ * cache lines. This comes at the cost of a bigger footprint, which doesn't pay off
+ * for short lived or bursty uses.
+ *
+ * @param <T> the value type
+ */
+final class SpscPaddedArrayQueue<T> extends SpscPaddedArrayQueueP3<T> implements Queue<T> {
+	/** */
+	private static final long serialVersionUID = -3594385786436937264L;
+
+	SpscPaddedArrayQueue(int capacity) {
+		super(Queues.ceilingNextPowerOfTwo(capacity));
+	}
+
+	@Override
+	public boolean offer(T e) {
+		Objects.requireNonNull(e, "e");
+		long pi = producerIndex;
+		if (pi >= producerLimit) {
+			long limit = consumerIndex + mask + 1;
+			if (pi >= limit) {
+				return false;
+			}
+			producerLimit = limit;
+		}
+		lazySet(offset(pi), e);
+		PRODUCER_INDEX.lazySet(this, pi + 1);
+		return true;
+	}
+
+	@Override
+	@Nullable
+	public T poll() {
+		long ci = consumerIndex;
+		int offset = offset(ci);
+
+		T v = get(offset);
+		if (v != null) {
+			lazySet(offset, null);
+			CONSUMER_INDEX.lazySet(this, ci + 1);
+		}
+		return v;
+	}
+
+	/**
+	 * Poll up to {@code limit} elements and pass them to the consumer, publishing the
+	 * consumer index once for the whole batch. The consumer must not interact with this
+	 * queue.
+	 *
+	 * @param consumer the consumer of the polled elements
+	 * @param limit the maximum number of elements to poll
+	 * @return the number of polled elements
+	 */
+	int drain(Consumer<? super T> consumer, int limit) {
+		long ci = consumerIndex;
+		int n = 0;
+		try {
+			while (n < limit) {
+				int offset = offset(ci + n);
+				T v = get(offset);
+				if (v == null) {
+					break;
+				}
+				lazySet(offset, null);
+				n++;
+				consumer.accept(v);
+			}
+		}
+		finally {
+			if (n != 0) {
+				CONSUMER_INDEX.lazySet(this, ci + n);
+			}
+		}
+		return n;
+	}
+
+	@Override
+	@Nullable
+	public T peek() {
+		return get(offset(consumerIndex));
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return producerIndex == consumerIndex;
+	}
+
+	@Override
+	public void clear() {
+		while (poll() != null && !isEmpty());
+	}
+
+	@Override
+	public int size() {
+		long ci = consumerIndex;
+		for (;;) {
+			long pi = producerIndex;
+			long ci2 = consumerIndex;
+			if (ci == ci2) {
+				return (int)(pi - ci);
+			}
+			ci = ci2;
+		}
+	}
+
+	/**
+	 * @return the number of elements this queue can hold
+	 */
+	int capacity() {
+		return mask + 1;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Object[] toArray() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public <R> R[] toArray(R[] a) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends T> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean add(T e) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public T remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public T element() {
+		throw new UnsupportedOperationException();
+	}
+}
+
+class SpscPaddedArrayQueueCold<T> extends AtomicReferenceArray<T> {
+	/** */
+	private static final long serialVersionUID = 2491871826519484582L;
+
+	/**
+	 * The number of unused slots on each side of the used ones, 128 bytes with
+	 * compressed references.
+	 */
+	static final int PAD = 32;
+
+	final int mask;
+
+	public SpscPaddedArrayQueueCold(int capacity) {
+		super(capacity + 2 * PAD);
+		mask = capacity - 1;
+	}
+
+	final int offset(long index) {
+		return PAD + ((int) index & mask);
+	}
+}
+class SpscPaddedArrayQueueP1<T> extends SpscPaddedArrayQueueCold<T> {
+	/** */
+	private static final long serialVersionUID = 6062960455349573187L;
+
+	volatile long p00, p01, p02, p03, p04, p05, p06, p07;
+	volatile long p08, p09, p0A, p0B, p0C, p0D, p0E;
+
+	public SpscPaddedArrayQueueP1(int capacity) {
+		super(capacity);
+	}
+}
+
+class SpscPaddedArrayQueueProducer<T> extends SpscPaddedArrayQueueP1<T> {
+
+	/** */
+	private static final long serialVersionUID = -8409340596012384516L;
+
+	public SpscPaddedArrayQueueProducer(int capacity) {
+		super(capacity);
+	}
+
+	volatile long producerIndex;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<SpscPaddedArrayQueueProducer> PRODUCER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(SpscPaddedArrayQueueProducer.class, "producerIndex");
+
+	/**
+	 * The producer index up to which slots are known to be free, only accessed by the
+	 * producer.
+	 */
+	long producerLimit;
+}
+
+class SpscPaddedArrayQueueP2<T> extends SpscPaddedArrayQueueProducer<T> {
+	/** */
+	private static final long serialVersionUID = 3346513786587263406L;
+
+	volatile long p00, p01, p02, p03, p04, p05, p06, p07;
+	volatile long p08, p09, p0A, p0B, p0C, p0D, p0E;
+
+	public SpscPaddedArrayQueueP2(int capacity) {
+		super(capacity);
+	}
+}
+
+class SpscPaddedArrayQueueConsumer<T> extends SpscPaddedArrayQueueP2<T> {
+
+	/** */
+	private static final long serialVersionUID = -1471592089307153431L;
+
+	public SpscPaddedArrayQueueConsumer(int capacity) {
+		super(capacity);
+	}
+
+	volatile long consumerIndex;
+	@SuppressWarnings("rawtypes")
+	static final AtomicLongFieldUpdater<SpscPaddedArrayQueueConsumer> CONSUMER_INDEX =
+			AtomicLongFieldUpdater.newUpdater(SpscPaddedArrayQueueConsumer.class, "consumerIndex");
+
+}
+
+class SpscPaddedArrayQueueP3<T> extends SpscPaddedArrayQueueConsumer<T> {
+	/** */
+	private static final long serialVersionUID = -5873047120315874104L;
+
+	volatile long p00, p01, p02, p03, p04, p05, p06, p07;
+	volatile long p08, p09, p0A, p0B, p0C, p0D, p0E;
+
+	public SpscPaddedArrayQueueP3(int capacity) {
+		super(capacity);
+	}
+}
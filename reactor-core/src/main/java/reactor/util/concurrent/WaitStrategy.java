@@ -15,6 +15,7 @@
  */
 package reactor.util.concurrent;
 
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Condition;
@@ -35,6 +36,33 @@ public abstract class WaitStrategy {
      */
     public static final Runnable NOOP_SPIN_OBSERVER = () -> { };
 
+    /**
+     * Adaptive wait strategy for waiting consumers on a barrier. Like
+     * {@link #phasedOff(long, long, TimeUnit, WaitStrategy)}, it spins, then yields,
+     * then waits using the configured fallback WaitStrategy, but the spin and yield
+     * windows are derived from the recent wait durations rather than fixed.
+     * <p>
+     * While waits are short, spinning long enough to cover them avoids the latency of a
+     * wake-up. As waits get longer, the spin then the yield windows close so that an
+     * idle consumer falls back right away instead of burning CPU.
+     *
+     * @param delegate the target wait strategy to fallback on
+     * @return the wait strategy
+     */
+    public static WaitStrategy adaptive(WaitStrategy delegate) {
+        return new Adaptive(delegate);
+    }
+
+    /**
+     * Adaptive wait strategy falling back to {@link #liteBlocking()}, see
+     * {@link #adaptive(WaitStrategy)}.
+     *
+     * @return the wait strategy
+     */
+    public static WaitStrategy adaptiveLiteLock() {
+        return adaptive(liteBlocking());
+    }
+
     /**
      * Blocking strategy that uses a lock and condition variable for consumer waiting on a barrier.
      *
@@ -449,6 +477,105 @@ public abstract class WaitStrategy {
         private static final int SPIN_TRIES = 10000;
     }
 
+    final static class Adaptive extends WaitStrategy {
+
+        /**
+         * The longest spin window, waits longer than that on average are not spun for.
+         */
+        static final long MAX_SPIN_NANOS  = TimeUnit.MICROSECONDS.toNanos(50);
+        /**
+         * The longest yield window, waits longer than that on average are not yielded
+         * for.
+         */
+        static final long MAX_YIELD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+        private final WaitStrategy fallbackStrategy;
+
+        /**
+         * Moving average of the recent wait durations, updated without synchronization
+         * by concurrent waiters: a lost update only delays the adaptation. Longer waits
+         * are recorded as twice the longest window, so that the average comes back
+         * quickly after a quiet period.
+         */
+        volatile long averageWaitNanos = MAX_SPIN_NANOS / 2;
+
+        Adaptive(WaitStrategy fallbackStrategy)
+        {
+            this.fallbackStrategy = Objects.requireNonNull(fallbackStrategy, "fallbackStrategy");
+        }
+
+        @Override
+        public void signalAllWhenBlocking()
+        {
+            fallbackStrategy.signalAllWhenBlocking();
+        }
+
+        @Override
+        public long waitFor(long sequence, LongSupplier cursor, Runnable barrier)
+                throws InterruptedException
+        {
+            long availableSequence;
+            if ((availableSequence = cursor.getAsLong()) >= sequence)
+            {
+                return availableSequence;
+            }
+
+            long average = averageWaitNanos;
+            long spinTimeoutNanos = window(average, MAX_SPIN_NANOS);
+            long yieldTimeoutNanos = Math.max(spinTimeoutNanos, window(average, MAX_YIELD_NANOS));
+            long startTime = System.nanoTime();
+            int counter = SPIN_TRIES;
+
+            while ((availableSequence = cursor.getAsLong()) < sequence)
+            {
+                barrier.run();
+
+                if (0 == --counter)
+                {
+                    long timeDelta = System.nanoTime() - startTime;
+                    if (timeDelta > yieldTimeoutNanos)
+                    {
+                        availableSequence = fallbackStrategy.waitFor(sequence, cursor, barrier);
+                        break;
+                    }
+                    else if (timeDelta > spinTimeoutNanos)
+                    {
+                        Thread.yield();
+                        counter = 1;
+                    }
+                    else
+                    {
+                        counter = SPIN_TRIES;
+                    }
+                }
+            }
+
+            record(System.nanoTime() - startTime);
+            return availableSequence;
+        }
+
+        void record(long waitNanos)
+        {
+            long average = averageWaitNanos;
+            averageWaitNanos = average + ((Math.min(waitNanos, MAX_YIELD_NANOS << 1) - average) >> 3);
+        }
+
+        /**
+         * Cover waits up to twice the average, unless that average shows the phase
+         * doesn't pay off.
+         */
+        static long window(long averageWaitNanos, long maxNanos)
+        {
+            if (averageWaitNanos > maxNanos)
+            {
+                return 0L;
+            }
+            return Math.min(averageWaitNanos << 1, maxNanos);
+        }
+
+        private static final int SPIN_TRIES = 100;
+    }
+
     final static class Parking extends WaitStrategy {
 
 	    static final Parking INSTANCE = new Parking();
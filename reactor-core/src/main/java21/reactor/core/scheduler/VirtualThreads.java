@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+/**
+ * Access to virtual threads, which are only available starting with JDK 21.
+ * <p>
+ * This is the JDK 21 version of this class, shipped in {@code META-INF/versions/21} of
+ * the multi-release {@code reactor-core} jar.
+ */
+final class VirtualThreads {
+
+	/**
+	 * @return true if the running JVM supports virtual threads
+	 */
+	static boolean isSupported() {
+		return true;
+	}
+
+	/**
+	 * Create an unstarted virtual {@link Thread}.
+	 *
+	 * @param name the name of the thread
+	 * @param task the task of the thread
+	 *
+	 * @return the unstarted virtual thread
+	 */
+	static Thread newThread(String name, Runnable task) {
+		return Thread.ofVirtual()
+		             .name(name)
+		             .unstarted(task);
+	}
+}
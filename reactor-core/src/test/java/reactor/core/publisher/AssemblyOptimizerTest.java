@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import org.junit.Test;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AssemblyOptimizerTest {
+
+	@Test
+	public void repeatedHideIsDropped() {
+		Flux<Integer> hidden = Flux.range(1, 3).hide();
+		assertThat(hidden.hide()).isSameAs(hidden);
+
+		Mono<Integer> hiddenMono = Mono.just(1).hide();
+		assertThat(hiddenMono.hide()).isSameAs(hiddenMono);
+	}
+
+	@Test
+	public void hideOfEmptyIsKept() {
+		assertThat(Flux.empty().hide()).isInstanceOf(FluxHide.class);
+		assertThat(Mono.empty().hide()).isInstanceOf(MonoHide.class);
+	}
+
+	@Test
+	public void repeatedSubscribeOnSameSchedulerIsDropped() {
+		Scheduler scheduler = Schedulers.single();
+		Flux<Integer> flux = Flux.range(1, 3).hide().subscribeOn(scheduler);
+		Mono<Integer> mono = Mono.just(1).hide().subscribeOn(scheduler);
+
+		assertThat(flux.subscribeOn(scheduler)).isSameAs(flux);
+		assertThat(flux.subscribeOn(Schedulers.parallel())).isNotSameAs(flux);
+		assertThat(mono.subscribeOn(scheduler)).isSameAs(mono);
+		assertThat(mono.subscribeOn(Schedulers.parallel())).isNotSameAs(mono);
+	}
+
+	@Test
+	public void repeatedSubscribeOnWithOtherRequestModeIsKept() {
+		Scheduler scheduler = Schedulers.single();
+		Flux<Integer> flux = Flux.range(1, 3).hide().subscribeOn(scheduler, false);
+		Flux<Integer> outer = flux.subscribeOn(scheduler);
+
+		assertThat(flux.subscribeOn(scheduler, false)).isSameAs(flux);
+		assertThat(outer).isNotSameAs(flux)
+		                 .isInstanceOf(FluxSubscribeOn.class);
+		assertThat(((FluxSubscribeOn<Integer>) outer).requestOnSeparateThread).isTrue();
+		StepVerifier.create(outer)
+		            .expectNext(1, 2, 3)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void repeatedPublishOnSameSchedulerIsDropped() {
+		Scheduler scheduler = Schedulers.single();
+		Flux<Integer> flux = Flux.range(1, 3).hide().publishOn(scheduler);
+		Mono<Integer> mono = Mono.just(1).hide().publishOn(scheduler);
+
+		assertThat(flux.publishOn(scheduler)).isSameAs(flux);
+		assertThat(flux.publishOn(scheduler, 16)).isNotSameAs(flux);
+		assertThat(flux.publishOn(Schedulers.parallel())).isNotSameAs(flux);
+		assertThat(mono.publishOn(scheduler)).isSameAs(mono);
+		assertThat(mono.publishOn(Schedulers.parallel())).isNotSameAs(mono);
+
+		StepVerifier.create(flux.publishOn(scheduler))
+		            .expectNext(1, 2, 3)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void takeOfTakeIsCollapsed() {
+		Flux<Integer> flux = Flux.range(1, 10).hide().take(5).take(3);
+
+		assertThat(flux).isInstanceOf(FluxTake.class);
+		assertThat(((FluxTake<Integer>) flux).n).isEqualTo(3);
+		assertThat(((FluxTake<Integer>) flux).source).isInstanceOf(FluxHide.class);
+		StepVerifier.create(flux)
+		            .expectNext(1, 2, 3)
+		            .verifyComplete();
+
+		Flux<Integer> fuseable = Flux.range(1, 10).take(2).take(5);
+
+		assertThat(fuseable).isInstanceOf(FluxTakeFuseable.class);
+		assertThat(((FluxTakeFuseable<Integer>) fuseable).n).isEqualTo(2);
+		StepVerifier.create(fuseable)
+		            .expectNext(1, 2)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void perItemOperatorsOnEmptyAreDropped() {
+		Flux<String> flux = Flux.<Integer>empty().map(String::valueOf)
+		                                         .filter(s -> !s.isEmpty())
+		                                         .take(3)
+		                                         .skip(1);
+		Mono<String> mono = Mono.<Integer>empty().map(String::valueOf)
+		                                         .filter(s -> !s.isEmpty());
+
+		assertThat(flux).isSameAs(Flux.empty());
+		assertThat(mono).isSameAs(Mono.empty());
+		StepVerifier.create(flux)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void noOptimizationWithEachOperatorHook() {
+		Hooks.onEachOperator(p -> p);
+		try {
+			Flux<Integer> hidden = Flux.range(1, 3).hide();
+			assertThat(hidden.hide()).isNotSameAs(hidden);
+			assertThat(Flux.empty().map(v -> v)).isNotSameAs(Flux.empty());
+		}
+		finally {
+			Hooks.resetOnEachOperator();
+		}
+	}
+}
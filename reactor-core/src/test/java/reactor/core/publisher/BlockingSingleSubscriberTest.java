@@ -16,9 +16,17 @@
 
 package reactor.core.publisher;
 
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
 import org.junit.Test;
 import org.reactivestreams.Subscription;
 import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -70,4 +78,86 @@ public class BlockingSingleSubscriberTest {
 		assertThat(test.scan(Scannable.Attr.CANCELLED)).isTrue();
 		assertThat(test.scan(Scannable.Attr.TERMINATED)).isFalse();
 	}
-}
\ No newline at end of file
+
+	@After
+	public void resetHooks() {
+		Hooks.resetOnBlockingCall();
+	}
+
+	static Throwable blockIn(Scheduler scheduler, Runnable blockingCall)
+			throws InterruptedException {
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		scheduler.schedule(() -> {
+			try {
+				blockingCall.run();
+			}
+			catch (Throwable e) {
+				error.set(e);
+			}
+			latch.countDown();
+		});
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		return error.get();
+	}
+
+	@Test
+	public void blockingInNonBlockingThreadFailsWhenEnabled() throws InterruptedException {
+		Hooks.onBlockingCallFail();
+		Scheduler s = Schedulers.newParallel("blockingInNonBlockingThread", 1);
+		try {
+			assertThat(blockIn(s, () -> Mono.never().block()))
+					.isInstanceOf(IllegalStateException.class)
+					.hasMessageStartingWith("block()/blockFirst()/blockLast() are blocking, " +
+							"which is not supported in thread blockingInNonBlockingThread-");
+			assertThat(blockIn(s, () -> Mono.never().block(Duration.ofSeconds(1))))
+					.isInstanceOf(IllegalStateException.class)
+					.hasMessageStartingWith("block()/blockFirst()/blockLast() are blocking");
+			assertThat(blockIn(s, () -> Flux.never().blockFirst()))
+					.isInstanceOf(IllegalStateException.class);
+			assertThat(blockIn(s, () -> Flux.never().blockLast()))
+					.isInstanceOf(IllegalStateException.class);
+			assertThat(blockIn(s, () -> Mono.never().blockOptional()))
+					.isInstanceOf(IllegalStateException.class);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void blockingInNonBlockingThreadAllowedWhenNoWaitIsNeeded() throws InterruptedException {
+		Hooks.onBlockingCallFail();
+		Scheduler s = Schedulers.newSingle("blockingInNonBlockingThread");
+		try {
+			assertThat(blockIn(s, () -> Mono.just(1).block())).isNull();
+			assertThat(blockIn(s, () -> Flux.range(1, 10).blockLast())).isNull();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void blockingInNonBlockingThreadAllowedByDefault() throws InterruptedException {
+		Scheduler s = Schedulers.newSingle("blockingInNonBlockingThread");
+		try {
+			assertThat(blockIn(s, () -> Mono.delay(Duration.ofMillis(10)).block())).isNull();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void blockingInBlockingThreadAllowedWhenEnabled() throws InterruptedException {
+		Hooks.onBlockingCallFail();
+		Scheduler s = Schedulers.newElastic("blockingInBlockingThread");
+		try {
+			assertThat(blockIn(s, () -> Mono.delay(Duration.ofMillis(10)).block())).isNull();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+}
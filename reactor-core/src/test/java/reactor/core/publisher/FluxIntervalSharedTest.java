@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+import reactor.test.subscriber.AssertSubscriber;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FluxIntervalSharedTest {
+
+	VirtualTimeScheduler vts;
+
+	@Before
+	public void before() {
+		vts = VirtualTimeScheduler.create();
+	}
+
+	@After
+	public void after() {
+		vts.dispose();
+	}
+
+	long drivers() {
+		return FluxIntervalShared.DRIVERS.keySet()
+		                                 .stream()
+		                                 .filter(k -> k.scheduler == vts)
+		                                 .count();
+	}
+
+	@Test
+	public void subscribersShareOneDriver() {
+		AssertSubscriber<Long> ts1 = AssertSubscriber.create();
+		AssertSubscriber<Long> ts2 = AssertSubscriber.create();
+
+		Flux.sharedInterval(Duration.ofMillis(100), vts).subscribe(ts1);
+		Flux.sharedInterval(Duration.ofMillis(100), vts).subscribe(ts2);
+
+		assertThat(drivers()).isEqualTo(1);
+
+		vts.advanceTimeBy(Duration.ofMillis(300));
+		ts1.assertValues(0L, 1L, 2L);
+		ts2.assertValues(0L, 1L, 2L);
+
+		ts1.cancel();
+		assertThat(drivers()).isEqualTo(1);
+
+		vts.advanceTimeBy(Duration.ofMillis(100));
+		ts1.assertValues(0L, 1L, 2L);
+		ts2.assertValues(0L, 1L, 2L, 3L);
+
+		ts2.cancel();
+		assertThat(drivers()).isZero();
+	}
+
+	@Test
+	public void lateSubscriberCountsFromZeroOnTheSharedTick() {
+		AssertSubscriber<Long> ts1 = AssertSubscriber.create();
+		AssertSubscriber<Long> ts2 = AssertSubscriber.create();
+
+		Flux.sharedInterval(Duration.ofMillis(100), vts).subscribe(ts1);
+		vts.advanceTimeBy(Duration.ofMillis(150));
+		Flux.sharedInterval(Duration.ofMillis(100), vts).subscribe(ts2);
+
+		//the second subscriber gets its first tick 50ms later, with the first one
+		vts.advanceTimeBy(Duration.ofMillis(50));
+		ts1.assertValues(0L, 1L);
+		ts2.assertValues(0L);
+
+		ts1.cancel();
+		ts2.cancel();
+		assertThat(drivers()).isZero();
+	}
+
+	@Test
+	public void differentPeriodsUseDifferentDrivers() {
+		Disposable d1 = Flux.sharedInterval(Duration.ofMillis(100), vts).subscribe();
+		Disposable d2 = Flux.sharedInterval(Duration.ofMillis(200), vts).subscribe();
+
+		assertThat(drivers()).isEqualTo(2);
+
+		d1.dispose();
+		d2.dispose();
+		assertThat(drivers()).isZero();
+	}
+
+	@Test
+	public void restartsAfterLastSubscriberLeft() {
+		Flux<Long> interval = Flux.sharedInterval(Duration.ofMillis(100), vts);
+
+		AssertSubscriber<Long> ts1 = AssertSubscriber.create();
+		interval.take(2).subscribe(ts1);
+		vts.advanceTimeBy(Duration.ofMillis(200));
+		ts1.assertValues(0L, 1L)
+		   .assertComplete();
+
+		assertThat(drivers()).isZero();
+
+		AssertSubscriber<Long> ts2 = AssertSubscriber.create();
+		interval.take(2).subscribe(ts2);
+		vts.advanceTimeBy(Duration.ofMillis(200));
+		ts2.assertValues(0L, 1L)
+		   .assertComplete();
+
+		assertThat(drivers()).isZero();
+	}
+
+	@Test
+	public void overflowingSubscriberDoesntAffectOthers() {
+		AssertSubscriber<Long> slow = AssertSubscriber.create(1);
+		AssertSubscriber<Long> fast = AssertSubscriber.create();
+
+		Flux.sharedInterval(Duration.ofMillis(100), vts).subscribe(slow);
+		Flux.sharedInterval(Duration.ofMillis(100), vts).subscribe(fast);
+
+		vts.advanceTimeBy(Duration.ofMillis(300));
+
+		slow.assertValues(0L)
+		    .assertErrorWith(e -> assertThat(Exceptions.isOverflow(e)).isTrue());
+		fast.assertValues(0L, 1L, 2L)
+		    .assertNoError();
+
+		fast.cancel();
+		assertThat(drivers()).isZero();
+	}
+
+	@Test
+	public void throwingSubscriberDoesntAffectOthers() {
+		AssertSubscriber<Long> ts = AssertSubscriber.create();
+		AtomicReference<Throwable> error = new AtomicReference<>();
+
+		Flux.sharedInterval(Duration.ofMillis(100), vts)
+		    .subscribe(v -> {
+			    throw new IllegalStateException("boom");
+		    }, error::set);
+		Flux.sharedInterval(Duration.ofMillis(100), vts).subscribe(ts);
+
+		vts.advanceTimeBy(Duration.ofMillis(300));
+
+		assertThat(error.get()).hasMessage("boom");
+
+		ts.assertValues(0L, 1L, 2L)
+		  .assertNoError();
+
+		ts.cancel();
+		assertThat(drivers()).isZero();
+	}
+
+	@Test
+	public void realTimeTicks() {
+		Scheduler s = Schedulers.newSingle("sharedInterval");
+		try {
+			Flux<Long> interval = Flux.sharedInterval(Duration.ofMillis(10), s);
+
+			StepVerifier.create(interval.take(5).mergeWith(interval.take(5)))
+			            .expectNextCount(10)
+			            .expectComplete()
+			            .verify(Duration.ofSeconds(5));
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void rejectedScheduler() {
+		Scheduler s = Schedulers.newSingle("rejectedScheduler");
+		s.dispose();
+
+		StepVerifier.create(Flux.sharedInterval(Duration.ofMillis(10), s))
+		            .expectError(RejectedExecutionException.class)
+		            .verify(Duration.ofSeconds(1));
+
+		assertThat(FluxIntervalShared.DRIVERS.keySet()
+		                                     .stream()
+		                                     .filter(k -> k.scheduler == s)
+		                                     .count()).isZero();
+	}
+
+	@Test
+	public void scanOperator() {
+		Scheduler s = Schedulers.newSingle("scanOperator");
+		try {
+			FluxIntervalShared test = new FluxIntervalShared(1, TimeUnit.SECONDS, s);
+
+			assertThat(test.scan(Scannable.Attr.RUN_ON)).isSameAs(s);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void scanSubscription() {
+		Scheduler scheduler = Schedulers.newSingle("scanSubscription");
+		try {
+			AssertSubscriber<Long> ts = AssertSubscriber.create();
+			Flux.sharedInterval(Duration.ofHours(1), scheduler).subscribe(ts);
+
+			Scannable s = Scannable.from(FluxIntervalShared.DRIVERS.values()
+			                                                       .stream()
+			                                                       .filter(d -> d.key.scheduler == scheduler)
+			                                                       .findFirst()
+			                                                       .get().subscribers[0]);
+
+			assertThat(s.scan(Scannable.Attr.RUN_ON)).isSameAs(scheduler);
+			assertThat(s.scan(Scannable.Attr.CANCELLED)).isFalse();
+
+			ts.cancel();
+			assertThat(s.scan(Scannable.Attr.CANCELLED)).isTrue();
+		}
+		finally {
+			scheduler.dispose();
+		}
+	}
+}
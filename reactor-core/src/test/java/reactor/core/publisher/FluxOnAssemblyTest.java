@@ -81,7 +81,7 @@ public class FluxOnAssemblyTest {
 
 		String debugStack = sw.toString();
 
-		assertThat(debugStack).contains("Assembly trace from producer [reactor.core.publisher.FluxFilterFuseable] :");
+		assertThat(debugStack).contains("Assembly trace from producer [reactor.core.publisher.FluxPipelineFuseable] :");
 	}
 
 	@Test
@@ -126,7 +126,7 @@ public class FluxOnAssemblyTest {
 
 		String debugStack = sw.toString();
 
-		assertThat(debugStack).contains("Assembly trace from producer [reactor.core.publisher.FluxFilterFuseable], described as [foo] :");
+		assertThat(debugStack).contains("Assembly trace from producer [reactor.core.publisher.FluxPipelineFuseable], described as [foo] :");
 	}
 
 	@Test
@@ -144,7 +144,7 @@ public class FluxOnAssemblyTest {
 
 		String debugStack = sw.toString();
 
-		assertThat(debugStack).contains("Assembly site of producer [reactor.core.publisher.FluxFilterFuseable] is identified by light checkpoint [foo].");
+		assertThat(debugStack).contains("Assembly site of producer [reactor.core.publisher.FluxPipelineFuseable] is identified by light checkpoint [foo].");
 	}
 
 	@Test
@@ -161,7 +161,7 @@ public class FluxOnAssemblyTest {
 
 		String debugStack = sw.toString();
 
-		assertThat(debugStack).contains("Assembly trace from producer [reactor.core.publisher.MonoFilterFuseable] :");
+		assertThat(debugStack).contains("Assembly trace from producer [reactor.core.publisher.MonoPipelineFuseable] :");
 	}
 
 	@Test
@@ -178,7 +178,7 @@ public class FluxOnAssemblyTest {
 
 		String debugStack = sw.toString();
 
-		assertThat(debugStack).contains("Assembly trace from producer [reactor.core.publisher.MonoFilterFuseable], described as [foo] :");
+		assertThat(debugStack).contains("Assembly trace from producer [reactor.core.publisher.MonoPipelineFuseable], described as [foo] :");
 	}
 
 	@Test
@@ -195,7 +195,7 @@ public class FluxOnAssemblyTest {
 
 		String debugStack = sw.toString();
 
-		assertThat(debugStack).contains("Assembly site of producer [reactor.core.publisher.MonoFilterFuseable] is identified by light checkpoint [foo].");
+		assertThat(debugStack).contains("Assembly site of producer [reactor.core.publisher.MonoPipelineFuseable] is identified by light checkpoint [foo].");
 	}
 
 	@Test
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import reactor.core.Fuseable;
+import reactor.core.Scannable;
+import reactor.test.StepVerifier;
+import reactor.util.concurrent.Queues;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FluxPipelineTest {
+
+	@Test
+	public void adjacentStagesAreFused() {
+		List<Integer> peeked = new ArrayList<>();
+		Flux<String> flux = Flux.range(1, 10)
+		                        .hide()
+		                        .map(i -> i * 10)
+		                        .filter(i -> i % 20 == 0)
+		                        .doOnNext(peeked::add)
+		                        .map(String::valueOf);
+
+		assertThat(flux).isInstanceOf(FluxPipeline.class);
+		assertThat(((FluxPipeline<?, ?>) flux).stages).hasSize(4);
+		assertThat(Scannable.from(flux).scan(Scannable.Attr.PARENT))
+				.isInstanceOf(FluxHide.class);
+
+		StepVerifier.create(flux)
+		            .expectNext("20", "40", "60", "80", "100")
+		            .verifyComplete();
+
+		assertThat(peeked).containsExactly(20, 40, 60, 80, 100);
+	}
+
+	@Test
+	public void fuseableSourceGivesFuseablePipeline() {
+		Flux<Integer> flux = Flux.range(1, 10)
+		                         .map(i -> i + 1)
+		                         .filter(i -> i % 2 == 0);
+
+		assertThat(flux).isInstanceOf(FluxPipelineFuseable.class);
+
+		StepVerifier.create(flux)
+		            .expectFusion(Fuseable.SYNC)
+		            .expectNext(2, 4, 6, 8, 10)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void asyncFusionReplenishesDroppedItems() {
+		UnicastProcessor<Integer> up = UnicastProcessor.create(Queues.<Integer>get(16).get());
+
+		StepVerifier.create(up.map(i -> i + 1)
+		                      .filter(i -> i % 2 == 0), 3)
+		            .expectFusion(Fuseable.ASYNC)
+		            .then(() -> {
+			            for (int i = 0; i < 10; i++) {
+				            up.onNext(i);
+			            }
+			            up.onComplete();
+		            })
+		            .expectNext(2, 4, 6)
+		            .thenRequest(2)
+		            .expectNext(8, 10)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void conditionalDownstream() {
+		//the peek is not fused, and subscribes with a conditional subscriber
+		StepVerifier.create(Flux.range(1, 10)
+		                        .hide()
+		                        .map(i -> i * 2)
+		                        .filter(i -> i > 10)
+		                        .doOnComplete(() -> {})
+		                        .filter(i -> i % 4 == 0))
+		            .expectNext(12, 16, 20)
+		            .verifyComplete();
+
+		StepVerifier.create(Flux.range(1, 10)
+		                        .map(i -> i * 2)
+		                        .filter(i -> i > 10)
+		                        .doOnComplete(() -> {})
+		                        .filter(i -> i % 4 == 0))
+		            .expectNext(12, 16, 20)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void failingStageTerminates() {
+		StepVerifier.create(Flux.range(1, 10)
+		                        .hide()
+		                        .map(i -> i + 1)
+		                        .map(i -> i < 4 ? i : null))
+		            .expectNext(2, 3)
+		            .verifyErrorMessage("The mapper returned a null value.");
+
+		StepVerifier.create(Flux.range(1, 10)
+		                        .map(i -> i + 1)
+		                        .filter(i -> {
+			                        if (i == 3) {
+				                        throw new IllegalStateException("boom");
+			                        }
+			                        return true;
+		                        }))
+		            .expectFusion(Fuseable.SYNC)
+		            .expectNext(2)
+		            .verifyErrorMessage("boom");
+	}
+
+	@Test
+	public void errorStrategyContinueGetsStageInput() {
+		List<Object> skipped = new ArrayList<>();
+
+		StepVerifier.create(Flux.range(1, 5)
+		                        .hide()
+		                        .map(i -> i * 10)
+		                        .map(i -> {
+			                        if (i == 30) {
+				                        throw new IllegalStateException("boom");
+			                        }
+			                        return i + 1;
+		                        })
+		                        .errorStrategyContinue((e, v) -> skipped.add(v)))
+		            .expectNext(11, 21, 41, 51)
+		            .verifyComplete();
+
+		assertThat(skipped).containsExactly(30);
+	}
+
+	@Test
+	public void peekWithOtherCallbacksIsNotFused() {
+		Flux<Integer> flux = Flux.range(1, 3)
+		                         .doOnComplete(() -> {})
+		                         .map(i -> i);
+
+		assertThat(flux).isInstanceOf(FluxMapFuseable.class);
+	}
+
+	@Test
+	public void sharedUpstreamIsUnchanged() {
+		Flux<Integer> mapped = Flux.range(1, 3).map(i -> i * 2);
+		Flux<Integer> filtered = mapped.filter(i -> i > 2);
+
+		assertThat(mapped).isInstanceOf(FluxMapFuseable.class);
+		StepVerifier.create(mapped)
+		            .expectNext(2, 4, 6)
+		            .verifyComplete();
+		StepVerifier.create(filtered)
+		            .expectNext(4, 6)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void noFusionWithEachOperatorHook() {
+		Hooks.onEachOperator(p -> p);
+		try {
+			Flux<Integer> flux = Flux.range(1, 3)
+			                         .map(i -> i)
+			                         .filter(i -> true);
+
+			assertThat(flux).isInstanceOf(FluxFilterFuseable.class);
+		}
+		finally {
+			Hooks.resetOnEachOperator();
+		}
+	}
+
+	@Test
+	public void monoStagesAreFused() {
+		Mono<String> mono = Mono.just(3)
+		                        .map(i -> i * 2)
+		                        .filter(i -> i > 5)
+		                        .map(String::valueOf);
+
+		assertThat(mono).isInstanceOf(MonoPipelineFuseable.class);
+		StepVerifier.create(mono)
+		            .expectNext("6")
+		            .verifyComplete();
+
+		Mono<Integer> filteredOut = Mono.just(3)
+		                                .hide()
+		                                .map(i -> i * 2)
+		                                .filter(i -> i > 6);
+
+		assertThat(filteredOut).isInstanceOf(MonoPipeline.class);
+		StepVerifier.create(filteredOut)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void scanSubscriber() {
+		FluxPipeline.PipelineSubscriber<Integer, Integer> test =
+				new FluxPipeline.PipelineSubscriber<>(new LambdaSubscriber<>(null, e -> {}, null, null),
+						new FluxPipeline.Stage[]{new FluxPipeline.MapStage(i -> i)});
+		test.onSubscribe(Operators.emptySubscription());
+
+		assertThat(test.scan(Scannable.Attr.PARENT)).isSameAs(Operators.emptySubscription());
+		assertThat(test.scan(Scannable.Attr.TERMINATED)).isFalse();
+		test.onComplete();
+		assertThat(test.scan(Scannable.Attr.TERMINATED)).isTrue();
+	}
+}
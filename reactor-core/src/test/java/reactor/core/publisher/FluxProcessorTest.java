@@ -70,7 +70,7 @@ public class FluxProcessorTest {
 				(DelegateProcessor<Integer, Integer>)processor;
 
 		delegateProcessor.parents().findFirst().ifPresent(s ->
-				assertThat(s).isInstanceOf(FluxFilterFuseable.class));
+				assertThat(s).isInstanceOf(FluxPipelineFuseable.class));
 
 
 		StepVerifier.create(processor)
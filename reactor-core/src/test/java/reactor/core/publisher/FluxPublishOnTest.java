@@ -220,6 +220,58 @@ public class FluxPublishOnTest extends FluxOperatorTest<String, String> {
 		            .verifyComplete();
 	}
 
+	@Test
+	public void sameSchedulerEmitsInline() throws InterruptedException {
+		Scheduler scheduler = Schedulers.newSingle("sameSchedulerEmitsInline");
+		try {
+			List<String> signals = Collections.synchronizedList(new ArrayList<>());
+			CountDownLatch latch = new CountDownLatch(1);
+
+			scheduler.schedule(() -> {
+				Flux.range(1, 3)
+				    .hide()
+				    .doOnNext(i -> signals.add("up" + i))
+				    .publishOn(scheduler)
+				    .subscribe(i -> signals.add("down" + i));
+				//everything has been emitted before subscribe returns
+				signals.add("subscribed");
+				latch.countDown();
+			});
+
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+			Assertions.assertThat(signals)
+			          .containsExactly("up1", "down1", "up2", "down2", "up3", "down3",
+					          "subscribed");
+		}
+		finally {
+			scheduler.dispose();
+		}
+	}
+
+	@Test
+	public void otherSchedulerStillHops() throws InterruptedException {
+		Scheduler source = Schedulers.newSingle("otherSchedulerStillHopsSource");
+		Scheduler target = Schedulers.newSingle("otherSchedulerStillHopsTarget");
+		try {
+			AtomicReference<String> thread = new AtomicReference<>();
+			CountDownLatch latch = new CountDownLatch(1);
+
+			source.schedule(() -> Flux.just(1)
+			                          .publishOn(target)
+			                          .subscribe(i -> thread.set(Thread.currentThread()
+			                                                           .getName()),
+					                          null,
+					                          latch::countDown));
+
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+			Assertions.assertThat(thread.get()).startsWith("otherSchedulerStillHopsTarget");
+		}
+		finally {
+			source.dispose();
+			target.dispose();
+		}
+	}
+
 	@Test
 	public void normalSyncFused() {
 		StepVerifier.create(Flux.range(1, 1_000_000)
@@ -295,6 +347,51 @@ public class FluxPublishOnTest extends FluxOperatorTest<String, String> {
 		            .verifyErrorMessage("forced failure");
 	}
 
+	@Test
+	public void downstreamFailureIsNotSignalledAsError() throws Exception {
+		UnicastProcessor<Integer> up = UnicastProcessor.create();
+		up.onNext(1);
+		up.onComplete();
+
+		assertDownstreamFailureNotSignalled(Flux.range(1, 3).hide());
+		assertDownstreamFailureNotSignalled(up);
+	}
+
+	static void assertDownstreamFailureNotSignalled(Flux<Integer> source) throws Exception {
+		CountDownLatch handled = new CountDownLatch(1);
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Schedulers.onHandleError((t, e) -> handled.countDown());
+		try {
+			source.publishOn(Schedulers.single())
+			      .subscribe(new CoreSubscriber<Integer>() {
+				      @Override
+				      public void onSubscribe(Subscription s) {
+					      s.request(Long.MAX_VALUE);
+				      }
+
+				      @Override
+				      public void onNext(Integer v) {
+					      throw new IllegalStateException("boom");
+				      }
+
+				      @Override
+				      public void onError(Throwable t) {
+					      error.set(t);
+				      }
+
+				      @Override
+				      public void onComplete() {
+				      }
+			      });
+
+			Assertions.assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+			Assertions.assertThat(error.get()).isNull();
+		}
+		finally {
+			Schedulers.resetOnHandleError();
+		}
+	}
+
 	@Test
 	public void empty() {
 		AssertSubscriber<Integer> ts = AssertSubscriber.create();
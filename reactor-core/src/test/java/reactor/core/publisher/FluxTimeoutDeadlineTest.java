@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import reactor.core.CoreSubscriber;
+import reactor.core.Disposable;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FluxTimeoutDeadlineTest {
+
+	/**
+	 * A {@link VirtualTimeScheduler} counting the delayed tasks scheduled on it.
+	 */
+	static final class CountingScheduler implements Scheduler {
+
+		final VirtualTimeScheduler delegate = VirtualTimeScheduler.create();
+
+		final AtomicInteger scheduled = new AtomicInteger();
+
+		@Override
+		public Disposable schedule(Runnable task) {
+			return delegate.schedule(task);
+		}
+
+		@Override
+		public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+			scheduled.incrementAndGet();
+			return delegate.schedule(task, delay, unit);
+		}
+
+		@Override
+		public long now(TimeUnit unit) {
+			return delegate.now(unit);
+		}
+
+		@Override
+		public Worker createWorker() {
+			return delegate.createWorker();
+		}
+	}
+
+	@Test
+	public void itemsWithinTimeoutPassThrough() {
+		StepVerifier.withVirtualTime(() -> Flux.interval(Duration.ofMillis(400))
+		                                       .take(5)
+		                                       .timeout(Duration.ofMillis(500)))
+		            .thenAwait(Duration.ofSeconds(2))
+		            .expectNext(0L, 1L, 2L, 3L, 4L)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void timeoutAfterLastItem() {
+		StepVerifier.withVirtualTime(() -> Flux.concat(Flux.just(1, 2),
+				Mono.just(3).delayElement(Duration.ofMillis(600)))
+		                                       .timeout(Duration.ofMillis(500)))
+		            .expectNext(1, 2)
+		            .expectNoEvent(Duration.ofMillis(499))
+		            .thenAwait(Duration.ofMillis(1))
+		            .expectErrorMessage("Did not observe any item or terminal signal within " +
+				            "500ms (and no fallback has been configured)")
+		            .verify();
+	}
+
+	@Test
+	public void timeoutSwitchesToFallback() {
+		StepVerifier.withVirtualTime(() -> Flux.concat(Flux.just(1),
+				Mono.just(2).delayElement(Duration.ofMillis(600)))
+		                                       .timeout(Duration.ofMillis(500), Flux.just(-1, -2)))
+		            .expectNext(1)
+		            .thenAwait(Duration.ofMillis(500))
+		            .expectNext(-1, -2)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void singleTimerIsReArmedLazily() {
+		CountingScheduler timer = new CountingScheduler();
+		VirtualTimeScheduler source = VirtualTimeScheduler.create();
+		List<Long> values = new ArrayList<>();
+
+		Flux.interval(Duration.ofMillis(10), source)
+		    .take(500)
+		    .timeout(Duration.ofMillis(100), timer)
+		    .subscribe(values::add);
+
+		for (int i = 0; i < 500; i++) {
+			source.advanceTimeBy(Duration.ofMillis(10));
+			timer.delegate.advanceTimeBy(Duration.ofMillis(10));
+		}
+
+		assertThat(values).hasSize(500);
+		//one task per timeout period rather than one per item
+		assertThat(timer.scheduled.get()).isBetween(50, 60);
+	}
+
+	@Test
+	public void slowConsumerDoesNotTimeOut() {
+		VirtualTimeScheduler timer = VirtualTimeScheduler.create();
+		TestPublisher<Integer> source = TestPublisher.create();
+		List<Integer> values = new ArrayList<>();
+		List<Throwable> errors = new ArrayList<>();
+
+		source.flux()
+		      .timeout(Duration.ofMillis(500), timer)
+		      .subscribe(v -> {
+			      values.add(v);
+			      //the timer fires while the item is being consumed
+			      timer.advanceTimeBy(Duration.ofSeconds(1));
+		      }, errors::add);
+
+		source.next(1);
+		assertThat(values).containsExactly(1);
+		assertThat(errors).isEmpty();
+
+		//the deadline starts once the item has been consumed
+		timer.advanceTimeBy(Duration.ofMillis(499));
+		assertThat(errors).isEmpty();
+
+		timer.advanceTimeBy(Duration.ofMillis(1));
+		assertThat(errors).hasSize(1);
+		assertThat(errors.get(0)).isInstanceOf(TimeoutException.class);
+		source.assertCancelled();
+	}
+
+	@Test
+	public void lateItemIsDropped() {
+		StepVerifier.withVirtualTime(() -> Flux.just("cat")
+		                                       .delaySubscription(Duration.ofMillis(3))
+		                                       .cancelOn(Schedulers.fromExecutor(r -> {}))
+		                                       .timeout(Duration.ofMillis(2)))
+		            .thenAwait(Duration.ofSeconds(5))
+		            .expectError(TimeoutException.class)
+		            .verifyThenAssertThat()
+		            .hasDroppedExactly("cat");
+	}
+
+	@Test
+	public void rejectedTimerTimesOut() {
+		StepVerifier.create(Flux.never()
+		                        .timeout(Duration.ofMillis(500),
+				                        Schedulers.fromExecutor(r -> {})))
+		            .expectError(TimeoutException.class)
+		            .verify(Duration.ofSeconds(1));
+	}
+
+	@Test
+	public void veryLongTimeoutDoesNotOverflow() {
+		assertThat(FluxTimeoutDeadline.toNanos(Duration.ofDays(365L * 400))).isEqualTo(Long.MAX_VALUE);
+		assertThat(FluxTimeoutDeadline.toNanos(Duration.ofMillis(-1))).isZero();
+
+		StepVerifier.create(Flux.never()
+		                        .timeout(Duration.ofDays(365L * 400)))
+		            .expectSubscription()
+		            .expectNoEvent(Duration.ofMillis(100))
+		            .thenCancel()
+		            .verify();
+
+		//last emission + timeout would overflow
+		StepVerifier.create(Flux.never()
+		                        .timeout(Duration.ofDays(365L * 250), Schedulers.single()))
+		            .expectSubscription()
+		            .expectNoEvent(Duration.ofMillis(100))
+		            .thenCancel()
+		            .verify();
+	}
+
+	@Test
+	public void wallClockJumpDoesNotTimeOut() {
+		AtomicLong offsetMillis = new AtomicLong();
+		Scheduler timer = new Scheduler() {
+			@Override
+			public Disposable schedule(Runnable task) {
+				return Schedulers.parallel().schedule(task);
+			}
+
+			@Override
+			public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+				return Schedulers.parallel().schedule(task, delay, unit);
+			}
+
+			@Override
+			public long now(TimeUnit unit) {
+				return unit.convert(System.currentTimeMillis() + offsetMillis.get(),
+						TimeUnit.MILLISECONDS);
+			}
+
+			@Override
+			public Worker createWorker() {
+				return Schedulers.parallel().createWorker();
+			}
+		};
+
+		StepVerifier.create(Flux.interval(Duration.ofMillis(100))
+		                        .take(6)
+		                        .timeout(Duration.ofMillis(250), timer))
+		            .expectNext(0L)
+		            .then(() -> offsetMillis.set(TimeUnit.HOURS.toMillis(1)))
+		            .expectNext(1L, 2L, 3L, 4L, 5L)
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void completionCancelsTimer() {
+		VirtualTimeScheduler timer = VirtualTimeScheduler.create();
+
+		StepVerifier.create(Flux.just(1, 2)
+		                        .timeout(Duration.ofMillis(500), timer))
+		            .expectNext(1, 2)
+		            .verifyComplete();
+
+		timer.advanceTimeBy(Duration.ofSeconds(1));
+	}
+
+	@Test
+	public void scanOperator() {
+		Flux<Integer> flux = Flux.just(1)
+		                         .timeout(Duration.ofSeconds(1));
+
+		assertThat(flux).isInstanceOf(FluxTimeoutDeadline.class);
+		assertThat(((Scannable) flux).scan(Scannable.Attr.RUN_ON)).isSameAs(Schedulers.parallel());
+	}
+
+	@Test
+	public void scanSubscriber() {
+		Scheduler timer = Schedulers.single();
+		CoreSubscriber<Integer> actual = new LambdaSubscriber<>(null, e -> {}, null, null);
+		FluxTimeoutDeadline.DeadlineMainSubscriber<Integer> test =
+				new FluxTimeoutDeadline.DeadlineMainSubscriber<>(actual, 1_000, timer, null);
+		test.onSubscribe(Operators.emptySubscription());
+
+		assertThat(test.scan(Scannable.Attr.RUN_ON)).isSameAs(timer);
+		assertThat(test.scan(Scannable.Attr.ACTUAL)).isSameAs(actual);
+		assertThat(test.scan(Scannable.Attr.TERMINATED)).isFalse();
+		assertThat(test.scan(Scannable.Attr.CANCELLED)).isFalse();
+
+		test.onComplete();
+		assertThat(test.scan(Scannable.Attr.TERMINATED)).isTrue();
+
+		test.cancel();
+		assertThat(test.scan(Scannable.Attr.CANCELLED)).isTrue();
+	}
+}
@@ -22,6 +22,7 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.assertj.core.api.Assertions;
@@ -32,6 +33,7 @@ import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
 import reactor.core.Exceptions;
 import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 import reactor.test.subscriber.AssertSubscriber;
@@ -45,6 +47,31 @@ import static reactor.core.scheduler.Schedulers.fromExecutorService;
 
 public class MonoPublishOnTest {
 
+	@Test
+	public void sameSchedulerEmitsInline() throws InterruptedException {
+		Scheduler scheduler = Schedulers.newSingle("sameSchedulerEmitsInline");
+		try {
+			AtomicReference<Integer> value = new AtomicReference<>();
+			AtomicReference<Integer> valueAtSubscribeReturn = new AtomicReference<>();
+			CountDownLatch latch = new CountDownLatch(1);
+
+			scheduler.schedule(() -> {
+				Mono.just(1)
+				    .hide()
+				    .publishOn(scheduler)
+				    .subscribe(value::set);
+				valueAtSubscribeReturn.set(value.get());
+				latch.countDown();
+			});
+
+			Assertions.assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			Assertions.assertThat(valueAtSubscribeReturn.get()).isEqualTo(1);
+		}
+		finally {
+			scheduler.dispose();
+		}
+	}
+
 	@Test
 	public void rejectedExecutionExceptionOnDataSignalExecutor()
 			throws InterruptedException {
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.publisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Fuseable;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class PollBatchTest {
+
+	static <T> Fuseable.QueueSubscription<T> syncFused(Flux<T> flux) {
+		AtomicReference<Fuseable.QueueSubscription<T>> ref = new AtomicReference<>();
+		flux.subscribe(new CoreSubscriber<T>() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public void onSubscribe(Subscription s) {
+				Fuseable.QueueSubscription<T> qs = (Fuseable.QueueSubscription<T>) s;
+				assertThat(qs.requestFusion(Fuseable.SYNC)).isEqualTo(Fuseable.SYNC);
+				ref.set(qs);
+			}
+
+			@Override
+			public void onNext(T t) {
+			}
+
+			@Override
+			public void onError(Throwable t) {
+			}
+
+			@Override
+			public void onComplete() {
+			}
+		});
+		return ref.get();
+	}
+
+	static List<Object> drain(Fuseable.QueueSubscription<?> qs, int batchSize) {
+		List<Object> values = new ArrayList<>();
+		Object[] buffer = new Object[batchSize];
+		for (; ; ) {
+			int n = qs.pollBatch(buffer, batchSize);
+			if (n == 0) {
+				return values;
+			}
+			assertThat(n).isLessThanOrEqualTo(batchSize);
+			values.addAll(Arrays.asList(buffer).subList(0, n));
+		}
+	}
+
+	static Iterable<Integer> failingAt(int failing) {
+		return () -> new Iterator<Integer>() {
+			int i;
+
+			@Override
+			public boolean hasNext() {
+				return true;
+			}
+
+			@Override
+			public Integer next() {
+				if (++i == failing) {
+					throw new IllegalStateException("boom");
+				}
+				return i;
+			}
+		};
+	}
+
+	@Test
+	public void defaultPollsSingleElement() {
+		Fuseable.QueueSubscription<Integer> qs = syncFused(Flux.just(1, 2)
+		                                                     .doOnNext(v -> {}));
+		Object[] buffer = new Object[4];
+
+		assertThat(qs.pollBatch(buffer, 4)).isEqualTo(1);
+		assertThat(buffer[0]).isEqualTo(1);
+		assertThat(qs.pollBatch(buffer, 4)).isEqualTo(1);
+		assertThat(buffer[0]).isEqualTo(2);
+		assertThat(qs.pollBatch(buffer, 4)).isZero();
+	}
+
+	@Test
+	public void rangeAndArraySourcesFillBatches() {
+		Fuseable.QueueSubscription<Integer> range = syncFused(Flux.range(1, 10));
+		Object[] buffer = new Object[4];
+
+		assertThat(range.pollBatch(buffer, 4)).isEqualTo(4);
+		assertThat(buffer).containsExactly(1, 2, 3, 4);
+		assertThat(range.pollBatch(buffer, 3)).isEqualTo(3);
+		assertThat(drain(range, 4)).containsExactly(8, 9, 10);
+
+		assertThat(drain(syncFused(Flux.just(1, 2, 3, 4, 5)), 2))
+				.containsExactly(1, 2, 3, 4, 5);
+		assertThat(drain(syncFused(Flux.fromIterable(Arrays.asList(1, 2, 3))), 2))
+				.containsExactly(1, 2, 3);
+		assertThat(drain(syncFused(Flux.range(1, 3)
+		                               .flatMapIterable(i -> Arrays.asList(i, i))), 4))
+				.containsExactly(1, 1, 2, 2, 3, 3);
+	}
+
+	@Test
+	public void arrayNullElementEndsBatch() {
+		Fuseable.QueueSubscription<Integer> qs =
+				syncFused(Flux.fromArray(new Integer[]{1, 2, null, 4}));
+		Object[] buffer = new Object[4];
+
+		assertThat(qs.pollBatch(buffer, 4)).isEqualTo(2);
+		assertThatExceptionOfType(NullPointerException.class)
+				.isThrownBy(() -> qs.pollBatch(buffer, 4));
+	}
+
+	@Test
+	public void iterableFailureIsDeferred() {
+		Fuseable.QueueSubscription<Integer> qs = syncFused(Flux.fromIterable(failingAt(3)));
+		Object[] buffer = new Object[4];
+
+		assertThat(qs.pollBatch(buffer, 4)).isEqualTo(2);
+		assertThat(buffer).containsExactly(1, 2, null, null);
+		assertThat(qs.isEmpty()).isFalse();
+		assertThatExceptionOfType(IllegalStateException.class)
+				.isThrownBy(() -> qs.pollBatch(buffer, 4))
+				.withMessage("boom");
+	}
+
+	@Test
+	public void intermediatesTransformBatches() {
+		Flux<Integer> mapped = Flux.range(1, 10).map(i -> i * 2);
+		Flux<Integer> filtered = Flux.range(1, 10).filter(i -> i > 8);
+		Flux<Integer> pipeline = Flux.range(1, 10)
+		                             .map(i -> i * 2)
+		                             .filter(i -> i % 3 == 0);
+
+		assertThat(mapped).isInstanceOf(FluxMapFuseable.class);
+		assertThat(filtered).isInstanceOf(FluxFilterFuseable.class);
+		assertThat(pipeline).isInstanceOf(FluxPipelineFuseable.class);
+
+		assertThat(drain(syncFused(mapped), 4)).containsExactly(2, 4, 6, 8, 10, 12, 14, 16, 18, 20);
+		//batches fully dropped by the predicate do not end the sequence
+		assertThat(drain(syncFused(filtered), 4)).containsExactly(9, 10);
+		assertThat(drain(syncFused(pipeline), 4)).containsExactly(6, 12, 18);
+	}
+
+	@Test
+	public void intermediateFailureIsDeferred() {
+		Fuseable.QueueSubscription<Integer> qs = syncFused(Flux.range(1, 10)
+		                                                     .map(i -> {
+			                                                     if (i == 3) {
+				                                                     throw new IllegalStateException("boom");
+			                                                     }
+			                                                     return i;
+		                                                     }));
+		Object[] buffer = new Object[4];
+
+		assertThat(qs.pollBatch(buffer, 4)).isEqualTo(2);
+		assertThat(buffer).containsExactly(1, 2, null, null);
+		assertThat(qs.isEmpty()).isFalse();
+		assertThatExceptionOfType(IllegalStateException.class)
+				.isThrownBy(qs::poll)
+				.withMessage("boom");
+	}
+
+	@Test
+	public void publishOnDrainsInBatches() {
+		StepVerifier.create(Flux.range(1, 100)
+		                        .publishOn(Schedulers.single()), 10)
+		            .expectNextCount(10)
+		            .thenRequest(90)
+		            .expectNextCount(90)
+		            .verifyComplete();
+
+		StepVerifier.create(Flux.range(1, 100)
+		                        .publishOn(Schedulers.single())
+		                        .take(3))
+		            .expectNext(1, 2, 3)
+		            .verifyComplete();
+
+		StepVerifier.create(Flux.range(1, 100)
+		                        .publishOn(Schedulers.single())
+		                        .filter(i -> i % 40 == 0))
+		            .expectNext(40, 80)
+		            .verifyComplete();
+	}
+
+	@Test
+	public void publishOnDeliversElementsBeforeFailure() {
+		StepVerifier.create(Flux.fromIterable(failingAt(3))
+		                        .publishOn(Schedulers.single()))
+		            .expectNext(1, 2)
+		            .verifyErrorMessage("boom");
+
+		StepVerifier.create(Flux.fromArray(new Integer[]{1, 2, null})
+		                        .publishOn(Schedulers.single()))
+		            .expectNext(1, 2)
+		            .verifyError(NullPointerException.class);
+	}
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BlockingTaskDetectorTest {
+
+	final List<Throwable> reports = new CopyOnWriteArrayList<>();
+	final List<Thread>    threads = new CopyOnWriteArrayList<>();
+
+	@After
+	public void disableDetection() {
+		Schedulers.disableBlockingTaskDetection();
+	}
+
+	void enableDetection(long thresholdMillis) {
+		Schedulers.enableBlockingTaskDetection(Duration.ofMillis(thresholdMillis), (t, e) -> {
+			threads.add(t);
+			reports.add(e);
+		});
+	}
+
+	static boolean isInNonBlockingThread(Scheduler s) throws InterruptedException {
+		AtomicReference<Boolean> result = new AtomicReference<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		s.schedule(() -> {
+			result.set(Schedulers.isInNonBlockingThread());
+			latch.countDown();
+		});
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		return result.get();
+	}
+
+	@Test
+	public void parallelAndSingleThreadsAreNonBlocking() throws InterruptedException {
+		Scheduler parallel = Schedulers.newParallel("nonBlocking", 2);
+		Scheduler single = Schedulers.newSingle("nonBlocking");
+		Scheduler elastic = Schedulers.newElastic("blocking");
+		Scheduler customParallel = Schedulers.newParallel(2, Thread::new);
+		try {
+			assertThat(Schedulers.isInNonBlockingThread()).isFalse();
+			assertThat(isInNonBlockingThread(parallel)).isTrue();
+			assertThat(isInNonBlockingThread(single)).isTrue();
+			assertThat(isInNonBlockingThread(Schedulers.parallel())).isTrue();
+			assertThat(isInNonBlockingThread(Schedulers.single())).isTrue();
+			assertThat(isInNonBlockingThread(elastic)).isFalse();
+			assertThat(isInNonBlockingThread(customParallel)).isFalse();
+		}
+		finally {
+			parallel.dispose();
+			single.dispose();
+			elastic.dispose();
+			customParallel.dispose();
+		}
+	}
+
+	@Test
+	public void reportsLongRunningTask() throws InterruptedException {
+		enableDetection(50);
+		Scheduler s = Schedulers.newParallel("reportsLongRunningTask", 1);
+		CountDownLatch latch = new CountDownLatch(1);
+		Runnable busy = new Runnable() {
+			@Override
+			public void run() {
+				long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+				while (System.nanoTime() < end) {
+					//spinning, never observed as blocked
+				}
+				latch.countDown();
+			}
+
+			@Override
+			public String toString() {
+				return "busyTask";
+			}
+		};
+		try {
+			s.schedule(busy);
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+			assertThat(reports).hasSize(1);
+			assertThat(threads.get(0).getName()).startsWith("reportsLongRunningTask-");
+			assertThat(reports.get(0))
+					.isInstanceOf(IllegalStateException.class)
+					.hasMessageContaining("Task busyTask has been running for")
+					.hasMessageContaining("reportsLongRunningTask-");
+			assertThat(Arrays.toString(reports.get(0).getStackTrace()))
+					.contains("BlockingTaskDetectorTest");
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void reportsTaskObservedBlocked() throws InterruptedException {
+		enableDetection(1000);
+		Scheduler s = Schedulers.newSingle("reportsTaskObservedBlocked");
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			s.schedule(() -> {
+				try {
+					Thread.sleep(1500);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				latch.countDown();
+			});
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+			assertThat(reports).hasSize(1);
+			assertThat(reports.get(0)).hasMessageContaining("(TIMED_WAITING)");
+			assertThat(reports.get(0).getStackTrace()[0].getMethodName()).isEqualTo("sleep");
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void briefWaitsAreNotReported() throws InterruptedException {
+		enableDetection(600);
+		Scheduler s = Schedulers.newSingle("briefWaitsAreNotReported");
+		try {
+			CountDownLatch latch = new CountDownLatch(200);
+			for (int i = 0; i < 200; i++) {
+				s.schedule(() -> {
+					try {
+						Thread.sleep(5);
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					latch.countDown();
+				});
+			}
+			assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+
+			assertThat(reports).isEmpty();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void fastTasksAreNotReported() throws InterruptedException {
+		enableDetection(200);
+		Scheduler s = Schedulers.newParallel("fastTasksAreNotReported", 2);
+		try {
+			CountDownLatch latch = new CountDownLatch(1000);
+			for (int i = 0; i < 1000; i++) {
+				s.schedule(latch::countDown);
+			}
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			Thread.sleep(300);
+
+			assertThat(reports).isEmpty();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void blockingThreadsAreNotWatched() throws InterruptedException {
+		enableDetection(50);
+		Scheduler s = Schedulers.newElastic("blockingThreadsAreNotWatched");
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			s.schedule(() -> {
+				try {
+					Thread.sleep(300);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				latch.countDown();
+			});
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+			assertThat(reports).isEmpty();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void disableStopsTheWatchdog() {
+		enableDetection(50);
+		BlockingTaskDetector detector = Schedulers.blockingTaskDetector;
+		assertThat(detector).isNotNull();
+
+		enableDetection(100);
+		assertThat(detector.isDisposed()).isTrue();
+
+		detector = Schedulers.blockingTaskDetector;
+		Schedulers.disableBlockingTaskDetection();
+		assertThat(Schedulers.blockingTaskDetector).isNull();
+		assertThat(detector.isDisposed()).isTrue();
+	}
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.Scannable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class BoundedElasticSchedulerTest extends AbstractSchedulerTest {
+
+	@Override
+	protected Scheduler scheduler() {
+		return Schedulers.newBoundedElastic(4, 100, "BoundedElasticSchedulerTest");
+	}
+
+	@Override
+	protected boolean shouldCheckInterrupted() {
+		return true;
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void unsupportedStart() {
+		Scheduler s = scheduler();
+		try {
+			s.start();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeThreadCap() {
+		Schedulers.newBoundedElastic(-1, 100, "test");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeQueuedTaskCap() {
+		Schedulers.newBoundedElastic(1, -1, "test");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeTime() {
+		Schedulers.newBoundedElastic(1, 100, "test", -1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void zeroTime() {
+		Schedulers.newBoundedElastic(1, 100, "test", 0);
+	}
+
+	@Test
+	public void threadCapIsRespected() throws InterruptedException {
+		Scheduler s = Schedulers.newBoundedElastic(3, 100, "threadCapIsRespected");
+		Set<String> threads = ConcurrentHashMap.newKeySet();
+		CountDownLatch latch = new CountDownLatch(20);
+		try {
+			for (int i = 0; i < 20; i++) {
+				s.createWorker().schedule(() -> {
+					threads.add(Thread.currentThread().getName());
+					latch.countDown();
+				});
+			}
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(threads).hasSize(3);
+			assertThat(Scannable.from(s).scan(Scannable.Attr.BUFFERED)).isEqualTo(3);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void rejectsBeyondQueuedTaskCap() throws InterruptedException {
+		Scheduler s = Schedulers.newBoundedElastic(1, 2, "rejectsBeyondQueuedTaskCap");
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch blocker = new CountDownLatch(1);
+		try {
+			Scheduler.Worker worker = s.createWorker();
+			worker.schedule(() -> {
+				running.countDown();
+				try {
+					blocker.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+			worker.schedule(() -> {});
+			worker.schedule(() -> {});
+
+			assertThatExceptionOfType(RejectedExecutionException.class)
+					.isThrownBy(() -> worker.schedule(() -> {}));
+			assertThatExceptionOfType(RejectedExecutionException.class)
+					.isThrownBy(() -> s.schedule(() -> {}));
+		}
+		finally {
+			blocker.countDown();
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void idleWorkersAreReused() {
+		BoundedElasticScheduler s = (BoundedElasticScheduler) Schedulers.newBoundedElastic(4, 100, "idleWorkersAreReused");
+		try {
+			Scheduler.Worker w1 = s.createWorker();
+			w1.dispose();
+			Scheduler.Worker w2 = s.createWorker();
+
+			assertThat(((BoundedElasticScheduler.BoundedWorker) w2).picked)
+					.isSameAs(((BoundedElasticScheduler.BoundedWorker) w1).picked);
+			assertThat(s.liveCount).isEqualTo(1);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void eviction() {
+		BoundedElasticScheduler s = (BoundedElasticScheduler) Schedulers.newBoundedElastic(4, 100, "eviction", 1);
+		s.evictor.shutdownNow();
+		try {
+			Scheduler.Worker w1 = s.createWorker();
+			Scheduler.Worker w2 = s.createWorker();
+			w1.dispose();
+
+			s.eviction();
+			assertThat(s.liveCount).as("not expired yet").isEqualTo(2);
+
+			((BoundedElasticScheduler.BoundedWorker) w1).picked.idleSinceMillis -= 2000;
+			s.eviction();
+
+			assertThat(s.liveCount).as("idle one evicted").isEqualTo(1);
+			assertThat(s.all).containsExactly(((BoundedElasticScheduler.BoundedWorker) w2).picked);
+			assertThat(((BoundedElasticScheduler.BoundedWorker) w1).picked.exec.isShutdown()).isTrue();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void cancelledDirectTaskReleasesItsService() {
+		BoundedElasticScheduler s = new BoundedElasticScheduler(1, 100, Thread::new, 1);
+		s.evictor.shutdownNow();
+		try {
+			Disposable task = s.schedule(() -> {}, 10, TimeUnit.SECONDS);
+			BoundedElasticScheduler.BoundedService picked = s.all.peek();
+			assertThat(picked.markCount).isEqualTo(1);
+
+			task.dispose();
+			task.dispose();
+			assertThat(picked.markCount).as("released once").isZero();
+
+			picked.idleSinceMillis -= 2000;
+			s.eviction();
+
+			assertThat(s.liveCount).as("idle one evicted").isZero();
+			assertThat(picked.exec.isShutdown()).isTrue();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void scanName() {
+		Scheduler withNamedFactory = Schedulers.newBoundedElastic(2, 10, "scanName", 3);
+		Scheduler withBasicFactory = Schedulers.newBoundedElastic(2, 10, Thread::new, 3);
+		try {
+			assertThat(Scannable.from(withNamedFactory).scan(Scannable.Attr.NAME))
+					.isEqualTo("boundedElastic(\"scanName\",maxThreads=2,maxTaskQueuedPerThread=10,ttl=3s)");
+			assertThat(Scannable.from(withBasicFactory).scan(Scannable.Attr.NAME))
+					.isEqualTo("boundedElastic(maxThreads=2,maxTaskQueuedPerThread=10,ttl=3s)");
+			assertThat(Scannable.from(withNamedFactory).scan(Scannable.Attr.CAPACITY))
+					.isEqualTo(2);
+		}
+		finally {
+			withNamedFactory.dispose();
+			withBasicFactory.dispose();
+		}
+	}
+}
@@ -85,6 +85,81 @@ public class ElasticSchedulerTest extends AbstractSchedulerTest {
 		assertThat(s.isDisposed()).isTrue();
 	}
 
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeMinIdle() {
+		Schedulers.newElastic(-1, "test", 1, true);
+	}
+
+	@Test
+	public void minIdleIsStartedUpfront() {
+		Scheduler s = Schedulers.newElastic(2, "minIdleIsStartedUpfront", 60, true);
+		try {
+			ElasticScheduler elastic = (ElasticScheduler) s;
+			assertThat(elastic.cache).hasSize(2);
+			assertThat(Scannable.from(s).scan(Scannable.Attr.BUFFERED)).isEqualTo(2);
+			assertThat(Thread.getAllStackTraces().keySet())
+					.filteredOn(t -> t.getName().startsWith("minIdleIsStartedUpfront-"))
+					.hasSize(2);
+
+			Scheduler.Worker worker = s.createWorker();
+			assertThat(elastic.all).hasSize(2);
+			worker.dispose();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void mostRecentlyReleasedIsReused() {
+		Scheduler s = Schedulers.newElastic("mostRecentlyReleasedIsReused");
+		try {
+			ElasticScheduler.ElasticWorker w1 = (ElasticScheduler.ElasticWorker) s.createWorker();
+			ElasticScheduler.ElasticWorker w2 = (ElasticScheduler.ElasticWorker) s.createWorker();
+			w1.dispose();
+			w2.dispose();
+
+			ElasticScheduler.ElasticWorker w3 = (ElasticScheduler.ElasticWorker) s.createWorker();
+			assertThat(w3.cached).isSameAs(w2.cached);
+			w3.dispose();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void evictionKeepsMostRecentMinIdle() throws Exception {
+		Scheduler s = Schedulers.newElastic(1, "evictionKeepsMostRecentMinIdle", 1, true);
+		ElasticScheduler elastic = (ElasticScheduler) s;
+		elastic.evictor.shutdownNow();
+
+		try {
+			ElasticScheduler.ElasticWorker w1 = (ElasticScheduler.ElasticWorker) s.createWorker();
+			ElasticScheduler.ElasticWorker w2 = (ElasticScheduler.ElasticWorker) s.createWorker();
+			ElasticScheduler.ElasticWorker w3 = (ElasticScheduler.ElasticWorker) s.createWorker();
+			w1.dispose();
+			w2.dispose();
+			w3.dispose();
+			assertThat(elastic.idle).isEqualTo(3);
+
+			while (elastic.idle > 1) {
+				elastic.eviction();
+				Thread.sleep(100);
+			}
+			elastic.eviction();
+
+			assertThat(elastic.cache).hasSize(1);
+			assertThat(elastic.all).containsExactly(w3.cached);
+			assertThat(w1.cached.exec.isShutdown()).isTrue();
+			assertThat(w2.cached.exec.isShutdown()).isTrue();
+			assertThat(w3.cached.exec.isShutdown()).isFalse();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
 	@Test
 	public void scheduledDoesntReject() {
 		Scheduler s = scheduler();
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+import reactor.core.Scannable;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.util.concurrent.WaitStrategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventLoopSchedulerTest extends AbstractSchedulerTest {
+
+	@Override
+	protected Scheduler scheduler() {
+		return Schedulers.newEventLoop("EventLoopSchedulerTest", 2, WaitStrategy::liteBlocking);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeParallelism() {
+		Schedulers.newEventLoop("test", -1, WaitStrategy::parking);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void nullWaitStrategy() {
+		Schedulers.newEventLoop("test", 1, null);
+	}
+
+	@Test
+	public void eachLoopGetsItsOwnWaitStrategy() {
+		List<WaitStrategy> supplied = new ArrayList<>();
+		Scheduler s = Schedulers.newEventLoop("eachLoopGetsItsOwnWaitStrategy", 3, () -> {
+			WaitStrategy strategy = WaitStrategy.liteBlocking();
+			supplied.add(strategy);
+			return strategy;
+		});
+		try {
+			assertThat(supplied).hasSize(3)
+			                    .doesNotHaveDuplicates();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void everyWaitStrategyHandsOff() throws InterruptedException {
+		List<Supplier<WaitStrategy>> strategies = Arrays.asList(WaitStrategy::busySpin,
+				WaitStrategy::blocking,
+				WaitStrategy::liteBlocking,
+				WaitStrategy::parking,
+				() -> WaitStrategy.phasedOffLiteLock(100, 100, TimeUnit.MICROSECONDS),
+				WaitStrategy::adaptiveLiteLock,
+				WaitStrategy::sleeping,
+				WaitStrategy::yielding);
+
+		for (Supplier<WaitStrategy> strategy : strategies) {
+			Scheduler s = Schedulers.newEventLoop("everyWaitStrategyHandsOff", 2, strategy);
+			try {
+				CountDownLatch latch = new CountDownLatch(100);
+				Scheduler.Worker w = s.createWorker();
+				for (int i = 0; i < 100; i++) {
+					w.schedule(latch::countDown);
+					//let the loops go idle from time to time
+					if (i % 10 == 0) {
+						Thread.sleep(1);
+					}
+				}
+				assertThat(latch.await(5, TimeUnit.SECONDS))
+						.as("%s", strategy.get().getClass().getSimpleName())
+						.isTrue();
+			}
+			finally {
+				s.dispose();
+			}
+		}
+	}
+
+	@Test
+	public void disposeStopsLoopThreads() throws InterruptedException {
+		Scheduler s = Schedulers.newEventLoop("disposeStopsLoopThreads", 1, WaitStrategy::busySpin);
+		AtomicReference<Thread> thread = new AtomicReference<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		s.schedule(() -> {
+			thread.set(Thread.currentThread());
+			latch.countDown();
+		});
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+		s.dispose();
+		thread.get().join(5000);
+		assertThat(thread.get().isAlive()).isFalse();
+	}
+
+	@Test
+	public void restartAfterDispose() throws InterruptedException {
+		Scheduler s = scheduler();
+		try {
+			s.dispose();
+			assertThat(s.isDisposed()).isTrue();
+
+			s.start();
+			assertThat(s.isDisposed()).isFalse();
+
+			CountDownLatch latch = new CountDownLatch(1);
+			s.schedule(latch::countDown, 10, TimeUnit.MILLISECONDS);
+			assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void workerTasksRunSerially() throws InterruptedException {
+		Scheduler s = Schedulers.newEventLoop("workerTasksRunSerially", 4, WaitStrategy::yielding);
+		int workers = 8;
+		int tasksPerWorker = 1000;
+		CountDownLatch latch = new CountDownLatch(workers);
+		AtomicInteger overlaps = new AtomicInteger();
+		List<List<Integer>> orders = new ArrayList<>();
+		try {
+			for (int i = 0; i < workers; i++) {
+				Scheduler.Worker w = s.createWorker();
+				List<Integer> order = new ArrayList<>();
+				orders.add(order);
+				AtomicInteger running = new AtomicInteger();
+				for (int j = 0; j < tasksPerWorker; j++) {
+					int value = j;
+					w.schedule(() -> {
+						if (running.getAndIncrement() != 0) {
+							overlaps.incrementAndGet();
+						}
+						order.add(value);
+						if (value == tasksPerWorker - 1) {
+							latch.countDown();
+						}
+						running.decrementAndGet();
+					});
+				}
+			}
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(overlaps.get()).isZero();
+			for (List<Integer> order : orders) {
+				assertThat(order).hasSize(tasksPerWorker).isSorted();
+			}
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void failingTaskDoesntKillTheLoop() throws InterruptedException {
+		Scheduler s = Schedulers.newEventLoop("failingTaskDoesntKillTheLoop", 1, WaitStrategy::parking);
+		try {
+			CountDownLatch latch = new CountDownLatch(1);
+			s.schedule(() -> {
+				throw new IllegalStateException("boom");
+			});
+			s.schedule(latch::countDown);
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void publishOnPipeline() {
+		Scheduler s = Schedulers.newEventLoop("publishOnPipeline", 2, WaitStrategy::yielding);
+		try {
+			StepVerifier.create(Flux.range(1, 10_000)
+			                        .publishOn(s)
+			                        .map(i -> i * 2)
+			                        .publishOn(s)
+			                        .reduce(0L, (a, b) -> a + b))
+			            .expectNext(100_010_000L)
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void ownsItsLoopThreads() throws InterruptedException {
+		Scheduler s = scheduler();
+		AtomicReference<Boolean> owned = new AtomicReference<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			assertThat(s.ownsCurrentThread()).isFalse();
+			s.schedule(() -> {
+				owned.set(s.ownsCurrentThread());
+				latch.countDown();
+			});
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(owned.get()).isTrue();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void scanName() {
+		Scheduler withNamedFactory = Schedulers.newEventLoop("scanName", 3, WaitStrategy::parking);
+		Scheduler withBasicFactory = Schedulers.newEventLoop(3, Thread::new, WaitStrategy::parking);
+		Scheduler.Worker worker = withNamedFactory.createWorker();
+		try {
+			assertThat(Scannable.from(withNamedFactory).scan(Scannable.Attr.NAME))
+					.isEqualTo("eventLoop(3,\"scanName\")");
+			assertThat(Scannable.from(withBasicFactory).scan(Scannable.Attr.NAME))
+					.isEqualTo("eventLoop(3)");
+			assertThat(Scannable.from(withNamedFactory).scan(Scannable.Attr.CAPACITY))
+					.isEqualTo(3);
+			assertThat(Scannable.from(worker).scan(Scannable.Attr.NAME))
+					.isEqualTo("eventLoop(3,\"scanName\").worker");
+			assertThat(Scannable.from(withNamedFactory).inners())
+					.hasSize(3)
+					.allMatch(loop -> loop.scan(Scannable.Attr.NAME).startsWith("scanName-"))
+					.allMatch(loop -> loop.scan(Scannable.Attr.BUFFERED) == 0);
+		}
+		finally {
+			worker.dispose();
+			withNamedFactory.dispose();
+			withBasicFactory.dispose();
+		}
+	}
+}
@@ -15,8 +15,10 @@
  */
 package reactor.core.scheduler;
 
+import java.util.ArrayDeque;
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
@@ -27,6 +29,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jetbrains.annotations.NotNull;
 import org.junit.Test;
+import reactor.core.Disposable;
 import reactor.core.Exceptions;
 import reactor.core.Scannable;
 
@@ -365,4 +368,31 @@ public class ExecutorSchedulerTest extends AbstractSchedulerTest {
 			worker.dispose();
 		}
 	}
+
+	@Test
+	public void workerDisposeSkipsPendingTasks() {
+		Queue<Runnable> pending = new ArrayDeque<>();
+		ExecutorScheduler.ExecutorSchedulerWorker worker =
+				new ExecutorScheduler.ExecutorSchedulerWorker(pending::offer);
+		AtomicInteger ran = new AtomicInteger();
+
+		Disposable first = worker.schedule(ran::incrementAndGet);
+		Disposable second = worker.schedule(ran::incrementAndGet);
+		assertThat(worker.scan(Scannable.Attr.BUFFERED)).isEqualTo(2);
+
+		first.dispose();
+		assertThat(worker.scan(Scannable.Attr.BUFFERED)).isEqualTo(1);
+
+		worker.dispose();
+		assertThat(second.isDisposed()).isTrue();
+		assertThatExceptionOfType(RejectedExecutionException.class)
+				.isThrownBy(() -> worker.schedule(ran::incrementAndGet));
+
+		Runnable r;
+		while ((r = pending.poll()) != null) {
+			r.run();
+		}
+		assertThat(ran).hasValue(0);
+		assertThat(worker.scan(Scannable.Attr.BUFFERED)).isZero();
+	}
 }
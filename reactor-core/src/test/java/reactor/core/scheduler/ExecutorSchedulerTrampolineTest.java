@@ -15,9 +15,13 @@
  */
 package reactor.core.scheduler;
 
+import java.util.ArrayDeque;
+import java.util.Queue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
+import reactor.core.Disposable;
 import reactor.core.Scannable;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -99,4 +103,43 @@ public class ExecutorSchedulerTrampolineTest extends AbstractSchedulerTest {
 			worker.dispose();
 		}
 	}
+
+	@Test
+	public void disposedTaskIsSkippedAndDrainCompletes() {
+		Queue<Runnable> pending = new ArrayDeque<>();
+		ExecutorScheduler.ExecutorSchedulerTrampolineWorker worker =
+				new ExecutorScheduler.ExecutorSchedulerTrampolineWorker(pending::offer);
+		AtomicInteger ran = new AtomicInteger();
+
+		Disposable first = worker.schedule(ran::incrementAndGet);
+		worker.schedule(ran::incrementAndGet);
+		first.dispose();
+
+		assertThat(pending).hasSize(1);
+		pending.poll().run();
+		assertThat(ran).hasValue(1);
+		assertThat(worker.wip).isZero();
+
+		//the drain loop has exited, so the next task triggers a new one
+		worker.schedule(ran::incrementAndGet);
+		assertThat(pending).hasSize(1);
+		pending.poll().run();
+		assertThat(ran).hasValue(2);
+	}
+
+	@Test
+	public void disposeSkipsQueuedTasks() {
+		Queue<Runnable> pending = new ArrayDeque<>();
+		ExecutorScheduler.ExecutorSchedulerTrampolineWorker worker =
+				new ExecutorScheduler.ExecutorSchedulerTrampolineWorker(pending::offer);
+		AtomicInteger ran = new AtomicInteger();
+
+		Disposable task = worker.schedule(ran::incrementAndGet);
+		worker.dispose();
+
+		assertThat(task.isDisposed()).isTrue();
+		pending.poll().run();
+		assertThat(ran).hasValue(0);
+		assertThat(worker.queue).isEmpty();
+	}
 }
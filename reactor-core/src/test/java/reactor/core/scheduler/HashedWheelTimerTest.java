@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.Disposable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class HashedWheelTimerTest {
+
+	HashedWheelTimer timer;
+
+	@Before
+	public void setUp() {
+		timer = new HashedWheelTimer("test", 1, TimeUnit.MILLISECONDS, 8);
+	}
+
+	@After
+	public void tearDown() {
+		timer.dispose();
+	}
+
+	static final class TestTimeout extends HashedWheelTimer.Timeout {
+
+		final Runnable action;
+
+		TestTimeout(Runnable action) {
+			this.action = action;
+		}
+
+		@Override
+		public void run() {
+			action.run();
+		}
+	}
+
+	@Test
+	public void expiresNotBeforeDelay() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(1);
+		AtomicLong end = new AtomicLong();
+		long start = System.nanoTime();
+
+		timer.schedule(new TestTimeout(() -> {
+			end.set(System.nanoTime());
+			latch.countDown();
+		}), 30, TimeUnit.MILLISECONDS);
+
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		assertThat(TimeUnit.NANOSECONDS.toMillis(end.get() - start))
+				.isGreaterThanOrEqualTo(30L)
+				.isLessThan(100L);
+	}
+
+	@Test
+	public void expiresAfterSeveralRounds() throws InterruptedException {
+		//8 buckets of 1ms: a 50ms delay needs several rounds of the wheel
+		CountDownLatch latch = new CountDownLatch(1);
+		AtomicLong end = new AtomicLong();
+		long start = System.nanoTime();
+
+		timer.schedule(new TestTimeout(() -> {
+			end.set(System.nanoTime());
+			latch.countDown();
+		}), 50, TimeUnit.MILLISECONDS);
+
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		assertThat(TimeUnit.NANOSECONDS.toMillis(end.get() - start))
+				.isGreaterThanOrEqualTo(50L);
+	}
+
+	@Test
+	public void expiresInDeadlineOrder() throws InterruptedException {
+		List<Integer> order = new CopyOnWriteArrayList<>();
+		CountDownLatch latch = new CountDownLatch(3);
+
+		timer.schedule(new TestTimeout(() -> { order.add(3); latch.countDown(); }), 60, TimeUnit.MILLISECONDS);
+		timer.schedule(new TestTimeout(() -> { order.add(1); latch.countDown(); }), 10, TimeUnit.MILLISECONDS);
+		timer.schedule(new TestTimeout(() -> { order.add(2); latch.countDown(); }), 30, TimeUnit.MILLISECONDS);
+
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		assertThat(order).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	public void cancelledTimeoutDoesntExpire() throws InterruptedException {
+		AtomicInteger count = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(1);
+
+		TestTimeout cancelled = new TestTimeout(count::incrementAndGet);
+		timer.schedule(cancelled, 20, TimeUnit.MILLISECONDS);
+		timer.schedule(new TestTimeout(latch::countDown), 40, TimeUnit.MILLISECONDS);
+
+		assertThat(cancelled.cancel(false)).isTrue();
+		assertThat(cancelled.cancel(false)).isFalse();
+		assertThat(cancelled.isCancelled()).isTrue();
+
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		assertThat(count.get()).isZero();
+	}
+
+	@Test
+	public void hugeDelayDoesntOverflow() throws InterruptedException {
+		AtomicInteger count = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(1);
+
+		timer.schedule(new TestTimeout(count::incrementAndGet), Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		timer.schedule(new TestTimeout(count::incrementAndGet), Long.MAX_VALUE, TimeUnit.DAYS);
+		timer.schedule(new TestTimeout(latch::countDown), 40, TimeUnit.MILLISECONDS);
+
+		assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		Thread.sleep(20);
+		assertThat(count.get()).isZero();
+	}
+
+	@Test
+	public void cancelledTimeoutsAreUnlinked() throws InterruptedException {
+		for (int i = 0; i < 1000; i++) {
+			TestTimeout t = new TestTimeout(() -> {});
+			timer.schedule(t, 1, TimeUnit.HOURS);
+			t.cancel(false);
+		}
+
+		long deadline = System.currentTimeMillis() + 1000;
+		while (timer.size() != 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(timer.size()).isZero();
+	}
+
+	@Test
+	public void rearmsAfterIdle() throws InterruptedException {
+		CountDownLatch first = new CountDownLatch(1);
+		timer.schedule(new TestTimeout(first::countDown), 5, TimeUnit.MILLISECONDS);
+		assertThat(first.await(1, TimeUnit.SECONDS)).isTrue();
+
+		Thread.sleep(50);
+
+		CountDownLatch second = new CountDownLatch(1);
+		AtomicLong end = new AtomicLong();
+		long start = System.nanoTime();
+		timer.schedule(new TestTimeout(() -> {
+			end.set(System.nanoTime());
+			second.countDown();
+		}), 20, TimeUnit.MILLISECONDS);
+
+		assertThat(second.await(1, TimeUnit.SECONDS)).isTrue();
+		assertThat(TimeUnit.NANOSECONDS.toMillis(end.get() - start))
+				.isGreaterThanOrEqualTo(20L);
+	}
+
+	@Test
+	public void disposedTimerRejects() {
+		timer.dispose();
+
+		assertThat(timer.isDisposed()).isTrue();
+		assertThatExceptionOfType(RejectedExecutionException.class)
+				.isThrownBy(() -> timer.schedule(new TestTimeout(() -> {}), 10, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void parallelWorkerDelayedTaskCancellable() throws InterruptedException {
+		Scheduler s = Schedulers.newParallel("parallelWorkerDelayedTaskCancellable", 2);
+		Scheduler.Worker w = s.createWorker();
+		try {
+			AtomicInteger count = new AtomicInteger();
+			CountDownLatch latch = new CountDownLatch(1);
+
+			Disposable d = w.schedule(count::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+			w.schedule(latch::countDown, 40, TimeUnit.MILLISECONDS);
+			d.dispose();
+
+			assertThat(d.isDisposed()).isTrue();
+			assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+			assertThat(count.get()).isZero();
+		}
+		finally {
+			w.dispose();
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void disposedSchedulerRejectsDelayed() {
+		Scheduler s = Schedulers.newSingle("disposedSchedulerRejectsDelayed");
+		s.dispose();
+
+		assertThatExceptionOfType(RejectedExecutionException.class)
+				.isThrownBy(() -> s.schedule(() -> {}, 10, TimeUnit.MILLISECONDS));
+	}
+}
@@ -21,6 +21,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Test;
 import reactor.core.Scannable;
@@ -50,6 +51,30 @@ public class ParallelSchedulerTest extends AbstractSchedulerTest {
 		return true;
 	}
 
+	@Test
+	public void restartedSchedulerAcceptsDelayedTasks() throws Exception {
+		Scheduler s = scheduler();
+		try {
+			for (int i = 0; i < 200; i++) {
+				s.dispose();
+				CountDownLatch ran = new CountDownLatch(1);
+				Thread restarter = new Thread(s::start);
+				restarter.start();
+				while (s.isDisposed()) {
+					Thread.yield();
+				}
+
+				s.schedule(ran::countDown, 1, TimeUnit.MILLISECONDS);
+
+				restarter.join();
+				assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+			}
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
 	@Test
 	public void scheduledDoesntReject() {
 		Scheduler s = scheduler();
@@ -143,6 +168,103 @@ public class ParallelSchedulerTest extends AbstractSchedulerTest {
 		assertThat(map.values()).containsOnly(m);
 	}
 
+	@Test
+	public void leastPendingAvoidsBusyExecutors() throws Exception {
+		Scheduler scheduler = Schedulers.newParallel("leastPending", 3, false,
+				Schedulers.WorkerSelection.LEAST_PENDING);
+		CountDownLatch blocker = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		AtomicReference<String> busyThread = new AtomicReference<>();
+		try {
+			Scheduler.Worker busy = scheduler.createWorker();
+			busy.schedule(() -> {
+				busyThread.set(Thread.currentThread().getName());
+				started.countDown();
+				awaitQuietly(blocker);
+			});
+			//more pending tasks than the direct tasks scheduled below
+			for (int i = 0; i < 10; i++) {
+				busy.schedule(() -> {});
+			}
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+			for (int i = 0; i < 6; i++) {
+				Scheduler.Worker worker = scheduler.createWorker();
+				assertThat(((ExecutorServiceWorker) worker).exec)
+						.as("worker %d", i)
+						.isNotSameAs(((ExecutorServiceWorker) busy).exec);
+			}
+
+			CountDownLatch latch = new CountDownLatch(6);
+			ConcurrentHashMap<String, Integer> map = new ConcurrentHashMap<>();
+			for (int i = 0; i < 6; i++) {
+				scheduler.schedule(() -> {
+					map.merge(Thread.currentThread().getName(), 1, Integer::sum);
+					latch.countDown();
+				});
+			}
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(map).doesNotContainKey(busyThread.get())
+			               .hasSize(2);
+		}
+		finally {
+			blocker.countDown();
+			scheduler.dispose();
+		}
+	}
+
+	@Test
+	public void powerOfTwoChoicesAvoidsBusyExecutor() {
+		Scheduler scheduler = Schedulers.newParallel("powerOfTwo", 2, false,
+				Schedulers.WorkerSelection.POWER_OF_TWO_CHOICES);
+		CountDownLatch blocker = new CountDownLatch(1);
+		try {
+			Scheduler.Worker busy = scheduler.createWorker();
+			busy.schedule(() -> awaitQuietly(blocker));
+			busy.schedule(() -> {});
+
+			//with two executors, the random choice is always the other one
+			for (int i = 0; i < 6; i++) {
+				Scheduler.Worker worker = scheduler.createWorker();
+				assertThat(((ExecutorServiceWorker) worker).exec)
+						.as("worker %d", i)
+						.isNotSameAs(((ExecutorServiceWorker) busy).exec);
+			}
+		}
+		finally {
+			blocker.countDown();
+			scheduler.dispose();
+		}
+	}
+
+	@Test
+	public void leastPendingSpreadsIdleWorkersEvenly() {
+		Scheduler scheduler = Schedulers.newParallel("leastPendingIdle", 4, false,
+				Schedulers.WorkerSelection.LEAST_PENDING);
+		try {
+			ConcurrentHashMap<Object, Integer> map = new ConcurrentHashMap<>();
+			for (int i = 0; i < 20; i++) {
+				Scheduler.Worker worker = scheduler.createWorker();
+				map.merge(((ExecutorServiceWorker) worker).exec, 1, Integer::sum);
+			}
+			assertThat(map.values()).containsOnly(5);
+			assertThat(scheduler.toString())
+					.isEqualTo("parallel(4,\"leastPendingIdle\",LEAST_PENDING)");
+		}
+		finally {
+			scheduler.dispose();
+		}
+	}
+
+	static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
 	@Test
 	public void scanName() {
 		Scheduler withNamedFactory = Schedulers.newParallel("scanName", 12);
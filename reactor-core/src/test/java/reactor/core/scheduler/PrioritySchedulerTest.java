@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import reactor.core.Scannable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers.TaskPriority;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrioritySchedulerTest extends AbstractSchedulerTest {
+
+	@Override
+	protected Scheduler scheduler() {
+		return Schedulers.newPriority("PrioritySchedulerTest", 2);
+	}
+
+	static Context priority(TaskPriority priority) {
+		return Context.of(Schedulers.PRIORITY_KEY, priority);
+	}
+
+	/**
+	 * Keep the only thread of the given scheduler busy until the returned latch is
+	 * counted down.
+	 */
+	static CountDownLatch block(Scheduler s) throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		s.schedule(() -> {
+			started.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		return release;
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeParallelism() {
+		Schedulers.newPriority("test", -1);
+	}
+
+	@Test
+	public void moreUrgentClassesRunFirst() throws InterruptedException {
+		Scheduler s = Schedulers.newPriority("moreUrgentClassesRunFirst", 1);
+		List<String> order = new CopyOnWriteArrayList<>();
+		CountDownLatch done = new CountDownLatch(9);
+		try {
+			Scheduler.Worker low = s.createWorker(priority(TaskPriority.LOW));
+			Scheduler.Worker normal = s.createWorker(priority(TaskPriority.NORMAL));
+			Scheduler.Worker high = s.createWorker(priority(TaskPriority.HIGH));
+
+			CountDownLatch release = block(s);
+			for (int i = 0; i < 3; i++) {
+				int index = i;
+				low.schedule(() -> { order.add("L" + index); done.countDown(); });
+				normal.schedule(() -> { order.add("N" + index); done.countDown(); });
+				high.schedule(() -> { order.add("H" + index); done.countDown(); });
+			}
+			release.countDown();
+
+			assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(order).containsExactly("H0", "H1", "H2", "N0", "N1", "N2", "L0", "L1", "L2");
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void lessUrgentClassIsNotStarved() throws InterruptedException {
+		Scheduler s = Schedulers.newPriority("lessUrgentClassIsNotStarved", 1);
+		List<String> order = new CopyOnWriteArrayList<>();
+		CountDownLatch done = new CountDownLatch(21);
+		try {
+			Scheduler.Worker low = s.createWorker(priority(TaskPriority.LOW));
+			Scheduler.Worker high = s.createWorker(priority(TaskPriority.HIGH));
+
+			CountDownLatch release = block(s);
+			low.schedule(() -> { order.add("L"); done.countDown(); });
+			for (int i = 0; i < 20; i++) {
+				high.schedule(() -> { order.add("H"); done.countDown(); });
+			}
+			release.countDown();
+
+			assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(order.indexOf("L")).isEqualTo(PriorityScheduler.STARVATION_LIMIT);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void publishOnReadsPriorityFromContext() throws InterruptedException {
+		Scheduler s = Schedulers.newPriority("publishOnReadsPriorityFromContext", 1);
+		List<String> order = new CopyOnWriteArrayList<>();
+		CountDownLatch done = new CountDownLatch(2);
+		try {
+			CountDownLatch release = block(s);
+			Flux.fromIterable(Collections.singleton("background"))
+			    .publishOn(s)
+			    .doOnNext(order::add)
+			    .subscriberContext(priority(TaskPriority.LOW))
+			    .subscribe(v -> done.countDown());
+			Flux.fromIterable(Collections.singleton("interactive"))
+			    .publishOn(s)
+			    .doOnNext(order::add)
+			    .subscriberContext(priority(TaskPriority.HIGH))
+			    .subscribe(v -> done.countDown());
+			release.countDown();
+
+			assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(order).containsExactly("interactive", "background");
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void unknownPriorityDefaultsToNormal() throws InterruptedException {
+		Scheduler s = Schedulers.newPriority("unknownPriorityDefaultsToNormal", 1);
+		List<String> order = new CopyOnWriteArrayList<>();
+		CountDownLatch done = new CountDownLatch(2);
+		try {
+			Scheduler.Worker unknown = s.createWorker(Context.of(Schedulers.PRIORITY_KEY, "urgent"));
+			Scheduler.Worker low = s.createWorker(priority(TaskPriority.LOW));
+
+			CountDownLatch release = block(s);
+			low.schedule(() -> { order.add("low"); done.countDown(); });
+			unknown.schedule(() -> { order.add("normal"); done.countDown(); });
+			release.countDown();
+
+			assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(order).containsExactly("normal", "low");
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void publishOnPipeline() {
+		Scheduler s = Schedulers.newPriority("publishOnPipeline", 2);
+		try {
+			StepVerifier.create(Flux.range(1, 10_000)
+			                        .publishOn(s)
+			                        .map(i -> i * 2)
+			                        .publishOn(s)
+			                        .reduce(0L, (a, b) -> a + b)
+			                        .subscriberContext(priority(TaskPriority.HIGH)))
+			            .expectNext(100_010_000L)
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void scanName() {
+		Scheduler withNamedFactory = Schedulers.newPriority("scanName", 3);
+		Scheduler withBasicFactory = Schedulers.newPriority(3, Thread::new);
+		Scheduler.Worker worker = withNamedFactory.createWorker(priority(TaskPriority.HIGH));
+		try {
+			assertThat(Scannable.from(withNamedFactory).scan(Scannable.Attr.NAME))
+					.isEqualTo("priority(3,\"scanName\")");
+			assertThat(Scannable.from(withBasicFactory).scan(Scannable.Attr.NAME))
+					.isEqualTo("priority(3)");
+			assertThat(Scannable.from(worker).scan(Scannable.Attr.NAME))
+					.isEqualTo("priority(3,\"scanName\").worker");
+			assertThat(Scannable.from(withNamedFactory).inners())
+					.hasSize(3)
+					.allMatch(loop -> loop.scan(Scannable.Attr.NAME).startsWith("scanName-"));
+		}
+		finally {
+			worker.dispose();
+			withNamedFactory.dispose();
+			withBasicFactory.dispose();
+		}
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Test;
+import reactor.core.Scannable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SchedulerMetricsTest {
+
+	@After
+	public void resetMetrics() {
+		Schedulers.disableMetrics();
+		Schedulers.resetOnTaskMetrics();
+	}
+
+	static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	static void awaitCompleted(Scannable executor, long expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!Long.valueOf(expected).equals(executor.scan(Scannable.Attr.TASKS_COMPLETED))
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(executor.scan(Scannable.Attr.TASKS_COMPLETED)).isEqualTo(expected);
+	}
+
+	@Test
+	public void notInstrumentedByDefault() {
+		Scheduler s = Schedulers.newSingle("notInstrumentedByDefault");
+		try {
+			assertThat(Scannable.from(s).scan(Scannable.Attr.TASKS_SUBMITTED)).isNull();
+			assertThat(Scannable.from(s).scan(Scannable.Attr.TASK_RUN_TIME)).isNull();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void parallelRailsAreInstrumentedSeparately() throws InterruptedException {
+		Schedulers.enableMetrics();
+		Scheduler s = Schedulers.newParallel("parallelRailsAreInstrumentedSeparately", 2);
+		try {
+			Scheduler.Worker w1 = s.createWorker();
+			Scheduler.Worker w2 = s.createWorker();
+			for (int i = 0; i < 3; i++) {
+				w1.schedule(() -> sleep(5));
+			}
+			w2.schedule(() -> {});
+
+			List<Scannable> rails = Scannable.from(s)
+			                                 .inners()
+			                                 .collect(Collectors.toList());
+			assertThat(rails).hasSize(2);
+
+			awaitCompleted(rails.get(0), 3L);
+			awaitCompleted(rails.get(1), 1L);
+
+			Scannable hot = rails.get(0);
+			assertThat(hot.scan(Scannable.Attr.NAME)).startsWith("parallel#");
+			assertThat(hot.scan(Scannable.Attr.TASKS_SUBMITTED)).isEqualTo(3L);
+			assertThat(hot.scan(Scannable.Attr.BUFFERED)).isZero();
+
+			LatencyHistogram runTime = hot.scan(Scannable.Attr.TASK_RUN_TIME);
+			assertThat(runTime.count()).isEqualTo(3L);
+			assertThat(runTime.meanNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+
+			LatencyHistogram waitTime = hot.scan(Scannable.Attr.TASK_WAIT_TIME);
+			assertThat(waitTime.count()).isEqualTo(3L);
+			//the last task waited for the two first ones
+			assertThat(waitTime.maxNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void delayedTaskWaitTimeExcludesDelay() throws InterruptedException {
+		Schedulers.enableMetrics();
+		Scheduler s = Schedulers.newSingle("delayedTaskWaitTimeExcludesDelay");
+		try {
+			CountDownLatch latch = new CountDownLatch(1);
+			s.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+			Scannable scannable = Scannable.from(s);
+			awaitCompleted(scannable, 1L);
+			LatencyHistogram waitTime = scannable.scan(Scannable.Attr.TASK_WAIT_TIME);
+			assertThat(waitTime.maxNanos()).isLessThan(TimeUnit.MILLISECONDS.toNanos(50));
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void fromExecutorIsInstrumented() throws InterruptedException {
+		Schedulers.enableMetrics();
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		Scheduler s = Schedulers.fromExecutor(executorService::execute);
+		try {
+			CountDownLatch latch = new CountDownLatch(2);
+			s.schedule(latch::countDown);
+			s.createWorker().schedule(latch::countDown);
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+			awaitCompleted(Scannable.from(s), 2L);
+			assertThat(Scannable.from(s).scan(Scannable.Attr.TASKS_SUBMITTED)).isEqualTo(2L);
+		}
+		finally {
+			s.dispose();
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void listenerIsNotified() throws InterruptedException {
+		AtomicLong submitted = new AtomicLong();
+		List<String> completed = new CopyOnWriteArrayList<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		Schedulers.onTaskMetrics(new TaskMetricsListener() {
+			@Override
+			public void onTaskSubmitted(Scannable executor) {
+				submitted.incrementAndGet();
+			}
+
+			@Override
+			public void onTaskCompleted(Scannable executor, long waitNanos, long runNanos) {
+				completed.add(executor.scan(Scannable.Attr.NAME));
+				latch.countDown();
+			}
+		});
+		Schedulers.enableMetrics();
+		Scheduler s = Schedulers.newElastic("listenerIsNotified");
+		try {
+			s.schedule(() -> {});
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(submitted.get()).isEqualTo(1L);
+			assertThat(completed).hasSize(1)
+			                     .allMatch(name -> name.startsWith("elastic#"));
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void histogramPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(i * 1000L);
+		}
+
+		assertThat(histogram.count()).isEqualTo(100L);
+		assertThat(histogram.maxNanos()).isEqualTo(100_000L);
+		assertThat(histogram.meanNanos()).isEqualTo(50_500L);
+		//within a factor of two of the exact values
+		assertThat(histogram.percentileNanos(0.5)).isBetween(50_000L, 100_000L);
+		assertThat(histogram.percentileNanos(0.99)).isBetween(99_000L, 100_000L);
+		assertThat(histogram.percentileNanos(0)).isBetween(1000L, 2000L);
+	}
+
+	@Test
+	public void emptyHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		assertThat(histogram.count()).isZero();
+		assertThat(histogram.meanNanos()).isZero();
+		assertThat(histogram.percentileNanos(0.5)).isZero();
+	}
+}
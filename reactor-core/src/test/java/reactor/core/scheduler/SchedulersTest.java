@@ -950,6 +950,40 @@ public class SchedulersTest {
 		}
 	}
 
+	@Test
+	public void ownsCurrentThread() throws InterruptedException {
+		Scheduler single = Schedulers.newSingle("ownsCurrentThread");
+		Scheduler parallel = Schedulers.newParallel("ownsCurrentThread", 2);
+		Scheduler workStealing = Schedulers.newWorkStealing("ownsCurrentThread", 2);
+		try {
+			assertThat(single.ownsCurrentThread()).isFalse();
+			assertThat(Schedulers.immediate().ownsCurrentThread()).isFalse();
+
+			assertThat(ownsThreadOf(single, single)).isTrue();
+			assertThat(ownsThreadOf(parallel, parallel)).isTrue();
+			assertThat(ownsThreadOf(workStealing, workStealing)).isTrue();
+			assertThat(ownsThreadOf(single, parallel)).isFalse();
+			assertThat(ownsThreadOf(parallel, workStealing)).isFalse();
+			assertThat(ownsThreadOf(Schedulers.parallel(), Schedulers.parallel())).isTrue();
+		}
+		finally {
+			single.dispose();
+			parallel.dispose();
+			workStealing.dispose();
+		}
+	}
+
+	static boolean ownsThreadOf(Scheduler runOn, Scheduler candidate) throws InterruptedException {
+		AtomicBoolean owned = new AtomicBoolean();
+		CountDownLatch latch = new CountDownLatch(1);
+		runOn.schedule(() -> {
+			owned.set(candidate.ownsCurrentThread());
+			latch.countDown();
+		});
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		return owned.get();
+	}
+
 	@Test
 	public void testWorkerSchedulePeriodicallyCancelsSchedulerTask() throws Exception {
 		try(TaskCheckingScheduledExecutor executorService = new TaskCheckingScheduledExecutor()) {
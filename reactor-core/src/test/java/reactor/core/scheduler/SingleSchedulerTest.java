@@ -44,6 +44,30 @@ public class SingleSchedulerTest extends AbstractSchedulerTest {
 		return true;
 	}
 
+	@Test
+	public void restartedSchedulerAcceptsDelayedTasks() throws Exception {
+		Scheduler s = scheduler();
+		try {
+			for (int i = 0; i < 200; i++) {
+				s.dispose();
+				CountDownLatch ran = new CountDownLatch(1);
+				Thread restarter = new Thread(s::start);
+				restarter.start();
+				while (s.isDisposed()) {
+					Thread.yield();
+				}
+
+				s.schedule(ran::countDown, 1, TimeUnit.MILLISECONDS);
+
+				restarter.join();
+				assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+			}
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
 	@Test
 	public void smokeTestDelay() {
 		for (int i = 0; i < 20; i++) {
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.Scannable;
+import reactor.test.FakeDisposable;
+import reactor.test.RaceTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class StripedCompositeDisposableTest {
+
+	static List<FakeDisposable> disposables(int n) {
+		List<FakeDisposable> list = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			list.add(new FakeDisposable());
+		}
+		return list;
+	}
+
+	@Test
+	public void stripesArePowerOfTwo() {
+		assertThat(new StripedCompositeDisposable(3).stripes.length()).isEqualTo(4);
+		assertThat(new StripedCompositeDisposable(1).stripes.length()).isEqualTo(1);
+		assertThat(StripedCompositeDisposable.DEFAULT_STRIPES).isBetween(1, 32);
+	}
+
+	@Test
+	public void stripesAreCreatedLazily() {
+		StripedCompositeDisposable cd = new StripedCompositeDisposable(4);
+
+		for (int i = 0; i < cd.stripes.length(); i++) {
+			assertThat(cd.stripes.get(i)).isNull();
+		}
+
+		cd.add(new FakeDisposable());
+
+		int created = 0;
+		for (int i = 0; i < cd.stripes.length(); i++) {
+			if (cd.stripes.get(i) != null) {
+				created++;
+			}
+		}
+		assertThat(created).isEqualTo(1);
+	}
+
+	@Test
+	public void addRemoveAcrossStripes() {
+		StripedCompositeDisposable cd = new StripedCompositeDisposable(4);
+		List<FakeDisposable> list = disposables(100);
+
+		for (FakeDisposable d : list) {
+			assertThat(cd.add(d)).isTrue();
+		}
+		assertThat(cd.size()).isEqualTo(100);
+
+		int used = 0;
+		for (int i = 0; i < cd.stripes.length(); i++) {
+			if (cd.stripes.get(i) != null) {
+				used++;
+			}
+		}
+		assertThat(used).as("stripes used").isGreaterThan(1);
+
+		for (FakeDisposable d : list) {
+			assertThat(cd.remove(d)).isTrue();
+		}
+		assertThat(cd.size()).isZero();
+		assertThat(cd.remove(list.get(0))).as("remove inexistant").isFalse();
+		assertThat(list).allMatch(d -> !d.isDisposed());
+	}
+
+	@Test
+	public void singleStripe() {
+		StripedCompositeDisposable cd = new StripedCompositeDisposable(1);
+		List<FakeDisposable> list = disposables(10);
+
+		assertThat(cd.addAll(list)).isTrue();
+		assertThat(cd.size()).isEqualTo(10);
+
+		cd.dispose();
+
+		assertThat(list).allMatch(FakeDisposable::isDisposed);
+	}
+
+	@Test
+	public void disposeDisposesAllAndDisallowReuse() {
+		StripedCompositeDisposable cd = new StripedCompositeDisposable(4);
+		List<FakeDisposable> list = disposables(20);
+		cd.addAll(list);
+
+		cd.dispose();
+
+		assertThat(cd.isDisposed()).isTrue();
+		assertThat(Scannable.from(cd).scan(Scannable.Attr.CANCELLED)).isTrue();
+		assertThat(cd.size()).isZero();
+		assertThat(list).allMatch(d -> d.disposed == 1);
+
+		FakeDisposable late = new FakeDisposable();
+		assertThat(cd.add(late)).isFalse();
+		assertThat(late.isDisposed()).isTrue();
+		assertThat(cd.remove(list.get(0))).isFalse();
+
+		cd.dispose();
+		assertThat(list).allMatch(d -> d.disposed == 1);
+	}
+
+	@Test
+	public void addAllAfterDispose() {
+		StripedCompositeDisposable cd = new StripedCompositeDisposable(4);
+		cd.dispose();
+		List<FakeDisposable> list = disposables(3);
+
+		assertThat(cd.addAll(list)).isFalse();
+		assertThat(list).allMatch(FakeDisposable::isDisposed);
+	}
+
+	@Test
+	public void singleErrorDuringDisposal() {
+		Disposable bad = () -> {
+			throw new IllegalStateException("boom");
+		};
+		FakeDisposable good = new FakeDisposable();
+		StripedCompositeDisposable cd = new StripedCompositeDisposable(4);
+		cd.addAll(Arrays.asList(bad, good));
+
+		assertThatExceptionOfType(IllegalStateException.class).isThrownBy(cd::dispose)
+		                                                      .withMessage("boom");
+
+		assertThat(good.isDisposed()).isTrue();
+	}
+
+	@Test
+	public void multipleErrorsDuringDisposal() {
+		List<Disposable> list = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			String message = "boom" + i;
+			list.add(() -> {
+				throw new IllegalStateException(message);
+			});
+		}
+		FakeDisposable good = new FakeDisposable();
+		list.add(good);
+		StripedCompositeDisposable cd = new StripedCompositeDisposable(4);
+		cd.addAll(list);
+
+		assertThatExceptionOfType(RuntimeException.class).isThrownBy(cd::dispose)
+		                                                 .withMessage("Multiple exceptions")
+		                                                 .withStackTraceContaining("boom0")
+		                                                 .withStackTraceContaining("boom9");
+
+		assertThat(good.isDisposed()).isTrue();
+	}
+
+	@Test
+	public void addDisposeConcurrent() {
+		for (int i = 0; i < 500; i++) {
+			StripedCompositeDisposable cd = new StripedCompositeDisposable(4);
+			List<FakeDisposable> list = disposables(8);
+
+			RaceTestUtils.race(() -> list.forEach(cd::add), cd::dispose, Schedulers.elastic());
+
+			assertThat(list).allMatch(d -> d.disposed == 1);
+		}
+	}
+
+	@Test
+	public void addRemoveConcurrent() {
+		for (int i = 0; i < 500; i++) {
+			StripedCompositeDisposable cd = new StripedCompositeDisposable(4);
+			List<FakeDisposable> first = disposables(8);
+			List<FakeDisposable> second = disposables(8);
+			cd.addAll(first);
+
+			RaceTestUtils.race(() -> first.forEach(cd::remove),
+					() -> second.forEach(cd::add),
+					Schedulers.elastic());
+
+			assertThat(cd.size()).isEqualTo(8);
+		}
+	}
+}
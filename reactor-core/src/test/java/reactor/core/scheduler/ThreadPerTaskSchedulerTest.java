@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Assume;
+import org.junit.Test;
+import reactor.core.Scannable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ThreadPerTaskSchedulerTest extends AbstractSchedulerTest {
+
+	@Override
+	protected Scheduler scheduler() {
+		return Schedulers.newThreadPerTask(new Schedulers.SchedulerThreadFactory(
+				"ThreadPerTaskSchedulerTest", true, ThreadPerTaskScheduler.COUNTER));
+	}
+
+	@Override
+	protected boolean shouldCheckInterrupted() {
+		return true;
+	}
+
+	@Test
+	public void newThreadForEachTask() throws InterruptedException {
+		Scheduler s = scheduler();
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		CountDownLatch latch = new CountDownLatch(10);
+		try {
+			for (int i = 0; i < 10; i++) {
+				s.schedule(() -> {
+					threads.add(Thread.currentThread());
+					latch.countDown();
+				});
+			}
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(threads).hasSize(10);
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void workerTasksRunSerially() throws InterruptedException {
+		Scheduler s = scheduler();
+		Scheduler.Worker w = s.createWorker();
+		AtomicBoolean running = new AtomicBoolean();
+		AtomicBoolean overlap = new AtomicBoolean();
+		CountDownLatch latch = new CountDownLatch(100);
+		try {
+			for (int i = 0; i < 100; i++) {
+				w.schedule(() -> {
+					if (!running.compareAndSet(false, true)) {
+						overlap.set(true);
+					}
+					running.set(false);
+					latch.countDown();
+				});
+			}
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(overlap.get()).isFalse();
+		}
+		finally {
+			w.dispose();
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void scanName() {
+		Scheduler withNamedFactory = scheduler();
+		Scheduler withBasicFactory = Schedulers.newThreadPerTask(Thread::new);
+		try {
+			assertThat(Scannable.from(withNamedFactory).scan(Scannable.Attr.NAME))
+					.isEqualTo("threadPerTask(\"ThreadPerTaskSchedulerTest\")");
+			assertThat(Scannable.from(withBasicFactory).scan(Scannable.Attr.NAME))
+					.isEqualTo("threadPerTask()");
+		}
+		finally {
+			withNamedFactory.dispose();
+			withBasicFactory.dispose();
+		}
+	}
+
+	@Test
+	public void virtualThreadsUnsupported() {
+		Assume.assumeFalse(VirtualThreads.isSupported());
+
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+				.isThrownBy(() -> Schedulers.newVirtualThreadPerTask("test"));
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+				.isThrownBy(() -> Schedulers.newBoundedElasticVirtual(2, 10, "test"));
+	}
+
+	@Test
+	public void virtualThreadPerTask() {
+		Assume.assumeTrue(VirtualThreads.isSupported());
+
+		Scheduler s = Schedulers.newVirtualThreadPerTask("virtualThreadPerTask");
+		try {
+			assertThat(Scannable.from(s).scan(Scannable.Attr.NAME))
+					.isEqualTo("threadPerTask(\"virtualThreadPerTask\",virtual)");
+			StepVerifier.create(Mono.fromCallable(() -> Thread.currentThread().getName())
+			                        .subscribeOn(s))
+			            .assertNext(name -> assertThat(name).startsWith("virtualThreadPerTask-"))
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void boundedElasticVirtual() {
+		Assume.assumeTrue(VirtualThreads.isSupported());
+
+		Scheduler s = Schedulers.newBoundedElasticVirtual(2, 10, "boundedElasticVirtual");
+		try {
+			StepVerifier.create(Mono.fromCallable(() -> Thread.currentThread().getName())
+			                        .subscribeOn(s))
+			            .assertNext(name -> assertThat(name).startsWith("boundedElasticVirtual-"))
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+}
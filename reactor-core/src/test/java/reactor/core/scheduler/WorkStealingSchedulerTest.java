@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2011-2017 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.core.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import reactor.core.Scannable;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WorkStealingSchedulerTest extends AbstractSchedulerTest {
+
+	@Override
+	protected Scheduler scheduler() {
+		return Schedulers.newWorkStealing("WorkStealingSchedulerTest", 4);
+	}
+
+	@Override
+	protected boolean shouldCheckInterrupted() {
+		return true;
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeParallelism() {
+		Schedulers.newWorkStealing("test", -1);
+	}
+
+	@Test
+	public void restartAfterDispose() throws InterruptedException {
+		Scheduler s = scheduler();
+		try {
+			s.dispose();
+			assertThat(s.isDisposed()).isTrue();
+
+			s.start();
+			assertThat(s.isDisposed()).isFalse();
+
+			CountDownLatch latch = new CountDownLatch(1);
+			s.schedule(latch::countDown, 10, TimeUnit.MILLISECONDS);
+			assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void workerTasksRunSerially() throws InterruptedException {
+		Scheduler s = scheduler();
+		int workers = 8;
+		int tasksPerWorker = 1000;
+		CountDownLatch latch = new CountDownLatch(workers);
+		AtomicInteger overlaps = new AtomicInteger();
+		List<List<Integer>> orders = new ArrayList<>();
+		try {
+			for (int i = 0; i < workers; i++) {
+				Scheduler.Worker w = s.createWorker();
+				List<Integer> order = new ArrayList<>();
+				orders.add(order);
+				AtomicInteger running = new AtomicInteger();
+				for (int j = 0; j < tasksPerWorker; j++) {
+					int value = j;
+					w.schedule(() -> {
+						if (running.getAndIncrement() != 0) {
+							overlaps.incrementAndGet();
+						}
+						order.add(value);
+						if (value == tasksPerWorker - 1) {
+							latch.countDown();
+						}
+						running.decrementAndGet();
+					});
+				}
+			}
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(overlaps.get()).isZero();
+			for (List<Integer> order : orders) {
+				assertThat(order).hasSize(tasksPerWorker).isSorted();
+			}
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void idleThreadsStealBusyWorkers() throws InterruptedException {
+		Scheduler s = Schedulers.newWorkStealing("idleThreadsStealBusyWorkers", 4);
+		Set<String> threads = ConcurrentHashMap.newKeySet();
+		CountDownLatch blocker = new CountDownLatch(1);
+		CountDownLatch latch = new CountDownLatch(8);
+		try {
+			//a long running task on a worker must not hold back the other workers
+			s.createWorker().schedule(() -> {
+				try {
+					blocker.await();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			for (int i = 0; i < 8; i++) {
+				s.createWorker().schedule(() -> {
+					threads.add(Thread.currentThread().getName());
+					latch.countDown();
+				});
+			}
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(threads).allMatch(name -> name.startsWith("idleThreadsStealBusyWorkers-"));
+		}
+		finally {
+			blocker.countDown();
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void publishOnPipeline() {
+		Scheduler s = scheduler();
+		try {
+			StepVerifier.create(Flux.range(1, 10_000)
+			                        .publishOn(s)
+			                        .reduce(0L, (a, b) -> a + b))
+			            .expectNext(50_005_000L)
+			            .verifyComplete();
+		}
+		finally {
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void workerPeriodicRunsDontOverlap() throws InterruptedException {
+		Scheduler s = scheduler();
+		Scheduler.Worker w = s.createWorker();
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger overlaps = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(5);
+		try {
+			w.schedulePeriodically(() -> {
+				if (running.getAndIncrement() != 0) {
+					overlaps.incrementAndGet();
+				}
+				try {
+					Thread.sleep(5);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				running.decrementAndGet();
+				latch.countDown();
+			}, 0, 1, TimeUnit.MILLISECONDS);
+
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(overlaps.get()).isZero();
+		}
+		finally {
+			w.dispose();
+			s.dispose();
+		}
+	}
+
+	@Test
+	public void scanName() {
+		Scheduler withNamedFactory = Schedulers.newWorkStealing("scanName", 3);
+		Scheduler withBasicFactory = Schedulers.newWorkStealing(3,
+				ForkJoinPool.defaultForkJoinWorkerThreadFactory);
+		Scheduler.Worker worker = withNamedFactory.createWorker();
+		try {
+			assertThat(Scannable.from(withNamedFactory).scan(Scannable.Attr.NAME))
+					.isEqualTo("workStealing(3,\"scanName\")");
+			assertThat(Scannable.from(withBasicFactory).scan(Scannable.Attr.NAME))
+					.isEqualTo("workStealing(3)");
+			assertThat(Scannable.from(withNamedFactory).scan(Scannable.Attr.CAPACITY))
+					.isEqualTo(3);
+			assertThat(Scannable.from(worker).scan(Scannable.Attr.NAME))
+					.isEqualTo("workStealing(3,\"scanName\").worker");
+		}
+		finally {
+			worker.dispose();
+			withNamedFactory.dispose();
+			withBasicFactory.dispose();
+		}
+	}
+}
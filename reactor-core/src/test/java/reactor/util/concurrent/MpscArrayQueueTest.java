@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.util.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MpscArrayQueueTest {
+
+	@Test(expected = NullPointerException.class)
+	public void shouldRejectNullableValues() {
+		MpscArrayQueue<Object> q = new MpscArrayQueue<>(8);
+		q.offer(null);
+	}
+
+	@Test
+	public void shouldRejectWhenFull() {
+		MpscArrayQueue<Object> q = new MpscArrayQueue<>(4);
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(q.offer(i)).as("offer %s", i).isTrue();
+		}
+		assertThat(q.offer(4)).as("offer when full").isFalse();
+		assertThat(q).hasSize(4);
+
+		assertThat(q.poll()).isEqualTo(0);
+		assertThat(q.offer(4)).as("offer after poll").isTrue();
+	}
+
+	@Test
+	public void shouldWrapAround() {
+		MpscArrayQueue<Object> q = new MpscArrayQueue<>(8);
+
+		for (int i = 0; i < 100; i++) {
+			q.offer(i);
+			q.offer(i + 1);
+			assertThat(q.poll()).isEqualTo(i);
+			assertThat(q.peek()).isEqualTo(i + 1);
+			assertThat(q.poll()).isEqualTo(i + 1);
+		}
+		assertThat(q.poll()).isNull();
+		assertThat(q.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void shouldClearQueue() {
+		MpscArrayQueue<Object> q = new MpscArrayQueue<>(8);
+		q.offer(1);
+		q.offer(2);
+
+		assertThat(q.isEmpty()).as("isEmpty() false").isFalse();
+		assertThat(q).hasSize(2);
+
+		q.clear();
+
+		assertThat(q.isEmpty()).as("isEmpty() true").isTrue();
+		assertThat(q).hasSize(0);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void shouldNotAllowIteratingWithIterator() {
+		MpscArrayQueue<Object> q = new MpscArrayQueue<>(8);
+
+		q.iterator();
+	}
+
+	@Test(timeout = 10_000)
+	public void mpscOfferPollRace() throws Exception {
+		offerPollRace(new MpscArrayQueue<>(64), 4, 20_000);
+	}
+
+	/**
+	 * Offer {@code count} values from each of {@code producers} threads, retrying while
+	 * the queue is full, and check the consumer sees the values of each producer in
+	 * order.
+	 */
+	static void offerPollRace(Queue<long[]> q, int producers, int count) throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[producers];
+		for (int p = 0; p < producers; p++) {
+			int producer = p;
+			threads[p] = new Thread(() -> {
+				try {
+					start.await();
+				}
+				catch (InterruptedException e) {
+					return;
+				}
+				for (long i = 0; i < count; i++) {
+					long[] v = {producer, i};
+					while (!q.offer(v)) {
+						Thread.yield();
+					}
+				}
+			});
+			threads[p].start();
+		}
+		start.countDown();
+
+		long[] expected = new long[producers];
+		long received = 0;
+		while (received != (long) producers * count) {
+			long[] v = q.poll();
+			if (v == null) {
+				Thread.yield();
+				continue;
+			}
+			assertThat(v[1]).as("value of producer %s", v[0]).isEqualTo(expected[(int) v[0]]);
+			expected[(int) v[0]]++;
+			received++;
+		}
+
+		for (Thread t : threads) {
+			t.join();
+		}
+		assertThat(q.poll()).isNull();
+		assertThat(q.isEmpty()).isTrue();
+	}
+}
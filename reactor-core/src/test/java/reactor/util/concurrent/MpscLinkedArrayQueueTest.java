@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.util.concurrent;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MpscLinkedArrayQueueTest {
+
+	@Test(expected = NullPointerException.class)
+	public void shouldRejectNullableValues() {
+		MpscLinkedArrayQueue<Object> q = new MpscLinkedArrayQueue<>(8);
+		q.offer(null);
+	}
+
+	@Test
+	public void shouldGrowByChunks() {
+		MpscLinkedArrayQueue<Object> q = new MpscLinkedArrayQueue<>(8);
+		MpscLinkedArrayQueue.Chunk first = q.consumerChunk;
+
+		for (int i = 0; i < 20; i++) {
+			assertThat(q.offer(i)).as("offer %s", i).isTrue();
+		}
+		assertThat(q).hasSize(20);
+		assertThat(q.producerChunk.index).isEqualTo(2);
+
+		for (int i = 0; i < 20; i++) {
+			assertThat(q.peek()).isEqualTo(i);
+			assertThat(q.poll()).isEqualTo(i);
+		}
+		assertThat(q.poll()).isNull();
+		assertThat(q.isEmpty()).isTrue();
+		assertThat(q.consumerChunk).isNotSameAs(first);
+	}
+
+	@Test
+	public void shouldClearQueue() {
+		MpscLinkedArrayQueue<Object> q = new MpscLinkedArrayQueue<>(8);
+		for (int i = 0; i < 10; i++) {
+			q.offer(i);
+		}
+
+		assertThat(q.isEmpty()).as("isEmpty() false").isFalse();
+		assertThat(q).hasSize(10);
+
+		q.clear();
+
+		assertThat(q.isEmpty()).as("isEmpty() true").isTrue();
+		assertThat(q).hasSize(0);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void shouldNotAllowIteratingWithIterator() {
+		MpscLinkedArrayQueue<Object> q = new MpscLinkedArrayQueue<>(8);
+
+		q.iterator();
+	}
+
+	@Test(timeout = 10_000)
+	public void mpscOfferPollRace() throws Exception {
+		MpscArrayQueueTest.offerPollRace(new MpscLinkedArrayQueue<>(8), 4, 100_000);
+	}
+}
@@ -16,12 +16,17 @@
 
 package reactor.util.concurrent;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -76,6 +81,50 @@ public class QueuesTest {
 		assertThat(Queues.capacity(q)).isEqualTo(Integer.MAX_VALUE);
 	}
 
+	@Test
+	public void capacityUnboundedMpscLinkedArrayQueue() {
+		Queue q = Queues.unboundedMultiproducer(16).get();
+
+		assertThat(q).isInstanceOf(MpscLinkedArrayQueue.class);
+		assertThat(Queues.capacity(q)).isEqualTo(Integer.MAX_VALUE);
+	}
+
+	@Test
+	public void capacityBoundedMpscArrayQueue() {
+		Queue q = Queues.mpsc(100).get();
+
+		assertThat(q).isInstanceOf(MpscArrayQueue.class);
+		assertThat(Queues.capacity(q)).isEqualTo(128);
+	}
+
+	@Test
+	public void capacityPaddedQueue() {
+		assertThat(Queues.capacity(Queues.padded(2).get())).isEqualTo(8);
+		assertThat(Queues.capacity(Queues.padded(1000).get())).isEqualTo(1024);
+		assertThat(Queues.capacity(Queues.get(Queues.PADDED_BUFFER_SIZE).get()))
+				.isEqualTo(Queues.ceilingNextPowerOfTwo(Queues.PADDED_BUFFER_SIZE));
+	}
+
+	@Test
+	public void paddedTooLargeIsUnbounded() {
+		assertThat(Queues.capacity(Queues.padded(Integer.MAX_VALUE).get())).isEqualTo(Integer.MAX_VALUE);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void paddedNegativeCapacity() {
+		Queues.padded(-1);
+	}
+
+	@Test
+	public void mpscTooLargeIsUnbounded() {
+		assertThat(Queues.mpsc(Integer.MAX_VALUE).get()).isInstanceOf(MpscLinkedArrayQueue.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void mpscNegativeCapacity() {
+		Queues.mpsc(-1);
+	}
+
 	@Test
 	public void capacityOtherQueue() {
 		Queue q = new PriorityQueue<>(10);
@@ -85,4 +134,188 @@ public class QueuesTest {
 				.isEqualTo(Queues.CAPACITY_UNSURE);
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void defaultFactory() {
+		assertThat(Queues.one().get()).isInstanceOf(Queues.OneQueue.class);
+		assertThat(Queues.get(1).get()).isInstanceOf(Queues.OneQueue.class);
+		assertThat(Queues.small().get()).isInstanceOf(SpscArrayQueue.class);
+		assertThat(Queues.get(100).get()).isInstanceOf(SpscArrayQueue.class);
+		assertThat(Queues.unbounded().get()).isInstanceOf(SpscLinkedArrayQueue.class);
+		assertThat(Queues.unbounded(100).get()).isInstanceOf(SpscLinkedArrayQueue.class);
+		assertThat(Queues.unboundedMultiproducer().get()).isInstanceOf(MpscLinkedQueue.class);
+		assertThat(Queues.get(Queues.PADDED_BUFFER_SIZE).get()).isInstanceOf(SpscPaddedArrayQueue.class);
+		assertThat(Queues.padded(100).get()).isInstanceOf(SpscPaddedArrayQueue.class);
+	}
+
+	@Test
+	public void setFactoryAppliesToAllSuppliers() {
+		List<String> created = new CopyOnWriteArrayList<>();
+		Queues.setFactory(new Queues.Factory() {
+			@Override
+			public <T> Queue<T> newSpscBounded(int capacity) {
+				created.add("spscBounded(" + capacity + ")");
+				return Queues.Factory.super.newSpscBounded(capacity);
+			}
+
+			@Override
+			public <T> Queue<T> newSpscUnbounded(int linkSize) {
+				created.add("spscUnbounded(" + linkSize + ")");
+				return new ConcurrentLinkedQueue<>();
+			}
+
+			@Override
+			public <T> Queue<T> newMpscBounded(int capacity) {
+				created.add("mpscBounded(" + capacity + ")");
+				return new LinkedBlockingQueue<>(capacity);
+			}
+
+			@Override
+			public <T> Queue<T> newMpscUnbounded(int linkSize) {
+				created.add("mpscUnbounded(" + linkSize + ")");
+				return new ConcurrentLinkedQueue<>();
+			}
+		});
+		try {
+			Queues.one().get();
+			Queues.xs().get();
+			Queues.get(100).get();
+			assertThat(Queues.unbounded().get()).isInstanceOf(ConcurrentLinkedQueue.class);
+			Queues.unbounded(100).get();
+			assertThat(Queues.mpsc(10).get()).isInstanceOf(LinkedBlockingQueue.class);
+			Queues.unboundedMultiproducer(16).get();
+			//not overridden: keeps the default implementation
+			assertThat(Queues.unboundedMultiproducer().get()).isInstanceOf(MpscLinkedQueue.class);
+
+			assertThat(created).containsExactly("spscBounded(1)",
+					"spscBounded(" + Queues.XS_BUFFER_SIZE + ")",
+					"spscBounded(100)",
+					"spscUnbounded(" + Queues.SMALL_BUFFER_SIZE + ")",
+					"spscUnbounded(100)",
+					"mpscBounded(10)",
+					"mpscUnbounded(16)");
+		}
+		finally {
+			Queues.resetFactory();
+		}
+		assertThat(Queues.unbounded().get()).isInstanceOf(SpscLinkedArrayQueue.class);
+	}
+
+	@Test
+	public void setFactoryAppliesToOperators() {
+		List<Integer> capacities = new CopyOnWriteArrayList<>();
+		Queues.setFactory(new Queues.Factory() {
+			@Override
+			public <T> Queue<T> newSpscBounded(int capacity) {
+				capacities.add(capacity);
+				return Queues.Factory.super.newSpscBounded(capacity);
+			}
+		});
+		try {
+			List<Integer> values = new ArrayList<>();
+			Flux.range(1, 10)
+			    .hide()
+			    .publishOn(Schedulers.single(), 16)
+			    .doOnNext(values::add)
+			    .blockLast();
+
+			assertThat(values).hasSize(10);
+			assertThat(capacities).containsExactly(16);
+		}
+		finally {
+			Queues.resetFactory();
+		}
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void setNullFactory() {
+		Queues.setFactory(null);
+	}
+
+	@Test
+	public void drainSpscArrayQueue() {
+		SpscArrayQueue<Integer> q = new SpscArrayQueue<>(8);
+		for (int i = 0; i < 5; i++) {
+			q.offer(i);
+		}
+		List<Integer> values = new ArrayList<>();
+
+		assertThat(Queues.drain(q, values::add, 3)).isEqualTo(3);
+		assertThat(values).containsExactly(0, 1, 2);
+		assertThat(q.size()).isEqualTo(2);
+
+		assertThat(Queues.drain(q, values::add, 10)).isEqualTo(2);
+		assertThat(values).containsExactly(0, 1, 2, 3, 4);
+		assertThat(q.isEmpty()).isTrue();
+		assertThat(Queues.drain(q, values::add, 10)).isZero();
+	}
+
+	@Test
+	public void drainSpscArrayQueueWrapsAround() {
+		SpscArrayQueue<Integer> q = new SpscArrayQueue<>(4);
+		List<Integer> values = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			q.offer(i);
+			q.offer(i + 100);
+			assertThat(Queues.drain(q, values::add, 4)).isEqualTo(2);
+		}
+		assertThat(values).hasSize(20)
+		                  .startsWith(0, 100, 1, 101);
+		assertThat(q.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void drainSpscLinkedArrayQueueAcrossLinks() {
+		SpscLinkedArrayQueue<Integer> q = new SpscLinkedArrayQueue<>(8);
+		for (int i = 0; i < 30; i++) {
+			q.offer(i);
+		}
+		List<Integer> values = new ArrayList<>();
+
+		assertThat(Queues.drain(q, values::add, 20)).isEqualTo(20);
+		assertThat(q).hasSize(10);
+		assertThat(Queues.drain(q, values::add, 20)).isEqualTo(10);
+
+		assertThat(values).hasSize(30);
+		for (int i = 0; i < 30; i++) {
+			assertThat(values.get(i)).isEqualTo(i);
+		}
+		assertThat(q.isEmpty()).isTrue();
+		assertThat(q.poll()).isNull();
+	}
+
+	@Test
+	public void drainOtherQueue() {
+		Queue<Integer> q = new ConcurrentLinkedQueue<>();
+		q.offer(1);
+		q.offer(2);
+		q.offer(3);
+		List<Integer> values = new ArrayList<>();
+
+		assertThat(Queues.drain(q, values::add, 2)).isEqualTo(2);
+		assertThat(values).containsExactly(1, 2);
+		assertThat(q).containsExactly(3);
+	}
+
+	@Test
+	public void drainFailingConsumerKeepsQueueConsistent() {
+		SpscArrayQueue<Integer> q = new SpscArrayQueue<>(8);
+		for (int i = 0; i < 4; i++) {
+			q.offer(i);
+		}
+
+		try {
+			Queues.drain(q, v -> {
+				if (v == 1) {
+					throw new IllegalStateException("boom");
+				}
+			}, 4);
+		}
+		catch (IllegalStateException expected) {
+			//the value passed to the consumer has been polled
+		}
+
+		assertThat(q.size()).isEqualTo(2);
+		assertThat(q.poll()).isEqualTo(2);
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpscLinkedArrayQueueTest {
+
+	@Test
+	public void shouldKeepOrderAcrossLinks() {
+		SpscLinkedArrayQueue<Integer> q = new SpscLinkedArrayQueue<>(8);
+
+		for (int i = 0; i < 100; i++) {
+			q.offer(i);
+		}
+		assertThat(q.size()).isEqualTo(100);
+		for (int i = 0; i < 100; i++) {
+			assertThat(q.poll()).isEqualTo(i);
+		}
+		assertThat(q.poll()).isNull();
+		assertThat(q.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void emptiedLinkIsReused() {
+		SpscLinkedArrayQueue<Integer> q = new SpscLinkedArrayQueue<>(8);
+		AtomicReferenceArray<Object> first = q.consumerArray;
+
+		//fill more than a link so that the producer moves to a second one
+		for (int i = 0; i < 10; i++) {
+			q.offer(i);
+		}
+		assertThat(q.producerArray).isNotSameAs(first);
+		for (int i = 0; i < 10; i++) {
+			assertThat(q.poll()).isEqualTo(i);
+		}
+		assertThat(q.freeArray).isSameAs(first);
+
+		//the next link the producer needs is the emptied one
+		for (int i = 10; i < 20; i++) {
+			q.offer(i);
+		}
+		assertThat(q.producerArray).isSameAs(first);
+		assertThat(q.freeArray).isNull();
+		for (int i = 10; i < 20; i++) {
+			assertThat(q.poll()).isEqualTo(i);
+		}
+		assertThat(q.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void steadyStateUsesTwoLinks() {
+		SpscLinkedArrayQueue<Integer> q = new SpscLinkedArrayQueue<>(8);
+		Set<AtomicReferenceArray<Object>> links = new HashSet<>();
+		int expected = 0;
+
+		//bursts larger than a link
+		for (int round = 0; round < 100; round++) {
+			for (int i = 0; i < 12; i++) {
+				q.offer(round * 12 + i);
+				links.add(q.producerArray);
+			}
+			while (!q.isEmpty()) {
+				assertThat(q.poll()).isEqualTo(expected++);
+			}
+		}
+
+		assertThat(expected).isEqualTo(1200);
+		assertThat(links).hasSize(2);
+	}
+
+	@Test
+	public void reusedLinkIsEmpty() {
+		SpscLinkedArrayQueue<Integer> q = new SpscLinkedArrayQueue<>(8);
+		List<Integer> values = new ArrayList<>();
+
+		for (int round = 0; round < 10; round++) {
+			for (int i = 0; i < 13; i++) {
+				q.offer(round * 13 + i);
+			}
+			AtomicReferenceArray<Object> free = q.freeArray;
+			if (free != null) {
+				for (int i = 0; i < free.length(); i++) {
+					assertThat(free.get(i)).as("slot %s of round %s", i, round).isNull();
+				}
+			}
+			Queues.drain(q, values::add, 13);
+		}
+
+		assertThat(values).hasSize(130);
+		for (int i = 0; i < 130; i++) {
+			assertThat(values.get(i)).isEqualTo(i);
+		}
+	}
+
+	@Test
+	public void pairsAcrossReusedLinks() {
+		SpscLinkedArrayQueue<Integer> q = new SpscLinkedArrayQueue<>(8);
+
+		for (int round = 0; round < 10; round++) {
+			for (int i = 0; i < 12; i += 2) {
+				q.test(round * 12 + i, round * 12 + i + 1);
+			}
+			for (int i = 0; i < 12; i++) {
+				assertThat(q.poll()).isEqualTo(round * 12 + i);
+			}
+		}
+		assertThat(q.isEmpty()).isTrue();
+	}
+
+	@Test(timeout = 10_000)
+	public void offerPollRace() throws Exception {
+		MpscArrayQueueTest.offerPollRace(new SpscLinkedArrayQueue<>(8), 1, 20_000);
+	}
+}
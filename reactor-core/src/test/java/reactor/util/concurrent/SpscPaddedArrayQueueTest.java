@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpscPaddedArrayQueueTest {
+
+	@Test(expected = NullPointerException.class)
+	public void shouldRejectNullableValues() {
+		SpscPaddedArrayQueue<Object> q = new SpscPaddedArrayQueue<>(8);
+		q.offer(null);
+	}
+
+	@Test
+	public void shouldRejectWhenFull() {
+		SpscPaddedArrayQueue<Object> q = new SpscPaddedArrayQueue<>(4);
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(q.offer(i)).as("offer %s", i).isTrue();
+		}
+		assertThat(q.offer(4)).as("offer when full").isFalse();
+		assertThat(q.size()).isEqualTo(4);
+
+		assertThat(q.poll()).isEqualTo(0);
+		assertThat(q.offer(4)).as("offer after poll").isTrue();
+		assertThat(q.offer(5)).as("offer when full again").isFalse();
+	}
+
+	@Test
+	public void shouldWrapAround() {
+		SpscPaddedArrayQueue<Object> q = new SpscPaddedArrayQueue<>(8);
+
+		for (int i = 0; i < 100; i++) {
+			q.offer(i);
+			q.offer(i + 1);
+			assertThat(q.poll()).isEqualTo(i);
+			assertThat(q.peek()).isEqualTo(i + 1);
+			assertThat(q.poll()).isEqualTo(i + 1);
+		}
+		assertThat(q.poll()).isNull();
+		assertThat(q.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void shouldNotTouchPaddingSlots() {
+		SpscPaddedArrayQueue<Object> q = new SpscPaddedArrayQueue<>(8);
+
+		for (int i = 0; i < 8; i++) {
+			q.offer(i);
+		}
+		for (int i = 0; i < SpscPaddedArrayQueueCold.PAD; i++) {
+			assertThat(q.get(i)).isNull();
+			assertThat(q.get(q.length() - 1 - i)).isNull();
+		}
+	}
+
+	@Test
+	public void shouldClearQueue() {
+		SpscPaddedArrayQueue<Object> q = new SpscPaddedArrayQueue<>(8);
+		q.offer(1);
+		q.offer(2);
+
+		assertThat(q.isEmpty()).as("isEmpty() false").isFalse();
+		assertThat(q.size()).isEqualTo(2);
+
+		q.clear();
+
+		assertThat(q.isEmpty()).as("isEmpty() true").isTrue();
+		assertThat(q.size()).isEqualTo(0);
+	}
+
+	@Test
+	public void drainPublishesConsumerIndexOnce() {
+		SpscPaddedArrayQueue<Integer> q = new SpscPaddedArrayQueue<>(8);
+		for (int i = 0; i < 8; i++) {
+			q.offer(i);
+		}
+		List<Integer> values = new ArrayList<>();
+
+		assertThat(Queues.drain(q, values::add, 5)).isEqualTo(5);
+		assertThat(values).containsExactly(0, 1, 2, 3, 4);
+		assertThat(q.consumerIndex).isEqualTo(5);
+
+		//the producer sees the space freed by the batch
+		for (int i = 8; i < 13; i++) {
+			assertThat(q.offer(i)).as("offer %s", i).isTrue();
+		}
+		assertThat(q.offer(13)).isFalse();
+	}
+
+	@Test(timeout = 10_000)
+	public void offerPollRace() throws Exception {
+		SpscPaddedArrayQueue<Integer> q = new SpscPaddedArrayQueue<>(16);
+		int count = 20_000;
+
+		Thread producer = new Thread(() -> {
+			for (int i = 0; i < count; i++) {
+				while (!q.offer(i)) {
+					Thread.yield();
+				}
+			}
+		});
+		producer.start();
+
+		int expected = 0;
+		while (expected != count) {
+			Integer v = q.poll();
+			if (v == null) {
+				Thread.yield();
+				continue;
+			}
+			assertThat(v).isEqualTo(expected);
+			expected++;
+		}
+
+		producer.join();
+		assertThat(q.poll()).isNull();
+		assertThat(q.isEmpty()).isTrue();
+	}
+}
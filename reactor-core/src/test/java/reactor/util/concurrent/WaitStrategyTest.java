@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2011-2018 Pivotal Software Inc, All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactor.util.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.TopicProcessor;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WaitStrategyTest {
+
+	static final long MAX_SPIN  = WaitStrategy.Adaptive.MAX_SPIN_NANOS;
+	static final long MAX_YIELD = WaitStrategy.Adaptive.MAX_YIELD_NANOS;
+
+	@Test(expected = NullPointerException.class)
+	public void adaptiveNullDelegate() {
+		WaitStrategy.adaptive(null);
+	}
+
+	@Test
+	public void adaptiveWindowsFollowAverageWait() {
+		assertThat(WaitStrategy.Adaptive.window(1_000, MAX_SPIN)).isEqualTo(2_000);
+		assertThat(WaitStrategy.Adaptive.window(MAX_SPIN / 2 + 1, MAX_SPIN)).isEqualTo(MAX_SPIN);
+		assertThat(WaitStrategy.Adaptive.window(MAX_SPIN + 1, MAX_SPIN)).isZero();
+		assertThat(WaitStrategy.Adaptive.window(MAX_SPIN + 1, MAX_YIELD)).isEqualTo(2 * MAX_SPIN + 2);
+	}
+
+	@Test
+	public void adaptiveAverageConvergesToObservedWaits() {
+		WaitStrategy.Adaptive strategy = new WaitStrategy.Adaptive(WaitStrategy.liteBlocking());
+
+		for (int i = 0; i < 100; i++) {
+			strategy.record(1_000);
+		}
+		assertThat(strategy.averageWaitNanos).isBetween(990L, 1_010L);
+
+		//long waits close the spin then the yield window
+		for (int i = 0; i < 100; i++) {
+			strategy.record(TimeUnit.SECONDS.toNanos(1));
+		}
+		assertThat(strategy.averageWaitNanos).isGreaterThan(MAX_YIELD);
+
+		//but their weight is capped, so that short waits reopen them quickly
+		int waits = 0;
+		while (strategy.averageWaitNanos > MAX_SPIN) {
+			strategy.record(1_000);
+			waits++;
+		}
+		assertThat(waits).isLessThan(50);
+	}
+
+	@Test
+	public void adaptiveReturnsAvailableSequenceRightAway() throws InterruptedException {
+		WaitStrategy.Adaptive strategy = new WaitStrategy.Adaptive(WaitStrategy.liteBlocking());
+		long average = strategy.averageWaitNanos;
+
+		assertThat(strategy.waitFor(3, () -> 5, WaitStrategy.NOOP_SPIN_OBSERVER)).isEqualTo(5);
+		assertThat(strategy.averageWaitNanos).as("no wait recorded").isEqualTo(average);
+	}
+
+	@Test(timeout = 5_000)
+	public void adaptiveFallsBackAndIsSignalled() throws InterruptedException {
+		WaitStrategy.Adaptive strategy = new WaitStrategy.Adaptive(WaitStrategy.liteBlocking());
+		//as if the last waits had been long: straight to the fallback
+		strategy.averageWaitNanos = MAX_YIELD + 1;
+
+		AtomicLong cursor = new AtomicLong();
+		AtomicLong available = new AtomicLong();
+		CountDownLatch done = new CountDownLatch(1);
+		Thread waiter = new Thread(() -> {
+			try {
+				available.set(strategy.waitFor(1, cursor::get, WaitStrategy.NOOP_SPIN_OBSERVER));
+				done.countDown();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		waiter.start();
+
+		Thread.sleep(100);
+		assertThat(done.getCount()).isEqualTo(1);
+
+		cursor.set(1);
+		while (!done.await(10, TimeUnit.MILLISECONDS)) {
+			strategy.signalAllWhenBlocking();
+		}
+		assertThat(available.get()).isEqualTo(1);
+		//the long wait is recorded with a capped weight
+		assertThat(strategy.averageWaitNanos).isGreaterThan(MAX_YIELD + 1)
+		                                     .isLessThanOrEqualTo(2 * MAX_YIELD);
+	}
+
+	@Test
+	public void adaptiveAlertPropagates() {
+		WaitStrategy strategy = WaitStrategy.adaptiveLiteLock();
+
+		try {
+			strategy.waitFor(1, () -> 0, WaitStrategy::alert);
+		}
+		catch (Throwable t) {
+			assertThat(WaitStrategy.isAlert(t)).isTrue();
+			return;
+		}
+		throw new AssertionError("expected an alert");
+	}
+
+	@Test
+	public void adaptiveTopicProcessor() {
+		TopicProcessor<Integer> processor = TopicProcessor.<Integer>builder()
+				.name("adaptiveTopicProcessor")
+				.bufferSize(16)
+				.waitStrategy(WaitStrategy.adaptiveLiteLock())
+				.build();
+
+		StepVerifier.create(processor.reduce(0L, (a, b) -> a + b))
+		            .then(() -> Flux.range(1, 1000).subscribe(processor))
+		            .expectNext(500_500L)
+		            .expectComplete()
+		            .verify(Duration.ofSeconds(5));
+	}
+}